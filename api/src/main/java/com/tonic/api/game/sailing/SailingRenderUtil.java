@@ -2,15 +2,17 @@ package com.tonic.api.game.sailing;
 
 import com.tonic.Static;
 import com.tonic.services.pathfinder.sailing.BoatCollisionAPI;
+import com.tonic.util.WorldPointUtil;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.runelite.api.Client;
 import net.runelite.api.Perspective;
 import net.runelite.api.Point;
+import net.runelite.api.WorldView;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.ui.overlay.OverlayUtil;
 
 import java.awt.*;
-import java.util.Collection;
 
 /**
  * Static utility class for rendering boat hull overlays.
@@ -27,6 +29,9 @@ public class SailingRenderUtil
     private static final Stroke DEFAULT_STROKE = new BasicStroke(2.0f);
     private static final Stroke THICK_STROKE = new BasicStroke(3.0f);
 
+    // Scratch list for the packed tiles being rendered, overlays render on the client thread
+    private static final IntArrayList TILES = new IntArrayList();
+
     /**
      * Renders the player's boat hull outline with default colors.
      * Hull tiles are shown in orange, representing the collision footprint.
@@ -50,13 +55,12 @@ public class SailingRenderUtil
     public static void renderPlayerBoatHull(Graphics2D graphics, Color outlineColor, Color fillColor, Stroke stroke)
     {
         // Get player boat hull (collision tiles in main world, already rotated)
-        Collection<WorldPoint> hullTiles = BoatCollisionAPI.getPlayerBoatCollision();
-
-        if (hullTiles == null || hullTiles.isEmpty()) {
+        TILES.clear();
+        if (BoatCollisionAPI.getPlayerBoatCollisionPacked(TILES) == 0) {
             return;
         }
 
-        renderWorldPointCollection(graphics, hullTiles, outlineColor, fillColor, stroke);
+        renderPackedTiles(graphics, TILES, outlineColor, fillColor, stroke);
     }
 
     /**
@@ -81,13 +85,12 @@ public class SailingRenderUtil
     public static void renderPlayerBoatDeck(Graphics2D graphics, Color outlineColor, Color fillColor, Stroke stroke)
     {
         // Get player boat deck (walkable tiles in main world, already rotated)
-        Collection<WorldPoint> deckTiles = BoatCollisionAPI.getPlayerBoatDeck();
-
-        if (deckTiles == null || deckTiles.isEmpty()) {
+        TILES.clear();
+        if (BoatCollisionAPI.getPlayerBoatDeckPacked(TILES) == 0) {
             return;
         }
 
-        renderWorldPointCollection(graphics, deckTiles, outlineColor, fillColor, stroke);
+        renderPackedTiles(graphics, TILES, outlineColor, fillColor, stroke);
     }
 
     /**
@@ -265,26 +268,28 @@ public class SailingRenderUtil
     }
 
     /**
-     * Internal helper to render a collection of WorldPoints as tile outlines.
+     * Internal helper to render packed world points as tile outlines.
      * Each tile is rendered individually with the specified colors and stroke.
      *
      * @param graphics the Graphics2D context
-     * @param points collection of world points to render
+     * @param points world points packed by {@link WorldPointUtil#compress(int, int, int)}
      * @param outlineColor the color for tile outlines
      * @param fillColor the fill color for tiles
      * @param stroke the stroke style
      */
-    private static void renderWorldPointCollection(Graphics2D graphics, Collection<WorldPoint> points, Color outlineColor, Color fillColor, Stroke stroke)
+    private static void renderPackedTiles(Graphics2D graphics, IntArrayList points, Color outlineColor, Color fillColor, Stroke stroke)
     {
-        if (points == null || points.isEmpty()) {
-            return;
-        }
-
         Client client = Static.getClient();
+        WorldView worldView = client.getTopLevelWorldView();
+
+        for (int i = 0; i < points.size(); i++) {
+            int point = points.getInt(i);
+            if (WorldPointUtil.getCompressedPlane(point) != worldView.getPlane()) {
+                continue;
+            }
 
-        for (WorldPoint point : points) {
             // Convert world point to local point
-            LocalPoint localPoint = LocalPoint.fromWorld(client, point);
+            LocalPoint localPoint = LocalPoint.fromWorld(worldView, WorldPointUtil.getCompressedX(point), WorldPointUtil.getCompressedY(point));
             if (localPoint == null) {
                 continue;
             }
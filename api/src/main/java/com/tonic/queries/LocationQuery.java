@@ -33,8 +33,7 @@ public class LocationQuery extends AbstractQuery<Tile, LocationQuery>
      * @return LocationQuery
      */
     public LocationQuery isReachable() {
-        Tile player = SceneAPI.getTile(PlayerEx.getLocal().getWorldPoint());
-        keepIf(tile -> SceneAPI.isReachable(player, tile));
+        keepIf(tile -> GameManager.isReachable(tile.getWorldLocation()));
         return this;
     }
 
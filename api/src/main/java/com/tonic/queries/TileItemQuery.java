@@ -254,7 +254,10 @@ public class TileItemQuery extends AbstractQuery<TileItemEx, TileItemQuery>
      */
     public TileItemQuery sortShortestPath()
     {
-        return sortShortestPath(PlayerEx.getLocal().getWorldPoint());
+        return sort((o1, o2) -> Integer.compare(
+                GameManager.pathDistanceTo(o1.getWorldPoint()),
+                GameManager.pathDistanceTo(o2.getWorldPoint())
+        ));
     }
 
     /**
@@ -279,7 +282,10 @@ public class TileItemQuery extends AbstractQuery<TileItemEx, TileItemQuery>
      */
     public TileItemQuery sortLongestPath()
     {
-        return sortLongestPath(PlayerEx.getLocal().getWorldPoint());
+        return sort((o1, o2) -> Integer.compare(
+                GameManager.pathDistanceTo(o2.getWorldPoint()),
+                GameManager.pathDistanceTo(o1.getWorldPoint())
+        ));
     }
 
     /**
@@ -237,7 +237,13 @@ public class TileObjectQuery extends AbstractQuery<TileObjectEx, TileObjectQuery
      */
     public TileObjectQuery sortShortestPath()
     {
-        return sortShortestPath(PlayerEx.getLocal().getWorldPoint());
+        return sort((o1, o2) -> {
+            WorldPoint o1Point = o1.getInteractionPoint();
+            WorldPoint o2Point = o2.getInteractionPoint();
+            int len1 = o1Point == null ? Integer.MAX_VALUE : GameManager.pathDistanceTo(o1Point);
+            int len2 = o2Point == null ? Integer.MAX_VALUE : GameManager.pathDistanceTo(o2Point);
+            return Integer.compare(len1, len2);
+        });
     }
 
     /**
@@ -262,7 +268,13 @@ public class TileObjectQuery extends AbstractQuery<TileObjectEx, TileObjectQuery
      */
     public TileObjectQuery sortLongestPath()
     {
-        return sortLongestPath(PlayerEx.getLocal().getWorldPoint());
+        return sort((o1, o2) -> {
+            WorldPoint o1Point = o1.getInteractionPoint();
+            WorldPoint o2Point = o2.getInteractionPoint();
+            int len1 = o1Point == null ? Integer.MAX_VALUE : GameManager.pathDistanceTo(o1Point);
+            int len2 = o2Point == null ? Integer.MAX_VALUE : GameManager.pathDistanceTo(o2Point);
+            return Integer.compare(len2, len1);
+        });
     }
 
     /**
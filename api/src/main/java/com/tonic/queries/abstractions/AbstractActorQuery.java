@@ -4,6 +4,7 @@ import com.tonic.api.entities.ActorAPI;
 import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.ActorEx;
 import com.tonic.data.wrappers.PlayerEx;
+import com.tonic.services.GameManager;
 import com.tonic.util.Distance;
 import com.tonic.util.Location;
 import com.tonic.util.TextUtil;
@@ -72,8 +73,7 @@ public abstract class AbstractActorQuery<T extends ActorEx<?>, Q extends Abstrac
      */
     public Q isReachable()
     {
-        WorldPoint playerLoc = PlayerEx.getLocal().getWorldPoint();
-        return keepIf(o -> SceneAPI.isReachable(playerLoc, o.getWorldPoint()));
+        return keepIf(o -> GameManager.isReachable(o.getWorldPoint()));
     }
 
     /**
@@ -198,7 +198,10 @@ public abstract class AbstractActorQuery<T extends ActorEx<?>, Q extends Abstrac
      */
     public Q sortShortestPath()
     {
-        return sortShortestPath(PlayerEx.getLocal().getWorldPoint());
+        return sort((o1, o2) -> Integer.compare(
+                GameManager.pathDistanceTo(o1.getWorldPoint()),
+                GameManager.pathDistanceTo(o2.getWorldPoint())
+        ));
     }
 
     /**
@@ -223,7 +226,10 @@ public abstract class AbstractActorQuery<T extends ActorEx<?>, Q extends Abstrac
      */
     public Q sortLongestPath()
     {
-        return sortLongestPath(PlayerEx.getLocal().getWorldPoint());
+        return sort((o1, o2) -> Integer.compare(
+                GameManager.pathDistanceTo(o2.getWorldPoint()),
+                GameManager.pathDistanceTo(o1.getWorldPoint())
+        ));
     }
 
     /**
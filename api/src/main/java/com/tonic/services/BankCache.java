@@ -2,28 +2,38 @@ package com.tonic.services;
 
 import com.tonic.Logger;
 import com.tonic.Static;
-import com.tonic.api.widgets.BankAPI;
-import com.tonic.data.wrappers.ItemEx;
 import com.tonic.events.BankCacheChanged;
-import com.tonic.queries.InventoryQuery;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import it.unimi.dsi.fastutil.ints.Int2IntMaps;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
+import net.runelite.api.Item;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.gameval.InventoryID;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.ItemManager;
 import java.nio.ByteBuffer;
 import java.util.Base64;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Caches the contents of the bank while it is open, allowing for
  * quick lookups without repeatedly querying the bank widget.
+ * <p>
+ * The cache is updated from bank {@link ItemContainerChanged} events by applying
+ * only the slots that changed, and each change posts a {@link BankCacheChanged}
+ * carrying the added, removed and changed ids. Changes are persisted as an
+ * append-only {@link BankDeltaLog} that is periodically compacted into the
+ * {@code CachedBanks} snapshot.
  */
 public class BankCache
 {
@@ -90,7 +100,21 @@ public class BankCache
 
     private static final ConcurrentHashMap<String,Int2IntMap> bankCache = new ConcurrentHashMap<>();
     private static final Int2IntMap EMPTY = Int2IntMaps.unmodifiable(new Int2IntOpenHashMap());
-    private final ConfigManager configManager = new ConfigManager("CachedBanks");
+    private static final int PLACEHOLDER = -1;
+    private final ConfigManager configManager = new ConfigManager("CachedBanks", true);
+    private final BankDeltaLog deltaLog = new BankDeltaLog(configManager);
+
+    /**
+     * last seen raw item id/quantity per bank slot, used to find which slots changed
+     */
+    private int[] slotIds = new int[0];
+    private int[] slotQuantities = new int[0];
+    private String slotOwner;
+
+    /**
+     * raw item id -> canonical id, or {@link #PLACEHOLDER}
+     */
+    private final Int2IntOpenHashMap canonicalIds = new Int2IntOpenHashMap();
 
     @Subscribe
     protected void onGameTick(GameTick event)
@@ -107,41 +131,153 @@ public class BankCache
         {
             fetch();
         }
+    }
+
+    @Subscribe
+    protected void onItemContainerChanged(ItemContainerChanged event)
+    {
+        if(event.getContainerId() != InventoryID.BANK)
+            return;
+
+        Client client = Static.getClient();
+        if(client.getLocalPlayer() == null || client.getLocalPlayer().getName() == null)
+            return;
+        String playerName = client.getLocalPlayer().getName();
+
+        Item[] items = event.getItemContainer().getItems();
+        Int2IntMap previous = bankCache.getOrDefault(playerName, EMPTY);
+        Int2IntMap updated = new Int2IntOpenHashMap(previous);
+        IntSet touched = new IntOpenHashSet();
 
-        if(BankAPI.isOpen())
+        if(!playerName.equals(slotOwner))
         {
-            Int2IntMap emptyMap = new Int2IntOpenHashMap();
-            List<ItemEx> items = InventoryQuery.fromInventoryId(InventoryID.BANK).collect();
-            for(ItemEx item : items)
+            // first bank view this session, rebuild from the container and diff against the stored bank
+            updated.clear();
+            for(Item item : items)
             {
-                if (item.isPlaceholder())
-                {
+                int canonicalId = canonicalize(item.getId());
+                if(canonicalId == PLACEHOLDER || item.getQuantity() <= 0)
+                    continue;
+                updated.put(canonicalId, updated.getOrDefault(canonicalId, 0) + item.getQuantity());
+            }
+            touched.addAll(previous.keySet());
+            touched.addAll(updated.keySet());
+            slotOwner = playerName;
+        }
+        else
+        {
+            int slots = Math.max(items.length, slotIds.length);
+            for(int slot = 0; slot < slots; slot++)
+            {
+                int oldId = slot < slotIds.length ? slotIds[slot] : -1;
+                int oldQty = slot < slotQuantities.length ? slotQuantities[slot] : 0;
+                int newId = slot < items.length ? items[slot].getId() : -1;
+                int newQty = slot < items.length ? items[slot].getQuantity() : 0;
+                if(oldId == newId && oldQty == newQty)
                     continue;
-                }
 
-                int canonicalId = item.getCanonicalId();
-                int currentQty = emptyMap.getOrDefault(canonicalId, 0);
-                emptyMap.put(canonicalId, item.getQuantity() + currentQty);
+                applySlot(updated, touched, oldId, -oldQty);
+                applySlot(updated, touched, newId, newQty);
             }
+        }
+
+        slotIds = new int[items.length];
+        slotQuantities = new int[items.length];
+        for(int slot = 0; slot < items.length; slot++)
+        {
+            slotIds[slot] = items[slot].getId();
+            slotQuantities[slot] = items[slot].getQuantity();
+        }
+
+        IntList added = new IntArrayList();
+        IntList removed = new IntArrayList();
+        IntList changed = new IntArrayList();
+        IntIterator it = touched.iterator();
+        while(it.hasNext())
+        {
+            int id = it.nextInt();
+            int before = previous.getOrDefault(id, 0);
+            int after = updated.getOrDefault(id, 0);
+            if(before == after)
+                continue;
+            if(before == 0)
+                added.add(id);
+            else if(after == 0)
+                removed.add(id);
+            else
+                changed.add(id);
+        }
+
+        if(added.isEmpty() && removed.isEmpty() && changed.isEmpty())
+            return;
 
-            Int2IntMap itemMap = bankCache.getOrDefault(playerName, EMPTY);
-            if(!itemMap.equals(emptyMap))
+        bankCache.put(playerName, updated);
+        Static.post(BankCacheChanged.of(playerName, added.toIntArray(), removed.toIntArray(), changed.toIntArray()));
+
+        if(Static.getVitaConfig().shouldCacheBank())
+        {
+            int count = added.size() + removed.size() + changed.size();
+            int[] ids = new int[count];
+            int[] quantities = new int[count];
+            int i = 0;
+            for(IntList list : new IntList[]{added, removed, changed})
             {
-                bankCache.put(playerName, emptyMap);
-                Static.post(BankCacheChanged.INSTANCE);
-                if(Static.getVitaConfig().shouldCacheBank())
+                for(int j = 0; j < list.size(); j++, i++)
                 {
-                    String serialized = serialize(emptyMap);
-                    configManager.setProperty(playerName, serialized);
+                    ids[i] = list.getInt(j);
+                    quantities[i] = updated.getOrDefault(ids[i], 0);
                 }
             }
+            deltaLog.append(playerName, ids, quantities, updated);
+        }
+    }
+
+    private void applySlot(Int2IntMap map, IntSet touched, int itemId, int quantityDelta)
+    {
+        if(itemId < 0 || quantityDelta == 0)
+            return;
+        int canonicalId = canonicalize(itemId);
+        if(canonicalId == PLACEHOLDER)
+            return;
+        int quantity = map.getOrDefault(canonicalId, 0) + quantityDelta;
+        if(quantity <= 0)
+            map.remove(canonicalId);
+        else
+            map.put(canonicalId, quantity);
+        touched.add(canonicalId);
+    }
+
+    /**
+     * Resolves a raw bank item id to its canonical id on the client thread, caching the result.
+     * @return the canonical id, or {@link #PLACEHOLDER} for placeholders and empty slots
+     */
+    private int canonicalize(int itemId)
+    {
+        if(itemId < 0)
+            return PLACEHOLDER;
+        int cached = canonicalIds.getOrDefault(itemId, Integer.MIN_VALUE);
+        if(cached != Integer.MIN_VALUE)
+            return cached;
+
+        Client client = Static.getClient();
+        int canonicalId;
+        if(client.getItemDefinition(itemId).getPlaceholderTemplateId() >= 0)
+        {
+            canonicalId = PLACEHOLDER;
         }
+        else
+        {
+            canonicalId = Static.getInjector().getInstance(ItemManager.class).canonicalize(itemId);
+        }
+        canonicalIds.put(itemId, canonicalId);
+        return canonicalId;
     }
 
     @Subscribe
     public void onGameStateChanged(GameStateChanged event)
     {
         if (event.getGameState() == GameState.LOGIN_SCREEN) {
+            slotOwner = null;
             Static.post(BankCacheChanged.INSTANCE);
         }
     }
@@ -152,11 +288,11 @@ public class BankCache
         if(client.getLocalPlayer() == null || client.getLocalPlayer().getName() == null)
             return;
 
-        String serialized = configManager.getStringOrDefault(client.getLocalPlayer().getName(), "");
-        Int2IntMap map = deserialize(serialized);
-        bankCache.put(client.getLocalPlayer().getName(), map);
+        String playerName = client.getLocalPlayer().getName();
+        Int2IntMap map = deltaLog.load(playerName);
+        bankCache.put(playerName, map.isEmpty() ? EMPTY : map);
         Static.post(BankCacheChanged.INSTANCE);
-        Logger.info("[Loaded] cached bank for " + client.getLocalPlayer().getName());
+        Logger.info("[Loaded] cached bank for " + playerName);
     }
 
     static void init()
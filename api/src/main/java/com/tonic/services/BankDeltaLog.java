@@ -0,0 +1,153 @@
+package com.tonic.services;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Append-only log of bank quantity changes per player, stored next to the
+ * {@code CachedBanks} snapshot. Each record is an (itemId, quantity) pair where a
+ * quantity of 0 means the item was removed. Replaying the log over the snapshot
+ * yields the current bank. Once enough records pile up the log is compacted by
+ * writing a fresh snapshot and truncating the log.
+ * <p>
+ * All writes happen in order on a single background thread.
+ */
+class BankDeltaLog
+{
+    private static final Path LOG_DIR = Static.VITA_DIR.resolve("CachedBanks.d");
+    private static final int COMPACT_THRESHOLD = 2048;
+
+    private final ConfigManager snapshots;
+    private final Map<String, Integer> recordCounts = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "BankCache-DeltaLog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    BankDeltaLog(ConfigManager snapshots)
+    {
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Loads the snapshot for a player and replays any logged deltas on top of it.
+     * @param playerName player
+     * @return the reconstructed bank
+     */
+    Int2IntMap load(String playerName)
+    {
+        Int2IntMap map = new Int2IntOpenHashMap(BankCache.deserialize(snapshots.getStringOrDefault(playerName, "")));
+        Path file = logFile(playerName);
+        int records = 0;
+        if (Files.exists(file))
+        {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+            {
+                while (true)
+                {
+                    int id = in.readInt();
+                    int quantity = in.readInt();
+                    if (quantity == 0)
+                        map.remove(id);
+                    else
+                        map.put(id, quantity);
+                    records++;
+                }
+            }
+            catch (EOFException ignored)
+            {
+                // end of log, a torn trailing record is simply dropped
+            }
+            catch (IOException e)
+            {
+                Logger.error("Failed to read bank delta log for " + playerName + ": " + e.getMessage());
+            }
+        }
+        recordCounts.put(playerName, records);
+        if (records > 0)
+        {
+            compact(playerName, new Int2IntOpenHashMap(map));
+        }
+        return map;
+    }
+
+    /**
+     * Appends changed quantities for a player, compacting once the log grows past the threshold.
+     * @param playerName player
+     * @param ids canonical item ids
+     * @param quantities new quantities, 0 for removed
+     * @param current a copy of the full bank to compact into if needed
+     */
+    void append(String playerName, int[] ids, int[] quantities, Int2IntMap current)
+    {
+        int records = recordCounts.merge(playerName, ids.length, Integer::sum);
+        writer.execute(() -> {
+            try
+            {
+                Path file = logFile(playerName);
+                Files.createDirectories(file.getParent());
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND))))
+                {
+                    for (int i = 0; i < ids.length; i++)
+                    {
+                        out.writeInt(ids[i]);
+                        out.writeInt(quantities[i]);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                Logger.error("Failed to append bank delta log for " + playerName + ": " + e.getMessage());
+            }
+        });
+        if (records >= COMPACT_THRESHOLD)
+        {
+            compact(playerName, current);
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the given bank and truncates the log. The snapshot is
+     * flushed to disk before the log is removed so a crash in between only replays
+     * deltas that are already part of the snapshot.
+     */
+    void compact(String playerName, Int2IntMap current)
+    {
+        recordCounts.put(playerName, 0);
+        writer.execute(() -> {
+            snapshots.setProperty(playerName, BankCache.serialize(current));
+            snapshots.flush();
+            try
+            {
+                Files.deleteIfExists(logFile(playerName));
+            }
+            catch (IOException e)
+            {
+                Logger.error("Failed to compact bank delta log for " + playerName + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private static Path logFile(String playerName)
+    {
+        return LOG_DIR.resolve(playerName.replaceAll("[^A-Za-z0-9_\\- ]", "_") + ".log");
+    }
+}
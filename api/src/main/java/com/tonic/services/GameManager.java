@@ -2,7 +2,6 @@ package com.tonic.services;
 
 import com.tonic.Logger;
 import com.tonic.Static;
-import com.tonic.api.game.SceneAPI;
 import com.tonic.api.game.sailing.BoatStatsAPI;
 import com.tonic.data.magic.SpellBook;
 import com.tonic.data.magic.spellbooks.SpellbookEnums;
@@ -22,12 +21,15 @@ import com.tonic.data.wrappers.TileItemEx;
 import com.tonic.data.wrappers.TileObjectEx;
 import com.tonic.headless.HeadlessMode;
 import com.tonic.services.hotswapper.PluginReloader;
+import com.tonic.services.profiler.sampling.ProfiledThreads;
 import com.tonic.util.AsyncTask;
 import com.tonic.services.mouse.ClickVisualizationOverlay;
 import com.tonic.services.mouse.MovementVisualizationOverlay;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
 import com.tonic.services.pathfinder.abstractions.IStep;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.WalkerData;
+import com.tonic.services.pathfinder.local.SceneDistanceField;
 import com.tonic.services.pathfinder.model.WalkerPath;
 import com.tonic.services.pathfinder.transports.TransportLoader;
 import com.tonic.services.stratpath.StratPathOverlay;
@@ -36,8 +38,6 @@ import com.tonic.util.RuneliteConfigUtil;
 import com.tonic.util.ThreadPool;
 import com.tonic.util.WorldPointUtil;
 import com.tonic.util.handler.StepHandler;
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.*;
@@ -81,7 +81,7 @@ public class GameManager extends Overlay {
     private static int lastUpdateTileObjects = 0;
     private static int lastUpdatePlayers = 0;
     private static int lastUpdateNpcs = 0;
-    private static int lastUpdateReachableTiles = 0;
+    private static int lastUpdateDistanceField = 0;
     private static int lastUpdateTileItems = 0;
     private static final List<TileObjectEx> tileObjects = new ArrayList<>();
     private static final List<NpcEx> npcs = new ArrayList<>();
@@ -91,7 +91,7 @@ public class GameManager extends Overlay {
     @Getter
     private static WalkerPath walkerPath;
     private static volatile StepHandler sailingPath;
-    private static final TIntSet reachableTiles = new TIntHashSet();
+    private static volatile SceneDistanceField distanceField;
     private static final Set<Integer> worldViews = ConcurrentHashMap.newKeySet();
 
     public static Stream<PlayerEx> playerStream()
@@ -163,15 +163,33 @@ public class GameManager extends Overlay {
     }
 
     public static boolean isReachable(int compressed)
+    {
+        return distanceField().isReachable(compressed);
+    }
+
+    /**
+     * @return walking steps from the local player to the tile, or {@link SceneDistanceField#UNREACHABLE}
+     */
+    public static int pathDistanceTo(WorldPoint worldPoint)
+    {
+        return distanceField().distance(worldPoint);
+    }
+
+    /**
+     * Walking distances from the local player to every tile of the scene. Built on the client
+     * thread the first time it is asked for each tick and shared by every caller until the next.
+     */
+    public static SceneDistanceField distanceField()
     {
         Client client = Static.getClient();
-        if(lastUpdateReachableTiles < client.getTickCount())
+        SceneDistanceField field = distanceField;
+        if(field == null || lastUpdateDistanceField < client.getTickCount())
         {
-            reachableTiles.clear();
-            reachableTiles.addAll(SceneAPI.reachableTilesCompressed(PlayerEx.getLocal().getWorldPoint()));
-            lastUpdateReachableTiles = client.getTickCount();
+            field = Static.invoke(() -> SceneDistanceField.compute(client.getTopLevelWorldView(), PlayerEx.getLocal().getWorldPoint(), true));
+            distanceField = field;
+            lastUpdateDistanceField = client.getTickCount();
         }
-        return reachableTiles.contains(compressed);
+        return field;
     }
 
     public static List<Tile> getTiles()
@@ -432,6 +450,7 @@ public class GameManager extends Overlay {
                 .getEventBus()
                 .register(this);
         TransportLoader.init();
+        WalkerData.preload();
         BankCache.init();
 
         ThreadPool.submit(() -> {
@@ -441,7 +460,6 @@ public class GameManager extends Overlay {
                 Delays.wait(1000);
                 client = Static.getClient();
             }
-            Walker.getObjectMap();
             PluginReloader.init();
             PluginReloader.forceRebuildPluginList();
 
@@ -525,7 +543,10 @@ public class GameManager extends Overlay {
     @Subscribe
     protected void onGameTick(GameTick event)
     {
-        tickCount++;
+        if(tickCount++ == 0)
+        {
+            ProfiledThreads.registerCurrent("Client thread");
+        }
         if(walkerPath != null && !walkerPath.step())
         {
             walkerPath = null;
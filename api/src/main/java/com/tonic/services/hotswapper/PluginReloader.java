@@ -2,6 +2,7 @@ package com.tonic.services.hotswapper;
 
 import com.tonic.Logger;
 import com.tonic.Static;
+import com.tonic.services.profiler.startup.StartupTrace;
 import com.tonic.util.ReflectBuilder;
 import lombok.Getter;
 import lombok.Setter;
@@ -44,32 +45,34 @@ public class PluginReloader {
             PluginContext.getLoadedPlugins().clear();
         }, "PluginClassLoader-Cleanup"));
 
-        List<File> jars = findJars().stream()
-                .map(Path::toFile)
-                .collect(Collectors.toList());
-
-        for (File jar : jars) {
-            try
-            {
-                PluginClassLoader classLoader = new PluginClassLoader(jar, Static.getClassLoader());
-                List<Class<?>> pluginClasses = classLoader.getPluginClasses();
+        try (StartupTrace.Span ignored = StartupTrace.begin("Sideloaded plugin discovery")) {
+            List<File> jars = findJars().stream()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
 
-                List<Plugin> plugins = new ArrayList<>();
-                for(Class<?> clazz : pluginClasses)
+            for (File jar : jars) {
+                try
                 {
-                    Plugin plugin = findLoadedPlugin(clazz);
-                    if(plugin != null)
+                    PluginClassLoader classLoader = new PluginClassLoader(jar, Static.getClassLoader());
+                    List<Class<?>> pluginClasses = classLoader.getPluginClasses();
+
+                    List<Plugin> plugins = new ArrayList<>();
+                    for(Class<?> clazz : pluginClasses)
                     {
-                        plugins.add(plugin);
+                        Plugin plugin = findLoadedPlugin(clazz);
+                        if(plugin != null)
+                        {
+                            plugins.add(plugin);
+                        }
                     }
-                }
 
-                PluginContext.getLoadedPlugins().put(jar.getAbsolutePath(), new PluginContext(
-                        classLoader, plugins, jar.lastModified()
-                ));
-            }
-            catch (Exception e) {
-                e.printStackTrace();
+                    PluginContext.getLoadedPlugins().put(jar.getAbsolutePath(), new PluginContext(
+                            classLoader, plugins, jar.lastModified()
+                    ));
+                }
+                catch (Exception e) {
+                    e.printStackTrace();
+                }
             }
         }
     }
@@ -106,7 +109,7 @@ public class PluginReloader {
             }
 
             PluginClassLoader newClassLoader = new PluginClassLoader(jarFile, Static.getClassLoader());
-            List<Class<?>> newClasses = newClassLoader.getClasses();
+            List<Class<?>> newClasses = newClassLoader.getPluginClasses();
             List<Plugin> newPlugins = pluginManager.loadPlugins(newClasses, null);
             PluginContext.getLoadedPlugins().put(jarFile.getAbsolutePath(), new PluginContext(
                     newClassLoader, newPlugins, jarFile.lastModified()
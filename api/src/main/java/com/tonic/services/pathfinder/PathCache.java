@@ -0,0 +1,292 @@
+package com.tonic.services.pathfinder;
+
+import com.tonic.api.game.SceneAPI;
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded LRU cache of world paths for scripts that walk the same routes over and over.
+ *
+ * <p>Entries are keyed by pathfinder, the 64x64 region the search started in, the destination
+ * tile and a fingerprint of the usable transports and teleports at the time. A lookup hits when
+ * the player stands on the cached start or within a couple of reachable tiles of any step on
+ * the cached path, and returns the remainder of the path from there. Changing transport or
+ * teleport state changes the fingerprint, so stale entries simply stop matching and age out;
+ * swapping the collision map clears the cache.</p>
+ */
+public class PathCache
+{
+    private static final int MAX_ENTRIES = 32;
+    private static final int START_TOLERANCE = 2;
+
+    private static final Map<Key, Entry> entries = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private static CollisionMap collisionMap;
+    private static final ThreadLocal<List<Teleport>> captured = new ThreadLocal<>();
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+
+    private PathCache()
+    {
+    }
+
+    /**
+     * Refreshes transports and teleports once for a request and fingerprints the result. Until
+     * the returned state is closed, transport refreshes and teleport builds on this thread reuse
+     * it, so the search runs on exactly the state the fingerprint describes and a cache miss
+     * costs no extra refresh. Pass the fingerprint to both {@link #lookup} and {@link #store}.
+     * @return captured state, to be closed when the request finishes
+     */
+    public static State capture()
+    {
+        TransportLoader.refreshTransports();
+        List<Teleport> teleports = Teleport.buildTeleportLinks();
+        int hash = TransportLoader.getFingerprint();
+        for(Teleport teleport : teleports)
+        {
+            hash += (WorldPointUtil.compress(teleport.getDestination()) * 31 + teleport.getRadius()) * 0x85EBCA6B;
+        }
+        captured.set(teleports);
+        return new State(hash);
+    }
+
+    /**
+     * @return teleports of the state captured on this thread, or null outside {@link #capture()}
+     */
+    public static List<Teleport> getCapturedTeleports()
+    {
+        return captured.get();
+    }
+
+    /**
+     * @param algo pathfinder
+     * @param start compressed start tile
+     * @param target compressed destination tile
+     * @param state fingerprint from {@link #capture()}
+     * @return the rest of a cached path from the start, or null
+     */
+    public static CachedPath lookup(PathfinderAlgo algo, int start, int target, int state)
+    {
+        Entry entry;
+        synchronized (entries)
+        {
+            checkCollisionMap();
+            entry = entries.get(new Key(algo, region(start), target, state));
+        }
+        if(entry == null)
+        {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        if(entry.start == start)
+        {
+            hits.incrementAndGet();
+            return new CachedPath(new ArrayList<>(entry.steps), entry.teleport == null ? null : entry.teleport.copy());
+        }
+
+        // started somewhere else in the region, join the cached path at the closest reachable step
+        WorldPoint from = WorldPointUtil.fromCompressed(start);
+        int index = -1;
+        int best = Integer.MAX_VALUE;
+        for(int i = 0; i < entry.steps.size(); i++)
+        {
+            WorldPoint position = entry.steps.get(i).getPosition();
+            if(position.getPlane() != from.getPlane())
+                continue;
+            int distance = position.distanceTo(from);
+            if(distance <= START_TOLERANCE && distance < best)
+            {
+                best = distance;
+                index = i;
+            }
+        }
+        if(index == -1 || (best > 0 && !SceneAPI.isReachable(from, entry.steps.get(index).getPosition())))
+        {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        // joining part way along never needs the teleport the original search started with
+        return new CachedPath(new ArrayList<>(entry.steps.subList(index, entry.steps.size())), null);
+    }
+
+    /**
+     * Remembers a computed path
+     * @param algo pathfinder
+     * @param start compressed start tile
+     * @param target compressed destination tile
+     * @param state fingerprint from {@link #capture()}
+     * @param steps computed steps, copied
+     * @param teleport teleport the path starts with, or null
+     */
+    public static void store(PathfinderAlgo algo, int start, int target, int state, List<? extends IStep> steps, Teleport teleport)
+    {
+        if(steps == null || steps.isEmpty())
+            return;
+        Entry entry = new Entry(start, Collections.unmodifiableList(new ArrayList<>(steps)), teleport);
+        synchronized (entries)
+        {
+            checkCollisionMap();
+            entries.put(new Key(algo, region(start), target, state), entry);
+        }
+    }
+
+    /**
+     * Drops every cached path ending at a destination, e.g. after one turned out to be blocked
+     * @param target compressed destination tile
+     */
+    public static void invalidate(int target)
+    {
+        synchronized (entries)
+        {
+            entries.keySet().removeIf(key -> key.target == target);
+        }
+    }
+
+    public static void clear()
+    {
+        synchronized (entries)
+        {
+            entries.clear();
+        }
+    }
+
+    public static int size()
+    {
+        synchronized (entries)
+        {
+            return entries.size();
+        }
+    }
+
+    public static int getHits()
+    {
+        return hits.get();
+    }
+
+    public static int getMisses()
+    {
+        return misses.get();
+    }
+
+    private static void checkCollisionMap()
+    {
+        CollisionMap current = Walker.getCollisionMap();
+        if(current != collisionMap)
+        {
+            entries.clear();
+            collisionMap = current;
+        }
+    }
+
+    private static int region(int packed)
+    {
+        return (WorldPointUtil.getCompressedX(packed) >> 6) << 8
+                | (WorldPointUtil.getCompressedY(packed) >> 6)
+                | WorldPointUtil.getCompressedPlane(packed) << 24;
+    }
+
+    /**
+     * Path returned from the cache, owned by the caller
+     */
+    @Getter
+    public static final class CachedPath
+    {
+        private final List<IStep> steps;
+        private final Teleport teleport;
+
+        CachedPath(List<IStep> steps, Teleport teleport)
+        {
+            this.steps = steps;
+            this.teleport = teleport;
+        }
+    }
+
+    /**
+     * Transport and teleport state captured for one request
+     */
+    public static final class State implements AutoCloseable
+    {
+        @Getter
+        private final int fingerprint;
+
+        State(int fingerprint)
+        {
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public void close()
+        {
+            captured.remove();
+        }
+    }
+
+    private static final class Entry
+    {
+        private final int start;
+        private final List<IStep> steps;
+        private final Teleport teleport;
+
+        Entry(int start, List<IStep> steps, Teleport teleport)
+        {
+            this.start = start;
+            this.steps = steps;
+            this.teleport = teleport;
+        }
+    }
+
+    private static final class Key
+    {
+        private final PathfinderAlgo algo;
+        private final int region;
+        private final int target;
+        private final int state;
+
+        Key(PathfinderAlgo algo, int region, int target, int state)
+        {
+            this.algo = algo;
+            this.region = region;
+            this.target = target;
+            this.state = state;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if(this == o)
+                return true;
+            if(!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return algo == other.algo && region == other.region && target == other.target && state == other.state;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(algo, region, target, state);
+        }
+    }
+}
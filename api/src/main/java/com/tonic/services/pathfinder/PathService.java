@@ -0,0 +1,374 @@
+package com.tonic.services.pathfinder;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.data.wrappers.PlayerEx;
+import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.model.WalkerPath;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Computes world paths off the caller's thread.
+ *
+ * <p>Requests run on a small dedicated pool so that several scripts pathing at once cannot
+ * saturate the CPU. Identical in-flight requests (same algorithm, start tile and destination)
+ * share one search, and a request made on behalf of an owner, such as a {@link WalkerPath}
+ * refreshing itself, cancels whatever that owner asked for before. Cancelling a running search
+ * interrupts its worker, which the grid pathfinders check periodically.</p>
+ */
+public class PathService
+{
+    private static final int MAX_CONCURRENT = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            MAX_CONCURRENT, MAX_CONCURRENT, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        Thread t = new Thread(r, "PathService-" + THREAD_ID.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Map<Key, Request> inFlight = new ConcurrentHashMap<>();
+    private static final Map<Object, Request> byOwner = new ConcurrentHashMap<>();
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private PathService()
+    {
+    }
+
+    /**
+     * Path from the local player to a tile with the configured pathfinder
+     * @param target destination
+     * @return future path
+     */
+    public static CompletableFuture<WalkerPath> submit(WorldPoint target)
+    {
+        return submit(target, Static.getVitaConfig().getPathfinderImpl());
+    }
+
+    /**
+     * Path from the local player to a tile
+     * @param target destination
+     * @param algo pathfinder to use
+     * @return future path
+     */
+    public static CompletableFuture<WalkerPath> submit(WorldPoint target, PathfinderAlgo algo)
+    {
+        final WorldPoint walkable = Walker.getCollisionMap().nearestWalkableEuclidean(target, 5);
+        return submit(null, new Key(algo, start(), walkable, null, false), engine -> engine.find(walkable));
+    }
+
+    /**
+     * Path from the local player to the closest of several areas with the configured pathfinder
+     * @param targets destination areas
+     * @return future path
+     */
+    public static CompletableFuture<WalkerPath> submit(List<WorldArea> targets)
+    {
+        final List<WorldArea> copy = new ArrayList<>(targets);
+        return submit(null, new Key(Static.getVitaConfig().getPathfinderImpl(), start(), null, copy, false), engine -> engine.find(copy));
+    }
+
+    /**
+     * Path to a tile on behalf of an owner. Any earlier request by the same owner that is still
+     * pending is cancelled, so only the latest refresh is ever computed. Refreshes exist because
+     * the current path stopped working, so they bypass and invalidate the {@link PathCache}.
+     * @param owner identity of the requester, compared by reference
+     * @param target destination
+     * @return future path
+     */
+    public static CompletableFuture<WalkerPath> refresh(Object owner, WorldPoint target)
+    {
+        final PathfinderAlgo algo = Static.getVitaConfig().getPathfinderImpl();
+        PathCache.invalidate(WorldPointUtil.compress(target));
+        return submit(owner, new Key(algo, start(), target, null, true), engine -> engine.find(target));
+    }
+
+    /**
+     * Cancels the pending request of an owner, if any
+     * @param owner identity of the requester
+     */
+    public static void cancel(Object owner)
+    {
+        Request request = byOwner.remove(new Identity(owner));
+        if(request != null)
+        {
+            request.release();
+        }
+    }
+
+    /**
+     * @return number of searches queued or running
+     */
+    public static int getPendingCount()
+    {
+        return inFlight.size();
+    }
+
+    private static CompletableFuture<WalkerPath> submit(Object owner, Key key, Function<IPathfinder, List<? extends IStep>> search)
+    {
+        Request request;
+        while(true)
+        {
+            request = inFlight.computeIfAbsent(key, k -> new Request(k, search));
+            if(request.retain())
+                break;
+            // lost a race with the last holder cancelling it
+            inFlight.remove(key, request);
+        }
+
+        if(owner != null)
+        {
+            Request previous = byOwner.put(new Identity(owner), request);
+            if(previous != null)
+            {
+                // also drops the duplicate hold when the owner repeats its own request
+                previous.release();
+            }
+        }
+
+        request.start();
+        final Request submitted = request;
+        // each caller gets its own view so cancelling it only drops this caller's interest
+        CompletableFuture<WalkerPath> view = new CompletableFuture<>();
+        submitted.future.whenComplete((result, ex) -> {
+            if(owner != null)
+            {
+                byOwner.remove(new Identity(owner), submitted);
+            }
+            if(ex != null)
+            {
+                view.completeExceptionally(ex);
+                return;
+            }
+            try
+            {
+                // WalkerPath consumes its steps while walking, so every caller gets its own copy
+                view.complete(WalkerPath.of(new ArrayList<>(result.steps), result.teleport == null ? null : result.teleport.copy()));
+            }
+            catch (Throwable t)
+            {
+                view.completeExceptionally(t);
+            }
+        });
+        view.whenComplete((path, ex) -> {
+            if(view.isCancelled())
+            {
+                if(owner != null && byOwner.remove(new Identity(owner), submitted))
+                {
+                    submitted.release();
+                }
+                else if(owner == null)
+                {
+                    submitted.release();
+                }
+            }
+        });
+        return view;
+    }
+
+    private static int start()
+    {
+        return WorldPointUtil.compress(PlayerEx.getLocal().getWorldPoint());
+    }
+
+    /**
+     * One search shared by every caller that asked for the same key
+     */
+    private static final class Request
+    {
+        private final Key key;
+        private final Function<IPathfinder, List<? extends IStep>> search;
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        private int holders;
+        private boolean started;
+        private Thread worker;
+
+        Request(Key key, Function<IPathfinder, List<? extends IStep>> search)
+        {
+            this.key = key;
+            this.search = search;
+        }
+
+        synchronized boolean retain()
+        {
+            if(future.isDone() && holders == 0)
+                return false;
+            holders++;
+            return true;
+        }
+
+        synchronized void start()
+        {
+            if(started)
+                return;
+            started = true;
+            executor.execute(this::run);
+        }
+
+        /**
+         * Drops one caller's interest, cancelling the search once nobody is waiting for it
+         */
+        void release()
+        {
+            synchronized (this)
+            {
+                if(--holders > 0 || future.isDone())
+                    return;
+                if(worker != null)
+                {
+                    worker.interrupt();
+                }
+            }
+            inFlight.remove(key, this);
+            future.completeExceptionally(new CancellationException("Path request superseded"));
+        }
+
+        private void run()
+        {
+            synchronized (this)
+            {
+                if(future.isDone())
+                    return;
+                worker = Thread.currentThread();
+            }
+            try
+            {
+                // only single tile destinations are cached
+                final boolean cacheable = key.target != -1;
+                try (PathCache.State state = cacheable ? PathCache.capture() : null)
+                {
+                    if(cacheable && !key.fresh)
+                    {
+                        PathCache.CachedPath hit = PathCache.lookup(key.algo, key.start, key.target, state.getFingerprint());
+                        if(hit != null)
+                        {
+                            future.complete(new Result(hit.getSteps(), hit.getTeleport()));
+                            return;
+                        }
+                    }
+
+                    final IPathfinder engine = key.algo.newInstance();
+                    List<? extends IStep> steps = search.apply(engine);
+                    if(Thread.currentThread().isInterrupted())
+                    {
+                        future.completeExceptionally(new CancellationException("Path request cancelled"));
+                        return;
+                    }
+                    if(cacheable)
+                    {
+                        PathCache.store(key.algo, key.start, key.target, state.getFingerprint(), steps, engine.getTeleport());
+                    }
+                    future.complete(new Result(steps == null ? Collections.emptyList() : steps, engine.getTeleport()));
+                }
+            }
+            catch (Throwable t)
+            {
+                Logger.error("[PathService] Path request failed: " + t.getMessage());
+                future.completeExceptionally(t);
+            }
+            finally
+            {
+                synchronized (this)
+                {
+                    worker = null;
+                    // clear a cancellation that raced with completion so it cannot leak into the next task
+                    Thread.interrupted();
+                }
+                inFlight.remove(key, this);
+            }
+        }
+    }
+
+    private static final class Result
+    {
+        private final List<? extends IStep> steps;
+        private final Teleport teleport;
+
+        Result(List<? extends IStep> steps, Teleport teleport)
+        {
+            this.steps = steps;
+            this.teleport = teleport;
+        }
+    }
+
+    private static final class Key
+    {
+        private final PathfinderAlgo algo;
+        private final int start;
+        private final int target;
+        private final List<WorldArea> areas;
+        private final boolean fresh;
+
+        Key(PathfinderAlgo algo, int start, WorldPoint target, List<WorldArea> areas, boolean fresh)
+        {
+            this.algo = algo;
+            this.start = start;
+            this.target = target == null ? -1 : WorldPointUtil.compress(target);
+            this.areas = areas;
+            this.fresh = fresh;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if(this == o)
+                return true;
+            if(!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return algo == other.algo && start == other.start && target == other.target
+                    && fresh == other.fresh && Objects.equals(areas, other.areas);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(algo, start, target, areas, fresh);
+        }
+    }
+
+    /**
+     * Reference identity wrapper so owners with value equality cannot collide
+     */
+    private static final class Identity
+    {
+        private final Object ref;
+
+        Identity(Object ref)
+        {
+            this.ref = ref;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof Identity && ((Identity) o).ref == ref;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(ref);
+        }
+    }
+}
@@ -10,7 +10,8 @@ import com.tonic.api.threaded.Delays;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.GameManager;
 import com.tonic.services.pathfinder.collision.CollisionMap;
-import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.collision.ComponentMap;
+import com.tonic.services.pathfinder.landmarks.LandmarkTable;
 import com.tonic.services.pathfinder.model.WalkerPath;
 import com.tonic.services.pathfinder.objects.ObjectMap;
 import com.tonic.services.pathfinder.sailing.graph.NavGraph;
@@ -18,7 +19,6 @@ import com.tonic.services.pathfinder.tiletype.TileTypeMap;
 import com.tonic.util.IntPair;
 import com.tonic.util.ThreadPool;
 import com.tonic.util.handler.StepHandler;
-import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
@@ -31,25 +31,10 @@ import java.util.function.BooleanSupplier;
 public class Walker
 {
     static {
-        try {
-            collisionMap = GlobalCollisionMap.load();
-            objectMap = ObjectMap.load();
-            tileTypeMap = TileTypeMap.load();
-            navGraph = NavGraph.load();
-        } catch (Exception e) {
-            Logger.error("[Pathfinder] Failed to load collision map: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // first touch starts every dataset; each getter waits only for its own
+        WalkerData.preload();
     }
 
-    @Getter
-    private static CollisionMap collisionMap;
-    @Getter
-    private static ObjectMap objectMap;
-    @Getter
-    private static TileTypeMap tileTypeMap;
-    @Getter
-    private static NavGraph navGraph;
     private static boolean running = false;
     private static WalkerPath currentPath = null;
 
@@ -58,6 +43,54 @@ public class Walker
 
     }
 
+    /**
+     * @return the global collision map, or null if it failed to load
+     */
+    public static CollisionMap getCollisionMap()
+    {
+        return WalkerData.COLLISION.get();
+    }
+
+    /**
+     * @return the object map, or null if it failed to load
+     */
+    public static ObjectMap getObjectMap()
+    {
+        return WalkerData.OBJECTS.get();
+    }
+
+    /**
+     * @return the tile type map, or null if it failed to load
+     */
+    public static TileTypeMap getTileTypeMap()
+    {
+        return WalkerData.TILE_TYPES.get();
+    }
+
+    /**
+     * @return the sailing nav graph, or null if it failed to load
+     */
+    public static NavGraph getNavGraph()
+    {
+        return WalkerData.NAV_GRAPH.get();
+    }
+
+    /**
+     * @return the component map, or null if it failed to load or doesn't match the collision map
+     */
+    public static ComponentMap getComponentMap()
+    {
+        return WalkerData.COMPONENTS.get();
+    }
+
+    /**
+     * @return the landmark table, or null if it failed to load or doesn't match the collision map
+     */
+    public static LandmarkTable getLandmarkTable()
+    {
+        return WalkerData.LANDMARKS.get();
+    }
+
     public static class Setting
     {
         public static IntPair toggleRunRange = new IntPair(25, 35);
@@ -120,7 +153,7 @@ public class Walker
     }
 
     private static boolean walk(WorldPoint target, BooleanSupplier stopCondition) {
-        target = collisionMap.nearestWalkableEuclidean(target, 5);
+        target = getCollisionMap().nearestWalkableEuclidean(target, 5);
         WalkerPath walkerPath = WalkerPath.get(target);
         return walk(walkerPath, stopCondition);
     }
@@ -0,0 +1,224 @@
+package com.tonic.services.pathfinder;
+
+import com.tonic.Logger;
+import com.tonic.services.pathfinder.collision.ComponentMap;
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.landmarks.LandmarkTable;
+import com.tonic.services.pathfinder.objects.ObjectMap;
+import com.tonic.services.pathfinder.sailing.graph.NavGraph;
+import com.tonic.services.pathfinder.tiletype.TileTypeMap;
+import com.tonic.services.profiler.startup.StartupTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of the pathfinder's map datasets.
+ *
+ * Each dataset loads on its own: {@link #preload()} starts all of them in parallel in the
+ * background, and {@link Dataset#get()} blocks only until that one dataset is ready, loading
+ * it on the calling thread if nothing started it yet. A dataset that fails to load reports
+ * null and keeps its error, without taking the others down with it.
+ */
+public final class WalkerData
+{
+    private static final int THREADS = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 4));
+    private static final AtomicInteger threadId = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread thread = new Thread(r, "WalkerData-" + threadId.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final List<Dataset<?>> datasets = new ArrayList<>();
+
+    // Registered in preload order, what a land search reads first so the first path doesn't
+    // queue behind the rest on a small pool. The component map and landmarks wait on the
+    // collision map.
+    public static final Dataset<GlobalCollisionMap> COLLISION = register("Collision map", false, GlobalCollisionMap::load);
+    public static final Dataset<ComponentMap> COMPONENTS = register("Component map", false, WalkerData::loadComponents);
+    // the searches work without it, just slower
+    public static final Dataset<LandmarkTable> LANDMARKS = register("Landmark table", true, WalkerData::loadLandmarks);
+    public static final Dataset<ObjectMap> OBJECTS = register("Object map", false, ObjectMap::load);
+    public static final Dataset<TileTypeMap> TILE_TYPES = register("Tile type map", false, TileTypeMap::load);
+    public static final Dataset<NavGraph> NAV_GRAPH = register("Nav graph", false, NavGraph::load);
+
+    private WalkerData()
+    {
+    }
+
+    /**
+     * Loads a dataset.
+     */
+    @FunctionalInterface
+    public interface Loader<T>
+    {
+        T load() throws Exception;
+    }
+
+    /**
+     * One independently loaded dataset.
+     */
+    public static final class Dataset<T>
+    {
+        private final String name;
+        private final boolean optional;
+        private final Loader<T> loader;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // set once the load has finished, so the search loops' reads skip the future entirely
+        private volatile boolean ready;
+        private T value;
+
+        private Dataset(String name, boolean optional, Loader<T> loader)
+        {
+            this.name = name;
+            this.optional = optional;
+            this.loader = loader;
+        }
+
+        /**
+         * Gets the dataset, waiting for it to load.
+         * @return the dataset, or null if it failed to load
+         */
+        public T get()
+        {
+            if(ready)
+            {
+                return value;
+            }
+            if(started.compareAndSet(false, true))
+            {
+                load();
+            }
+            try
+            {
+                return result.join();
+            }
+            catch (CompletionException e)
+            {
+                return null;
+            }
+        }
+
+        /**
+         * @return true once the dataset has loaded or failed
+         */
+        public boolean isDone()
+        {
+            return result.isDone();
+        }
+
+        /**
+         * @return what the load failed with, or null if it hasn't failed
+         */
+        public Throwable getError()
+        {
+            if(!result.isCompletedExceptionally())
+            {
+                return null;
+            }
+            try
+            {
+                result.join();
+                return null;
+            }
+            catch (CompletionException e)
+            {
+                return e.getCause();
+            }
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        private void start()
+        {
+            if(started.compareAndSet(false, true))
+            {
+                executor.execute(this::load);
+            }
+        }
+
+        private void load()
+        {
+            try
+            {
+                value = StartupTrace.trace(name, loader::load);
+                ready = true;
+                result.complete(value);
+            }
+            catch (Throwable t)
+            {
+                if(optional)
+                {
+                    Logger.warn("[Pathfinder] Failed to load " + name + ": " + t.getMessage());
+                }
+                else
+                {
+                    Logger.error("[Pathfinder] Failed to load " + name + ": " + t.getMessage());
+                    t.printStackTrace();
+                }
+                ready = true;
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    /**
+     * Starts loading every dataset that hasn't started yet, in the background. Returns at once.
+     */
+    public static void preload()
+    {
+        for(Dataset<?> dataset : datasets)
+        {
+            dataset.start();
+        }
+    }
+
+    /**
+     * @return every dataset, in preload order
+     */
+    public static List<Dataset<?>> getDatasets()
+    {
+        return new ArrayList<>(datasets);
+    }
+
+    private static <T> Dataset<T> register(String name, boolean optional, Loader<T> loader)
+    {
+        Dataset<T> dataset = new Dataset<>(name, optional, loader);
+        datasets.add(dataset);
+        return dataset;
+    }
+
+    private static ComponentMap loadComponents() throws Exception
+    {
+        ComponentMap components = ComponentMap.load();
+        GlobalCollisionMap globalMap = COLLISION.get();
+        if(components != null && (globalMap == null || !components.matches(globalMap)))
+        {
+            Logger.warn("[Pathfinder] components.dat does not match map.dat, ignoring it");
+            return null;
+        }
+        return components;
+    }
+
+    private static LandmarkTable loadLandmarks() throws Exception
+    {
+        LandmarkTable landmarks = LandmarkTable.load();
+        GlobalCollisionMap globalMap = COLLISION.get();
+        if(landmarks != null && (globalMap == null || !landmarks.matches(globalMap)))
+        {
+            Logger.warn("[Pathfinder] landmarks.dat does not match map.dat, ignoring it");
+            return null;
+        }
+        return landmarks;
+    }
+}
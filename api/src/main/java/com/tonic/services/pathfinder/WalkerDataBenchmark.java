@@ -0,0 +1,131 @@
+package com.tonic.services.pathfinder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Offline comparison of the serial load Walker's static initializer used to run against
+ * {@link WalkerData#preload()}. Each run is a fresh JVM so every load starts cold, and the two
+ * modes alternate. Three times are reported, medians over the runs:
+ * <ul>
+ *     <li>login: how long the thread that first touches Walker is held up. The old initializer
+ *     loaded every dataset before returning, preload only starts them.</li>
+ *     <li>first path: until the collision and component maps a land search reads are ready,
+ *     what the first WalkerPath.get waits for</li>
+ *     <li>all: until every dataset has loaded or failed</li>
+ * </ul>
+ * The datasets load from the classpath as they do in the client, so it must hold map.dat and
+ * the other pathfinder resources.
+ *
+ * <pre>
+ * java ... WalkerDataBenchmark [runs]
+ * </pre>
+ */
+public final class WalkerDataBenchmark {
+    private static final String SERIAL = "serial";
+    private static final String PRELOAD = "preload";
+
+    private WalkerDataBenchmark() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && (args[0].equals(SERIAL) || args[0].equals(PRELOAD))) {
+            runOnce(args[0].equals(PRELOAD));
+            return;
+        }
+        if (args.length > 1) {
+            System.err.println("Usage: WalkerDataBenchmark [runs]");
+            System.exit(1);
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        long[][] serial = new long[3][runs];
+        long[][] preload = new long[3][runs];
+        for (int i = 0; i < runs; i++) {
+            fork(SERIAL, serial, i);
+            fork(PRELOAD, preload, i);
+        }
+
+        System.out.printf("%-12s %10s %12s %10s%n", "", "login ms", "first path", "all ms");
+        print("Serial", serial);
+        print("Preload", preload);
+    }
+
+    /**
+     * Loads the datasets one way and prints the three times in nanoseconds
+     */
+    private static void runOnce(boolean preload) {
+        long start = System.nanoTime();
+        long login;
+        long firstPath;
+        if (preload) {
+            WalkerData.preload();
+            login = System.nanoTime() - start;
+            WalkerData.COLLISION.get();
+            WalkerData.COMPONENTS.get();
+            firstPath = System.nanoTime() - start;
+        } else {
+            // what the static initializer did, every dataset in turn on the first caller's thread
+            for (WalkerData.Dataset<?> dataset : WalkerData.getDatasets()) {
+                dataset.get();
+            }
+            login = System.nanoTime() - start;
+            firstPath = login;
+        }
+        List<String> failed = new ArrayList<>();
+        for (WalkerData.Dataset<?> dataset : WalkerData.getDatasets()) {
+            dataset.get();
+            if (dataset.getError() != null) {
+                failed.add(dataset.getName());
+            }
+        }
+        long all = System.nanoTime() - start;
+        System.out.println("RESULT " + login + " " + firstPath + " " + all + " " + String.join(",", failed));
+    }
+
+    /**
+     * Runs one mode in a new JVM with this JVM's classpath and records its times
+     */
+    private static void fork(String mode, long[][] times, int run) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                WalkerDataBenchmark.class.getName(), mode)
+                .redirectErrorStream(true)
+                .start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("RESULT ")) {
+                    result = line;
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException(mode + " run " + run + " did not finish");
+        }
+        String[] parts = result.split(" ", 5);
+        for (int i = 0; i < 3; i++) {
+            times[i][run] = Long.parseLong(parts[i + 1]);
+        }
+        if (run == 0 && !parts[4].isEmpty()) {
+            System.out.println(mode + ": failed to load " + parts[4] + ", the times leave those datasets out");
+        }
+    }
+
+    private static void print(String label, long[][] times) {
+        System.out.printf("%-12s %10.1f %12.1f %10.1f%n", label, median(times[0]), median(times[1]), median(times[2]));
+    }
+
+    private static double median(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1_000_000.0;
+    }
+}
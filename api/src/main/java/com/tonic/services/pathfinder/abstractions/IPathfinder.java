@@ -1,5 +1,6 @@
 package com.tonic.services.pathfinder.abstractions;
 
+import com.tonic.services.pathfinder.model.NearestDestination;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
@@ -18,4 +19,15 @@ public interface IPathfinder
     {
         throw new UnsupportedOperationException("This is only implemented for the Hybrid BFS Algo.");
     }
+
+    /**
+     * Finds the closest of several destinations in a single search
+     * @param destinations destination areas
+     * @param rankAll keep searching after the closest is found to rank every reachable destination
+     * @return the closest destination and its path
+     */
+    default NearestDestination findNearest(List<WorldArea> destinations, boolean rankAll)
+    {
+        throw new UnsupportedOperationException("This is only implemented for the Hybrid BFS Algo.");
+    }
 }
@@ -3,7 +3,6 @@ package com.tonic.services.pathfinder.collections;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
 import com.tonic.services.pathfinder.implimentations.hybridbfs.HybridBFSStep;
-import gnu.trove.map.hash.TIntIntHashMap;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -11,19 +10,34 @@ import java.util.List;
 
 public class BFSCache
 {
-    private final TIntIntHashMap cache = new TIntIntHashMap(20000);
+    private final TileIntMap cache;
+
+    public BFSCache()
+    {
+        this(new TileIntMap(64));
+    }
+
+    /**
+     * @param cache backing map, usually borrowed from a {@link SearchWorkspace}
+     */
+    public BFSCache(final TileIntMap cache)
+    {
+        this.cache = cache;
+    }
 
     public boolean put(final int point, final int parent)
     {
-        if(cache.contains(point))
-            return false;
-        cache.put(point, parent);
-        return true;
+        return cache.putIfAbsent(point, parent);
     }
 
     public int get(final int position)
     {
-        return cache.get(position);
+        return cache.get(position, 0);
+    }
+
+    public boolean contains(final int position)
+    {
+        return cache.contains(position);
     }
 
     public void clear()
@@ -36,6 +50,22 @@ public class BFSCache
         return cache.size();
     }
 
+    /**
+     * @param pos a visited position
+     * @return number of steps from the search start to the position
+     */
+    public int depth(int pos)
+    {
+        int depth = 0;
+        int parent = get(pos);
+        while(parent != -1)
+        {
+            depth++;
+            parent = get(parent);
+        }
+        return depth;
+    }
+
     public List<HybridBFSStep> path(int pos)
     {
         // First: Build path positions
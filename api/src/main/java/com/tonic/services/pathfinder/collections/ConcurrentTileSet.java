@@ -0,0 +1,83 @@
+package com.tonic.services.pathfinder.collections;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free set of compressed world points, for one search thread to publish the tiles it has
+ * visited to another.
+ *
+ * <p>Laid out like {@link TileIntMap}: 64x64 tile pages per plane, created on first use, but a
+ * page is a single bit per tile held in an {@link AtomicLongArray} of rows. Pages are installed
+ * and bits set with compare-and-set, so any number of threads may add and test concurrently and
+ * a point reads as present as soon as the {@link #add} that set it has returned.</p>
+ */
+public final class ConcurrentTileSet
+{
+    private static final int PAGE_SHIFT = 6;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+    private static final int BLOCK_SHIFT = 10;
+    private static final int BLOCK_MASK = (1 << BLOCK_SHIFT) - 1;
+    // 8 bits of page x, 9 bits of page y, 3 bits of plane
+    private static final int PAGE_INDEX_BITS = 20;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<AtomicLongArray>> directory =
+            new AtomicReferenceArray<>(1 << (PAGE_INDEX_BITS - BLOCK_SHIFT));
+
+    /**
+     * @param point compressed world point
+     * @return true if the point was not in the set before
+     */
+    public boolean add(final int point)
+    {
+        final AtomicLongArray page = page(pageIndex(point), true);
+        final int row = (point >>> 14) & PAGE_MASK;
+        final long bit = 1L << (point & PAGE_MASK);
+        long current;
+        do
+        {
+            current = page.get(row);
+            if((current & bit) != 0)
+                return false;
+        }
+        while(!page.compareAndSet(row, current, current | bit));
+        return true;
+    }
+
+    public boolean contains(final int point)
+    {
+        final AtomicLongArray page = page(pageIndex(point), false);
+        return page != null && (page.get((point >>> 14) & PAGE_MASK) & (1L << (point & PAGE_MASK))) != 0;
+    }
+
+    private AtomicLongArray page(final int pageIndex, final boolean create)
+    {
+        final int blockIndex = pageIndex >>> BLOCK_SHIFT;
+        AtomicReferenceArray<AtomicLongArray> block = directory.get(blockIndex);
+        if(block == null)
+        {
+            if(!create)
+                return null;
+            directory.compareAndSet(blockIndex, null, new AtomicReferenceArray<>(1 << BLOCK_SHIFT));
+            block = directory.get(blockIndex);
+        }
+
+        AtomicLongArray page = block.get(pageIndex & BLOCK_MASK);
+        if(page == null)
+        {
+            if(!create)
+                return null;
+            block.compareAndSet(pageIndex & BLOCK_MASK, null, new AtomicLongArray(1 << PAGE_SHIFT));
+            page = block.get(pageIndex & BLOCK_MASK);
+        }
+        return page;
+    }
+
+    private static int pageIndex(final int point)
+    {
+        final int x = point & 0x3FFF;
+        final int y = (point >>> 14) & 0x7FFF;
+        final int plane = point >>> 29;
+        return (x >>> PAGE_SHIFT) | (y >>> PAGE_SHIFT) << 8 | plane << 17;
+    }
+}
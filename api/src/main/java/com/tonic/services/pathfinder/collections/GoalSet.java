@@ -0,0 +1,91 @@
+package com.tonic.services.pathfinder.collections;
+
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.coords.WorldArea;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Constant time goal membership for multi-destination searches. Every tile of every destination
+ * area is mapped to the index of the destination it belongs to, so a search can tell both
+ * whether it reached a goal and which one from a single lookup. Where areas overlap the tile
+ * belongs to the earliest destination.
+ */
+public final class GoalSet
+{
+    private final TileIntMap tiles = new TileIntMap(Integer.MAX_VALUE);
+    private final int destinationCount;
+    private final int[] points;
+
+    /**
+     * @param destinations destination areas, indexed by their position in the list
+     */
+    public GoalSet(List<WorldArea> destinations)
+    {
+        this.destinationCount = destinations.size();
+        int total = 0;
+        for(WorldArea area : destinations)
+        {
+            total += area.getWidth() * area.getHeight();
+        }
+
+        int[] points = new int[total];
+        int count = 0;
+        for(int i = 0; i < destinations.size(); i++)
+        {
+            WorldArea area = destinations.get(i);
+            for(int x = area.getX(); x < area.getX() + area.getWidth(); x++)
+            {
+                for(int y = area.getY(); y < area.getY() + area.getHeight(); y++)
+                {
+                    int point = WorldPointUtil.compress(x, y, area.getPlane());
+                    if(tiles.putIfAbsent(point, i))
+                    {
+                        points[count++] = point;
+                    }
+                }
+            }
+        }
+        this.points = count == total ? points : Arrays.copyOf(points, count);
+    }
+
+    /**
+     * @param point compressed world point
+     * @return true if the point is inside any destination
+     */
+    public boolean contains(final int point)
+    {
+        return tiles.contains(point);
+    }
+
+    /**
+     * @param point compressed world point
+     * @return index of the destination containing the point, or -1
+     */
+    public int indexOf(final int point)
+    {
+        return tiles.get(point, -1);
+    }
+
+    /**
+     * @return number of destinations
+     */
+    public int destinationCount()
+    {
+        return destinationCount;
+    }
+
+    /**
+     * @return every distinct goal tile, compressed
+     */
+    public int[] points()
+    {
+        return points;
+    }
+
+    public boolean isEmpty()
+    {
+        return points.length == 0;
+    }
+}
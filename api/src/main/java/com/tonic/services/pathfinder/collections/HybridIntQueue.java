@@ -22,8 +22,8 @@ package com.tonic.services.pathfinder.collections;
  * certain conditions or time steps have passed, but you still want a queue-like interface for retrieving them.</p>
  */
 public final class HybridIntQueue {
-    private final int[] data;
-    private final int capacityMask;
+    private int[] data;
+    private int capacityMask;
     private int head;
     private int tail;
 
@@ -37,7 +37,8 @@ public final class HybridIntQueue {
     private int transportCapacity;
 
     /**
-     * Creates a new HybridIntQueue with the specified capacity.
+     * Creates a new HybridIntQueue with the specified capacity. The main queue doubles
+     * whenever it fills up, so this only needs to cover the common case.
      * @param capacity The initial capacity of the queue.
      */
     public HybridIntQueue(final int capacity) {
@@ -67,8 +68,7 @@ public final class HybridIntQueue {
      */
     public void enqueue(final int value) {
         if (((tail + 1) & capacityMask) == head) {
-            // Queue is full; handle resize if necessary
-            throw new IllegalStateException("Main queue is full");
+            growMainQueue();
         }
         data[tail] = value;
         tail = (tail + 1) & capacityMask;
@@ -205,6 +205,35 @@ public final class HybridIntQueue {
         transportReleaseTimes[j] = tempTime;
     }
 
+    /**
+     * Empties the queue and resets the expansion count, keeping the allocated arrays for reuse.
+     */
+    public void clear() {
+        head = 0;
+        tail = 0;
+        expansions = 0;
+        transportCount = 0;
+    }
+
+    /**
+     * Doubles the main ring buffer, unwrapping its contents to the start of the new array.
+     */
+    private void growMainQueue() {
+        int size = size();
+        int[] newData = new int[data.length << 1];
+        if (head <= tail) {
+            System.arraycopy(data, head, newData, 0, size);
+        } else {
+            int firstPart = data.length - head;
+            System.arraycopy(data, head, newData, 0, firstPart);
+            System.arraycopy(data, 0, newData, firstPart, tail);
+        }
+        data = newData;
+        capacityMask = newData.length - 1;
+        head = 0;
+        tail = size;
+    }
+
     private void growTransportArrays() {
         int newCapacity = transportCapacity << 1;
         int[] newValues = new int[newCapacity];
@@ -0,0 +1,139 @@
+package com.tonic.services.pathfinder.collections;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the two halves of a bidirectional search at the same time, the forward half on the
+ * calling thread and the backward half on a pooled worker.
+ *
+ * <p>Each half keeps its own queue and parent map and publishes the tiles it visits to a
+ * {@link ConcurrentTileSet} the other half checks. Whichever half first dequeues a tile the
+ * other has visited records it with {@link #meet}; a half that runs dry, hits its node limit or
+ * sees its search cancelled calls {@link #fail}. Either ends both halves, and {@link #run} only
+ * returns once the worker has stopped, so the caller can rebuild the path from both parent maps
+ * without further synchronization.</p>
+ *
+ * <pre>
+ * ParallelSearch search = new ParallelSearch();
+ * int meeting = search.run(() -> expand(forward, search), () -> expand(backward, search));
+ * </pre>
+ */
+public final class ParallelSearch
+{
+    public static final int SEARCHING = -1;
+    public static final int FAILED = -2;
+
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "PathSearch-" + THREAD_ID.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicInteger meeting = new AtomicInteger(SEARCHING);
+
+    /**
+     * @return true once either half has met the other or given up
+     */
+    public boolean isDone()
+    {
+        return meeting.get() != SEARCHING;
+    }
+
+    /**
+     * Records where the halves met, unless the search already ended
+     * @param point compressed world point visited by both halves
+     */
+    public void meet(final int point)
+    {
+        meeting.compareAndSet(SEARCHING, point);
+    }
+
+    /**
+     * Ends the search without a meeting point, unless it already ended
+     */
+    public void fail()
+    {
+        meeting.compareAndSet(SEARCHING, FAILED);
+    }
+
+    /**
+     * Runs both halves until one of them ends the search. The halves must return once
+     * {@link #isDone()} is true, and call {@link #meet} or {@link #fail} before returning on their
+     * own.
+     * @param forward forward half, run on the calling thread
+     * @param backward backward half, run on a worker
+     * @return meeting point, or {@link #FAILED}
+     * @throws IllegalStateException if only the backward half threw. When the forward half
+     * throws, its exception is rethrown with the backward failure, if any, suppressed on it.
+     */
+    public int run(final Runnable forward, final Runnable backward)
+    {
+        final Future<?> worker = executor.submit(() -> {
+            try
+            {
+                backward.run();
+            }
+            finally
+            {
+                fail();
+            }
+        });
+
+        // the backward half borrows the caller's workspace, never leave it running
+        try
+        {
+            forward.run();
+        }
+        catch (RuntimeException | Error e)
+        {
+            fail();
+            final Throwable backwardFailure = awaitUninterruptibly(worker);
+            if(backwardFailure != null)
+                e.addSuppressed(backwardFailure);
+            throw e;
+        }
+        fail();
+        final Throwable backwardFailure = awaitUninterruptibly(worker);
+        if(backwardFailure != null)
+            throw new IllegalStateException("Backward search failed", backwardFailure);
+        return meeting.get();
+    }
+
+    /**
+     * Waits for the worker to stop, keeping the caller's interrupt status
+     * @return what the backward half threw, or null if it returned normally
+     */
+    private static Throwable awaitUninterruptibly(final Future<?> worker)
+    {
+        boolean interrupted = false;
+        try
+        {
+            while(true)
+            {
+                try
+                {
+                    worker.get();
+                    return null;
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted = true;
+                }
+                catch (ExecutionException e)
+                {
+                    return e.getCause();
+                }
+            }
+        }
+        finally
+        {
+            if(interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.tonic.services.pathfinder.collections;
+
+import java.util.Arrays;
+
+/**
+ * Dense int map keyed by compressed world points, for per-search visited/parent/cost tables.
+ *
+ * <p>The world is split into 64x64 tile pages per plane which are allocated the first time a
+ * search touches them. Every slot carries a generation stamp, so {@link #clear()} only bumps the
+ * generation instead of wiping the arrays, and pages are reused across searches. A page lookup
+ * is two array loads plus a last-page shortcut, which is what makes this cheaper than a hash map
+ * for flood-fill style searches where neighbours almost always share a page.</p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public final class TileIntMap
+{
+    private static final int PAGE_SHIFT = 6;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+    private static final int PAGE_SIZE = 1 << (PAGE_SHIFT * 2);
+    private static final int BLOCK_SHIFT = 10;
+    private static final int BLOCK_MASK = (1 << BLOCK_SHIFT) - 1;
+    // 8 bits of page x, 9 bits of page y, 3 bits of plane
+    private static final int PAGE_INDEX_BITS = 20;
+
+    private final int maxRetainedPages;
+    private Page[][] directory = new Page[1 << (PAGE_INDEX_BITS - BLOCK_SHIFT)][];
+    private int pageCount;
+    private int generation = 1;
+    private int size;
+
+    private Page lastPage;
+    private int lastPageIndex = -1;
+
+    /**
+     * @param maxRetainedPages pages kept across {@link #clear()}. If a search grows the map past
+     *                         this, the pages are dropped on the next clear so one very long
+     *                         search does not pin its memory forever.
+     */
+    public TileIntMap(int maxRetainedPages)
+    {
+        this.maxRetainedPages = maxRetainedPages;
+    }
+
+    /**
+     * Stores a value if the point has none yet this generation.
+     * @param point compressed world point
+     * @param value value
+     * @return true if the value was stored, false if the point was already present
+     */
+    public boolean putIfAbsent(final int point, final int value)
+    {
+        final Page page = page(pageIndex(point), true);
+        final int slot = slot(point);
+        if(page.stamps[slot] == generation)
+            return false;
+        page.stamps[slot] = generation;
+        page.values[slot] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Stores a value, replacing any existing one.
+     * @param point compressed world point
+     * @param value value
+     */
+    public void put(final int point, final int value)
+    {
+        final Page page = page(pageIndex(point), true);
+        final int slot = slot(point);
+        if(page.stamps[slot] != generation)
+        {
+            page.stamps[slot] = generation;
+            size++;
+        }
+        page.values[slot] = value;
+    }
+
+    /**
+     * @param point compressed world point
+     * @param missing value to return if the point is not present
+     * @return the stored value or {@code missing}
+     */
+    public int get(final int point, final int missing)
+    {
+        final Page page = page(pageIndex(point), false);
+        if(page == null)
+            return missing;
+        final int slot = slot(point);
+        return page.stamps[slot] == generation ? page.values[slot] : missing;
+    }
+
+    public boolean contains(final int point)
+    {
+        final Page page = page(pageIndex(point), false);
+        return page != null && page.stamps[slot(point)] == generation;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes every entry. Constant time unless the retained page limit was exceeded or the
+     * generation counter wrapped.
+     */
+    public void clear()
+    {
+        size = 0;
+        if(pageCount > maxRetainedPages)
+        {
+            release();
+            return;
+        }
+
+        if(++generation == 0)
+        {
+            for(Page[] block : directory)
+            {
+                if(block == null)
+                    continue;
+                for(Page page : block)
+                {
+                    if(page != null)
+                        Arrays.fill(page.stamps, 0);
+                }
+            }
+            generation = 1;
+        }
+    }
+
+    /**
+     * Removes every entry and drops all pages.
+     */
+    public void release()
+    {
+        size = 0;
+        directory = new Page[directory.length][];
+        pageCount = 0;
+        generation = 1;
+        lastPage = null;
+        lastPageIndex = -1;
+    }
+
+    /**
+     * @return pages currently allocated, 32 KB each
+     */
+    public int getPageCount()
+    {
+        return pageCount;
+    }
+
+    private Page page(final int pageIndex, final boolean create)
+    {
+        if(pageIndex == lastPageIndex)
+            return lastPage;
+
+        Page[] block = directory[pageIndex >>> BLOCK_SHIFT];
+        if(block == null)
+        {
+            if(!create)
+                return null;
+            block = new Page[1 << BLOCK_SHIFT];
+            directory[pageIndex >>> BLOCK_SHIFT] = block;
+        }
+
+        Page page = block[pageIndex & BLOCK_MASK];
+        if(page == null)
+        {
+            if(!create)
+                return null;
+            page = new Page();
+            block[pageIndex & BLOCK_MASK] = page;
+            pageCount++;
+        }
+
+        lastPage = page;
+        lastPageIndex = pageIndex;
+        return page;
+    }
+
+    private static int pageIndex(final int point)
+    {
+        final int x = point & 0x3FFF;
+        final int y = (point >>> 14) & 0x7FFF;
+        final int plane = point >>> 29;
+        return (x >>> PAGE_SHIFT) | (y >>> PAGE_SHIFT) << 8 | plane << 17;
+    }
+
+    private static int slot(final int point)
+    {
+        return (point & PAGE_MASK) | ((point >>> 14) & PAGE_MASK) << PAGE_SHIFT;
+    }
+
+    private static final class Page
+    {
+        final int[] stamps = new int[PAGE_SIZE];
+        final int[] values = new int[PAGE_SIZE];
+    }
+}
@@ -0,0 +1,228 @@
+package com.tonic.services.pathfinder.collision;
+
+import com.tonic.util.WorldPointUtil;
+
+import java.util.Arrays;
+
+/**
+ * Breadth first flood fill over a rectangle of one plane of the {@link GlobalCollisionMap} that
+ * moves 64 tiles of a row at a time. The open north and east edges of the rectangle are read
+ * once as whole words of the map's bit set, and every BFS level is computed by AND-ing and
+ * shifting those words against the frontier instead of testing each tile's edges one bit at a
+ * time. {@link ComponentMap#build} uses it to label the components of each region offline.
+ *
+ * <p>The rectangle is widened to whole 64 tile words along x, and its border acts as a wall.
+ * The flood is 4-connected, which reaches exactly the same tiles as the moves of
+ * {@link GlobalCollisionMap#all} since every diagonal move needs both of its cardinal edges
+ * open. Only the set of reached tiles is kept, so it answers reachability, not distances.</p>
+ *
+ * <p>Not safe for concurrent use; one instance can be flooded any number of times.</p>
+ */
+public final class BitFlood
+{
+    private final int originX;
+    private final int originY;
+    private final int plane;
+    private final int words;
+    private final int rows;
+
+    // open edges, row r and word w at r * words + w, bit b is tile originX + w * 64 + b
+    private final long[] north;
+    private final long[] east;
+    private final long[] visited;
+    private final long[] next;
+    private final int[] touched;
+    private final int[] frontier;
+    private final long[] frontierBits;
+    private int reached;
+
+    /**
+     * Reads the edges of a rectangle of the map
+     * @param map collision map
+     * @param minX west edge, inclusive
+     * @param minY south edge, inclusive
+     * @param maxX east edge, inclusive
+     * @param maxY north edge, inclusive
+     * @param plane plane
+     */
+    public BitFlood(GlobalCollisionMap map, int minX, int minY, int maxX, int maxY, int plane)
+    {
+        if(minX < 0 || minY < 0 || maxX > 8191 || maxY > 32767 || minX > maxX || minY > maxY || plane < 0 || plane > 3)
+            throw new IllegalArgumentException("Invalid flood area " + minX + "," + minY + " to " + maxX + "," + maxY + " on plane " + plane);
+        this.originX = minX & ~63;
+        this.originY = minY;
+        this.plane = plane;
+        this.words = ((maxX | 63) + 1 - originX) >> 6;
+        this.rows = maxY - minY + 1;
+
+        final int size = words * rows;
+        this.north = new long[size];
+        this.east = new long[size];
+        this.visited = new long[size];
+        this.next = new long[size];
+        this.touched = new int[size];
+        this.frontier = new int[size];
+        this.frontierBits = new long[size];
+        for(int r = 0; r < rows; r++)
+        {
+            final int y = originY + r;
+            for(int w = 0; w < words; w++)
+            {
+                final int x = originX + (w << 6);
+                // edges leaving the rectangle are closed
+                north[r * words + w] = r + 1 < rows ? map.northWord(x, y, plane) : 0L;
+                east[r * words + w] = map.eastWord(x, y, plane);
+            }
+            east[r * words + words - 1] &= ~(1L << 63);
+        }
+    }
+
+    /**
+     * Floods from a set of tiles until nothing new is reached. Sources on another plane or
+     * outside the rectangle are ignored.
+     * @param sources compressed source points
+     * @return number of tiles reached, sources included
+     */
+    public int flood(int... sources)
+    {
+        Arrays.fill(visited, 0L);
+        reached = 0;
+
+        int count = 0;
+        for(int source : sources)
+        {
+            final int x = WorldPointUtil.getCompressedX(source);
+            final int y = WorldPointUtil.getCompressedY(source);
+            if(WorldPointUtil.getCompressedPlane(source) != plane || !contains(x, y))
+                continue;
+            count = add(index(x, y), 1L << ((x - originX) & 63), count);
+        }
+        int size = commit(count);
+        while(size > 0)
+        {
+            count = 0;
+            for(int i = 0; i < size; i++)
+            {
+                count = spread(frontier[i], frontierBits[i], count);
+            }
+            size = commit(count);
+        }
+        return reached;
+    }
+
+    /**
+     * Pushes the moves out of one frontier word into {@link #next}
+     * @return new touched count
+     */
+    private int spread(int index, long bits, int count)
+    {
+        final int r = index / words;
+        final int w = index - r * words;
+        final long e = bits & east[index];
+        final long westOpen = bits & westOf(east, index, w);
+
+        count = shiftEast(index, w, e, count);
+        count = shiftWest(index, w, westOpen, count);
+        if(r + 1 < rows)
+        {
+            final int up = index + words;
+            count = add(up, bits & north[index], count);
+        }
+        if(r > 0)
+        {
+            final int down = index - words;
+            count = add(down, bits & north[down], count);
+        }
+        return count;
+    }
+
+    /**
+     * @return the word with bit b holding the tile west of b
+     */
+    private long westOf(long[] edges, int index, int w)
+    {
+        return (edges[index] << 1) | (w > 0 ? edges[index - 1] >>> 63 : 0L);
+    }
+
+    private int shiftEast(int index, int w, long bits, int count)
+    {
+        count = add(index, bits << 1, count);
+        if(w + 1 < words)
+            count = add(index + 1, bits >>> 63, count);
+        return count;
+    }
+
+    private int shiftWest(int index, int w, long bits, int count)
+    {
+        count = add(index, bits >>> 1, count);
+        if(w > 0)
+            count = add(index - 1, bits << 63, count);
+        return count;
+    }
+
+    private int add(int index, long bits, int count)
+    {
+        bits &= ~visited[index];
+        if(bits == 0)
+            return count;
+        if(next[index] == 0)
+            touched[count++] = index;
+        next[index] |= bits;
+        return count;
+    }
+
+    /**
+     * Moves the touched words of {@link #next} into the visited set and the new frontier
+     * @return frontier size
+     */
+    private int commit(int count)
+    {
+        int size = 0;
+        for(int i = 0; i < count; i++)
+        {
+            final int index = touched[i];
+            final long bits = next[index];
+            next[index] = 0L;
+            visited[index] |= bits;
+            reached += Long.bitCount(bits);
+            frontier[size] = index;
+            frontierBits[size++] = bits;
+        }
+        return size;
+    }
+
+    private int index(int x, int y)
+    {
+        return (y - originY) * words + ((x - originX) >> 6);
+    }
+
+    public boolean contains(int x, int y)
+    {
+        return x >= originX && x < originX + (words << 6) && y >= originY && y < originY + rows;
+    }
+
+    /**
+     * @return true if the last flood reached the tile
+     */
+    public boolean reached(int x, int y)
+    {
+        return contains(x, y) && (visited[index(x, y)] & (1L << ((x - originX) & 63))) != 0;
+    }
+
+    /**
+     * Reached tiles of a row in one word
+     * @return bit b set if tile {@code (x & ~63) + b} on row y was reached by the last flood
+     */
+    public long reachedWord(int x, int y)
+    {
+        return contains(x, y) ? visited[index(x, y)] : 0L;
+    }
+
+    /**
+     * @return number of tiles the last flood reached
+     */
+    public int getReached()
+    {
+        return reached;
+    }
+}
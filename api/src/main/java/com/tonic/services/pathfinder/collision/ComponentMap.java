@@ -0,0 +1,551 @@
+package com.tonic.services.pathfinder.collision;
+
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.WorldPointUtil;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Connected component labels for the walkable tiles of the {@link GlobalCollisionMap}.
+ *
+ * <p>Two tiles share a label when one can be walked to from the other. The labels are computed
+ * offline by {@link ComponentMapGenerator} and shipped next to map.dat as components.dat. At
+ * runtime the components are linked by the currently usable transports into a small directed
+ * graph, which lets a search reject a destination that no start point or teleport can reach
+ * before expanding a single tile.</p>
+ *
+ * <p>Labels are stored per 64x64 region. Most regions are a single component and cost one int;
+ * the rest keep a byte or short per tile indexing a small table of labels. Space the map has no
+ * data for is open to the searches and shares the {@link #VOID} label.</p>
+ */
+public class ComponentMap
+{
+    public static final int UNKNOWN = -1;
+    /**
+     * label shared by all space the map has no data for, which the searches treat as open
+     */
+    public static final int VOID = 1;
+    private static final int MAGIC = 0x434F4D50;
+    private static final int VERSION = 2;
+    private static final int REGION_TILES = 64 * 64;
+
+    private final Int2IntOpenHashMap uniform;
+    private final Int2ObjectOpenHashMap<Region> mixed;
+    private final IntOpenHashSet blocked;
+    private final int componentCount;
+    private final int mapHash;
+
+    private int graphFingerprint;
+    private int[] offsets;
+    private int[] edgeTargets;
+    private Int2IntOpenHashMap synthetic;
+    private int[] visited = new int[0];
+    private int generation;
+
+    private ComponentMap(Int2IntOpenHashMap uniform, Int2ObjectOpenHashMap<Region> mixed, IntOpenHashSet blocked, int componentCount, int mapHash)
+    {
+        this.uniform = uniform;
+        this.mixed = mixed;
+        this.blocked = blocked;
+        this.componentCount = componentCount;
+        this.mapHash = mapHash;
+        this.uniform.defaultReturnValue(UNKNOWN);
+    }
+
+    /**
+     * @param packed compressed world point
+     * @return component label, or {@link #UNKNOWN} for tiles that cannot be walked on
+     */
+    public int component(final int packed)
+    {
+        final int x = WorldPointUtil.getCompressedX(packed);
+        final int y = WorldPointUtil.getCompressedY(packed);
+        final int plane = WorldPointUtil.getCompressedPlane(packed);
+        // instance templates live past x 6000 and are not part of the map data
+        if(x > 6000)
+            return UNKNOWN;
+        final int key = region(x, y, plane);
+        final int label = uniform.get(key);
+        if(label != UNKNOWN)
+            return label;
+        final Region region = mixed.get(key);
+        if(region != null)
+            return region.get((x & 63) | (y & 63) << 6);
+        return blocked.contains(key) ? UNKNOWN : VOID;
+    }
+
+    public int getComponentCount()
+    {
+        return componentCount;
+    }
+
+    /**
+     * @param map collision map
+     * @return true if these labels were generated from the same map data
+     */
+    public boolean matches(final GlobalCollisionMap map)
+    {
+        return map.contentHash() == mapHash;
+    }
+
+    /**
+     * Conservative reachability test over the component graph. Only returns false when no start
+     * can possibly reach any target with the transports of the last
+     * {@link TransportLoader#refreshTransports()}. Targets inside instances are always
+     * considered reachable.
+     * @param starts compressed start points (player and teleport destinations)
+     * @param targets compressed target points
+     * @return false if every target is certainly unreachable
+     */
+    public synchronized boolean mayReach(final Collection<Integer> starts, final int[] targets)
+    {
+        if(targets.length == 0)
+            return true;
+        ensureGraph();
+
+        if(++generation == 0)
+        {
+            Arrays.fill(visited, 0);
+            generation = 1;
+        }
+
+        final IntArrayList queue = new IntArrayList();
+        for(int start : starts)
+        {
+            final int node = node(start);
+            if(node != UNKNOWN && visited[node] != generation)
+            {
+                visited[node] = generation;
+                queue.add(node);
+            }
+        }
+
+        for(int head = 0; head < queue.size(); head++)
+        {
+            final int node = queue.getInt(head);
+            for(int i = offsets[node]; i < offsets[node + 1]; i++)
+            {
+                final int next = edgeTargets[i];
+                if(visited[next] != generation)
+                {
+                    visited[next] = generation;
+                    queue.add(next);
+                }
+            }
+        }
+
+        for(int target : targets)
+        {
+            if(starts.contains(target) || WorldPointUtil.getCompressedX(target) > 6000)
+                return true;
+            // a tile that can't be walked on can only be reached by a transport landing on it
+            final int node = node(target);
+            if(node != UNKNOWN && visited[node] == generation)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Graph node of a tile: its component, or a node of its own if it cannot be walked on but a
+     * transport starts or ends on it
+     */
+    private int node(final int packed)
+    {
+        final int label = component(packed);
+        if(label != UNKNOWN)
+            return label;
+        return synthetic.get(packed);
+    }
+
+    private void ensureGraph()
+    {
+        final int fingerprint = TransportLoader.getFingerprint();
+        if(offsets != null && fingerprint == graphFingerprint)
+            return;
+
+        final IntArrayList from = new IntArrayList();
+        final IntArrayList to = new IntArrayList();
+        final Int2IntOpenHashMap extra = new Int2IntOpenHashMap();
+        extra.defaultReturnValue(UNKNOWN);
+        final int[] nodes = {componentCount + 1};
+        TransportLoader.getTransports().forEachValue(list -> {
+            for(Transport transport : list)
+            {
+                from.add(graphNode(transport.getSource(), extra, nodes));
+                to.add(graphNode(transport.getDestination(), extra, nodes));
+            }
+            return true;
+        });
+
+        final int count = nodes[0];
+        final int[] offsets = new int[count + 1];
+        for(int i = 0; i < from.size(); i++)
+        {
+            offsets[from.getInt(i) + 1]++;
+        }
+        for(int i = 0; i < count; i++)
+        {
+            offsets[i + 1] += offsets[i];
+        }
+        final int[] targets = new int[from.size()];
+        final int[] fill = Arrays.copyOf(offsets, count);
+        for(int i = 0; i < from.size(); i++)
+        {
+            targets[fill[from.getInt(i)]++] = to.getInt(i);
+        }
+
+        this.offsets = offsets;
+        this.edgeTargets = targets;
+        this.synthetic = extra;
+        this.graphFingerprint = fingerprint;
+        if(visited.length < count)
+        {
+            visited = new int[count];
+            generation = 0;
+        }
+    }
+
+    private int graphNode(final int packed, final Int2IntOpenHashMap extra, final int[] nodes)
+    {
+        final int label = component(packed);
+        if(label != UNKNOWN)
+            return label;
+        int node = extra.get(packed);
+        if(node == UNKNOWN)
+        {
+            node = nodes[0]++;
+            extra.put(packed, node);
+        }
+        return node;
+    }
+
+    private static int region(final int x, final int y, final int plane)
+    {
+        return (x >> 6) | (y >> 6) << 7 | plane << 16;
+    }
+
+    private static int regionX(final int key)
+    {
+        return (key & 127) << 6;
+    }
+
+    private static int regionY(final int key)
+    {
+        return ((key >>> 7) & 511) << 6;
+    }
+
+    /**
+     * Labels every walkable tile of a collision map. Used offline by {@link ComponentMapGenerator}.
+     * Walking between diagonal neighbours always requires both cardinal edges to be open, so
+     * 4-connectivity over the edge bits gives the same components as the 8-way pathfinders.
+     * Regions the map has no data for are completely open to the searches, so they are treated
+     * as one shared component that every open edge into them joins.
+     * @param map collision map
+     * @return component labels
+     */
+    public static ComponentMap build(final GlobalCollisionMap map)
+    {
+        // every region the map has data for
+        final IntOpenHashSet covered = new IntOpenHashSet();
+        for(int i = map.nextBlocked(0); i >= 0; i = map.nextBlocked(i + 1))
+        {
+            covered.add(region(i & 8191, (i >>> 13) & 32767, (i >>> 28) & 3));
+        }
+        final int[] regions = covered.toIntArray();
+        Arrays.sort(regions);
+
+        // label each region on its own, numbering local components globally as we go. Id 0 is
+        // reserved for the unmapped space.
+        final Int2ObjectOpenHashMap<short[]> local = new Int2ObjectOpenHashMap<>();
+        final Int2IntOpenHashMap base = new Int2IntOpenHashMap();
+        final IntOpenHashSet blocked = new IntOpenHashSet();
+        int next = 1;
+        for(int key : regions)
+        {
+            final short[] labels = new short[REGION_TILES];
+            final int rx = regionX(key);
+            final int ry = regionY(key);
+            final byte plane = (byte) (key >>> 16);
+            // one word per row, so each flood level moves whole rows of the region at once
+            final BitFlood flood = new BitFlood(map, rx, ry, rx + 63, ry + 63, plane);
+            int count = 0;
+            for(int tile = 0; tile < REGION_TILES; tile++)
+            {
+                if(labels[tile] != 0 || !map.walkable((short) (rx + (tile & 63)), (short) (ry + (tile >> 6)), plane))
+                    continue;
+                flood.flood(WorldPointUtil.compress(rx + (tile & 63), ry + (tile >> 6), plane));
+                count++;
+                for(int row = 0; row < 64; row++)
+                {
+                    for(long bits = flood.reachedWord(rx, ry + row); bits != 0; bits &= bits - 1)
+                    {
+                        labels[row << 6 | Long.numberOfTrailingZeros(bits)] = (short) count;
+                    }
+                }
+            }
+            if(count == 0)
+            {
+                blocked.add(key);
+                continue;
+            }
+            local.put(key, labels);
+            base.put(key, next - 1);
+            next += count;
+        }
+
+        // join components across region borders
+        final int[] parent = new int[next];
+        for(int i = 0; i < next; i++)
+        {
+            parent[i] = i;
+        }
+        for(int key : local.keySet().toIntArray())
+        {
+            final short[] labels = local.get(key);
+            final int offset = base.get(key);
+            final int rx = regionX(key);
+            final int ry = regionY(key);
+            final byte plane = (byte) (key >>> 16);
+            final int eastKey = region(rx + 64, ry, plane);
+            final int northKey = region(rx, ry + 64, plane);
+            final short[] east = local.get(eastKey);
+            final short[] north = local.get(northKey);
+            final boolean eastVoid = !covered.contains(eastKey);
+            final boolean northVoid = !covered.contains(northKey);
+            final boolean westVoid = !covered.contains(region(rx - 64, ry, plane));
+            final boolean southVoid = !covered.contains(region(rx, ry - 64, plane));
+            for(int i = 0; i < 64; i++)
+            {
+                final int eastTile = 63 | i << 6;
+                if(labels[eastTile] != 0 && map.e((short) (rx + 63), (short) (ry + i), plane) == 1)
+                {
+                    if(east != null && east[i << 6] != 0)
+                        union(parent, offset + labels[eastTile], base.get(eastKey) + east[i << 6]);
+                    else if(eastVoid)
+                        union(parent, offset + labels[eastTile], 0);
+                }
+                final int northTile = i | 63 << 6;
+                if(labels[northTile] != 0 && map.n((short) (rx + i), (short) (ry + 63), plane) == 1)
+                {
+                    if(north != null && north[i] != 0)
+                        union(parent, offset + labels[northTile], base.get(northKey) + north[i]);
+                    else if(northVoid)
+                        union(parent, offset + labels[northTile], 0);
+                }
+                final int westTile = i << 6;
+                if(westVoid && labels[westTile] != 0 && map.w((short) rx, (short) (ry + i), plane) == 1)
+                    union(parent, offset + labels[westTile], 0);
+                if(southVoid && labels[i] != 0 && map.s((short) (rx + i), (short) ry, plane) == 1)
+                    union(parent, offset + labels[i], 0);
+            }
+        }
+
+        // compact the union-find roots into dense labels, unmapped space first, then region order
+        final int[] finalLabel = new int[next];
+        finalLabel[find(parent, 0)] = VOID;
+        int components = VOID;
+        final Int2IntOpenHashMap uniform = new Int2IntOpenHashMap();
+        final Int2ObjectOpenHashMap<Region> mixed = new Int2ObjectOpenHashMap<>();
+        for(int key : regions)
+        {
+            final short[] labels = local.get(key);
+            if(labels == null)
+                continue;
+            final int offset = base.get(key);
+            int max = 0;
+            for(short label : labels)
+            {
+                max = Math.max(max, label);
+            }
+            final int[] table = new int[max + 1];
+            table[0] = UNKNOWN;
+            int first = 0;
+            boolean single = true;
+            for(int l = 1; l <= max; l++)
+            {
+                final int root = find(parent, offset + l);
+                if(finalLabel[root] == 0)
+                    finalLabel[root] = ++components;
+                table[l] = finalLabel[root];
+                if(first == 0)
+                    first = table[l];
+                else if(table[l] != first)
+                    single = false;
+            }
+            if(single)
+                uniform.put(key, first);
+            else
+                mixed.put(key, Region.of(table, labels));
+        }
+        return new ComponentMap(uniform, mixed, blocked, components, map.contentHash());
+    }
+
+    private static int find(final int[] parent, int i)
+    {
+        while(parent[i] != i)
+        {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(final int[] parent, final int a, final int b)
+    {
+        final int ra = find(parent, a);
+        final int rb = find(parent, b);
+        if(ra != rb)
+            parent[Math.max(ra, rb)] = Math.min(ra, rb);
+    }
+
+    public void write(final OutputStream stream) throws IOException
+    {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(mapHash);
+        out.writeInt(componentCount);
+
+        final int[] uniformKeys = uniform.keySet().toIntArray();
+        Arrays.sort(uniformKeys);
+        out.writeInt(uniformKeys.length);
+        for(int key : uniformKeys)
+        {
+            out.writeInt(key);
+            out.writeInt(uniform.get(key));
+        }
+
+        final int[] mixedKeys = mixed.keySet().toIntArray();
+        Arrays.sort(mixedKeys);
+        out.writeInt(mixedKeys.length);
+        for(int key : mixedKeys)
+        {
+            final Region region = mixed.get(key);
+            out.writeInt(key);
+            out.writeShort(region.table.length);
+            for(int label : region.table)
+            {
+                out.writeInt(label);
+            }
+            for(int tile = 0; tile < REGION_TILES; tile++)
+            {
+                if(region.bytes != null)
+                    out.writeByte(region.bytes[tile]);
+                else
+                    out.writeShort(region.shorts[tile]);
+            }
+        }
+
+        final int[] blockedKeys = blocked.toIntArray();
+        Arrays.sort(blockedKeys);
+        out.writeInt(blockedKeys.length);
+        for(int key : blockedKeys)
+        {
+            out.writeInt(key);
+        }
+        out.flush();
+    }
+
+    public static ComponentMap read(final InputStream stream) throws IOException
+    {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if(in.readInt() != MAGIC || in.readInt() != VERSION)
+            throw new IOException("Unsupported component map format");
+        final int mapHash = in.readInt();
+        final int componentCount = in.readInt();
+
+        final int uniformCount = in.readInt();
+        final Int2IntOpenHashMap uniform = new Int2IntOpenHashMap(uniformCount);
+        for(int i = 0; i < uniformCount; i++)
+        {
+            uniform.put(in.readInt(), in.readInt());
+        }
+
+        final int mixedCount = in.readInt();
+        final Int2ObjectOpenHashMap<Region> mixed = new Int2ObjectOpenHashMap<>(mixedCount);
+        for(int i = 0; i < mixedCount; i++)
+        {
+            final int key = in.readInt();
+            final int[] table = new int[in.readUnsignedShort()];
+            for(int l = 0; l < table.length; l++)
+            {
+                table[l] = in.readInt();
+            }
+            final Region region = new Region(table, table.length <= 256);
+            for(int tile = 0; tile < REGION_TILES; tile++)
+            {
+                if(region.bytes != null)
+                    region.bytes[tile] = in.readByte();
+                else
+                    region.shorts[tile] = in.readShort();
+            }
+            mixed.put(key, region);
+        }
+        final int blockedCount = in.readInt();
+        final IntOpenHashSet blocked = new IntOpenHashSet(blockedCount);
+        for(int i = 0; i < blockedCount; i++)
+        {
+            blocked.add(in.readInt());
+        }
+        return new ComponentMap(uniform, mixed, blocked, componentCount, mapHash);
+    }
+
+    /**
+     * Loads components.dat from the pathfinder resources
+     * @return the component map, or null if it has not been generated
+     * @throws IOException if the resource is corrupt
+     */
+    public static ComponentMap load() throws IOException
+    {
+        try (InputStream is = Walker.class.getResourceAsStream("components.dat"))
+        {
+            if(is == null)
+                return null;
+            return read(is);
+        }
+    }
+
+    /**
+     * Labels of one region that holds more than one component
+     */
+    private static final class Region
+    {
+        private final int[] table;
+        private final byte[] bytes;
+        private final short[] shorts;
+
+        Region(int[] table, boolean compact)
+        {
+            this.table = table;
+            this.bytes = compact ? new byte[REGION_TILES] : null;
+            this.shorts = compact ? null : new short[REGION_TILES];
+        }
+
+        static Region of(int[] table, short[] labels)
+        {
+            Region region = new Region(table, table.length <= 256);
+            for(int tile = 0; tile < REGION_TILES; tile++)
+            {
+                if(region.bytes != null)
+                    region.bytes[tile] = (byte) labels[tile];
+                else
+                    region.shorts[tile] = labels[tile];
+            }
+            return region;
+        }
+
+        int get(int tile)
+        {
+            return table[bytes != null ? bytes[tile] & 0xFF : shorts[tile] & 0xFFFF];
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.tonic.services.pathfinder.collision;
+
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Offline tool that labels the connected components of a map.dat and writes components.dat.
+ * Rerun it whenever map.dat is regenerated; a stale components.dat is detected at load time and
+ * ignored.
+ *
+ * <pre>
+ * java ... ComponentMapGenerator path/to/map.dat path/to/components.dat
+ * </pre>
+ */
+public class ComponentMapGenerator
+{
+    public static void main(String[] args) throws Exception
+    {
+        if(args.length != 2)
+        {
+            System.err.println("Usage: ComponentMapGenerator <map.dat> <components.dat>");
+            System.exit(1);
+        }
+
+        GlobalCollisionMap map = GlobalCollisionMap.load(args[0]);
+        if(map == null)
+        {
+            System.exit(1);
+        }
+
+        long start = System.currentTimeMillis();
+        ComponentMap components = ComponentMap.build(map);
+        System.out.println("Labeled " + components.getComponentCount() + " components in " + (System.currentTimeMillis() - start) + "ms");
+
+        try (OutputStream out = new FileOutputStream(args[1]))
+        {
+            components.write(out);
+        }
+        System.out.println("Wrote " + args[1]);
+    }
+}
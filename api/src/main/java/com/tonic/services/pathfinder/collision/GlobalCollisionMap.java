@@ -6,10 +6,12 @@ import com.tonic.util.WorldPointUtil;
 import net.runelite.api.coords.WorldPoint;
 
 import java.io.*;
+import java.util.zip.CRC32;
 
 public class GlobalCollisionMap implements CollisionMap {
     public static final int W_FLAG = 1 << 30;
     private final SparseBitSet bitSet;
+    private volatile long contentHash = -1;
 
     private GlobalCollisionMap(SparseBitSet bitSet) {
         this.bitSet = bitSet;
@@ -60,6 +62,70 @@ public class GlobalCollisionMap implements CollisionMap {
         return get((x & 8191) | ((y & 32767) << 13) | (z << 28) | W_FLAG);
     }
 
+    /**
+     * Open north edges of the 64 tiles from {@code x & ~63} to {@code (x & ~63) + 63} on row
+     * {@code y}, one bit per tile with the westmost tile in the lowest bit
+     */
+    public long northWord(int x, int y, int z) {
+        return ~bitSet.getWord(((x & 8191) | ((y & 32767) << 13) | (z << 28)) >>> 6);
+    }
+
+    /**
+     * Open east edges of the 64 tiles from {@code x & ~63} on row {@code y}, see {@link #northWord}
+     */
+    public long eastWord(int x, int y, int z) {
+        return ~bitSet.getWord(((x & 8191) | ((y & 32767) << 13) | (z << 28) | W_FLAG) >>> 6);
+    }
+
+    /**
+     * Iterates the raw edge bits. Each set bit is a blocked edge between two tiles: bits 0-12
+     * hold x, 13-27 y, 28-29 the plane, and {@link #W_FLAG} marks the edge to the east tile
+     * rather than the north tile. Regions of the map that were never recorded have no set bits.
+     * @param index first index to check
+     * @return index of the next set bit at or after {@code index}, or -1
+     */
+    public int nextBlocked(int index) {
+        return bitSet.nextSetBit(index);
+    }
+
+    /**
+     * @return number of blocked edges, used to tell whether derived data matches this map
+     */
+    public int blockedCount() {
+        return bitSet.cardinality();
+    }
+
+    /**
+     * CRC32 over the index and value of every word holding a blocked edge. Unlike
+     * {@link #blockedCount()} it changes when an edge moves, so derived data can store it to
+     * tell whether it was generated from this map.
+     * @return content hash of the edge bits, computed once
+     */
+    public int contentHash() {
+        long hash = contentHash;
+        if (hash == -1) {
+            CRC32 crc = new CRC32();
+            byte[] entry = new byte[12];
+            int index = bitSet.nextSetBit(0);
+            while (index >= 0) {
+                int w = index >>> 6;
+                long word = bitSet.getWord(w);
+                for (int i = 0; i < 4; i++) {
+                    entry[i] = (byte) (w >>> (i * 8));
+                }
+                for (int i = 0; i < 8; i++) {
+                    entry[4 + i] = (byte) (word >>> (i * 8));
+                }
+                crc.update(entry, 0, entry.length);
+                // the last word ends at the top of the index range
+                index = w == (Integer.MAX_VALUE >>> 6) ? -1 : bitSet.nextSetBit((w + 1) << 6);
+            }
+            hash = crc.getValue();
+            contentHash = hash;
+        }
+        return (int) hash;
+    }
+
     public static GlobalCollisionMap load() throws IOException, ClassNotFoundException {
         try (InputStream is = Walker.class.getResourceAsStream("map.dat")) {
             ObjectInputStream objectInputStream = new ObjectInputStream(is);
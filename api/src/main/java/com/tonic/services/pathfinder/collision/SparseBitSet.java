@@ -751,6 +751,31 @@ public class SparseBitSet implements Cloneable, Serializable
                 && ((a3[w & MASK3] & (1L << i)) != 0);
     }
 
+    /**
+     *  Returns the 64 bits starting at bit <code>w * 64</code> as one long, bit
+     *  <code>w * 64</code> in the least significant position. Words that were
+     *  never set read as zero. This lets callers test a whole run of bits with a
+     *  single lookup rather than one <i>get</i>() per bit.
+     *
+     * @param       w the word index, that is the bit index divided by 64
+     * @return      the word holding bits <code>w * 64</code> to
+     *              <code>w * 64 + 63</code>
+     * @exception   IndexOutOfBoundsException if the specified index is negative
+     */
+    public long getWord(int w)
+    {
+        if (w < 0)
+            throw new IndexOutOfBoundsException("w=" + w);
+        final int w1 = w >> SHIFT1;
+
+        long[][] a2;
+        long[] a3;
+        if (bits == null || w1 >= bits.length || (a2 = bits[w1]) == null
+                || (a3 = a2[(w >> SHIFT2) & MASK2]) == null)
+            return 0L;
+        return a3[w & MASK3];
+    }
+
     /**
      *  Returns a new <code>SparseBitSet</code> composed of bits from this
      *  <code>SparseBitSet</code> from <code>i</code> (inclusive) to <code>j</code>
@@ -6,8 +6,13 @@ import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collections.ConcurrentTileSet;
+import com.tonic.services.pathfinder.collections.ParallelSearch;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.ComponentMap;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.collision.Properties;
+import com.tonic.services.pathfinder.landmarks.LandmarkTable;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.services.pathfinder.transports.Transport;
@@ -34,6 +39,8 @@ public class AStarAlgo implements IPathfinder
     private static final int MAX_NODES = 10_000_000;
 
     private LocalCollisionMap localMap;
+    // Cached collision map to avoid repeated method calls
+    private CollisionMap collisionMap;
     @Getter
     private Teleport teleport;
 
@@ -50,6 +57,11 @@ public class AStarAlgo implements IPathfinder
     private byte startPlane;
 
     private boolean inInstance = false;
+    // Expand the two frontiers on their own threads
+    private boolean parallel;
+    // Landmark bounds toward the target and back toward the starts, null without a landmark table
+    private LandmarkTable.Bounds forwardBounds;
+    private LandmarkTable.Bounds backwardBounds;
     private int forwardTransportsUsed;
     private int backwardTransportsUsed;
     private int playerStartPos;
@@ -100,7 +112,8 @@ public class AStarAlgo implements IPathfinder
     }
 
     private List<AStarStep> find() {
-        if (Walker.getCollisionMap() == null) {
+        collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null) {
             Logger.error("[A*] Collision map is null");
             return new ArrayList<>();
         }
@@ -108,6 +121,7 @@ public class AStarAlgo implements IPathfinder
         try {
             Client client = Static.getClient();
             this.inInstance = client.getTopLevelWorldView().isInstance();
+            this.parallel = Static.getVitaConfig().shouldSearchInParallel();
             this.forwardTransportsUsed = 0;
             this.backwardTransportsUsed = 0;
 
@@ -130,6 +144,20 @@ public class AStarAlgo implements IPathfinder
                 }
             }
 
+            if (!inInstance && !mayReach(startPoints)) {
+                Logger.warn("[BiDir A*] Destination is not reachable from here or any teleport");
+                return new ArrayList<>();
+            }
+
+            LandmarkTable landmarks = inInstance ? null : Walker.getLandmarkTable();
+            if (landmarks != null) {
+                forwardBounds = landmarks.toward(targetCompressed != -1 ? new int[]{targetCompressed} : worldAreaPoints);
+                backwardBounds = landmarks.from(startPoints);
+            } else {
+                forwardBounds = null;
+                backwardBounds = null;
+            }
+
             Profiler.Start("Bidirectional A* Pathfinding");
             List<AStarStep> path = buildPath(startPoints);
             Profiler.StopMS();
@@ -155,6 +183,20 @@ public class AStarAlgo implements IPathfinder
         }
     }
 
+    /**
+     * Rejects destinations in a component no start can reach, instead of searching to the node cap
+     */
+    private boolean mayReach(List<Integer> starts) {
+        ComponentMap components = Walker.getComponentMap();
+        if (components == null) {
+            return true;
+        }
+        if (targetCompressed != -1) {
+            return components.mayReach(starts, new int[]{targetCompressed});
+        }
+        return worldAreaPoints == null || components.mayReach(starts, worldAreaPoints);
+    }
+
     private List<AStarStep> buildPath(List<Integer> starts) {
         AStarCache forwardCache = new AStarCache(10_000);
         AStarCache backwardCache = new AStarCache(10_000);
@@ -162,6 +204,10 @@ public class AStarAlgo implements IPathfinder
         AStarPriorityQueue backwardOpenSet = new AStarPriorityQueue(10_000);
         gnu.trove.set.hash.TIntHashSet forwardClosedSet = new gnu.trove.set.hash.TIntHashSet(10_000);
         gnu.trove.set.hash.TIntHashSet backwardClosedSet = new gnu.trove.set.hash.TIntHashSet(10_000);
+        if (parallel) {
+            forwardCache.publishTo(new ConcurrentTileSet());
+            backwardCache.publishTo(new ConcurrentTileSet());
+        }
 
         // Blacklist
         for (int i : Properties.getBlacklist()) {
@@ -174,20 +220,20 @@ public class AStarAlgo implements IPathfinder
         // Initialize forward search (from starts)
         for (int start : starts) {
             forwardCache.putIfBetter(start, 0, -1);
-            int h = calculateHeuristic(start, targetX, targetY, targetPlane, worldAreaPoints, targetCompressed);
+            int h = towardTarget(start, calculateHeuristic(start, targetX, targetY, targetPlane, worldAreaPoints, targetCompressed));
             forwardOpenSet.enqueue(start, h);
         }
 
         // Initialize backward search (from target)
         if (targetCompressed != -1) {
             backwardCache.putIfBetter(targetCompressed, 0, -1);
-            int h = calculateHeuristic(targetCompressed, startX, startY, startPlane, null, playerStartPos);
+            int h = towardStart(targetCompressed, calculateHeuristic(targetCompressed, startX, startY, startPlane, null, playerStartPos));
             backwardOpenSet.enqueue(targetCompressed, h);
         } else if (worldAreaPoints != null && worldAreaPoints.length > 0) {
             // For area targets, initialize backward from all area points
             for (int areaPoint : worldAreaPoints) {
                 backwardCache.putIfBetter(areaPoint, 0, -1);
-                int h = calculateHeuristic(areaPoint, startX, startY, startPlane, null, playerStartPos);
+                int h = towardStart(areaPoint, calculateHeuristic(areaPoint, startX, startY, startPlane, null, playerStartPos));
                 backwardOpenSet.enqueue(areaPoint, h);
             }
         }
@@ -231,19 +277,38 @@ public class AStarAlgo implements IPathfinder
         }
     }
 
+    /**
+     * Tightens the forward estimate with the landmark bounds, which unlike coordinate distance
+     * account for transports
+     */
+    private int towardTarget(int pos, int h) {
+        return forwardBounds == null ? h : forwardBounds.estimate(pos, h);
+    }
+
+    /**
+     * Tightens the backward estimate with the landmark bounds
+     */
+    private int towardStart(int pos, int h) {
+        return backwardBounds == null ? h : backwardBounds.estimate(pos, h);
+    }
+
     private List<AStarStep> findWorldPointBidirectional(AStarCache forwardCache, AStarCache backwardCache,
                                                          AStarPriorityQueue forwardOpenSet, AStarPriorityQueue backwardOpenSet,
                                                          gnu.trove.set.hash.TIntHashSet forwardClosedSet, gnu.trove.set.hash.TIntHashSet backwardClosedSet) {
-        if (!Walker.getCollisionMap().walkable(targetCompressed)) {
+        if (!collisionMap.walkable(targetCompressed)) {
             Logger.info("[BiDir A*] Target blocked");
             return new ArrayList<>();
         }
+        if (parallel) {
+            return findParallel(forwardCache, backwardCache, forwardOpenSet, backwardOpenSet, forwardClosedSet, backwardClosedSet);
+        }
 
         int nodesExplored = 0;
         int meetingPoint = -1;
+        int expanded = 0;
 
         while (!forwardOpenSet.isEmpty() && !backwardOpenSet.isEmpty()) {
-            if (forwardCache.size() + backwardCache.size() > MAX_NODES) {
+            if (forwardCache.size() + backwardCache.size() > MAX_NODES || isCancelled(++expanded)) {
                 return new ArrayList<>();
             }
 
@@ -283,7 +348,7 @@ public class AStarAlgo implements IPathfinder
         }
 
         if (meetingPoint != -1) {
-            Logger.info("[BiDir A*] Nodes: " + nodesExplored + ", Meeting: " + meetingPoint);
+            Logger.info("[BiDir A*] Nodes: " + nodesExplored + ", Meeting: " + meetingPoint + (forwardBounds != null ? ", landmarks" : ""));
             return reconstructBidirectionalPath(forwardCache, backwardCache, meetingPoint);
         }
 
@@ -293,11 +358,15 @@ public class AStarAlgo implements IPathfinder
     private List<AStarStep> findAreaPointBidirectional(AStarCache forwardCache, AStarCache backwardCache,
                                                         AStarPriorityQueue forwardOpenSet, AStarPriorityQueue backwardOpenSet,
                                                         gnu.trove.set.hash.TIntHashSet forwardClosedSet, gnu.trove.set.hash.TIntHashSet backwardClosedSet) {
+        if (parallel) {
+            return findParallel(forwardCache, backwardCache, forwardOpenSet, backwardOpenSet, forwardClosedSet, backwardClosedSet);
+        }
         int nodesExplored = 0;
         int meetingPoint = -1;
+        int expanded = 0;
 
         while (!forwardOpenSet.isEmpty() && !backwardOpenSet.isEmpty()) {
-            if (forwardCache.size() + backwardCache.size() > MAX_NODES) {
+            if (forwardCache.size() + backwardCache.size() > MAX_NODES || isCancelled(++expanded)) {
                 return new ArrayList<>();
             }
 
@@ -337,13 +406,82 @@ public class AStarAlgo implements IPathfinder
         }
 
         if (meetingPoint != -1) {
-            Logger.info("[BiDir A*] Nodes: " + nodesExplored + ", Meeting: " + meetingPoint);
+            Logger.info("[BiDir A*] Nodes: " + nodesExplored + ", Meeting: " + meetingPoint + (forwardBounds != null ? ", landmarks" : ""));
+            return reconstructBidirectionalPath(forwardCache, backwardCache, meetingPoint);
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Runs the forward and backward searches on their own threads until one of them dequeues a
+     * node the other has visited. Each side expands exactly as in the interleaved loops and gets
+     * half of the node limit.
+     */
+    private List<AStarStep> findParallel(AStarCache forwardCache, AStarCache backwardCache,
+                                         AStarPriorityQueue forwardOpenSet, AStarPriorityQueue backwardOpenSet,
+                                         gnu.trove.set.hash.TIntHashSet forwardClosedSet, gnu.trove.set.hash.TIntHashSet backwardClosedSet) {
+        ParallelSearch search = new ParallelSearch();
+        int[] explored = new int[2];
+        int meetingPoint = search.run(
+                () -> explored[0] = expandParallel(forwardCache, backwardCache, forwardOpenSet, forwardClosedSet, true, search),
+                () -> explored[1] = expandParallel(backwardCache, forwardCache, backwardOpenSet, backwardClosedSet, false, search)
+        );
+
+        if (meetingPoint != ParallelSearch.FAILED) {
+            Logger.info("[BiDir A*] Nodes: " + (explored[0] + explored[1]) + ", Meeting: " + meetingPoint + (forwardBounds != null ? ", landmarks" : "") + ", parallel");
             return reconstructBidirectionalPath(forwardCache, backwardCache, meetingPoint);
         }
 
         return new ArrayList<>();
     }
 
+    /**
+     * @return nodes explored by this side
+     */
+    private int expandParallel(AStarCache cache, AStarCache other, AStarPriorityQueue openSet,
+                               gnu.trove.set.hash.TIntHashSet closedSet, boolean forward, ParallelSearch search) {
+        int nodesExplored = 0;
+        int expanded = 0;
+        while (!search.isDone()) {
+            if (openSet.isEmpty() || cache.size() > MAX_NODES / 2) {
+                search.fail();
+                break;
+            }
+            // only the requesting thread is interrupted when a search is cancelled
+            if (forward && isCancelled(++expanded)) {
+                search.fail();
+                break;
+            }
+
+            int current = openSet.dequeue();
+            if (closedSet.contains(current)) {
+                continue;
+            }
+            nodesExplored++;
+
+            if (other.isPublished(current)) {
+                search.meet(current);
+                break;
+            }
+
+            closedSet.add(current);
+            if (forward) {
+                expandNodeForward(current, cache, openSet, closedSet);
+            } else {
+                expandNodeBackward(current, cache, openSet, closedSet);
+            }
+        }
+        return nodesExplored;
+    }
+
+    /**
+     * Periodic check for a cancelled {@link com.tonic.services.pathfinder.PathService} request
+     */
+    private static boolean isCancelled(int expanded) {
+        return (expanded & 0xFFF) == 0 && Thread.currentThread().isInterrupted();
+    }
+
     private List<AStarStep> reconstructBidirectionalPath(AStarCache forwardCache, AStarCache backwardCache, int meetingPoint) {
         // Get forward path (from start to meeting point)
         List<AStarStep> forwardPath = forwardCache.reconstructPartialPath(meetingPoint);
@@ -438,7 +576,7 @@ public class AStarAlgo implements IPathfinder
             return;
         }
 
-        byte flags = Walker.getCollisionMap().all(x, y, plane);
+        byte flags = collisionMap.all(x, y, plane);
 
         switch (flags) {
             case Flags.ALL:
@@ -448,7 +586,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
                     int dy = y > targetY ? y - targetY : targetY - y;
                     int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
                 }
                 // East
                 neighbor = WorldPointUtil.compress(x + 1, y, plane);
@@ -456,7 +594,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
                     int dy = y > targetY ? y - targetY : targetY - y;
                     int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
                 }
                 // South
                 neighbor = WorldPointUtil.compress(x, y - 1, plane);
@@ -464,7 +602,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x > targetX ? x - targetX : targetX - x;
                     int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
                     int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
                 }
                 // North
                 neighbor = WorldPointUtil.compress(x, y + 1, plane);
@@ -472,7 +610,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x > targetX ? x - targetX : targetX - x;
                     int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
                     int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
                 }
                 // Southwest
                 neighbor = WorldPointUtil.compress(x - 1, y - 1, plane);
@@ -480,7 +618,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
                     int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
                     int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
                 }
                 // Southeast
                 neighbor = WorldPointUtil.compress(x + 1, y - 1, plane);
@@ -488,7 +626,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
                     int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
                     int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
                 }
                 // Northwest
                 neighbor = WorldPointUtil.compress(x - 1, y + 1, plane);
@@ -496,7 +634,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
                     int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
                     int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
                 }
                 // Northeast
                 neighbor = WorldPointUtil.compress(x + 1, y + 1, plane);
@@ -504,7 +642,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
                     int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
                     int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
                 }
                 checkTransportsForward(current, currentG, cache, openSet);
                 return;
@@ -519,7 +657,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
                 int dy = y > targetY ? y - targetY : targetY - y;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -529,7 +667,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
                 int dy = y > targetY ? y - targetY : targetY - y;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -539,7 +677,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x > targetX ? x - targetX : targetX - x;
                 int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -549,7 +687,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x > targetX ? x - targetX : targetX - x;
                 int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -559,7 +697,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
                 int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -569,7 +707,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
                 int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -579,7 +717,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
                 int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -589,7 +727,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
                 int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardTarget(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -611,7 +749,7 @@ public class AStarAlgo implements IPathfinder
             return;
         }
 
-        byte flags = Walker.getCollisionMap().all(x, y, plane);
+        byte flags = collisionMap.all(x, y, plane);
 
         // Same neighbor expansion logic but with startX, startY, startPlane heuristic
         switch (flags) {
@@ -622,7 +760,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x - 1 > startX ? x - 1 - startX : startX - x + 1;
                     int dy = y > startY ? y - startY : startY - y;
                     int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
                 }
                 // East
                 neighbor = WorldPointUtil.compress(x + 1, y, plane);
@@ -630,7 +768,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x + 1 > startX ? x + 1 - startX : startX - x - 1;
                     int dy = y > startY ? y - startY : startY - y;
                     int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
                 }
                 // South
                 neighbor = WorldPointUtil.compress(x, y - 1, plane);
@@ -638,7 +776,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x > startX ? x - startX : startX - x;
                     int dy = y - 1 > startY ? y - 1 - startY : startY - y + 1;
                     int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
                 }
                 // North
                 neighbor = WorldPointUtil.compress(x, y + 1, plane);
@@ -646,7 +784,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x > startX ? x - startX : startX - x;
                     int dy = y + 1 > startY ? y + 1 - startY : startY - y - 1;
                     int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
                 }
                 // Southwest
                 neighbor = WorldPointUtil.compress(x - 1, y - 1, plane);
@@ -654,7 +792,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x - 1 > startX ? x - 1 - startX : startX - x + 1;
                     int dy = y - 1 > startY ? y - 1 - startY : startY - y + 1;
                     int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
                 }
                 // Southeast
                 neighbor = WorldPointUtil.compress(x + 1, y - 1, plane);
@@ -662,7 +800,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x + 1 > startX ? x + 1 - startX : startX - x - 1;
                     int dy = y - 1 > startY ? y - 1 - startY : startY - y + 1;
                     int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
                 }
                 // Northwest
                 neighbor = WorldPointUtil.compress(x - 1, y + 1, plane);
@@ -670,7 +808,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x - 1 > startX ? x - 1 - startX : startX - x + 1;
                     int dy = y + 1 > startY ? y + 1 - startY : startY - y - 1;
                     int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
                 }
                 // Northeast
                 neighbor = WorldPointUtil.compress(x + 1, y + 1, plane);
@@ -678,7 +816,7 @@ public class AStarAlgo implements IPathfinder
                     int dx = x + 1 > startX ? x + 1 - startX : startX - x - 1;
                     int dy = y + 1 > startY ? y + 1 - startY : startY - y - 1;
                     int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
                 }
                 checkTransportsBackward(current, currentG, cache, openSet);
                 return;
@@ -693,7 +831,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x - 1 > startX ? x - 1 - startX : startX - x + 1;
                 int dy = y > startY ? y - startY : startY - y;
                 int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -703,7 +841,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x + 1 > startX ? x + 1 - startX : startX - x - 1;
                 int dy = y > startY ? y - startY : startY - y;
                 int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -713,7 +851,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x > startX ? x - startX : startX - x;
                 int dy = y - 1 > startY ? y - 1 - startY : startY - y + 1;
                 int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -723,7 +861,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x > startX ? x - startX : startX - x;
                 int dy = y + 1 > startY ? y + 1 - startY : startY - y - 1;
                 int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -733,7 +871,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x - 1 > startX ? x - 1 - startX : startX - x + 1;
                 int dy = y - 1 > startY ? y - 1 - startY : startY - y + 1;
                 int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -743,7 +881,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x + 1 > startX ? x + 1 - startX : startX - x - 1;
                 int dy = y - 1 > startY ? y - 1 - startY : startY - y + 1;
                 int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -753,7 +891,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x - 1 > startX ? x - 1 - startX : startX - x + 1;
                 int dy = y + 1 > startY ? y + 1 - startY : startY - y - 1;
                 int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -763,7 +901,7 @@ public class AStarAlgo implements IPathfinder
                 int dx = x + 1 > startX ? x + 1 - startX : startX - x - 1;
                 int dy = y + 1 > startY ? y + 1 - startY : startY - y - 1;
                 int dz = plane > startPlane ? plane - startPlane : startPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + towardStart(neighbor, dx + dy + (dz * 100)));
             }
         }
 
@@ -878,7 +1016,7 @@ public class AStarAlgo implements IPathfinder
                 int hy = dy > targetY ? dy - targetY : targetY - dy;
                 int hz = dp > targetPlane ? dp - targetPlane : targetPlane - dp;
 
-                openSet.enqueue(dest, tentativeG + hx + hy + (hz * 100));
+                openSet.enqueue(dest, tentativeG + towardTarget(dest, hx + hy + (hz * 100)));
             }
         }
     }
@@ -907,7 +1045,7 @@ public class AStarAlgo implements IPathfinder
                 int hy = dy > startY ? dy - startY : startY - dy;
                 int hz = dp > startPlane ? dp - startPlane : startPlane - dp;
 
-                openSet.enqueue(dest, tentativeG + hx + hy + (hz * 100));
+                openSet.enqueue(dest, tentativeG + towardStart(dest, hx + hy + (hz * 100)));
             }
         }
     }
@@ -1,5 +1,6 @@
 package com.tonic.services.pathfinder.implimentations.astar;
 
+import com.tonic.services.pathfinder.collections.ConcurrentTileSet;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
 import gnu.trove.map.hash.TIntIntHashMap;
@@ -18,6 +19,7 @@ public class AStarCache
     private final TIntIntHashMap parents;
     private final TIntIntHashMap gScores;
     private final TIntObjectHashMap<Transport> transports;
+    private ConcurrentTileSet published;
 
     public AStarCache(int expectedSize) {
         this.parents = new TIntIntHashMap(expectedSize, 0.5f, -1, -1);
@@ -25,6 +27,21 @@ public class AStarCache
         this.transports = new TIntObjectHashMap<>(expectedSize / 10);
     }
 
+    /**
+     * Also adds every position visited from now on to a set another search thread can read.
+     */
+    public void publishTo(ConcurrentTileSet published) {
+        this.published = published;
+    }
+
+    /**
+     * Safe to call from any thread while the owning search is still running.
+     * @return true if the position has been visited since {@link #publishTo} was called
+     */
+    public boolean isPublished(int position) {
+        return published.contains(position);
+    }
+
     /**
      * Attempts to add a new position with its g-score and parent.
      * @return true if added (better path), false if already has better path
@@ -34,6 +51,9 @@ public class AStarCache
         if (gScore < existingGScore) {
             gScores.put(position, gScore);
             parents.put(position, parent);
+            if (published != null && existingGScore == Integer.MAX_VALUE) {
+                published.add(position);
+            }
             return true;
         }
         return false;
@@ -50,6 +70,9 @@ public class AStarCache
             if (transport != null) {
                 transports.put(position, transport);
             }
+            if (published != null && existingGScore == Integer.MAX_VALUE) {
+                published.add(position);
+            }
             return true;
         }
         return false;
@@ -6,7 +6,11 @@ import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collections.ConcurrentTileSet;
 import com.tonic.services.pathfinder.collections.HybridIntQueue;
+import com.tonic.services.pathfinder.collections.ParallelSearch;
+import com.tonic.services.pathfinder.collections.SearchWorkspace;
+import com.tonic.services.pathfinder.collision.CollisionMap;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.collision.Properties;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
@@ -33,13 +37,19 @@ import java.util.List;
  */
 public class BiDirBFSAlgo implements IPathfinder
 {
+    private static final int MAX_VISITED = 10_000_000;
+
     private LocalCollisionMap localMap;
+    // Cached collision map to avoid repeated method calls
+    private CollisionMap collisionMap;
     @Getter
     private Teleport teleport;
     private WorldPoint targetWorldPoint;
 
     private int[] worldAreaPoints;
     private boolean inInstance = false;
+    // expand the two frontiers on their own threads
+    private boolean parallel;
     private int forwardTransportsUsed;
     private int backwardTransportsUsed;
 
@@ -85,7 +95,8 @@ public class BiDirBFSAlgo implements IPathfinder
      * @return A list of Steps representing the path, or an empty list if no path is found.
      */
     private List<BiDirBFSStep> find() {
-        if(Walker.getCollisionMap() == null)
+        collisionMap = Walker.getCollisionMap();
+        if(collisionMap == null)
         {
             Logger.error("[BiDirBFS] Collision map is null, cannot perform pathfinding.");
             return new ArrayList<>();
@@ -93,6 +104,7 @@ public class BiDirBFSAlgo implements IPathfinder
         try {
             Client client = Static.getClient();
             this.inInstance = client.getTopLevelWorldView().isInstance();
+            this.parallel = Static.getVitaConfig().shouldSearchInParallel();
             List<Teleport> teleports = Teleport.buildTeleportLinks();
 
             final List<Integer> startPoints = new ArrayList<>();
@@ -139,31 +151,39 @@ public class BiDirBFSAlgo implements IPathfinder
 
     private List<BiDirBFSStep> buildPath(final List<Integer> starts)
     {
-        final BiDirBFSCache forwardVisited = new BiDirBFSCache();
-        final BiDirBFSCache backwardVisited = new BiDirBFSCache();
-
-        //blacklist
-        for(int i : Properties.getBlacklist())
+        try (SearchWorkspace workspace = SearchWorkspace.acquire())
         {
-            forwardVisited.put(i, -1);
-            backwardVisited.put(i, -1);
-        }
+            final BiDirBFSCache forwardVisited = new BiDirBFSCache(workspace.getForwardParents());
+            final BiDirBFSCache backwardVisited = new BiDirBFSCache(workspace.getBackwardParents());
+            if(parallel)
+            {
+                forwardVisited.publishTo(new ConcurrentTileSet());
+                backwardVisited.publishTo(new ConcurrentTileSet());
+            }
+
+            //blacklist
+            for(int i : Properties.getBlacklist())
+            {
+                forwardVisited.put(i, -1);
+                backwardVisited.put(i, -1);
+            }
 
-        final HybridIntQueue forwardQueue = new HybridIntQueue(10_000_000);
-        final HybridIntQueue backwardQueue = new HybridIntQueue(10_000_000);
+            final HybridIntQueue forwardQueue = workspace.getForwardQueue();
+            final HybridIntQueue backwardQueue = workspace.getBackwardQueue();
 
-        // Initialize forward search from starts
-        for(final int wp : starts)
-        {
-            forwardVisited.put(wp, -1);
-            forwardQueue.enqueue(wp);
-        }
+            // Initialize forward search from starts
+            for(final int wp : starts)
+            {
+                forwardVisited.put(wp, -1);
+                forwardQueue.enqueue(wp);
+            }
 
-        if(targetWorldPoint != null)
-            return findWorldPointBidirectional(forwardVisited, backwardVisited, forwardQueue, backwardQueue);
-        if(worldAreaPoints != null && worldAreaPoints.length > 0)
-            return findAreaPointBidirectional(forwardVisited, backwardVisited, forwardQueue, backwardQueue);
-        return new ArrayList<>();
+            if(targetWorldPoint != null)
+                return findWorldPointBidirectional(forwardVisited, backwardVisited, forwardQueue, backwardQueue);
+            if(worldAreaPoints != null && worldAreaPoints.length > 0)
+                return findAreaPointBidirectional(forwardVisited, backwardVisited, forwardQueue, backwardQueue);
+            return new ArrayList<>();
+        }
     }
 
     private List<BiDirBFSStep> findAreaPointBidirectional(final BiDirBFSCache forwardVisited, final BiDirBFSCache backwardVisited,
@@ -171,30 +191,38 @@ public class BiDirBFSAlgo implements IPathfinder
         // Initialize backward search from all goal area points
         for(int goalPoint : worldAreaPoints)
         {
-            if(Walker.getCollisionMap().walkable(goalPoint))
+            if(collisionMap.walkable(goalPoint))
             {
                 backwardVisited.put(goalPoint, -1);
                 backwardQueue.enqueue(goalPoint);
             }
         }
 
+        if(parallel)
+            return findParallel(forwardVisited, backwardVisited, forwardQueue, backwardQueue);
+
         int meetingPoint = -1;
 
+        int expanded = 0;
         while(!forwardQueue.isEmpty() && !backwardQueue.isEmpty())
         {
-            if(forwardVisited.size() + backwardVisited.size() > 10_000_000)
+            if(forwardVisited.size() + backwardVisited.size() > MAX_VISITED)
             {
                 Logger.info("[BiDirBFS] Search limit reached");
                 return new ArrayList<>();
             }
+            if(isCancelled(++expanded))
+            {
+                return new ArrayList<>();
+            }
 
             // Expand forward frontier
             if(!forwardQueue.isEmpty())
             {
                 int current = forwardQueue.dequeue();
 
-                // Check if backward search reached this node (get returns 0 if not present)
-                if(backwardVisited.get(current) != 0)
+                // Check if backward search reached this node
+                if(backwardVisited.contains(current))
                 {
                     meetingPoint = current;
                     break;
@@ -208,8 +236,8 @@ public class BiDirBFSAlgo implements IPathfinder
             {
                 int current = backwardQueue.dequeue();
 
-                // Check if forward search reached this node (get returns 0 if not present)
-                if(forwardVisited.get(current) != 0)
+                // Check if forward search reached this node
+                if(forwardVisited.contains(current))
                 {
                     meetingPoint = current;
                     break;
@@ -233,7 +261,7 @@ public class BiDirBFSAlgo implements IPathfinder
         final int targetIndex = WorldPointUtil.compress(targetWorldPoint);
 
         //validate target
-        if(!Walker.getCollisionMap().walkable(targetIndex)) {
+        if(!collisionMap.walkable(targetIndex)) {
             Logger.info("[BiDirBFS] Could not generate path to a blocked tile");
             return new ArrayList<>();
         }
@@ -242,15 +270,24 @@ public class BiDirBFSAlgo implements IPathfinder
         backwardVisited.put(targetIndex, -1);
         backwardQueue.enqueue(targetIndex);
 
+        // reaching the target directly is a meeting at the target, which rebuilds the same path
+        if(parallel)
+            return findParallel(forwardVisited, backwardVisited, forwardQueue, backwardQueue);
+
         int meetingPoint = -1;
 
+        int expanded = 0;
         while(!forwardQueue.isEmpty() && !backwardQueue.isEmpty())
         {
-            if(forwardVisited.size() + backwardVisited.size() > 10_000_000)
+            if(forwardVisited.size() + backwardVisited.size() > MAX_VISITED)
             {
                 Logger.info("[BiDirBFS] Search limit reached");
                 return new ArrayList<>();
             }
+            if(isCancelled(++expanded))
+            {
+                return new ArrayList<>();
+            }
 
             // Expand forward frontier
             if(!forwardQueue.isEmpty())
@@ -264,8 +301,8 @@ public class BiDirBFSAlgo implements IPathfinder
                     return forwardVisited.path(current);
                 }
 
-                // Check if backward search reached this node (get returns 0 if not present)
-                if(backwardVisited.get(current) != 0)
+                // Check if backward search reached this node
+                if(backwardVisited.contains(current))
                 {
                     meetingPoint = current;
                     break;
@@ -279,8 +316,8 @@ public class BiDirBFSAlgo implements IPathfinder
             {
                 int current = backwardQueue.dequeue();
 
-                // Check if forward search reached this node (get returns 0 if not present)
-                if(forwardVisited.get(current) != 0)
+                // Check if forward search reached this node
+                if(forwardVisited.contains(current))
                 {
                     meetingPoint = current;
                     break;
@@ -299,6 +336,58 @@ public class BiDirBFSAlgo implements IPathfinder
         return new ArrayList<>();
     }
 
+    /**
+     * Runs the forward and backward frontiers on their own threads until one dequeues a tile the
+     * other has visited. Each side follows the same expansion rules as the interleaved loops, and
+     * gets half of the node limit.
+     */
+    private List<BiDirBFSStep> findParallel(final BiDirBFSCache forwardVisited, final BiDirBFSCache backwardVisited,
+                                            final HybridIntQueue forwardQueue, final HybridIntQueue backwardQueue)
+    {
+        final ParallelSearch search = new ParallelSearch();
+        final int meetingPoint = search.run(
+                () -> expandParallel(forwardQueue, forwardVisited, backwardVisited, true, search),
+                () -> expandParallel(backwardQueue, backwardVisited, forwardVisited, false, search)
+        );
+        if(meetingPoint == ParallelSearch.FAILED)
+            return new ArrayList<>();
+        return reconstructPath(forwardVisited, backwardVisited, meetingPoint);
+    }
+
+    private void expandParallel(final HybridIntQueue queue, final BiDirBFSCache visited, final BiDirBFSCache other,
+                                final boolean isForward, final ParallelSearch search)
+    {
+        int expanded = 0;
+        while(!search.isDone())
+        {
+            if(queue.isEmpty())
+            {
+                search.fail();
+                return;
+            }
+            if(visited.size() > MAX_VISITED / 2)
+            {
+                Logger.info("[BiDirBFS] Search limit reached");
+                search.fail();
+                return;
+            }
+            // only the requesting thread is interrupted when a search is cancelled
+            if(isForward && isCancelled(++expanded))
+            {
+                search.fail();
+                return;
+            }
+
+            final int current = queue.dequeue();
+            if(other.isPublished(current))
+            {
+                search.meet(current);
+                return;
+            }
+            addNeighbors(current, queue, visited, isForward);
+        }
+    }
+
     /**
      * Reconstructs the complete path by combining forward and backward search paths.
      */
@@ -434,7 +523,7 @@ public class BiDirBFSAlgo implements IPathfinder
             return;
         }
 
-        final byte flags = Walker.getCollisionMap().all(x, y, plane);
+        final byte flags = collisionMap.all(x, y, plane);
         switch (flags)
         {
             case Flags.ALL:
@@ -534,6 +623,14 @@ public class BiDirBFSAlgo implements IPathfinder
         }
     }
 
+    /**
+     * Periodic check for a cancelled {@link com.tonic.services.pathfinder.PathService} request
+     */
+    private static boolean isCancelled(final int expanded)
+    {
+        return (expanded & 0xFFF) == 0 && Thread.currentThread().isInterrupted();
+    }
+
     private boolean filterTeleports(final WorldPoint dest)
     {
         return Static.invoke(() ->
@@ -1,8 +1,9 @@
 package com.tonic.services.pathfinder.implimentations.bidirbfs;
 
+import com.tonic.services.pathfinder.collections.ConcurrentTileSet;
+import com.tonic.services.pathfinder.collections.TileIntMap;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
-import gnu.trove.map.hash.TIntIntHashMap;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -10,19 +11,57 @@ import java.util.List;
 
 public class BiDirBFSCache
 {
-    private final TIntIntHashMap cache = new TIntIntHashMap(20000);
+    private final TileIntMap cache;
+    private ConcurrentTileSet published;
+
+    public BiDirBFSCache()
+    {
+        this(new TileIntMap(64));
+    }
+
+    /**
+     * @param cache backing map, usually borrowed from a {@link com.tonic.services.pathfinder.collections.SearchWorkspace}
+     */
+    public BiDirBFSCache(final TileIntMap cache)
+    {
+        this.cache = cache;
+    }
+
+    /**
+     * Also adds every point put from now on to a set another search thread can read
+     * @param published shared visited set
+     */
+    public void publishTo(final ConcurrentTileSet published)
+    {
+        this.published = published;
+    }
+
+    /**
+     * Safe to call from any thread while the owning search is still running
+     * @return true if the point has been put since {@link #publishTo} was called
+     */
+    public boolean isPublished(final int position)
+    {
+        return published.contains(position);
+    }
 
     public boolean put(final int point, final int parent)
     {
-        if(cache.contains(point))
+        if(!cache.putIfAbsent(point, parent))
             return false;
-        cache.put(point, parent);
+        if(published != null)
+            published.add(point);
         return true;
     }
 
     public int get(final int position)
     {
-        return cache.get(position);
+        return cache.get(position, 0);
+    }
+
+    public boolean contains(final int position)
+    {
+        return cache.contains(position);
     }
 
     public void clear()
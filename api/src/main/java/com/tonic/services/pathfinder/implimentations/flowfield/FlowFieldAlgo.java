@@ -6,6 +6,7 @@ import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collision.CollisionMap;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.collision.Properties;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
@@ -45,6 +46,8 @@ public class FlowFieldAlgo implements IPathfinder
     private static final FlowFieldCache cache = new FlowFieldCache();
 
     private LocalCollisionMap localMap;
+    // Cached collision map to avoid repeated method calls
+    private CollisionMap collisionMap;
     @Getter
     private Teleport teleport;
 
@@ -78,7 +81,8 @@ public class FlowFieldAlgo implements IPathfinder
     }
 
     private List<FlowFieldStep> find() {
-        if (Walker.getCollisionMap() == null) {
+        collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null) {
             Logger.error("[FlowField] Collision map is null");
             return new ArrayList<>();
         }
@@ -110,6 +114,9 @@ public class FlowFieldAlgo implements IPathfinder
             Profiler.Start("Flow Field Build");
             FlowField field = buildFlowField();
             Profiler.StopMS();
+            if (field == null) {
+                return new ArrayList<>();
+            }
 
             // Cache if single target
             if (targetCompressed != -1 && field.getTilesReachable() > 0) {
@@ -168,6 +175,7 @@ public class FlowFieldAlgo implements IPathfinder
 
     /**
      * Builds a sparse flow field using Dijkstra from goal backwards.
+     * @return the field, or null if the request was cancelled
      */
     private FlowField buildFlowField() {
         TIntIntHashMap costs = new TIntIntHashMap(10_000, 0.5f, -1, Integer.MAX_VALUE);
@@ -187,7 +195,7 @@ public class FlowFieldAlgo implements IPathfinder
 
         // Initialize from goal(s)
         if (targetCompressed != -1) {
-            if (!Walker.getCollisionMap().walkable(targetCompressed)) {
+            if (!collisionMap.walkable(targetCompressed)) {
                 Logger.info("[FlowField] Target blocked");
                 return new FlowField(targetCompressed, new TIntByteHashMap(), costs);
             }
@@ -208,7 +216,10 @@ public class FlowFieldAlgo implements IPathfinder
             int current = queue.get(head++);
             int currentCost = costs.get(current);
 
-            nodesExpanded++;
+            // Periodic check for a cancelled PathService request
+            if ((++nodesExpanded & 0xFFF) == 0 && Thread.currentThread().isInterrupted()) {
+                return null;
+            }
 
             // Check for transports that lead TO this tile
             // Treat transport sources as "neighbors" during backward expansion
@@ -225,7 +236,7 @@ public class FlowFieldAlgo implements IPathfinder
                 continue;
             }
 
-            byte flags = Walker.getCollisionMap().all(x, y, plane);
+            byte flags = collisionMap.all(x, y, plane);
 
             // Expand backwards (from goal towards all reachable tiles)
             if (flags == Flags.ALL) {
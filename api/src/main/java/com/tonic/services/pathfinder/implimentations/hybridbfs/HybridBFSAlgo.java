@@ -7,11 +7,16 @@ import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
 import com.tonic.services.pathfinder.collections.BFSCache;
+import com.tonic.services.pathfinder.collections.GoalSet;
 import com.tonic.services.pathfinder.collections.HybridIntQueue;
 import com.tonic.services.pathfinder.collections.IntToBoolPairMap;
+import com.tonic.services.pathfinder.collections.SearchWorkspace;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.ComponentMap;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.collision.Properties;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
+import com.tonic.services.pathfinder.model.NearestDestination;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
@@ -21,8 +26,8 @@ import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
-import org.apache.commons.lang3.ArrayUtils;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -31,11 +36,16 @@ import java.util.List;
 public class HybridBFSAlgo implements IPathfinder
 {
     private LocalCollisionMap localMap;
+    // Cached collision map to avoid repeated method calls
+    private CollisionMap collisionMap;
     @Getter
     private Teleport teleport;
     private WorldPoint targetWorldPoint;
 
-    private int[] worldAreaPoints;
+    private GoalSet goals;
+    private boolean rankGoals;
+    private int reachedGoal = -1;
+    private int[] goalCosts;
     private boolean inInstance = false;
     private int transportsUsed;
 
@@ -59,7 +69,7 @@ public class HybridBFSAlgo implements IPathfinder
     public List<HybridBFSStep> find(WorldArea... worldAreas)
     {
         TransportLoader.refreshTransports();
-        worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas);
+        goals = new GoalSet(Arrays.asList(worldAreas));
         return find();
     }
 
@@ -71,10 +81,35 @@ public class HybridBFSAlgo implements IPathfinder
     public List<HybridBFSStep> find(List<WorldArea> worldAreas)
     {
         TransportLoader.refreshTransports();
-        worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0]));
+        goals = new GoalSet(worldAreas);
         return find();
     }
 
+    /**
+     * Finds the closest of several destinations with one expansion. Goal tiles are looked up in
+     * constant time, and with {@code rankAll} the search keeps going until every destination has
+     * been reached or the map is exhausted, recording the path length to each.
+     * @param destinations destination areas
+     * @param rankAll rank every reachable destination instead of stopping at the closest
+     * @return the closest destination and its path
+     */
+    @Override
+    public NearestDestination findNearest(List<WorldArea> destinations, boolean rankAll)
+    {
+        TransportLoader.refreshTransports();
+        targetWorldPoint = null;
+        goals = new GoalSet(destinations);
+        rankGoals = rankAll;
+        reachedGoal = -1;
+        goalCosts = null;
+        List<HybridBFSStep> path = find();
+        if(path == null || path.isEmpty())
+        {
+            return new NearestDestination(destinations, -1, path, null, goalCosts);
+        }
+        return new NearestDestination(destinations, reachedGoal, path, teleport, goalCosts);
+    }
+
     /**
      * finds the nearest point from midpoints to both A and B
      * @param startA start A
@@ -86,6 +121,7 @@ public class HybridBFSAlgo implements IPathfinder
     public WorldPoint findBestMidPoint(WorldPoint startA, WorldPoint startB, WorldPoint... midPoints)
     {
         TransportLoader.refreshTransports();
+        collisionMap = Walker.getCollisionMap();
         List<Integer> points = new ArrayList<>(midPoints.length);
         for(WorldPoint wp : midPoints)
         {
@@ -105,7 +141,8 @@ public class HybridBFSAlgo implements IPathfinder
      * @return A list of Steps representing the path, or an empty list if no path is found.
      */
     private List<HybridBFSStep> find() {
-        if(Walker.getCollisionMap() == null)
+        collisionMap = Walker.getCollisionMap();
+        if(collisionMap == null)
         {
             Logger.error("[Pathfinder] Collision map is null, cannot perform pathfinding.");
             return new ArrayList<>();
@@ -131,6 +168,12 @@ public class HybridBFSAlgo implements IPathfinder
                 }
             }
 
+            if(!inInstance && !mayReach(startPoints))
+            {
+                Logger.warn("[Pathfinder] Destination is not reachable from here or any teleport");
+                return new ArrayList<>();
+            }
+
             Profiler.Start("Pathfinding");
 
             final List<HybridBFSStep> path = buildPath(startPoints);
@@ -159,81 +202,124 @@ public class HybridBFSAlgo implements IPathfinder
 
     private List<HybridBFSStep> buildPath(final List<Integer> starts)
     {
-        final BFSCache visited = new BFSCache();
-
-        //blacklist
-        for(int i : Properties.getBlacklist())
+        try (SearchWorkspace workspace = SearchWorkspace.acquire())
         {
-            visited.put(i, -1);
-        }
+            final BFSCache visited = new BFSCache(workspace.getForwardParents());
 
-        final HybridIntQueue queue = new HybridIntQueue(10_000_000);
+            //blacklist
+            for(int i : Properties.getBlacklist())
+            {
+                visited.put(i, -1);
+            }
 
-        for(final int wp : starts)
-        {
-            visited.put(wp, -1);
-            queue.enqueue(wp);
-        }
+            final HybridIntQueue queue = workspace.getForwardQueue();
+
+            for(final int wp : starts)
+            {
+                visited.put(wp, -1);
+                queue.enqueue(wp);
+            }
 
 
+            if(targetWorldPoint != null)
+                return findWorldPoint(visited, queue);
+            if(goals != null && !goals.isEmpty())
+                return findAreaPoint(visited, queue);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Rejects destinations in a component no start can reach, instead of exhausting the map
+     */
+    private boolean mayReach(final List<Integer> starts)
+    {
+        final ComponentMap components = Walker.getComponentMap();
+        if(components == null)
+            return true;
         if(targetWorldPoint != null)
-            return findWorldPoint(visited, queue);
-        if(worldAreaPoints != null && worldAreaPoints.length > 0)
-            return findAreaPoint(visited, queue);
-        return new ArrayList<>();
+            return components.mayReach(starts, new int[]{WorldPointUtil.compress(targetWorldPoint)});
+        if(goals != null)
+            return components.mayReach(starts, goals.points());
+        return true;
     }
 
     private WorldPoint findMidPoints(final int startA, final int startB, final List<Integer> destPoints)
     {
-        final BFSCache visitedA = new BFSCache();
-        final BFSCache visitedB = new BFSCache();
-
-        //blacklist
-        for(int i : Properties.getBlacklist())
+        try (SearchWorkspace workspace = SearchWorkspace.acquire())
         {
-            visitedA.put(i, -1);
-            visitedB.put(i, -1);
-        }
+            final BFSCache visitedA = new BFSCache(workspace.getForwardParents());
+            final BFSCache visitedB = new BFSCache(workspace.getBackwardParents());
 
-        final HybridIntQueue queueA = new HybridIntQueue(10_000_000);
-        final HybridIntQueue queueB = new HybridIntQueue(10_000_000);
+            //blacklist
+            for(int i : Properties.getBlacklist())
+            {
+                visitedA.put(i, -1);
+                visitedB.put(i, -1);
+            }
 
-        visitedA.put(startA, -1);
-        queueA.enqueue(startA);
+            final HybridIntQueue queueA = workspace.getForwardQueue();
+            final HybridIntQueue queueB = workspace.getBackwardQueue();
 
-        visitedB.put(startB, -1);
-        queueB.enqueue(startB);
+            visitedA.put(startA, -1);
+            queueA.enqueue(startA);
 
-        IntToBoolPairMap dests = new IntToBoolPairMap(100);
+            visitedB.put(startB, -1);
+            queueB.enqueue(startB);
 
-        for(int point : destPoints)
-        {
-            dests.put(point, false, false);
-        }
+            IntToBoolPairMap dests = new IntToBoolPairMap(100);
 
-        if(worldAreaPoints != null && worldAreaPoints.length > 0)
-            return findBestMidPoint(visitedA, queueA, visitedB, queueB, dests);
-        return null;
+            for(int point : destPoints)
+            {
+                dests.put(point, false, false);
+            }
+
+            if(!destPoints.isEmpty())
+                return findBestMidPoint(visitedA, queueA, visitedB, queueB, dests);
+            return null;
+        }
     }
 
     private List<HybridBFSStep> findAreaPoint(final BFSCache visited, final HybridIntQueue queue) {
+        final int[] costs = rankGoals ? new int[goals.destinationCount()] : null;
+        if(costs != null)
+        {
+            Arrays.fill(costs, -1);
+        }
+        int unranked = goals.destinationCount();
+        List<HybridBFSStep> path = null;
+
         int current;
+        int expanded = 0;
         while(!queue.isEmpty())
         {
-            if(visited.size() > 10_000_000)
+            if(visited.size() > 10_000_000 || isCancelled(++expanded))
             {
-                return new ArrayList<>();
+                break;
             }
             current = queue.dequeue();
-            if(ArrayUtils.contains(worldAreaPoints, current))
+            final int goal = goals.indexOf(current);
+            if(goal != -1)
             {
                 //Logger.info("Nodes visited: " + visited.size());
-                return visited.path(current);
-
+                if(path == null)
+                {
+                    path = visited.path(current);
+                    reachedGoal = goal;
+                    if(costs == null)
+                        return path;
+                }
+                if(costs[goal] == -1)
+                {
+                    costs[goal] = visited.depth(current);
+                    if(--unranked == 0)
+                        break;
+                }
             }
             addNeighbors(current, queue, visited);
         }
-        return new ArrayList<>();
+        goalCosts = costs;
+        return path == null ? new ArrayList<>() : path;
     }
 
     private WorldPoint findBestMidPoint(
@@ -274,15 +360,16 @@ public class HybridBFSAlgo implements IPathfinder
         final int targetIndex = WorldPointUtil.compress(targetWorldPoint);
 
         //validate target
-        if(!Walker.getCollisionMap().walkable(targetIndex)) {
+        if(!collisionMap.walkable(targetIndex)) {
             Logger.info("Could not generate path to a blocked tile");
             return new ArrayList<>();
         }
 
         int current;
+        int expanded = 0;
         while(!queue.isEmpty())
         {
-            if(visited.size() > 10_000_000)
+            if(visited.size() > 10_000_000 || isCancelled(++expanded))
             {
                 return new ArrayList<>();
             }
@@ -357,7 +444,7 @@ public class HybridBFSAlgo implements IPathfinder
             return;
         }
 
-        final byte flags = Walker.getCollisionMap().all(x, y, plane);
+        final byte flags = collisionMap.all(x, y, plane);
         switch (flags)
         {
             case Flags.ALL:
@@ -449,6 +536,14 @@ public class HybridBFSAlgo implements IPathfinder
         }
     }
 
+    /**
+     * Periodic check for a cancelled {@link com.tonic.services.pathfinder.PathService} request
+     */
+    private static boolean isCancelled(final int expanded)
+    {
+        return (expanded & 0xFFF) == 0 && Thread.currentThread().isInterrupted();
+    }
+
     private boolean filterTeleports(final WorldPoint dest)
     {
         return Static.invoke(() ->
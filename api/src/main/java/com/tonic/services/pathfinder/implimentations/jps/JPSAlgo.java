@@ -5,8 +5,12 @@ import com.tonic.Static;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collections.GoalSet;
+import com.tonic.services.pathfinder.collections.SearchWorkspace;
+import com.tonic.services.pathfinder.collections.TileIntMap;
 import com.tonic.services.pathfinder.collision.CollisionMap;
 import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.services.pathfinder.landmarks.LandmarkTable;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
@@ -17,9 +21,8 @@ import net.runelite.api.Client;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
 
-import gnu.trove.set.hash.TIntHashSet;
-
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -37,7 +40,10 @@ public class JPSAlgo implements IPathfinder
     private short targetY;
     private byte targetPlane;
     private int[] worldAreaPoints;
+    private GoalSet goals;
     private int playerStartPos;
+    // Landmark bounds toward the target, null without a landmark table
+    private LandmarkTable.Bounds bounds;
 
     // Cached collision map to avoid repeated method calls
     private CollisionMap collisionMap;
@@ -53,6 +59,7 @@ public class JPSAlgo implements IPathfinder
         this.targetY = (short) target.getY();
         this.targetPlane = (byte) target.getPlane();
         this.worldAreaPoints = null;
+        this.goals = null;
         return find();
     }
 
@@ -60,7 +67,8 @@ public class JPSAlgo implements IPathfinder
     public List<JPSStep> find(WorldArea... worldAreas) {
         TransportLoader.refreshTransports();
         this.targetCompressed = -1;
-        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas);
+        this.goals = new GoalSet(Arrays.asList(worldAreas));
+        this.worldAreaPoints = goals.points();
 
         // Use first area point as heuristic target approximation
         if (worldAreaPoints != null && worldAreaPoints.length > 0) {
@@ -77,7 +85,8 @@ public class JPSAlgo implements IPathfinder
     public List<JPSStep> find(List<WorldArea> worldAreas) {
         TransportLoader.refreshTransports();
         this.targetCompressed = -1;
-        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0]));
+        this.goals = new GoalSet(worldAreas);
+        this.worldAreaPoints = goals.points();
 
         // Use first area point as heuristic target approximation
         if (worldAreaPoints != null && worldAreaPoints.length > 0) {
@@ -108,6 +117,9 @@ public class JPSAlgo implements IPathfinder
                 startPoints.add(WorldPointUtil.compress(tp.getDestination()));
             }
 
+            LandmarkTable landmarks = Walker.getLandmarkTable();
+            bounds = landmarks == null ? null : landmarks.toward(targetCompressed != -1 ? new int[]{targetCompressed} : worldAreaPoints);
+
             Profiler.Start("Canonical JPS Pathfinding");
             List<JPSStep> path = buildPath(startPoints);
             Profiler.StopMS();
@@ -134,41 +146,50 @@ public class JPSAlgo implements IPathfinder
     }
 
     private List<JPSStep> buildPath(List<Integer> starts) {
-        JPSCache cache = new JPSCache(200_000);
-        JPSPriorityQueue openSet = new JPSPriorityQueue(200_000);
-        TIntHashSet closedSet = new TIntHashSet(200_000);
-
-        // Initialize start nodes
-        for (int start : starts) {
-            cache.putIfBetter(start, 0, -1);
-            int h = heuristic(start);
-            openSet.enqueue(start, h);
-        }
+        try (SearchWorkspace workspace = SearchWorkspace.acquire()) {
+            JPSCache cache = new JPSCache(workspace.getForwardParents(), workspace.getCosts());
+            JPSPriorityQueue openSet = workspace.getOpenSet();
+            TileIntMap closedSet = workspace.getClosed();
+
+            // Initialize start nodes
+            for (int start : starts) {
+                cache.putIfBetter(start, 0, -1);
+                int h = heuristic(start);
+                openSet.enqueue(start, h);
+            }
 
-        while (!openSet.isEmpty()) {
-            int current = openSet.dequeue();
+            int expanded = 0;
+            while (!openSet.isEmpty()) {
+                // Periodic check for a cancelled PathService request
+                if ((++expanded & 0xFFF) == 0 && Thread.currentThread().isInterrupted()) {
+                    return new ArrayList<>();
+                }
 
-            // Skip if already processed
-            if (!closedSet.add(current)) {
-                continue;
-            }
+                int current = openSet.dequeue();
 
-            // Goal reached
-            if (isGoal(current)) {
-                return cache.reconstructPath(current, playerStartPos);
-            }
+                // Skip if already processed
+                if (!closedSet.putIfAbsent(current, 1)) {
+                    continue;
+                }
+
+                // Goal reached
+                if (isGoal(current)) {
+                    Logger.info("[Canonical JPS] Nodes: " + expanded + (bounds != null ? ", landmarks" : ""));
+                    return cache.reconstructPath(current, playerStartPos);
+                }
 
-            int currentG = cache.getGScore(current);
+                int currentG = cache.getGScore(current);
 
-            // Expand jump point successors (inline - no allocations)
-            expandJumpSuccessors(current, currentG, cache, openSet, closedSet);
+                // Expand jump point successors (inline - no allocations)
+                expandJumpSuccessors(current, currentG, cache, openSet, closedSet);
 
-            // Expand transport edges
-            expandTransports(current, currentG, cache, openSet, closedSet);
-        }
+                // Expand transport edges
+                expandTransports(current, currentG, cache, openSet, closedSet);
+            }
 
-        // No path found
-        return new ArrayList<>();
+            // No path found
+            return new ArrayList<>();
+        }
     }
 
     /**
@@ -178,12 +199,7 @@ public class JPSAlgo implements IPathfinder
         if (targetCompressed != -1) {
             return position == targetCompressed;
         }
-        if (worldAreaPoints != null) {
-            for (int areaPoint : worldAreaPoints) {
-                if (position == areaPoint) return true;
-            }
-        }
-        return false;
+        return goals != null && goals.contains(position);
     }
 
     /**
@@ -191,7 +207,7 @@ public class JPSAlgo implements IPathfinder
      * Matches A* pattern for maximum performance.
      */
     private void expandJumpSuccessors(int current, int currentG, JPSCache cache,
-                                      JPSPriorityQueue openSet, TIntHashSet closedSet) {
+                                      JPSPriorityQueue openSet, TileIntMap closedSet) {
         // Decompress coordinates once
         short x = WorldPointUtil.getCompressedX(current);
         short y = WorldPointUtil.getCompressedY(current);
@@ -210,7 +226,7 @@ public class JPSAlgo implements IPathfinder
                 int dx = x > targetX ? x - targetX : targetX - x;
                 int dy = (y + 1) > targetY ? (y + 1) - targetY : targetY - (y + 1);
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + estimate(neighbor, Math.max(dx, dy) + (dz * 100)));
             }
         }
 
@@ -220,7 +236,7 @@ public class JPSAlgo implements IPathfinder
                 int dx = x > targetX ? x - targetX : targetX - x;
                 int dy = (y - 1) > targetY ? (y - 1) - targetY : targetY - (y - 1);
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + estimate(neighbor, Math.max(dx, dy) + (dz * 100)));
             }
         }
 
@@ -230,7 +246,7 @@ public class JPSAlgo implements IPathfinder
                 int dx = (x + 1) > targetX ? (x + 1) - targetX : targetX - (x + 1);
                 int dy = y > targetY ? y - targetY : targetY - y;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + estimate(neighbor, Math.max(dx, dy) + (dz * 100)));
             }
         }
 
@@ -240,7 +256,7 @@ public class JPSAlgo implements IPathfinder
                 int dx = (x - 1) > targetX ? (x - 1) - targetX : targetX - (x - 1);
                 int dy = y > targetY ? y - targetY : targetY - y;
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + estimate(neighbor, Math.max(dx, dy) + (dz * 100)));
             }
         }
 
@@ -251,7 +267,7 @@ public class JPSAlgo implements IPathfinder
                 int dx = (x + 1) > targetX ? (x + 1) - targetX : targetX - (x + 1);
                 int dy = (y + 1) > targetY ? (y + 1) - targetY : targetY - (y + 1);
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + estimate(neighbor, Math.max(dx, dy) + (dz * 100)));
             }
         }
 
@@ -261,7 +277,7 @@ public class JPSAlgo implements IPathfinder
                 int dx = (x - 1) > targetX ? (x - 1) - targetX : targetX - (x - 1);
                 int dy = (y + 1) > targetY ? (y + 1) - targetY : targetY - (y + 1);
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + estimate(neighbor, Math.max(dx, dy) + (dz * 100)));
             }
         }
 
@@ -271,7 +287,7 @@ public class JPSAlgo implements IPathfinder
                 int dx = (x + 1) > targetX ? (x + 1) - targetX : targetX - (x + 1);
                 int dy = (y - 1) > targetY ? (y - 1) - targetY : targetY - (y - 1);
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + estimate(neighbor, Math.max(dx, dy) + (dz * 100)));
             }
         }
 
@@ -281,7 +297,7 @@ public class JPSAlgo implements IPathfinder
                 int dx = (x - 1) > targetX ? (x - 1) - targetX : targetX - (x - 1);
                 int dy = (y - 1) > targetY ? (y - 1) - targetY : targetY - (y - 1);
                 int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + estimate(neighbor, Math.max(dx, dy) + (dz * 100)));
             }
         }
     }
@@ -291,7 +307,7 @@ public class JPSAlgo implements IPathfinder
      * Uses index-based iteration to avoid iterator allocation.
      */
     private void expandTransports(int current, int currentG, JPSCache cache,
-                                  JPSPriorityQueue openSet, TIntHashSet closedSet) {
+                                  JPSPriorityQueue openSet, TileIntMap closedSet) {
         ArrayList<Transport> transports = TransportLoader.getTransports().get(current);
         if (transports == null) return;
 
@@ -314,9 +330,20 @@ public class JPSAlgo implements IPathfinder
     }
 
     /**
-     * Octile distance heuristic (supports diagonal movement).
+     * Octile distance tightened by the landmark bounds, which account for transports.
      */
     private int heuristic(int from) {
+        return estimate(from, octile(from));
+    }
+
+    private int estimate(int pos, int h) {
+        return bounds == null ? h : bounds.estimate(pos, h);
+    }
+
+    /**
+     * Octile distance heuristic (supports diagonal movement).
+     */
+    private int octile(int from) {
         short sx = WorldPointUtil.getCompressedX(from);
         short sy = WorldPointUtil.getCompressedY(from);
         byte sp = WorldPointUtil.getCompressedPlane(from);
@@ -1,7 +1,7 @@
 package com.tonic.services.pathfinder.implimentations.jps;
 
+import com.tonic.services.pathfinder.collections.TileIntMap;
 import com.tonic.services.pathfinder.transports.Transport;
-import gnu.trove.map.hash.TIntIntHashMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
 
 import java.util.ArrayList;
@@ -9,18 +9,22 @@ import java.util.LinkedList;
 import java.util.List;
 
 /**
- * Optimized cache for JPS+ using Trove collections.
+ * Optimized cache for JPS+ backed by pooled {@link TileIntMap}s.
  */
 public class JPSCache
 {
-    private final TIntIntHashMap parents;
-    private final TIntIntHashMap gScores;
+    private final TileIntMap parents;
+    private final TileIntMap gScores;
     private final TIntObjectHashMap<Transport> transports;
 
-    public JPSCache(int expectedSize) {
-        this.parents = new TIntIntHashMap(expectedSize, 0.5f, -1, -1);
-        this.gScores = new TIntIntHashMap(expectedSize, 0.5f, -1, Integer.MAX_VALUE);
-        this.transports = new TIntObjectHashMap<>(expectedSize / 10);
+    /**
+     * @param parents parent table, expected to be empty
+     * @param gScores g-score table, expected to be empty
+     */
+    public JPSCache(TileIntMap parents, TileIntMap gScores) {
+        this.parents = parents;
+        this.gScores = gScores;
+        this.transports = new TIntObjectHashMap<>(1024);
     }
 
     /**
@@ -28,7 +32,7 @@ public class JPSCache
      * @return true if added (better path), false if already has better path
      */
     public boolean putIfBetter(int position, int gScore, int parent) {
-        int existingGScore = gScores.get(position);
+        int existingGScore = gScores.get(position, Integer.MAX_VALUE);
         if (gScore < existingGScore) {
             gScores.put(position, gScore);
             parents.put(position, parent);
@@ -41,7 +45,7 @@ public class JPSCache
      * Adds position with g-score, parent, and transport.
      */
     public boolean putIfBetter(int position, int gScore, int parent, Transport transport) {
-        int existingGScore = gScores.get(position);
+        int existingGScore = gScores.get(position, Integer.MAX_VALUE);
         if (gScore < existingGScore) {
             gScores.put(position, gScore);
             parents.put(position, parent);
@@ -57,7 +61,7 @@ public class JPSCache
      * Gets current g-score for position.
      */
     public int getGScore(int position) {
-        return gScores.get(position);
+        return gScores.get(position, Integer.MAX_VALUE);
     }
 
     /**
@@ -82,7 +86,7 @@ public class JPSCache
         while (current != -1) {
             Transport transport = transports.get(current);
             jumpPoints.addFirst(new JPSStep(current, transport));
-            current = parents.get(current);
+            current = parents.get(current, -1);
         }
 
         // Remove player's starting position (keep teleport destinations)
@@ -1,15 +1,18 @@
 package com.tonic.services.pathfinder.implimentations.jps;
 
+import java.util.Arrays;
+
 /**
  * Min-heap priority queue optimized for JPS pathfinding.
  * Uses parallel primitive arrays for cache-friendly access.
+ * Grows on demand so a pooled instance can be reused across searches.
  */
 public class JPSPriorityQueue
 {
     private int[] positions;    // Node positions (compressed WorldPoints)
     private int[] fScores;      // f-scores (g + h) for priority
     private int size;
-    private final int capacity;
+    private int capacity;
 
     public JPSPriorityQueue(int capacity) {
         this.capacity = capacity;
@@ -25,7 +28,7 @@ public class JPSPriorityQueue
      */
     public void enqueue(int position, int fScore) {
         if (size >= capacity) {
-            throw new IllegalStateException("Priority queue capacity exceeded");
+            grow();
         }
 
         positions[size] = position;
@@ -127,6 +130,12 @@ public class JPSPriorityQueue
         fScores[currentIndex] = currentFScore;
     }
 
+    private void grow() {
+        capacity = capacity << 1;
+        positions = Arrays.copyOf(positions, capacity);
+        fScores = Arrays.copyOf(fScores, capacity);
+    }
+
     /**
      * Clears the queue for reuse.
      */
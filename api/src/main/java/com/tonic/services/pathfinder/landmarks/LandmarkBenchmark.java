@@ -0,0 +1,191 @@
+package com.tonic.services.pathfinder.landmarks;
+
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.WorldPointUtil;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Offline comparison of expanded nodes with and without the landmark bounds. Runs the same
+ * unit cost A* the pathfinders use (octile estimate plus 100 per plane) between random pairs
+ * of walkable tiles, once with the plain estimate and once tightened by a {@link LandmarkTable},
+ * after a warmup round of each. Node counts are reported over the pairs the plain search
+ * connects, path cost relative to it.
+ *
+ * <pre>
+ * java -Xmx4g ... LandmarkBenchmark path/to/map.dat path/to/landmarks.dat [pairs] [seed]
+ * </pre>
+ */
+public class LandmarkBenchmark
+{
+    private static final int MAX_EXPANDED = 2_000_000;
+
+    public static void main(String[] args) throws Exception
+    {
+        if(args.length < 2 || args.length > 4)
+        {
+            System.err.println("Usage: LandmarkBenchmark <map.dat> <landmarks.dat> [pairs] [seed]");
+            System.exit(1);
+        }
+        GlobalCollisionMap map = GlobalCollisionMap.load(args[0]);
+        if(map == null)
+        {
+            System.exit(1);
+        }
+        LandmarkTable table = LandmarkTable.load(Path.of(args[1]));
+        if(!table.matches(map))
+        {
+            System.err.println("landmarks.dat was generated for a different map.dat");
+            System.exit(1);
+        }
+        int pairs = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        LandmarkGraph graph = new LandmarkGraph(map, TransportLoader.allTransports());
+        int[][] queries = queries(graph, pairs, new Random(seed));
+
+        // warmup
+        run(graph, null, queries, false);
+        run(graph, table, queries, false);
+
+        System.out.printf("%-10s %8s %12s %12s %10s %10s%n", "heuristic", "pairs", "mean nodes", "p50 nodes", "mean ms", "cost");
+        Result plain = run(graph, null, queries, true);
+        Result landmarks = run(graph, table, queries, true);
+        print("octile", plain, plain);
+        print("landmarks", landmarks, plain);
+    }
+
+    private static int[][] queries(LandmarkGraph graph, int pairs, Random random)
+    {
+        int[][] queries = new int[pairs][];
+        for(int i = 0; i < pairs; i++)
+        {
+            queries[i] = new int[]{randomTile(graph, random), randomTile(graph, random)};
+        }
+        return queries;
+    }
+
+    private static int randomTile(LandmarkGraph graph, Random random)
+    {
+        while(true)
+        {
+            int id = random.nextInt(graph.size());
+            if(graph.walkable(id))
+                return id;
+        }
+    }
+
+    private static Result run(LandmarkGraph graph, LandmarkTable table, int[][] queries, boolean measure)
+    {
+        Result result = new Result(queries.length);
+        for(int[] query : queries)
+        {
+            long start = System.nanoTime();
+            long outcome = search(graph, table, query[0], query[1]);
+            long elapsed = System.nanoTime() - start;
+            if(measure)
+            {
+                result.add((int) (outcome >>> 32), (int) outcome, elapsed);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return expanded nodes in the high half, path cost or -1 in the low half
+     */
+    private static long search(LandmarkGraph graph, LandmarkTable table, int source, int target)
+    {
+        final int packedTarget = graph.packed(target);
+        final short tx = WorldPointUtil.getCompressedX(packedTarget);
+        final short ty = WorldPointUtil.getCompressedY(packedTarget);
+        final byte tp = WorldPointUtil.getCompressedPlane(packedTarget);
+        final LandmarkTable.Bounds bounds = table == null ? null : table.toward(new int[]{packedTarget}, new IntOpenHashSet());
+
+        final Int2IntOpenHashMap g = new Int2IntOpenHashMap();
+        g.defaultReturnValue(Integer.MAX_VALUE);
+        final IntOpenHashSet closed = new IntOpenHashSet();
+        final LongHeapPriorityQueue open = new LongHeapPriorityQueue();
+        g.put(source, 0);
+        open.enqueue(source);
+
+        int expanded = 0;
+        while(!open.isEmpty() && expanded < MAX_EXPANDED)
+        {
+            final int current = (int) open.dequeueLong();
+            if(!closed.add(current))
+                continue;
+            expanded++;
+            final int cost = g.get(current);
+            if(current == target)
+                return (long) expanded << 32 | cost;
+            graph.neighbours(current, neighbour -> {
+                if(closed.contains(neighbour) || g.get(neighbour) <= cost + 1)
+                    return;
+                g.put(neighbour, cost + 1);
+                final int packed = graph.packed(neighbour);
+                final int dx = Math.abs(WorldPointUtil.getCompressedX(packed) - tx);
+                final int dy = Math.abs(WorldPointUtil.getCompressedY(packed) - ty);
+                final int dz = Math.abs(WorldPointUtil.getCompressedPlane(packed) - tp);
+                int h = Math.max(dx, dy) + dz * 100;
+                if(bounds != null)
+                    h = bounds.estimate(packed, h);
+                open.enqueue((long) (cost + 1 + h) << 32 | neighbour);
+            });
+        }
+        return (long) expanded << 32 | 0xFFFFFFFFL;
+    }
+
+    private static void print(String name, Result result, Result baseline)
+    {
+        // only pairs the plain search found a path for, exhausting a component says nothing
+        int[] expanded = new int[result.size];
+        int count = 0;
+        long cost = 0;
+        long baseCost = 0;
+        for(int i = 0; i < result.size; i++)
+        {
+            if(baseline.costs[i] < 0)
+                continue;
+            expanded[count++] = result.expanded[i];
+            if(result.costs[i] >= 0)
+            {
+                cost += result.costs[i];
+                baseCost += baseline.costs[i];
+            }
+        }
+        int[] sorted = Arrays.copyOf(expanded, count);
+        Arrays.sort(sorted);
+        System.out.printf("%-10s %8d %12.0f %12d %10.2f %10.3f%n", name, count,
+                Arrays.stream(sorted).average().orElse(0), count == 0 ? 0 : sorted[count / 2],
+                result.nanos / 1e6 / Math.max(1, result.size), baseCost == 0 ? 1.0 : (double) cost / baseCost);
+    }
+
+    private static final class Result
+    {
+        private final int[] expanded;
+        private final int[] costs;
+        private int size;
+        private long nanos;
+
+        Result(int capacity)
+        {
+            this.expanded = new int[capacity];
+            this.costs = new int[capacity];
+        }
+
+        void add(int expanded, int cost, long nanos)
+        {
+            this.expanded[size] = expanded;
+            this.costs[size] = cost;
+            this.size++;
+            this.nanos += nanos;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.tonic.services.pathfinder.landmarks;
+
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.WorldPointUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Offline tool that picks landmarks on a map.dat and writes their distance table to
+ * landmarks.dat. Distances include transports.json and the generated transport networks, see
+ * {@link TransportLoader#allTransports()}. Rerun it whenever map.dat or the transports change;
+ * a table for a different map.dat is detected at load time and ignored.
+ *
+ * <p>Landmarks are chosen by farthest point selection: each one is the tile furthest from every
+ * landmark chosen so far, which spreads them to the edges of the map where they give the
+ * tightest bounds. Each landmark costs a forward and a backward BFS over the whole map, so
+ * give it a few GB of heap.</p>
+ *
+ * <pre>
+ * java -Xmx4g ... LandmarkGenerator path/to/map.dat path/to/landmarks.dat [landmarks]
+ * </pre>
+ */
+public class LandmarkGenerator
+{
+    private static final int DEFAULT_LANDMARKS = 16;
+    // Lumbridge, only used to find the first landmark
+    private static final int SEED = WorldPointUtil.compress(3222, 3218, 0);
+
+    public static void main(String[] args) throws Exception
+    {
+        if(args.length < 2 || args.length > 3)
+        {
+            System.err.println("Usage: LandmarkGenerator <map.dat> <landmarks.dat> [landmarks]");
+            System.exit(1);
+        }
+
+        GlobalCollisionMap map = GlobalCollisionMap.load(args[0]);
+        if(map == null)
+        {
+            System.exit(1);
+        }
+        int count = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_LANDMARKS;
+
+        long start = System.currentTimeMillis();
+        LandmarkGraph graph = new LandmarkGraph(map, TransportLoader.allTransports());
+        System.out.println("Graph: " + graph.regions.length + " regions, " + graph.edges.length + " transports in " + (System.currentTimeMillis() - start) + "ms");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(args[1]))))
+        {
+            generate(graph, map.blockedCount(), count, out);
+        }
+        System.out.println("Wrote " + args[1] + " in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    static void generate(LandmarkGraph graph, int blockedEdges, int count, DataOutputStream out) throws IOException
+    {
+        final int size = graph.size();
+        final char[] distance = new char[size];
+        final char[] nearest = new char[size];
+        Arrays.fill(nearest, (char) LandmarkGraph.UNREACHED);
+        final char[] records = new char[graph.regions.length * LandmarkTable.BLOCKS * count * 4];
+        final int[] landmarks = new int[count];
+
+        int seed = graph.id(SEED);
+        if(seed == -1 || !graph.walkable(seed))
+        {
+            seed = 0;
+            while(seed < size && !graph.walkable(seed))
+            {
+                seed++;
+            }
+        }
+        graph.distances(seed, false, distance);
+        int next = farthest(graph, distance);
+
+        int chosen = 0;
+        while(chosen < count && next != -1)
+        {
+            landmarks[chosen] = next;
+            graph.distances(next, false, distance);
+            aggregate(graph, distance, records, count, chosen, 0);
+            for(int i = 0; i < size; i++)
+            {
+                if(distance[i] < nearest[i])
+                    nearest[i] = distance[i];
+            }
+            graph.distances(next, true, distance);
+            aggregate(graph, distance, records, count, chosen, 2);
+            System.out.println("Landmark " + chosen + ": " + WorldPointUtil.fromCompressed(graph.packed(next)));
+            chosen++;
+            next = farthest(graph, nearest);
+        }
+
+        out.writeInt(LandmarkTable.MAGIC);
+        out.writeInt(LandmarkTable.VERSION);
+        out.writeInt(blockedEdges);
+        out.writeInt(chosen);
+        out.writeInt(graph.regions.length);
+        out.writeInt(graph.edges.length);
+        for(int l = 0; l < chosen; l++)
+        {
+            out.writeInt(graph.packed(landmarks[l]));
+        }
+        for(int ordinal : graph.ordinals)
+        {
+            out.writeInt(ordinal);
+        }
+        for(long edge : graph.edges)
+        {
+            out.writeLong(edge);
+        }
+        // records are laid out for the full count, only write the landmarks we found
+        for(int block = 0; block < graph.regions.length * LandmarkTable.BLOCKS; block++)
+        {
+            for(int l = 0; l < chosen; l++)
+            {
+                final int offset = (block * count + l) * 4;
+                for(int field = 0; field < 4; field++)
+                {
+                    out.writeChar(records[offset + field]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the reached walkable tile with the largest distance, or -1 if there is none
+     */
+    private static int farthest(LandmarkGraph graph, char[] distance)
+    {
+        int best = -1;
+        int bestDistance = 0;
+        for(int i = 0; i < distance.length; i++)
+        {
+            if(distance[i] != LandmarkGraph.UNREACHED && distance[i] > bestDistance && graph.walkable(i))
+            {
+                best = i;
+                bestDistance = distance[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Folds one landmark's distances into the block minimum and maximum
+     * @param field 0 for distances from the landmark, 2 for distances to it
+     */
+    private static void aggregate(LandmarkGraph graph, char[] distance, char[] records, int count, int landmark, int field)
+    {
+        final int blocks = graph.regions.length * LandmarkTable.BLOCKS;
+        for(int block = 0; block < blocks; block++)
+        {
+            final int offset = (block * count + landmark) * 4 + field;
+            records[offset] = (char) LandmarkTable.UNKNOWN;
+            records[offset + 1] = 0;
+        }
+        for(int id = 0; id < distance.length; id++)
+        {
+            final int tile = id % LandmarkGraph.REGION_TILES;
+            final int block = (id / LandmarkGraph.REGION_TILES) * LandmarkTable.BLOCKS + LandmarkTable.block(tile & 63, tile >> 6);
+            final int offset = (block * count + landmark) * 4 + field;
+            final char d = distance[id];
+            if(d == LandmarkGraph.UNREACHED)
+            {
+                // the block maximum only bounds its tiles if it covers all of them
+                if(graph.walkable(id))
+                    records[offset + 1] = (char) LandmarkTable.UNKNOWN;
+                continue;
+            }
+            if(d < records[offset])
+                records[offset] = d;
+            if(records[offset + 1] != LandmarkTable.UNKNOWN && d > records[offset + 1])
+                records[offset + 1] = d;
+        }
+        for(int block = 0; block < blocks; block++)
+        {
+            final int offset = (block * count + landmark) * 4 + field;
+            if(records[offset] == LandmarkTable.UNKNOWN)
+                records[offset + 1] = (char) LandmarkTable.UNKNOWN;
+        }
+    }
+}
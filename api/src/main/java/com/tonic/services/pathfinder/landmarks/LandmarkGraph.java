@@ -0,0 +1,252 @@
+package com.tonic.services.pathfinder.landmarks;
+
+import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.util.WorldPointUtil;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The walkable tiles of every region the collision map has data for, densely numbered, plus the
+ * transports between them. Used offline by {@link LandmarkGenerator} and {@link LandmarkBenchmark}.
+ *
+ * <p>A tile id is {@code ordinal * 4096 + (x & 63) + (y & 63) * 64} where ordinal is the position
+ * of the tile's region in {@link #regions}. Every move and transport costs 1, which is the
+ * cheapest any of them is for the pathfinders, so distances here never exceed real path costs.</p>
+ */
+final class LandmarkGraph
+{
+    static final int REGION_TILES = 64 * 64;
+    static final int UNREACHED = 0xFFFF;
+
+    private static final int[] DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int[] DY = {1, 1, 1, 0, 0, -1, -1, -1};
+    // Flags bit for each of the directions above
+    private static final int[] BIT = {Flags.NORTHWEST, Flags.NORTH, Flags.NORTHEAST, Flags.WEST, Flags.EAST, Flags.SOUTHWEST, Flags.SOUTH, Flags.SOUTHEAST & 0xFF};
+
+    final int[] regions;
+    final int[] ordinals = new int[LandmarkTable.REGION_KEYS];
+    final byte[] flags;
+    final long[] edges;
+    private final int[] forwardOffsets;
+    private final int[] forwardTargets;
+    private final int[] backwardOffsets;
+    private final int[] backwardTargets;
+    private final int[] queue;
+
+    LandmarkGraph(GlobalCollisionMap map, List<Transport> transports)
+    {
+        final IntOpenHashSet covered = new IntOpenHashSet();
+        for(int i = map.nextBlocked(0); i >= 0; i = map.nextBlocked(i + 1))
+        {
+            covered.add(LandmarkTable.region(i & 8191, (i >>> 13) & 32767, (i >>> 28) & 3));
+        }
+        regions = covered.toIntArray();
+        Arrays.sort(regions);
+        Arrays.fill(ordinals, -1);
+        for(int i = 0; i < regions.length; i++)
+        {
+            ordinals[regions[i]] = i;
+        }
+
+        flags = new byte[regions.length * REGION_TILES];
+        for(int r = 0; r < regions.length; r++)
+        {
+            final int rx = LandmarkTable.regionX(regions[r]);
+            final int ry = LandmarkTable.regionY(regions[r]);
+            final byte plane = (byte) LandmarkTable.regionPlane(regions[r]);
+            for(int tile = 0; tile < REGION_TILES; tile++)
+            {
+                flags[r * REGION_TILES + tile] = map.all((short) (rx + (tile & 63)), (short) (ry + (tile >> 6)), plane);
+            }
+        }
+
+        // transports between covered tiles, deduplicated
+        final LongArrayList pairs = new LongArrayList();
+        for(Transport transport : transports)
+        {
+            if(id(transport.getSource()) != -1 && id(transport.getDestination()) != -1)
+                pairs.add(LandmarkTable.edge(transport.getSource(), transport.getDestination()));
+        }
+        final long[] sorted = pairs.toLongArray();
+        Arrays.sort(sorted);
+        int unique = 0;
+        for(int i = 0; i < sorted.length; i++)
+        {
+            if(unique == 0 || sorted[unique - 1] != sorted[i])
+                sorted[unique++] = sorted[i];
+        }
+        edges = Arrays.copyOf(sorted, unique);
+
+        final int[] sources = new int[unique];
+        final int[] destinations = new int[unique];
+        for(int i = 0; i < unique; i++)
+        {
+            sources[i] = id((int) (edges[i] >>> 32));
+            destinations[i] = id((int) edges[i]);
+        }
+        forwardOffsets = new int[flags.length + 1];
+        forwardTargets = new int[unique];
+        csr(sources, destinations, forwardOffsets, forwardTargets);
+        backwardOffsets = new int[flags.length + 1];
+        backwardTargets = new int[unique];
+        csr(destinations, sources, backwardOffsets, backwardTargets);
+        queue = new int[flags.length];
+    }
+
+    private static void csr(int[] from, int[] to, int[] offsets, int[] targets)
+    {
+        for(int f : from)
+        {
+            offsets[f + 1]++;
+        }
+        for(int i = 0; i + 1 < offsets.length; i++)
+        {
+            offsets[i + 1] += offsets[i];
+        }
+        final int[] fill = Arrays.copyOf(offsets, offsets.length - 1);
+        for(int i = 0; i < from.length; i++)
+        {
+            targets[fill[from[i]]++] = to[i];
+        }
+    }
+
+    int size()
+    {
+        return flags.length;
+    }
+
+    /**
+     * @param packed compressed world point
+     * @return tile id, or -1 if the map has no data for it
+     */
+    int id(int packed)
+    {
+        final int x = WorldPointUtil.getCompressedX(packed);
+        if(x > 6000)
+            return -1;
+        return id(x, WorldPointUtil.getCompressedY(packed), WorldPointUtil.getCompressedPlane(packed));
+    }
+
+    int id(int x, int y, int plane)
+    {
+        if(x < 0 || y < 0 || x > 8191 || y > 32767)
+            return -1;
+        final int ordinal = ordinals[LandmarkTable.region(x, y, plane)];
+        return ordinal == -1 ? -1 : ordinal * REGION_TILES + (x & 63) + ((y & 63) << 6);
+    }
+
+    int packed(int id)
+    {
+        final int key = regions[id / REGION_TILES];
+        final int tile = id % REGION_TILES;
+        return WorldPointUtil.compress(LandmarkTable.regionX(key) + (tile & 63), LandmarkTable.regionY(key) + (tile >> 6), LandmarkTable.regionPlane(key));
+    }
+
+    boolean walkable(int id)
+    {
+        return flags[id] != 0;
+    }
+
+    /**
+     * Unit cost distances from a tile, or to it when {@code backward} is set
+     * @param source tile id
+     * @param backward follow transports in reverse
+     * @param distance output, {@link #UNREACHED} where the tile can't be reached. Distances
+     *                 saturate just below it.
+     */
+    void distances(int source, boolean backward, char[] distance)
+    {
+        Arrays.fill(distance, (char) UNREACHED);
+        final int[] offsets = backward ? backwardOffsets : forwardOffsets;
+        final int[] targets = backward ? backwardTargets : forwardTargets;
+        int head = 0;
+        int tail = 0;
+        distance[source] = 0;
+        queue[tail++] = source;
+        while(head < tail)
+        {
+            final int current = queue[head++];
+            final int next = distance[current] + 1;
+            if(next >= UNREACHED)
+                break;
+            tail = expand(current, next, offsets, targets, distance, tail);
+        }
+    }
+
+    /**
+     * Pushes the unvisited neighbours of a tile
+     * @return new queue tail
+     */
+    private int expand(int current, int cost, int[] offsets, int[] targets, char[] distance, int tail)
+    {
+        final int f = flags[current] & 0xFF;
+        if(f != 0)
+        {
+            final int key = regions[current / REGION_TILES];
+            final int tile = current % REGION_TILES;
+            final int x = LandmarkTable.regionX(key) + (tile & 63);
+            final int y = LandmarkTable.regionY(key) + (tile >> 6);
+            final int plane = LandmarkTable.regionPlane(key);
+            for(int d = 0; d < 8; d++)
+            {
+                if((f & BIT[d]) == 0)
+                    continue;
+                final int neighbour = id(x + DX[d], y + DY[d], plane);
+                if(neighbour != -1 && distance[neighbour] == UNREACHED)
+                {
+                    distance[neighbour] = (char) cost;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        for(int i = offsets[current]; i < offsets[current + 1]; i++)
+        {
+            final int neighbour = targets[i];
+            if(distance[neighbour] == UNREACHED)
+            {
+                distance[neighbour] = (char) cost;
+                queue[tail++] = neighbour;
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Walks the 8 neighbours and outgoing transports of a tile for searches that keep their own
+     * bookkeeping
+     */
+    interface Visitor
+    {
+        void visit(int neighbour);
+    }
+
+    void neighbours(int current, Visitor visitor)
+    {
+        final int f = flags[current] & 0xFF;
+        if(f != 0)
+        {
+            final int key = regions[current / REGION_TILES];
+            final int tile = current % REGION_TILES;
+            final int x = LandmarkTable.regionX(key) + (tile & 63);
+            final int y = LandmarkTable.regionY(key) + (tile >> 6);
+            final int plane = LandmarkTable.regionPlane(key);
+            for(int d = 0; d < 8; d++)
+            {
+                if((f & BIT[d]) == 0)
+                    continue;
+                final int neighbour = id(x + DX[d], y + DY[d], plane);
+                if(neighbour != -1)
+                    visitor.visit(neighbour);
+            }
+        }
+        for(int i = forwardOffsets[current]; i < forwardOffsets[current + 1]; i++)
+        {
+            visitor.visit(forwardTargets[i]);
+        }
+    }
+}
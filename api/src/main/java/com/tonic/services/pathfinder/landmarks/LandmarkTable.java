@@ -0,0 +1,420 @@
+package com.tonic.services.pathfinder.landmarks;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.WorldPointUtil;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntCollection;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Landmark (ALT) distance bounds for the world pathfinders.
+ *
+ * <p>{@link LandmarkGenerator} picks a handful of landmark tiles spread across the map and
+ * computes the walking and transport distance from each landmark to every tile and back. By the
+ * triangle inequality, {@code d(v, t) >= d(L, t) - d(L, v)} and {@code d(v, t) >= d(v, L) - d(t, L)},
+ * which stays a useful lower bound across ladders, dungeons and transport networks where
+ * Manhattan distance is meaningless, and {@code d(v, L) + d(L, t)} is an upper bound.</p>
+ *
+ * <p>Per tile tables for the whole map would take gigabytes, so the table keeps the minimum and
+ * maximum distance of every 16x16 block instead. That loosens the bounds by at most the spread
+ * inside a block and fits in a few megabytes, which are memory-mapped from the Vitalite
+ * directory rather than loaded onto the heap.</p>
+ *
+ * <p>File layout, big endian: a header ({@code magic, version, blockedEdges, landmarks, regions,
+ * edges}), the landmark tiles, a region index of {@link #REGION_KEYS} ints, the transports the
+ * distances include as sorted {@code source << 32 | destination} longs, then per covered region
+ * 16 blocks of {@code fMin, fMax, bMin, bMax} chars for each landmark. 0xFFFF means unknown:
+ * unreachable for a minimum, not every walkable tile of the block reached for a maximum.</p>
+ */
+public class LandmarkTable
+{
+    static final int MAGIC = 0x4C4D524B;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int REGION_KEYS = 128 * 512 * 4;
+    static final int BLOCKS = 16;
+    static final int UNKNOWN = 0xFFFF;
+    private static final int CAP = 0x7FFF;
+    private static final String FILE = "landmarks.dat";
+
+    private final ByteBuffer buffer;
+    private final int blockedEdges;
+    private final int landmarkCount;
+    private final int edgeCount;
+    private final int indexBase;
+    private final int edgeBase;
+    private final int recordBase;
+    private final int recordBytes;
+
+    private LandmarkTable(ByteBuffer buffer) throws IOException
+    {
+        this.buffer = buffer;
+        if(buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            throw new IOException("Unsupported landmark table format");
+        this.blockedEdges = buffer.getInt(8);
+        this.landmarkCount = buffer.getInt(12);
+        final int regionCount = buffer.getInt(16);
+        this.edgeCount = buffer.getInt(20);
+        this.indexBase = HEADER_BYTES + landmarkCount * 4;
+        this.edgeBase = indexBase + REGION_KEYS * 4;
+        this.recordBase = edgeBase + edgeCount * 8;
+        this.recordBytes = landmarkCount * 8;
+        if(buffer.capacity() != recordBase + (long) regionCount * BLOCKS * recordBytes)
+            throw new IOException("Truncated landmark table");
+    }
+
+    public int getLandmarkCount()
+    {
+        return landmarkCount;
+    }
+
+    /**
+     * @param index landmark number
+     * @return compressed landmark tile
+     */
+    public int getLandmark(int index)
+    {
+        return buffer.getInt(HEADER_BYTES + index * 4);
+    }
+
+    /**
+     * @param map collision map
+     * @return true if this table was generated from the same map data
+     */
+    public boolean matches(GlobalCollisionMap map)
+    {
+        return map.blockedCount() == blockedEdges;
+    }
+
+    /**
+     * Bounds on the distance from any tile to the nearest of some targets, for searches running
+     * towards them. Transports that are usable right now but were not part of the generated
+     * distances are accounted for, so the lower bound holds for the current transports.
+     * @param targets compressed target tiles
+     * @return bounds for one search
+     */
+    public Bounds toward(int[] targets)
+    {
+        return toward(targets, unknownTransports(true));
+    }
+
+    /**
+     * Bounds on the distance from the nearest of some sources to any tile, for searches running
+     * backwards towards them
+     * @param sources compressed source tiles
+     * @return bounds for one search
+     */
+    public Bounds from(Collection<Integer> sources)
+    {
+        final int[] array = new int[sources.size()];
+        int i = 0;
+        for(int source : sources)
+        {
+            array[i++] = source;
+        }
+        return new Bounds(this, array, unknownTransports(false), false);
+    }
+
+    Bounds toward(int[] targets, IntCollection extra)
+    {
+        return new Bounds(this, targets, extra, true);
+    }
+
+    /**
+     * Endpoints of the usable transports the table doesn't know about. A path that is shorter
+     * than the table allows has to take one of them, so for searching towards a target their
+     * sources are extra goals for the lower bound, and for searching back from a source their
+     * destinations are.
+     */
+    private IntCollection unknownTransports(boolean sources)
+    {
+        final IntOpenHashSet endpoints = new IntOpenHashSet();
+        TransportLoader.getTransports().forEachValue(list -> {
+            for(Transport transport : list)
+            {
+                final int endpoint = sources ? transport.getSource() : transport.getDestination();
+                // transports inside instances only matter to searches the table doesn't cover
+                if(WorldPointUtil.getCompressedX(endpoint) <= 6000 && !containsEdge(transport.getSource(), transport.getDestination()))
+                    endpoints.add(endpoint);
+            }
+            return true;
+        });
+        return endpoints;
+    }
+
+    boolean containsEdge(int source, int destination)
+    {
+        final long key = edge(source, destination);
+        int low = 0;
+        int high = edgeCount - 1;
+        while(low <= high)
+        {
+            final int mid = (low + high) >>> 1;
+            final long value = buffer.getLong(edgeBase + mid * 8);
+            if(value < key)
+                low = mid + 1;
+            else if(value > key)
+                high = mid - 1;
+            else
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param packed compressed world point
+     * @return byte offset of the block record holding the tile, or -1 if the table has none
+     */
+    int record(int packed)
+    {
+        final int x = WorldPointUtil.getCompressedX(packed);
+        // instance templates live past x 6000 and are not part of the map data
+        if(x > 6000)
+            return -1;
+        final int y = WorldPointUtil.getCompressedY(packed);
+        final int ordinal = buffer.getInt(indexBase + region(x, y, WorldPointUtil.getCompressedPlane(packed)) * 4);
+        if(ordinal == -1)
+            return -1;
+        return recordBase + (ordinal * BLOCKS + block(x, y)) * recordBytes;
+    }
+
+    /**
+     * Bounds on the distance from the tiles of one block to the tiles of another
+     * @return {@code lower | upper << 16}, both saturated at 0x7FFF which as upper bound means none
+     */
+    int pair(int from, int to)
+    {
+        int lower = 0;
+        int upper = CAP;
+        for(int l = 0; l < landmarkCount; l++)
+        {
+            final int a = from + l * 8;
+            final int b = to + l * 8;
+            final int fromForwardMax = buffer.getChar(a + 2);
+            final int fromBackwardMin = buffer.getChar(a + 4);
+            final int fromBackwardMax = buffer.getChar(a + 6);
+            final int toForwardMin = buffer.getChar(b);
+            final int toForwardMax = buffer.getChar(b + 2);
+            final int toBackwardMax = buffer.getChar(b + 6);
+            if(toForwardMin != UNKNOWN && fromForwardMax != UNKNOWN)
+                lower = Math.max(lower, toForwardMin - fromForwardMax);
+            if(fromBackwardMin != UNKNOWN && toBackwardMax != UNKNOWN)
+                lower = Math.max(lower, fromBackwardMin - toBackwardMax);
+            if(fromBackwardMax != UNKNOWN && toForwardMax != UNKNOWN)
+                upper = Math.min(upper, fromBackwardMax + toForwardMax);
+        }
+        return Math.min(lower, CAP) | upper << 16;
+    }
+
+    static int region(int x, int y, int plane)
+    {
+        return (x >> 6) | (y >> 6) << 7 | plane << 16;
+    }
+
+    static int regionX(int key)
+    {
+        return (key & 127) << 6;
+    }
+
+    static int regionY(int key)
+    {
+        return ((key >>> 7) & 511) << 6;
+    }
+
+    static int regionPlane(int key)
+    {
+        return key >>> 16;
+    }
+
+    static int block(int x, int y)
+    {
+        return ((x & 63) >> 4) | ((y & 63) >> 4) << 2;
+    }
+
+    static long edge(int source, int destination)
+    {
+        return (long) source << 32 | (destination & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Maps landmarks.dat from the Vitalite directory, extracting it from the pathfinder
+     * resources first if it is missing or differs from the bundled one
+     * @return the table, or null if it has not been generated
+     * @throws IOException if the table can't be extracted or is corrupt
+     */
+    public static LandmarkTable load() throws IOException
+    {
+        final Path file = Static.VITA_DIR.resolve(FILE);
+        try (InputStream is = Walker.class.getResourceAsStream(FILE))
+        {
+            if(is == null)
+                return null;
+            final DataInputStream in = new DataInputStream(is);
+            final byte[] header = new byte[HEADER_BYTES];
+            in.readFully(header);
+            if(!sameHeader(file, header))
+            {
+                Files.createDirectories(file.getParent());
+                final Path temp = Files.createTempFile(file.getParent(), FILE, ".tmp");
+                try
+                {
+                    Files.write(temp, header);
+                    try (var out = Files.newOutputStream(temp, StandardOpenOption.APPEND))
+                    {
+                        in.transferTo(out);
+                    }
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                finally
+                {
+                    Files.deleteIfExists(temp);
+                }
+                Logger.info("[Pathfinder] Extracted " + FILE);
+            }
+        }
+        return load(file);
+    }
+
+    /**
+     * Maps a landmark table file
+     * @param file landmarks.dat
+     * @return the table
+     * @throws IOException if the file can't be read or is corrupt
+     */
+    public static LandmarkTable load(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            // the mapping stays valid after the channel is closed
+            return new LandmarkTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static boolean sameHeader(Path file, byte[] header) throws IOException
+    {
+        if(!Files.isRegularFile(file))
+            return false;
+        try (InputStream in = Files.newInputStream(file))
+        {
+            final byte[] existing = in.readNBytes(HEADER_BYTES);
+            if(existing.length != HEADER_BYTES)
+                return false;
+            for(int i = 0; i < HEADER_BYTES; i++)
+            {
+                if(existing[i] != header[i])
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Heuristic bounds for one search. Lookups are memoized per block, so every block costs one
+     * pass over the landmarks per goal block no matter how many of its tiles are expanded. Not
+     * thread safe.
+     */
+    public static final class Bounds
+    {
+        private final LandmarkTable table;
+        private final boolean forward;
+        private final int[] lowerGoals;
+        private final int[] upperGoals;
+        private final boolean unbounded;
+        private final Int2IntOpenHashMap memo = new Int2IntOpenHashMap();
+
+        private Bounds(LandmarkTable table, int[] goals, IntCollection extra, boolean forward)
+        {
+            this.table = table;
+            this.forward = forward;
+            this.memo.defaultReturnValue(-1);
+
+            final IntOpenHashSet upper = new IntOpenHashSet();
+            final IntOpenHashSet lower = new IntOpenHashSet();
+            boolean open = false;
+            for(int goal : goals)
+            {
+                final int record = table.record(goal);
+                if(record == -1)
+                {
+                    open = true;
+                    continue;
+                }
+                upper.add(record);
+                lower.add(record);
+            }
+            for(int endpoint : extra)
+            {
+                final int record = table.record(endpoint);
+                if(record == -1)
+                    open = true;
+                else
+                    lower.add(record);
+            }
+            this.upperGoals = upper.toIntArray();
+            this.lowerGoals = lower.toIntArray();
+            // a goal the table knows nothing about could be right next to anything
+            this.unbounded = open;
+        }
+
+        /**
+         * Tightens a search's own heuristic with the landmark bounds: never below the landmark
+         * lower bound and never above the landmark upper bound
+         * @param packed compressed tile
+         * @param fallback the search's own estimate for the tile
+         * @return estimate
+         */
+        public int estimate(int packed, int fallback)
+        {
+            final int record = table.record(packed);
+            if(record == -1)
+                return fallback;
+            int bounds = memo.get(record);
+            if(bounds == -1)
+            {
+                bounds = compute(record);
+                memo.put(record, bounds);
+            }
+            final int lower = bounds & 0xFFFF;
+            final int upper = bounds >>> 16;
+            final int estimate = upper == CAP ? fallback : Math.min(fallback, upper);
+            return Math.max(lower, estimate);
+        }
+
+        private int compute(int record)
+        {
+            int lower = 0;
+            if(!unbounded && lowerGoals.length > 0)
+            {
+                lower = CAP;
+                for(int goal : lowerGoals)
+                {
+                    final int pair = forward ? table.pair(record, goal) : table.pair(goal, record);
+                    lower = Math.min(lower, pair & 0xFFFF);
+                }
+            }
+            int upper = CAP;
+            for(int goal : upperGoals)
+            {
+                final int pair = forward ? table.pair(record, goal) : table.pair(goal, record);
+                upper = Math.min(upper, pair >>> 16);
+            }
+            return lower | upper << 16;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.tonic.Static;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.GameManager;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.CollisionMap;
 import com.tonic.util.WorldPointUtil;
 import gnu.trove.map.hash.TIntIntHashMap;
 import lombok.Getter;
@@ -27,6 +28,7 @@ public class LocalCollisionMap
     public static final Predicate<Set<MovementFlag>> BLOCKED_WEST = flags -> FULL_BLOCKING.test(flags) || flags.contains(MovementFlag.BLOCK_MOVEMENT_WEST) || flags.contains(MovementFlag.BLOCK_MOVEMENT_NORTH_WEST) || flags.contains(MovementFlag.BLOCK_MOVEMENT_SOUTH_WEST);
 
     private final TIntIntHashMap collisionMap;
+    private final CollisionMap globalMap = Walker.getCollisionMap();
     @Getter
     private final List<Integer> ignoreTiles;
     public LocalCollisionMap()
@@ -45,7 +47,7 @@ public class LocalCollisionMap
     {
         if(x < 6000)
         {
-            return Walker.getCollisionMap().all(x, y, z);
+            return globalMap.all(x, y, z);
         }
 
         byte n = (byte) (n(x,y,z) ? 0 : 1);
@@ -0,0 +1,231 @@
+package com.tonic.services.pathfinder.local;
+
+import com.tonic.Static;
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.implimentations.hybridbfs.HybridBFSStep;
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Repairs a broken world path locally instead of recomputing it from scratch.
+ *
+ * <p>When the next step of a path stops being reachable, usually because a door closed, an NPC
+ * or object is in the way or the player was pushed off course, the rest of the path is almost
+ * always still good. The repair searches the live scene collision from the player outwards and
+ * splices a detour onto the first later step it can rejoin, choosing the step that minimises
+ * detour length plus remaining path length. Only the loaded scene is searched, so a repair costs
+ * one bounded BFS over at most 104x104 tiles; when the remaining path cannot be rejoined inside
+ * the scene (failed transport, blocked off area, different plane) the caller falls back to a
+ * full search.</p>
+ *
+ * <p>An instance belongs to one walk and keeps its search buffers between repairs. It also
+ * remembers the tile the last repair was made from, so a repair that did not get the player
+ * anywhere is not repeated endlessly.</p>
+ */
+public class PathRepair
+{
+    private static final int SCENE_SIZE = 104;
+    private static final int MAX_LOOKAHEAD = 128;
+    private static final int MAX_ATTEMPTS = 2;
+    private static final int BLOCKED = MovementFlag.BLOCKING_FLAGS;
+
+    private static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+    private static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+
+    private final int[] visited = new int[SCENE_SIZE * SCENE_SIZE];
+    private final int[] distance = new int[SCENE_SIZE * SCENE_SIZE];
+    private final int[] parent = new int[SCENE_SIZE * SCENE_SIZE];
+    private final int[] goalStamp = new int[SCENE_SIZE * SCENE_SIZE];
+    private final int[] goalIndex = new int[SCENE_SIZE * SCENE_SIZE];
+    private final int[] queue = new int[SCENE_SIZE * SCENE_SIZE];
+    private int generation = 0;
+    private int lastOrigin = -1;
+    private int attempts = 0;
+
+    /**
+     * Try to splice a detour from the player onto the remaining path
+     * @param steps remaining steps, not modified
+     * @param origin player's tile
+     * @return the repaired steps, or null if the path has to be recomputed
+     */
+    public List<IStep> repair(List<IStep> steps, WorldPoint origin)
+    {
+        if(steps.isEmpty())
+            return null;
+
+        int packedOrigin = WorldPointUtil.compress(origin);
+        if(packedOrigin == lastOrigin && ++attempts > MAX_ATTEMPTS)
+        {
+            // repairs from this tile keep failing, something the scene collision doesn't show is in the way
+            return null;
+        }
+        if(packedOrigin != lastOrigin)
+        {
+            lastOrigin = packedOrigin;
+            attempts = 1;
+        }
+        return Static.invoke(() -> search(steps, origin));
+    }
+
+    /**
+     * Forget the repair history, e.g. after the path was replaced by a full search
+     */
+    public void reset()
+    {
+        lastOrigin = -1;
+        attempts = 0;
+    }
+
+    private List<IStep> search(List<IStep> steps, WorldPoint origin)
+    {
+        Client client = Static.getClient();
+        WorldView wv = client.getTopLevelWorldView();
+        // steps are stored in template coordinates, detours would be in instance coordinates
+        if(wv == null || wv.isInstance())
+            return null;
+        CollisionData[] collisionMaps = wv.getCollisionMaps();
+        int plane = origin.getPlane();
+        if(collisionMaps == null || plane != wv.getPlane() || collisionMaps[plane] == null)
+            return null;
+
+        int[][] flags = collisionMaps[plane].getFlags();
+        int baseX = wv.getBaseX();
+        int baseY = wv.getBaseY();
+        int startX = origin.getX() - baseX;
+        int startY = origin.getY() - baseY;
+        if(!inScene(startX, startY))
+            return null;
+
+        if(++generation == 0)
+        {
+            Arrays.fill(visited, 0);
+            Arrays.fill(goalStamp, 0);
+            generation = 1;
+        }
+
+        // the part of the path that lies in the scene on this plane is what we can rejoin
+        int lastGoal = -1;
+        int limit = Math.min(steps.size(), MAX_LOOKAHEAD);
+        for(int i = 0; i < limit; i++)
+        {
+            IStep step = steps.get(i);
+            WorldPoint position = step.getPosition();
+            int x = position.getX() - baseX;
+            int y = position.getY() - baseY;
+            if(position.getPlane() != plane || !inScene(x, y))
+                break;
+            int index = x * SCENE_SIZE + y;
+            goalStamp[index] = generation;
+            goalIndex[index] = i;
+            lastGoal = i;
+            // past a transport the path continues somewhere we can't walk to
+            if(step.hasTransport())
+                break;
+        }
+        if(lastGoal == -1)
+            return null;
+
+        int start = startX * SCENE_SIZE + startY;
+        visited[start] = generation;
+        distance[start] = 0;
+        parent[start] = -1;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+
+        int best = -1;
+        int bestScore = Integer.MAX_VALUE;
+        while(head < tail)
+        {
+            int current = queue[head++];
+            int depth = distance[current];
+            // nothing further out can rejoin more cheaply than what we have
+            if(depth - lastGoal >= bestScore)
+                break;
+
+            if(goalStamp[current] == generation)
+            {
+                int score = depth - goalIndex[current];
+                if(score < bestScore)
+                {
+                    bestScore = score;
+                    best = current;
+                }
+            }
+
+            int x = current / SCENE_SIZE;
+            int y = current % SCENE_SIZE;
+            for(int d = 0; d < 8; d++)
+            {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if(!inScene(nx, ny))
+                    continue;
+                int next = nx * SCENE_SIZE + ny;
+                if(visited[next] == generation || !canMove(flags, x, y, DX[d], DY[d]))
+                    continue;
+                visited[next] = generation;
+                distance[next] = depth + 1;
+                parent[next] = current;
+                queue[tail++] = next;
+            }
+        }
+        if(best == -1)
+            return null;
+
+        int rejoin = goalIndex[best];
+        if(rejoin == 0 && parent[best] == -1)
+            return null;
+        List<IStep> detour = new ArrayList<>(distance[best] + steps.size() - rejoin);
+        for(int node = parent[best]; node != -1 && node != start; node = parent[node])
+        {
+            detour.add(new HybridBFSStep(WorldPointUtil.compress(baseX + node / SCENE_SIZE, baseY + node % SCENE_SIZE, plane), null));
+        }
+        Collections.reverse(detour);
+        detour.addAll(steps.subList(rejoin, steps.size()));
+        return detour;
+    }
+
+    private static boolean inScene(int x, int y)
+    {
+        return x >= 0 && y >= 0 && x < SCENE_SIZE && y < SCENE_SIZE;
+    }
+
+    private static boolean canMove(int[][] flags, int x, int y, int dx, int dy)
+    {
+        if(dx != 0 && dy != 0)
+        {
+            // diagonal moves need both cardinal components and the corner to be clear
+            return canMove(flags, x, y, dx, 0) && canMove(flags, x, y, 0, dy)
+                    && canMove(flags, x + dx, y, 0, dy) && canMove(flags, x, y + dy, dx, 0)
+                    && (flags[x][y] & diagonalFlag(dx, dy)) == 0;
+        }
+        int nx = x + dx;
+        int ny = y + dy;
+        if(!inScene(nx, ny) || (flags[nx][ny] & BLOCKED) != 0)
+            return false;
+        if(dx == 1)
+            return (flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_EAST) == 0 && (flags[nx][ny] & CollisionDataFlag.BLOCK_MOVEMENT_WEST) == 0;
+        if(dx == -1)
+            return (flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_WEST) == 0 && (flags[nx][ny] & CollisionDataFlag.BLOCK_MOVEMENT_EAST) == 0;
+        if(dy == 1)
+            return (flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_NORTH) == 0 && (flags[nx][ny] & CollisionDataFlag.BLOCK_MOVEMENT_SOUTH) == 0;
+        return (flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_SOUTH) == 0 && (flags[nx][ny] & CollisionDataFlag.BLOCK_MOVEMENT_NORTH) == 0;
+    }
+
+    private static int diagonalFlag(int dx, int dy)
+    {
+        if(dx == 1)
+            return dy == 1 ? CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST : CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+        return dy == 1 ? CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST : CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+    }
+}
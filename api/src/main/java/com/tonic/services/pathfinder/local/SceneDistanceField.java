@@ -0,0 +1,189 @@
+package com.tonic.services.pathfinder.local;
+
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.CollisionData;
+import net.runelite.api.Constants;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Walking distances from one tile to every tile of the top level scene, from a single BFS over
+ * the scene collision flags with the client's own movement rules (the same masks as
+ * {@link com.tonic.api.game.SceneAPI#checkPointsTo(net.runelite.api.Tile, net.runelite.api.Tile)}).
+ *
+ * <p>{@link com.tonic.services.GameManager} builds one from the local player the first time it
+ * is asked for in a tick, so scene wide reachability checks and walking distance sorts cost an
+ * array lookup each instead of a search. A field never changes once built and can be read from
+ * any thread.</p>
+ */
+public final class SceneDistanceField
+{
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int SIZE = Constants.SCENE_SIZE;
+    // blocking masks of the tile being moved onto, per direction
+    private static final int BLOCK_WEST = 0x1240108;
+    private static final int BLOCK_EAST = 0x1240180;
+    private static final int BLOCK_SOUTH = 0x1240102;
+    private static final int BLOCK_NORTH = 0x1240120;
+    private static final int BLOCK_SOUTH_WEST = 0x124010E;
+    private static final int BLOCK_SOUTH_EAST = 0x1240183;
+    private static final int BLOCK_NORTH_WEST = 0x1240138;
+    private static final int BLOCK_NORTH_EAST = 0x12401E0;
+
+    // moves in the order they are tried, directions store index + 1
+    private static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+    private static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+
+    private final int baseX;
+    private final int baseY;
+    private final int plane;
+    private final int[] distances = new int[SIZE * SIZE];
+    private final byte[] directions;
+
+    private SceneDistanceField(int baseX, int baseY, int plane, boolean parents)
+    {
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.plane = plane;
+        this.directions = parents ? new byte[SIZE * SIZE] : null;
+        Arrays.fill(distances, UNREACHABLE);
+    }
+
+    /**
+     * Floods the scene from a tile. Must run on the client thread.
+     * @param worldView top level world view
+     * @param origin tile to measure from
+     * @param parents also record the move into every tile, needed for {@link #pathTo}
+     * @return distance field, with nothing reachable if the origin is not on the scene
+     */
+    public static SceneDistanceField compute(WorldView worldView, WorldPoint origin, boolean parents)
+    {
+        final SceneDistanceField field = new SceneDistanceField(worldView.getBaseX(), worldView.getBaseY(), worldView.getPlane(), parents);
+        final CollisionData[] collisionData = worldView.getCollisionMaps();
+        final int sx = origin.getX() - field.baseX;
+        final int sy = origin.getY() - field.baseY;
+        if(collisionData == null || origin.getPlane() != field.plane || sx < 0 || sy < 0 || sx >= SIZE || sy >= SIZE)
+            return field;
+        field.flood(collisionData[field.plane].getFlags(), sx, sy);
+        return field;
+    }
+
+    private void flood(int[][] flags, int sx, int sy)
+    {
+        final int[] queue = new int[SIZE * SIZE];
+        int head = 0;
+        int tail = 0;
+        distances[sx + sy * SIZE] = 0;
+        queue[tail++] = sx + sy * SIZE;
+        while(head < tail)
+        {
+            final int current = queue[head++];
+            final int x = current % SIZE;
+            final int y = current / SIZE;
+            final int next = distances[current] + 1;
+            final boolean west = x > 0 && (flags[x - 1][y] & BLOCK_WEST) == 0;
+            final boolean east = x < SIZE - 1 && (flags[x + 1][y] & BLOCK_EAST) == 0;
+            final boolean south = y > 0 && (flags[x][y - 1] & BLOCK_SOUTH) == 0;
+            final boolean north = y < SIZE - 1 && (flags[x][y + 1] & BLOCK_NORTH) == 0;
+
+            if(west)
+                tail = visit(current - 1, next, 0, queue, tail);
+            if(east)
+                tail = visit(current + 1, next, 1, queue, tail);
+            if(south)
+                tail = visit(current - SIZE, next, 2, queue, tail);
+            if(north)
+                tail = visit(current + SIZE, next, 3, queue, tail);
+            if(west && south && (flags[x - 1][y - 1] & BLOCK_SOUTH_WEST) == 0)
+                tail = visit(current - 1 - SIZE, next, 4, queue, tail);
+            if(east && south && (flags[x + 1][y - 1] & BLOCK_SOUTH_EAST) == 0)
+                tail = visit(current + 1 - SIZE, next, 5, queue, tail);
+            if(west && north && (flags[x - 1][y + 1] & BLOCK_NORTH_WEST) == 0)
+                tail = visit(current - 1 + SIZE, next, 6, queue, tail);
+            if(east && north && (flags[x + 1][y + 1] & BLOCK_NORTH_EAST) == 0)
+                tail = visit(current + 1 + SIZE, next, 7, queue, tail);
+        }
+    }
+
+    private int visit(int tile, int distance, int move, int[] queue, int tail)
+    {
+        if(distances[tile] != UNREACHABLE)
+            return tail;
+        distances[tile] = distance;
+        if(directions != null)
+            directions[tile] = (byte) (move + 1);
+        queue[tail] = tile;
+        return tail + 1;
+    }
+
+    private int index(int x, int y, int plane)
+    {
+        final int sx = x - baseX;
+        final int sy = y - baseY;
+        if(plane != this.plane || sx < 0 || sy < 0 || sx >= SIZE || sy >= SIZE)
+            return -1;
+        return sx + sy * SIZE;
+    }
+
+    /**
+     * @return walking steps from the origin, or {@link #UNREACHABLE}
+     */
+    public int distance(int x, int y, int plane)
+    {
+        final int index = index(x, y, plane);
+        return index == -1 ? UNREACHABLE : distances[index];
+    }
+
+    public int distance(WorldPoint point)
+    {
+        return distance(point.getX(), point.getY(), point.getPlane());
+    }
+
+    public int distance(int compressed)
+    {
+        return distance(WorldPointUtil.getCompressedX(compressed), WorldPointUtil.getCompressedY(compressed), WorldPointUtil.getCompressedPlane(compressed));
+    }
+
+    public boolean isReachable(int compressed)
+    {
+        return distance(compressed) != UNREACHABLE;
+    }
+
+    public boolean isReachable(WorldPoint point)
+    {
+        return distance(point) != UNREACHABLE;
+    }
+
+    /**
+     * Follows the recorded moves back from a tile
+     * @return every tile from the origin to the target, or null if it can't be reached
+     * @throws IllegalStateException if the field was built without parents
+     */
+    public List<WorldPoint> pathTo(WorldPoint target)
+    {
+        if(directions == null)
+            throw new IllegalStateException("Distance field was built without parents");
+        int index = index(target.getX(), target.getY(), target.getPlane());
+        if(index == -1 || distances[index] == UNREACHABLE)
+            return null;
+        final List<WorldPoint> path = new ArrayList<>(distances[index] + 1);
+        while(true)
+        {
+            int x = index % SIZE;
+            int y = index / SIZE;
+            path.add(new WorldPoint(baseX + x, baseY + y, plane));
+            final int move = directions[index] - 1;
+            if(move < 0)
+                break;
+            index = (x - DX[move]) + (y - DY[move]) * SIZE;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,90 @@
+package com.tonic.services.pathfinder.model;
+
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import lombok.Getter;
+import net.runelite.api.coords.WorldArea;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a single-pass search towards several destinations.
+ */
+@Getter
+public class NearestDestination
+{
+    /**
+     * the destinations that were searched for, in caller order
+     */
+    private final List<WorldArea> destinations;
+
+    /**
+     * index of the closest reachable destination, or -1 if none was reached
+     */
+    private final int index;
+
+    /**
+     * path to the closest destination, empty if none was reached
+     */
+    private final List<? extends IStep> steps;
+
+    /**
+     * teleport the path starts with, or null
+     */
+    private final Teleport teleport;
+
+    /**
+     * path length in steps per destination index, -1 for unreached. Null unless ranking was requested.
+     */
+    private final int[] costs;
+
+    public NearestDestination(List<WorldArea> destinations, int index, List<? extends IStep> steps, Teleport teleport, int[] costs)
+    {
+        this.destinations = destinations;
+        this.index = index;
+        this.steps = steps == null ? Collections.emptyList() : steps;
+        this.teleport = teleport;
+        this.costs = costs;
+    }
+
+    public boolean isFound()
+    {
+        return index != -1;
+    }
+
+    /**
+     * @return the closest reachable destination, or null
+     */
+    public WorldArea getDestination()
+    {
+        return index == -1 ? null : destinations.get(index);
+    }
+
+    /**
+     * @return indices of the reached destinations ordered by path length, or an empty list if
+     *         ranking was not requested
+     */
+    public List<Integer> getRanking()
+    {
+        if(costs == null)
+            return Collections.emptyList();
+        List<Integer> ranking = new ArrayList<>();
+        for(int i = 0; i < costs.length; i++)
+        {
+            if(costs[i] != -1)
+                ranking.add(i);
+        }
+        ranking.sort((a, b) -> Integer.compare(costs[a], costs[b]));
+        return ranking;
+    }
+
+    /**
+     * @return a walkable path to the closest destination
+     */
+    public WalkerPath toWalkerPath()
+    {
+        return new WalkerPath(new ArrayList<>(steps), teleport);
+    }
+}
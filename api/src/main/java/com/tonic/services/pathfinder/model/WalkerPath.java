@@ -18,10 +18,12 @@ import com.tonic.queries.TileObjectQuery;
 import com.tonic.queries.WidgetQuery;
 import static com.tonic.services.pathfinder.Walker.*;
 import com.tonic.services.GameManager;
+import com.tonic.services.pathfinder.PathService;
 import com.tonic.services.pathfinder.PathfinderAlgo;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
 import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.local.PathRepair;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.util.ClickManagerUtil;
 import com.tonic.util.StaticIntFinder;
@@ -37,6 +39,7 @@ import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
 import org.apache.commons.lang3.ArrayUtils;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class WalkerPath
@@ -67,6 +70,9 @@ public class WalkerPath
     private boolean ranInit = false;
     private int timesDialogueSeen = 0;
     private String lastText = null;
+    private CompletableFuture<WalkerPath> refresh = null;
+    private WorldPoint refreshFrom = null;
+    private final PathRepair repair = new PathRepair();
 
     /**
      * Get a WalkerPath to a single target
@@ -75,10 +81,7 @@ public class WalkerPath
      */
     public static WalkerPath get(WorldPoint target)
     {
-        target = Walker.getCollisionMap().nearestWalkableEuclidean(target, 5);
-        final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
-        List<? extends IStep> path = engine.find(target);
-        return new WalkerPath(path, engine.getTeleport());
+        return get(target, Static.getVitaConfig().getPathfinderImpl());
     }
 
     /**
@@ -88,6 +91,11 @@ public class WalkerPath
      */
     public static WalkerPath get(WorldPoint target, PathfinderAlgo algo)
     {
+        if(!Static.getClient().isClientThread())
+        {
+            return PathService.submit(target, algo).join();
+        }
+        // the pathfinders call back into the client thread, so never block it on the service
         target = Walker.getCollisionMap().nearestWalkableEuclidean(target, 5);
         final IPathfinder engine = algo.newInstance();
         List<? extends IStep> path = engine.find(target);
@@ -101,11 +109,58 @@ public class WalkerPath
      */
     public static WalkerPath get(List<WorldArea> targets)
     {
+        if(!Static.getClient().isClientThread())
+        {
+            return PathService.submit(targets).join();
+        }
         final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
         List<? extends IStep> path = engine.find(targets);
         return new WalkerPath(path, engine.getTeleport());
     }
 
+    /**
+     * Compute a WalkerPath to a single target in the background
+     * @param target The target WorldPoint
+     * @return future WalkerPath
+     */
+    public static CompletableFuture<WalkerPath> getAsync(WorldPoint target)
+    {
+        return PathService.submit(target);
+    }
+
+    /**
+     * Compute a WalkerPath to the closest of multiple targets in the background
+     * @param targets The target WorldAreas
+     * @return future WalkerPath
+     */
+    public static CompletableFuture<WalkerPath> getAsync(List<WorldArea> targets)
+    {
+        return PathService.submit(targets);
+    }
+
+    /**
+     * Wrap already computed steps
+     * @param steps path steps, owned by the returned WalkerPath from now on
+     * @param teleport teleport the path starts with, or null
+     * @return The WalkerPath
+     */
+    public static WalkerPath of(List<? extends IStep> steps, Teleport teleport)
+    {
+        return new WalkerPath(steps, teleport);
+    }
+
+    /**
+     * Find the closest of several destinations with a single search instead of pathing to each
+     * @param destinations The destination WorldAreas
+     * @param rankAll true to also rank every reachable destination by path length
+     * @return the closest destination, use {@link NearestDestination#toWalkerPath()} to walk it
+     */
+    public static NearestDestination getNearest(List<WorldArea> destinations, boolean rankAll)
+    {
+        final IPathfinder engine = PathfinderAlgo.HYBRID_BFS.newInstance();
+        return engine.findNearest(destinations, rankAll);
+    }
+
     /**
      * Returns the first midpoint that both StartA and StartB make it to via parallel pathfinding. Will
      * return null if no collective matches are found.
@@ -134,14 +189,95 @@ public class WalkerPath
     public void cancel()
     {
         this.canceled = true;
+        cancelRefresh();
     }
 
+    /**
+     * Start computing a replacement path in the background if one is not already on the way.
+     * Called while the player is still moving so the new path is usually ready by the time the
+     * old one turns out to be blocked.
+     */
+    private void prefetch()
+    {
+        if(refresh != null || destination == null)
+        {
+            return;
+        }
+        refreshFrom = PlayerEx.getLocal().getWorldPoint();
+        refresh = PathService.refresh(this, destination);
+    }
+
+    private void cancelRefresh()
+    {
+        if(refresh != null)
+        {
+            PathService.cancel(this);
+            refresh = null;
+        }
+    }
+
+    /**
+     * Replace the remaining steps with a working path. A local detour back onto the current path
+     * is tried first; only when that is not possible is the background refresh used, if it is
+     * ready and was computed from near the player's current tile, otherwise we wait for one.
+     */
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void repath()
     {
+        WorldPoint local = PlayerEx.getLocal().getWorldPoint();
+        List<IStep> repaired = repair.repair(steps, local);
+        if(repaired != null)
+        {
+            Logger.info("[Pathfinder] Repaired path locally");
+            steps.clear();
+            steps.addAll(repaired);
+            GameManager.setPathPoints(IStep.toWorldPoints(steps));
+            return;
+        }
+
+        if(refresh != null && refreshFrom != null && refreshFrom.distanceTo(local) > 15)
+        {
+            cancelRefresh();
+        }
+        prefetch();
+        if(refresh == null || !refresh.isDone())
+        {
+            return;
+        }
+
+        CompletableFuture<WalkerPath> done = refresh;
+        refresh = null;
+        WalkerPath fresh = done.isCompletedExceptionally() ? null : done.join();
         steps.clear();
-        final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
-        ((List) steps).addAll(engine.find(destination));
+        repair.reset();
+        if(fresh == null || fresh.steps.isEmpty())
+        {
+            final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
+            ((List) steps).addAll(engine.find(destination));
+            return;
+        }
+
+        // the refresh may have started a few tiles back, skip ahead to where the player is now
+        List<IStep> freshSteps = fresh.steps;
+        int start = 0;
+        int best = Integer.MAX_VALUE;
+        for(int i = 0; i < Math.min(32, freshSteps.size()); i++)
+        {
+            IStep step = freshSteps.get(i);
+            if(step.hasTransport())
+                break;
+            int distance = step.getPosition().distanceTo(local);
+            if(distance < best)
+            {
+                best = distance;
+                start = i;
+            }
+        }
+        steps.addAll(freshSteps.subList(start, freshSteps.size()));
+        if(fresh.teleport != null)
+        {
+            teleport = fresh.teleport;
+        }
     }
 
     /**
@@ -168,6 +304,7 @@ public class WalkerPath
      */
     public void shutdown()
     {
+        cancelRefresh();
         if(prayers != null)
         {
             PrayerAPI.turnOffQuickPrayers();
@@ -245,6 +382,7 @@ public class WalkerPath
     private boolean handleWalking(Player local, WorldPoint last, IStep step, WorldPoint dest) {
         if(!SceneAPI.isReachable(local.getWorldLocation(), step.getPosition())) {
             if (MovementAPI.isMoving()) {
+                prefetch();
                 return true;
             }
             if (handlePassThroughObjects(local, steps, step) || !PlayerEx.getLocal().isIdle()) {
@@ -5,9 +5,12 @@ import com.tonic.api.game.sailing.Heading;
 import com.tonic.api.game.sailing.SailingAPI;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.util.WorldPointUtil;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.runelite.api.Client;
 import net.runelite.api.CollisionData;
 import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.Perspective;
 import net.runelite.api.Player;
 import net.runelite.api.WorldEntity;
 import net.runelite.api.WorldView;
@@ -27,6 +30,16 @@ public class BoatCollisionAPI
     private static final Map<WorldEntity, Collection<WorldPoint>> boatDeckCache = new HashMap<>();
     private static int lastGameTick = -1;
 
+    // Packed tiles per boat, refilled in place each tick so the packed queries allocate nothing
+    private static final Map<WorldEntity, PackedTiles> packedCache = new HashMap<>();
+    private static final int MAX_PACKED_BOATS = 16;
+    private static final Heading[] HEADINGS = Heading.values();
+    private static final int TILE_COLLISION = 0;
+    private static final int TILE_PERIMETER = 1;
+    private static final int TILE_DECK = 2;
+    // Packed points never set the sign bit
+    private static final int NO_CENTER = -1;
+
     /**
      * Gets the player's boat WorldEntity
      * @return the boat WorldEntity, or null if not on a boat
@@ -66,65 +79,9 @@ public class BoatCollisionAPI
     public static Collection<WorldPoint> getBoatCollisionInMainWorld(WorldEntity boat)
     {
         return Static.invoke(() -> {
-            if (boat == null) {
-                return Collections.emptyList();
-            }
-
-            WorldView boatView = boat.getWorldView();
-            if (boatView == null) {
-                return Collections.emptyList();
-            }
-
-            // Get collision data from boat's worldview
-            CollisionData[] collisionMaps = boatView.getCollisionMaps();
-            if (collisionMaps == null) {
-                return Collections.emptyList();
-            }
-
-            List<WorldPoint> collisionTiles = new ArrayList<>();
-            Client client = Static.getClient();
-            int plane = boatView.getPlane();
-
-            // Get boat view size (actual usable area, not including padding)
-            int sizeX = boatView.getSizeX();
-            int sizeY = boatView.getSizeY();
-
-            // Iterate through boat view area only (skip boundary padding)
-            // The collision map has padding, but boat view tiles start at offset (1,1)
-            for (int x = 0; x < sizeX; x++) {
-                for (int y = 0; y < sizeY; y++) {
-                    // Skip boundary markers (flag 0x00FFFFFF)
-                    if (plane >= collisionMaps.length || collisionMaps[plane] == null) {
-                        continue;
-                    }
-
-                    int[][] flagArray = collisionMaps[plane].getFlags();
-                    if (x + 1 >= flagArray.length || y + 1 >= flagArray[0].length) {
-                        continue;
-                    }
-
-                    int flag = flagArray[x + 1][y + 1]; // Offset by 1 to skip boundary
-
-                    // Skip boundary markers (0x00FFFFFF) and check for actual collision
-                    if (flag == 0x00FFFFFF || !hasCollision(collisionMaps, plane, x + 1, y + 1)) {
-                        continue;
-                    }
-
-                    // Create LocalPoint in boat's worldview
-                    LocalPoint boatLocal = LocalPoint.fromScene(x, y, boatView);
-
-                    // Transform to main world
-                    LocalPoint mainWorldLocal = boat.transformToMainWorld(boatLocal);
-
-                    if (mainWorldLocal != null) {
-                        // Convert to WorldPoint
-                        WorldPoint mainWorldPoint = WorldPoint.fromLocal(client, mainWorldLocal);
-                        collisionTiles.add(mainWorldPoint);
-                    }
-                }
-            }
-
-            return collisionTiles;
+            IntArrayList packed = new IntArrayList();
+            scanTiles(boat, false, packed);
+            return toWorldPoints(packed);
         });
     }
 
@@ -163,7 +120,7 @@ public class BoatCollisionAPI
             }
 
             // Return cached value if available
-            return boatCollisionCache.computeIfAbsent(boat, BoatCollisionAPI::getBoatCollisionInMainWorld);
+            return boatCollisionCache.computeIfAbsent(boat, b -> toWorldPoints(packedTiles(b, TILE_COLLISION)));
         });
     }
 
@@ -175,59 +132,10 @@ public class BoatCollisionAPI
     public static Collection<WorldPoint> getBoatHullInMainWorld(WorldEntity boat)
     {
         return Static.invoke(() -> {
-            if (boat == null) {
-                return Collections.emptyList();
-            }
-
-            WorldView boatView = boat.getWorldView();
-            if (boatView == null) {
-                return Collections.emptyList();
-            }
-
-            CollisionData[] collisionMaps = boatView.getCollisionMaps();
-            if (collisionMaps == null) {
-                return Collections.emptyList();
-            }
-
-            List<WorldPoint> hullTiles = new ArrayList<>();
-            Client client = Static.getClient();
-            int plane = boatView.getPlane();
-
-            // Get boat view size (actual usable area, not including padding)
-            int sizeX = boatView.getSizeX();
-            int sizeY = boatView.getSizeY();
-
-            // Iterate through boat view area only (skip boundary padding)
-            for (int x = 0; x < sizeX; x++) {
-                for (int y = 0; y < sizeY; y++) {
-                    // Skip boundary markers (flag 0x00FFFFFF)
-                    if (plane >= collisionMaps.length || collisionMaps[plane] == null) {
-                        continue;
-                    }
-
-                    int[][] flagArray = collisionMaps[plane].getFlags();
-                    if (x + 1 >= flagArray.length || y + 1 >= flagArray[0].length) {
-                        continue;
-                    }
-
-                    int flag = flagArray[x + 1][y + 1]; // Offset by 1 to skip boundary
-
-                    // Skip boundary markers and check for ANY collision (boat hull includes all collision tiles)
-                    if (flag == 0x00FFFFFF || !hasCollision(collisionMaps, plane, x + 1, y + 1)) {
-                        continue;
-                    }
-
-                    LocalPoint boatLocal = LocalPoint.fromScene(x, y, boatView);
-                    LocalPoint mainWorldLocal = boat.transformToMainWorld(boatLocal);
-
-                    if (mainWorldLocal != null) {
-                        WorldPoint mainWorldPoint = WorldPoint.fromLocal(client, mainWorldLocal);
-                        hullTiles.add(mainWorldPoint);
-                    }
-                }
-            }
-
-            return hullTiles;
+            // The hull includes all collision tiles, same tiles as the collision footprint
+            IntArrayList packed = new IntArrayList();
+            scanTiles(boat, false, packed);
+            return toWorldPoints(packed);
         });
     }
 
@@ -270,56 +178,9 @@ public class BoatCollisionAPI
     public static Collection<WorldPoint> getBoatPerimeterInMainWorld(WorldEntity boat)
     {
         return Static.invoke(() -> {
-            if (boat == null) {
-                return Collections.emptyList();
-            }
-
-            WorldView boatView = boat.getWorldView();
-            if (boatView == null) {
-                return Collections.emptyList();
-            }
-
-            CollisionData[] collisionMaps = boatView.getCollisionMaps();
-            if (collisionMaps == null) {
-                return Collections.emptyList();
-            }
-
-            List<WorldPoint> perimeterTiles = new ArrayList<>();
-            Client client = Static.getClient();
-            int plane = boatView.getPlane();
-
-            int sizeX = boatView.getSizeX();
-            int sizeY = boatView.getSizeY();
-
-            for (int x = 0; x < sizeX; x++) {
-                for (int y = 0; y < sizeY; y++) {
-                    if (plane >= collisionMaps.length || collisionMaps[plane] == null) {
-                        continue;
-                    }
-
-                    int[][] flagArray = collisionMaps[plane].getFlags();
-                    if (x + 1 >= flagArray.length || y + 1 >= flagArray[0].length) {
-                        continue;
-                    }
-
-                    int flag = flagArray[x + 1][y + 1];
-
-                    // Only OBJECT collision (outer perimeter only, not FULL/FLOOR)
-                    if (flag == 0x00FFFFFF || !hasObjectCollision(collisionMaps, plane, x + 1, y + 1)) {
-                        continue;
-                    }
-
-                    LocalPoint boatLocal = LocalPoint.fromScene(x, y, boatView);
-                    LocalPoint mainWorldLocal = boat.transformToMainWorld(boatLocal);
-
-                    if (mainWorldLocal != null) {
-                        WorldPoint mainWorldPoint = WorldPoint.fromLocal(client, mainWorldLocal);
-                        perimeterTiles.add(mainWorldPoint);
-                    }
-                }
-            }
-
-            return perimeterTiles;
+            IntArrayList packed = new IntArrayList();
+            scanTiles(boat, true, packed);
+            return toWorldPoints(packed);
         });
     }
 
@@ -343,7 +204,7 @@ public class BoatCollisionAPI
             }
 
             // Return cached value if available
-            return boatHullCache.computeIfAbsent(boat, BoatCollisionAPI::getBoatHullInMainWorld);
+            return boatHullCache.computeIfAbsent(boat, b -> toWorldPoints(packedTiles(b, TILE_COLLISION)));
         });
     }
 
@@ -356,127 +217,9 @@ public class BoatCollisionAPI
     public static Collection<WorldPoint> getBoatDeckInMainWorld(WorldEntity boat)
     {
         return Static.invoke(() -> {
-            if (boat == null) {
-                return Collections.emptyList();
-            }
-
-            WorldView boatView = boat.getWorldView();
-            if (boatView == null) {
-                return Collections.emptyList();
-            }
-
-            CollisionData[] collisionMaps = boatView.getCollisionMaps();
-            if (collisionMaps == null) {
-                return Collections.emptyList();
-            }
-
-            Client client = Static.getClient();
-            int plane = boatView.getPlane();
-            int sizeX = boatView.getSizeX();
-            int sizeY = boatView.getSizeY();
-
-            if (plane >= collisionMaps.length || collisionMaps[plane] == null) {
-                return Collections.emptyList();
-            }
-
-            int[][] flagArray = collisionMaps[plane].getFlags();
-
-            // Step 1: Build barrier tile set (tiles with ANY collision - these block flood-fill)
-            Set<String> barrierTiles = new HashSet<>();
-            for (int x = 0; x < sizeX; x++) {
-                for (int y = 0; y < sizeY; y++) {
-                    if (x + 1 >= flagArray.length || y + 1 >= flagArray[0].length) {
-                        continue;
-                    }
-                    int flag = flagArray[x + 1][y + 1];
-                    if (flag == 0x00FFFFFF) {
-                        continue;
-                    }
-                    // ANY collision (OBJECT, FULL, or FLOOR) acts as barrier for flood-fill
-                    if (hasCollision(collisionMaps, plane, x + 1, y + 1)) {
-                        barrierTiles.add(x + "," + y);
-                    }
-                }
-            }
-
-            // Step 2: Flood-fill from edges to find "outside" tiles
-            // Only spread through tiles with NO collision
-            Set<String> outsideTiles = new HashSet<>();
-            Set<String> visited = new HashSet<>();
-            Queue<int[]> queue = new java.util.LinkedList<>();
-
-            // Start flood-fill from all edge tiles that are NOT barriers
-            for (int x = 0; x < sizeX; x++) {
-                for (int y = 0; y < sizeY; y++) {
-                    // Only process edge tiles
-                    if (x == 0 || y == 0 || x == sizeX - 1 || y == sizeY - 1) {
-                        String key = x + "," + y;
-                        if (!barrierTiles.contains(key) && !visited.contains(key)) {
-                            queue.offer(new int[]{x, y});
-                            visited.add(key);
-                        }
-                    }
-                }
-            }
-
-            // Flood-fill to mark all outside tiles (spread only through non-barriers)
-            while (!queue.isEmpty()) {
-                int[] pos = queue.poll();
-                int x = pos[0];
-                int y = pos[1];
-                String key = x + "," + y;
-                outsideTiles.add(key);
-
-                // Check 4 adjacent tiles
-                int[][] neighbors = {{x-1, y}, {x+1, y}, {x, y-1}, {x, y+1}};
-                for (int[] neighbor : neighbors) {
-                    int nx = neighbor[0];
-                    int ny = neighbor[1];
-
-                    if (nx < 0 || ny < 0 || nx >= sizeX || ny >= sizeY) {
-                        continue;
-                    }
-
-                    String nkey = nx + "," + ny;
-                    // Only spread through non-barrier tiles
-                    if (!barrierTiles.contains(nkey) && !visited.contains(nkey)) {
-                        queue.offer(new int[]{nx, ny});
-                        visited.add(nkey);
-                    }
-                }
-            }
-
-            // Step 3: Deck = tiles NOT outside AND NOT hull/structure
-            // Deck = only empty interior tiles enclosed by hull
-            List<WorldPoint> deckTiles = new ArrayList<>();
-            for (int x = 0; x < sizeX; x++) {
-                for (int y = 0; y < sizeY; y++) {
-                    String key = x + "," + y;
-
-                    // Skip outside tiles
-                    if (outsideTiles.contains(key)) {
-                        continue;
-                    }
-
-                    // Skip ALL collision tiles (those are hull/structure, rendered separately as orange)
-                    if (x + 1 < flagArray.length && y + 1 < flagArray[0].length) {
-                        if (hasCollision(collisionMaps, plane, x + 1, y + 1)) {
-                            continue;
-                        }
-                    }
-
-                    // This tile is empty and enclosed by hull = walkable deck
-                    LocalPoint boatLocal = LocalPoint.fromScene(x, y, boatView);
-                    LocalPoint mainWorldLocal = boat.transformToMainWorld(boatLocal);
-
-                    if (mainWorldLocal != null) {
-                        WorldPoint mainWorldPoint = WorldPoint.fromLocal(client, mainWorldLocal);
-                        deckTiles.add(mainWorldPoint);
-                    }
-                }
-            }
-
-            return deckTiles;
+            IntArrayList packed = new IntArrayList();
+            scanDeck(boat, packed);
+            return toWorldPoints(packed);
         });
     }
 
@@ -515,10 +258,177 @@ public class BoatCollisionAPI
             }
 
             // Return cached value if available
-            return boatDeckCache.computeIfAbsent(boat, BoatCollisionAPI::getBoatDeckInMainWorld);
+            return boatDeckCache.computeIfAbsent(boat, b -> toWorldPoints(packedTiles(b, TILE_DECK)));
+        });
+    }
+
+    /**
+     * Appends the packed collision tiles of a boat in the main world (cached per tick).
+     * Packed as {@link WorldPointUtil#compress(int, int, int)}; allocates nothing once the
+     * tick's tiles are cached and the list has room.
+     * @param boat the WorldEntity (boat)
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended
+     */
+    public static int getBoatCollisionPacked(WorldEntity boat, IntArrayList out)
+    {
+        return Static.invokeInt(() -> appendTo(packedTiles(boat, TILE_COLLISION), out));
+    }
+
+    /**
+     * Writes the packed collision tiles of a boat into a buffer (cached per tick)
+     * @param boat the WorldEntity (boat)
+     * @param buffer buffer to fill from index 0, as many tiles as fit
+     * @return number of collision tiles, more than the buffer length if it was too small
+     */
+    public static int getBoatCollisionPacked(WorldEntity boat, int[] buffer)
+    {
+        return Static.invokeInt(() -> copyTo(packedTiles(boat, TILE_COLLISION), buffer));
+    }
+
+    /**
+     * Appends the packed collision tiles of the player's boat (cached per tick)
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended, 0 if not on a boat
+     */
+    public static int getPlayerBoatCollisionPacked(IntArrayList out)
+    {
+        return Static.invokeInt(() -> appendTo(packedTiles(getPlayerBoat(), TILE_COLLISION), out));
+    }
+
+    /**
+     * Appends the packed hull tiles of a boat (cached per tick).
+     * The hull includes every collision tile, so these are the collision tiles.
+     * @param boat the WorldEntity (boat)
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended
+     */
+    public static int getBoatHullPacked(WorldEntity boat, IntArrayList out)
+    {
+        return getBoatCollisionPacked(boat, out);
+    }
+
+    /**
+     * Writes the packed hull tiles of a boat into a buffer (cached per tick)
+     * @param boat the WorldEntity (boat)
+     * @param buffer buffer to fill from index 0, as many tiles as fit
+     * @return number of hull tiles, more than the buffer length if it was too small
+     */
+    public static int getBoatHullPacked(WorldEntity boat, int[] buffer)
+    {
+        return getBoatCollisionPacked(boat, buffer);
+    }
+
+    /**
+     * Appends the packed hull tiles of the player's boat (cached per tick)
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended, 0 if not on a boat
+     */
+    public static int getPlayerBoatHullPacked(IntArrayList out)
+    {
+        return getPlayerBoatCollisionPacked(out);
+    }
+
+    /**
+     * Appends the packed outer perimeter (OBJECT collision) tiles of a boat (cached per tick)
+     * @param boat the WorldEntity (boat)
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended
+     */
+    public static int getBoatPerimeterPacked(WorldEntity boat, IntArrayList out)
+    {
+        return Static.invokeInt(() -> appendTo(packedTiles(boat, TILE_PERIMETER), out));
+    }
+
+    /**
+     * Writes the packed outer perimeter tiles of a boat into a buffer (cached per tick)
+     * @param boat the WorldEntity (boat)
+     * @param buffer buffer to fill from index 0, as many tiles as fit
+     * @return number of perimeter tiles, more than the buffer length if it was too small
+     */
+    public static int getBoatPerimeterPacked(WorldEntity boat, int[] buffer)
+    {
+        return Static.invokeInt(() -> copyTo(packedTiles(boat, TILE_PERIMETER), buffer));
+    }
+
+    /**
+     * Appends the packed outer perimeter tiles of the player's boat (cached per tick)
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended, 0 if not on a boat
+     */
+    public static int getPlayerBoatPerimeterPacked(IntArrayList out)
+    {
+        return Static.invokeInt(() -> appendTo(packedTiles(getPlayerBoat(), TILE_PERIMETER), out));
+    }
+
+    /**
+     * Appends the packed walkable deck tiles of a boat (cached per tick)
+     * @param boat the WorldEntity (boat)
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended
+     */
+    public static int getBoatDeckPacked(WorldEntity boat, IntArrayList out)
+    {
+        return Static.invokeInt(() -> appendTo(packedTiles(boat, TILE_DECK), out));
+    }
+
+    /**
+     * Writes the packed walkable deck tiles of a boat into a buffer (cached per tick)
+     * @param boat the WorldEntity (boat)
+     * @param buffer buffer to fill from index 0, as many tiles as fit
+     * @return number of deck tiles, more than the buffer length if it was too small
+     */
+    public static int getBoatDeckPacked(WorldEntity boat, int[] buffer)
+    {
+        return Static.invokeInt(() -> copyTo(packedTiles(boat, TILE_DECK), buffer));
+    }
+
+    /**
+     * Appends the packed walkable deck tiles of the player's boat (cached per tick)
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended, 0 if not on a boat
+     */
+    public static int getPlayerBoatDeckPacked(IntArrayList out)
+    {
+        return Static.invokeInt(() -> appendTo(packedTiles(getPlayerBoat(), TILE_DECK), out));
+    }
+
+    /**
+     * Gets the boat's collision tiles inside an 8x8 window as a bitmask (cached per tick).
+     * Bit {@code (x - windowX) + 8 * (y - windowY)} is set if the boat covers tile (x, y).
+     * Two masks for the same window combine with plain bit operations, e.g. {@code a & b} for overlap.
+     * @param boat the WorldEntity (boat)
+     * @param windowX west edge of the window
+     * @param windowY south edge of the window
+     * @param plane plane of the window
+     * @return bitmask of covered tiles, 0 if the boat doesn't touch the window
+     */
+    public static long getBoatCollisionMask(WorldEntity boat, int windowX, int windowY, int plane)
+    {
+        return Static.invokeLong(() -> {
+            IntArrayList tiles = packedTiles(boat, TILE_COLLISION);
+            long mask = 0;
+            for (int i = 0; i < tiles.size(); i++) {
+                int packed = tiles.getInt(i);
+                int dx = WorldPointUtil.getCompressedX(packed) - windowX;
+                int dy = WorldPointUtil.getCompressedY(packed) - windowY;
+                if (dx >= 0 && dx < 8 && dy >= 0 && dy < 8 && WorldPointUtil.getCompressedPlane(packed) == plane) {
+                    mask |= 1L << (dx + (dy << 3));
+                }
+            }
+            return mask;
         });
     }
 
+    /**
+     * Gets the player's boat collision tiles inside an 8x8 window as a bitmask (cached per tick)
+     * @see #getBoatCollisionMask(WorldEntity, int, int, int)
+     */
+    public static long getPlayerBoatCollisionMask(int windowX, int windowY, int plane)
+    {
+        return Static.invokeLong(() -> getBoatCollisionMask(getPlayerBoat(), windowX, windowY, plane));
+    }
+
     /**
      * Checks if the boat overlaps with a WorldArea in the main world
      * @param boat the WorldEntity (boat)
@@ -532,8 +442,18 @@ public class BoatCollisionAPI
                 return false;
             }
 
-            Collection<WorldPoint> collision = getBoatCollisionCached(boat);
-            return collision.stream().anyMatch(area::contains);
+            IntArrayList collision = packedTiles(boat, TILE_COLLISION);
+            for (int i = 0; i < collision.size(); i++) {
+                int packed = collision.getInt(i);
+                int x = WorldPointUtil.getCompressedX(packed);
+                int y = WorldPointUtil.getCompressedY(packed);
+                if (WorldPointUtil.getCompressedPlane(packed) == area.getPlane()
+                        && x >= area.getX() && x < area.getX() + area.getWidth()
+                        && y >= area.getY() && y < area.getY() + area.getHeight()) {
+                    return true;
+                }
+            }
+            return false;
         });
     }
 
@@ -566,8 +486,7 @@ public class BoatCollisionAPI
                 return false;
             }
 
-            Collection<WorldPoint> collision = getBoatCollisionCached(boat);
-            return collision.contains(point);
+            return packedTiles(boat, TILE_COLLISION).contains(WorldPointUtil.compress(point));
         });
     }
 
@@ -663,7 +582,7 @@ public class BoatCollisionAPI
             }
 
             // Try all 16 possible headings
-            for (Heading heading : Heading.values()) {
+            for (Heading heading : HEADINGS) {
                 if (canBoatFitAtPoint(boat, targetPoint, heading)) {
                     return heading;
                 }
@@ -701,67 +620,58 @@ public class BoatCollisionAPI
     public static Collection<WorldPoint> getBoatHullAtPointWithHeading(WorldEntity boat, WorldPoint targetPoint, Heading targetHeading)
     {
         return Static.invoke(() -> {
-            if (boat == null || targetPoint == null || targetHeading == null) {
-                return Collections.emptyList();
-            }
+            IntArrayList projected = new IntArrayList();
+            getBoatHullAtPointWithHeading(boat, targetPoint, targetHeading, projected);
+            return toWorldPoints(projected);
+        });
+    }
 
-            // Get boat's current position and heading
-            LocalPoint currentBoatLocal = boat.getLocalLocation();
-            if (currentBoatLocal == null) {
-                return Collections.emptyList();
+    /**
+     * Appends the packed tiles of the boat's hull projected at a specific position with a specific heading.
+     * Projected tiles are on plane 0.
+     * @param boat the WorldEntity (boat)
+     * @param targetPoint the WorldPoint in main world to center the boat at
+     * @param targetHeading the desired heading/orientation
+     * @param out list to append the packed tiles to
+     * @return number of tiles appended, 0 if invalid
+     */
+    public static int getBoatHullAtPointWithHeading(WorldEntity boat, WorldPoint targetPoint, Heading targetHeading, IntArrayList out)
+    {
+        return Static.invokeInt(() -> {
+            if (boat == null || targetPoint == null || targetHeading == null) {
+                return 0;
             }
 
-            Client client = Static.getClient();
-            WorldPoint currentBoatPos = WorldPoint.fromLocal(client, currentBoatLocal);
-
-            // Get current boat collision footprint
-            Collection<WorldPoint> currentCollision = getBoatCollisionInMainWorld(boat);
-            if (currentCollision.isEmpty()) {
-                return Collections.emptyList();
+            // Footprint and center from the same tick
+            PackedTiles tiles = packed(boat, TILE_COLLISION);
+            IntArrayList currentCollision = tiles.lists[TILE_COLLISION];
+            int center = tiles.center;
+            if (center == NO_CENTER || currentCollision.isEmpty()) {
+                return 0;
             }
 
-            // Get current and target heading values
+            // Current heading value
             int currentHeadingValue = SailingAPI.getHeadingValue();
             if (currentHeadingValue == -1) {
-                return Collections.emptyList(); // Not on boat
+                return 0; // Not on boat
             }
 
-            int targetHeadingValue = targetHeading.getValue();
-
-            // Calculate rotation difference in heading units
-            int headingDiff = targetHeadingValue - currentHeadingValue;
-
-            // Normalize to -8 to 7 range (shortest rotation)
-            while (headingDiff > 8) headingDiff -= 16;
-            while (headingDiff < -8) headingDiff += 16;
-
-            // Convert heading difference to degrees (each heading = 22.5°)
-            double rotationDegrees = headingDiff * 22.5;
-            double rotationRadians = Math.toRadians(rotationDegrees);
+            double radians = rotationRadians(currentHeadingValue, targetHeading);
+            double cos = Math.cos(radians);
+            double sin = Math.sin(radians);
 
-            // Precompute sin/cos for rotation
-            double cos = Math.cos(rotationRadians);
-            double sin = Math.sin(rotationRadians);
-
-            // Calculate projected hull
-            List<WorldPoint> projectedHull = new ArrayList<>();
-            for (WorldPoint collisionTile : currentCollision) {
-                // Calculate offset from current boat center
-                int dx = collisionTile.getX() - currentBoatPos.getX();
-                int dy = collisionTile.getY() - currentBoatPos.getY();
-
-                // Rotate the offset around the center
+            for (int i = 0; i < currentCollision.size(); i++) {
+                int packed = currentCollision.getInt(i);
+                // Offset from current boat center, rotated around it
+                int dx = WorldPointUtil.getCompressedX(packed) - WorldPointUtil.getCompressedX(center);
+                int dy = WorldPointUtil.getCompressedY(packed) - WorldPointUtil.getCompressedY(center);
                 int rotatedDx = (int) Math.round(dx * cos - dy * sin);
                 int rotatedDy = (int) Math.round(dx * sin + dy * cos);
 
                 // Apply rotated offset to target position (plane 0)
-                int worldX = targetPoint.getX() + rotatedDx;
-                int worldY = targetPoint.getY() + rotatedDy;
-
-                projectedHull.add(new WorldPoint(worldX, worldY, 0));
+                out.add(WorldPointUtil.compress(targetPoint.getX() + rotatedDx, targetPoint.getY() + rotatedDy, 0));
             }
-
-            return projectedHull;
+            return currentCollision.size();
         });
     }
 
@@ -779,17 +689,13 @@ public class BoatCollisionAPI
                 return false;
             }
 
-            // Get boat's current position and heading
-            LocalPoint currentBoatLocal = boat.getLocalLocation();
-            if (currentBoatLocal == null) {
+            // Footprint and center, cached together per tick
+            PackedTiles tiles = packed(boat, TILE_COLLISION);
+            IntArrayList currentCollision = tiles.lists[TILE_COLLISION];
+            int center = tiles.center;
+            if (center == NO_CENTER) {
                 return false;
             }
-
-            Client client = Static.getClient();
-            WorldPoint currentBoatPos = WorldPoint.fromLocal(client, currentBoatLocal);
-
-            // Get current boat collision footprint
-            Collection<WorldPoint> currentCollision = getBoatCollisionInMainWorld(boat);
             if (currentCollision.isEmpty()) {
                 System.out.println("BoatCollisionAPI.canBoatFitAtPoint: Boat collision footprint is empty!");
                 return false;
@@ -802,22 +708,9 @@ public class BoatCollisionAPI
                 return false; // Not on boat
             }
 
-            int targetHeadingValue = targetHeading.getValue();
-
-            // Calculate rotation difference in heading units
-            int headingDiff = targetHeadingValue - currentHeadingValue;
-
-            // Normalize to -8 to 7 range (shortest rotation)
-            while (headingDiff > 8) headingDiff -= 16;
-            while (headingDiff < -8) headingDiff += 16;
-
-            // Convert heading difference to degrees (each heading = 22.5°)
-            double rotationDegrees = headingDiff * 22.5;
-            double rotationRadians = Math.toRadians(rotationDegrees);
-
-            // Precompute sin/cos for rotation
-            double cos = Math.cos(rotationRadians);
-            double sin = Math.sin(rotationRadians);
+            double radians = rotationRadians(currentHeadingValue, targetHeading);
+            double cos = Math.cos(radians);
+            double sin = Math.sin(radians);
 
             // Get global collision map
             CollisionMap collisionMap = Walker.getCollisionMap();
@@ -827,10 +720,11 @@ public class BoatCollisionAPI
             }
 
             // For each collision tile in current footprint
-            for (WorldPoint collisionTile : currentCollision) {
+            for (int i = 0; i < currentCollision.size(); i++) {
+                int packed = currentCollision.getInt(i);
                 // Calculate offset from current boat center
-                int dx = collisionTile.getX() - currentBoatPos.getX();
-                int dy = collisionTile.getY() - currentBoatPos.getY();
+                int dx = WorldPointUtil.getCompressedX(packed) - WorldPointUtil.getCompressedX(center);
+                int dy = WorldPointUtil.getCompressedY(packed) - WorldPointUtil.getCompressedY(center);
 
                 // Rotate the offset around the center
                 int rotatedDx = (int) Math.round(dx * cos - dy * sin);
@@ -1024,28 +918,26 @@ public class BoatCollisionAPI
      */
     private static boolean hasCollision(CollisionData[] collisionMaps, int plane, int sceneX, int sceneY)
     {
-        return Static.invoke(() -> {
-            if (plane < 0 || plane >= collisionMaps.length) {
-                return false;
-            }
-
-            CollisionData collision = collisionMaps[plane];
-            if (collision == null) {
-                return false;
-            }
-
-            int[][] flags = collision.getFlags();
-            if (sceneX < 0 || sceneX >= flags.length || sceneY < 0 || sceneY >= flags[0].length) {
-                return false;
-            }
-
-            int flag = flags[sceneX][sceneY];
-
-            // Check for any collision flag
-            return (flag & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0 ||
-                    (flag & CollisionDataFlag.BLOCK_MOVEMENT_FLOOR) != 0 ||
-                    (flag & CollisionDataFlag.BLOCK_MOVEMENT_OBJECT) != 0;
-        });
+        if (plane < 0 || plane >= collisionMaps.length) {
+            return false;
+        }
+
+        CollisionData collision = collisionMaps[plane];
+        if (collision == null) {
+            return false;
+        }
+
+        int[][] flags = collision.getFlags();
+        if (sceneX < 0 || sceneX >= flags.length || sceneY < 0 || sceneY >= flags[0].length) {
+            return false;
+        }
+
+        int flag = flags[sceneX][sceneY];
+
+        // Check for any collision flag
+        return (flag & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0 ||
+                (flag & CollisionDataFlag.BLOCK_MOVEMENT_FLOOR) != 0 ||
+                (flag & CollisionDataFlag.BLOCK_MOVEMENT_OBJECT) != 0;
     }
 
     /**
@@ -1058,26 +950,24 @@ public class BoatCollisionAPI
      */
     private static boolean hasObjectCollision(CollisionData[] collisionMaps, int plane, int sceneX, int sceneY)
     {
-        return Static.invoke(() -> {
-            if (plane < 0 || plane >= collisionMaps.length) {
-                return false;
-            }
+        if (plane < 0 || plane >= collisionMaps.length) {
+            return false;
+        }
 
-            CollisionData collision = collisionMaps[plane];
-            if (collision == null) {
-                return false;
-            }
+        CollisionData collision = collisionMaps[plane];
+        if (collision == null) {
+            return false;
+        }
 
-            int[][] flags = collision.getFlags();
-            if (sceneX < 0 || sceneX >= flags.length || sceneY < 0 || sceneY >= flags[0].length) {
-                return false;
-            }
+        int[][] flags = collision.getFlags();
+        if (sceneX < 0 || sceneX >= flags.length || sceneY < 0 || sceneY >= flags[0].length) {
+            return false;
+        }
 
-            int flag = flags[sceneX][sceneY];
+        int flag = flags[sceneX][sceneY];
 
-            // Only object collision (boat structure)
-            return (flag & CollisionDataFlag.BLOCK_MOVEMENT_OBJECT) != 0;
-        });
+        // Only object collision (boat structure)
+        return (flag & CollisionDataFlag.BLOCK_MOVEMENT_OBJECT) != 0;
     }
 
     /**
@@ -1091,29 +981,311 @@ public class BoatCollisionAPI
      */
     private static boolean hasDeckCollision(CollisionData[] collisionMaps, int plane, int sceneX, int sceneY)
     {
-        return Static.invoke(() -> {
-            if (plane < 0 || plane >= collisionMaps.length) {
-                return false;
+        if (plane < 0 || plane >= collisionMaps.length) {
+            return false;
+        }
+
+        CollisionData collision = collisionMaps[plane];
+        if (collision == null) {
+            return false;
+        }
+
+        int[][] flags = collision.getFlags();
+        if (sceneX < 0 || sceneX >= flags.length || sceneY < 0 || sceneY >= flags[0].length) {
+            return false;
+        }
+
+        int flag = flags[sceneX][sceneY];
+
+        // Deck = FULL or FLOOR collision (walkable boat deck)
+        boolean hasFull = (flag & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0;
+        boolean hasFloor = (flag & CollisionDataFlag.BLOCK_MOVEMENT_FLOOR) != 0;
+
+        return hasFull || hasFloor;
+    }
+
+    /**
+     * Gets the boat's center tile in the main world, the same tile WorldPoint.fromLocal gives
+     * @return packed center, or NO_CENTER if the boat has no location
+     */
+    private static int boatCenter(Client client, WorldEntity boat)
+    {
+        LocalPoint local = boat.getLocalLocation();
+        if (local == null) {
+            return NO_CENTER;
+        }
+        WorldView view = client.getWorldView(local.getWorldView());
+        if (view == null) {
+            return NO_CENTER;
+        }
+        return WorldPointUtil.compress(view.getBaseX() + (local.getX() >>> Perspective.LOCAL_COORD_BITS),
+                view.getBaseY() + (local.getY() >>> Perspective.LOCAL_COORD_BITS), view.getPlane());
+    }
+
+    /**
+     * Rotation from the current heading to the target heading, the shortest way round
+     */
+    private static double rotationRadians(int currentHeadingValue, Heading targetHeading)
+    {
+        // Calculate rotation difference in heading units
+        int headingDiff = targetHeading.getValue() - currentHeadingValue;
+
+        // Normalize to -8 to 7 range (shortest rotation)
+        while (headingDiff > 8) headingDiff -= 16;
+        while (headingDiff < -8) headingDiff += 16;
+
+        // Each heading = 22.5°
+        return Math.toRadians(headingDiff * 22.5);
+    }
+
+    /**
+     * Gets a boat's packed tiles of one kind, scanning them at most once per tick.
+     * Must be called on the client thread; the returned list is reused on the next tick.
+     * @param boat the WorldEntity (boat), may be null
+     * @param kind TILE_COLLISION, TILE_PERIMETER or TILE_DECK
+     * @return packed tiles, empty if there is no boat
+     */
+    private static IntArrayList packedTiles(WorldEntity boat, int kind)
+    {
+        return packed(boat, kind).lists[kind];
+    }
+
+    /**
+     * Gets a boat's cache entry with the tiles of one kind scanned for this tick. When the
+     * collision tiles are rescanned the boat center is read with them, so the two always match.
+     * @param boat the WorldEntity (boat), may be null
+     * @param kind TILE_COLLISION, TILE_PERIMETER or TILE_DECK
+     * @return cache entry, with empty lists and no center if there is no boat
+     */
+    private static PackedTiles packed(WorldEntity boat, int kind)
+    {
+        if (boat == null) {
+            return PackedTiles.NONE;
+        }
+
+        Client client = Static.getClient();
+        int currentTick = client.getTickCount();
+        PackedTiles tiles = packedCache.get(boat);
+        if (tiles == null) {
+            // Boats leaving the scene are never removed one by one, drop them all now and then
+            if (packedCache.size() >= MAX_PACKED_BOATS) {
+                packedCache.clear();
+            }
+            tiles = new PackedTiles();
+            packedCache.put(boat, tiles);
+        }
+
+        IntArrayList list = tiles.lists[kind];
+        if (tiles.ticks[kind] != currentTick) {
+            list.clear();
+            if (kind == TILE_DECK) {
+                scanDeck(boat, list);
+            } else {
+                scanTiles(boat, kind == TILE_PERIMETER, list);
+            }
+            if (kind == TILE_COLLISION) {
+                tiles.center = boatCenter(client, boat);
+            }
+            tiles.ticks[kind] = currentTick;
+        }
+        return tiles;
+    }
+
+    /**
+     * Scans a boat's collision tiles and appends them in the main world, packed
+     * @param boat the WorldEntity (boat)
+     * @param objectOnly only OBJECT collision (outer perimeter), otherwise any collision
+     * @param out list to append the packed tiles to
+     */
+    private static void scanTiles(WorldEntity boat, boolean objectOnly, IntArrayList out)
+    {
+        if (boat == null) {
+            return;
+        }
+
+        WorldView boatView = boat.getWorldView();
+        if (boatView == null) {
+            return;
+        }
+
+        // Get collision data from boat's worldview
+        CollisionData[] collisionMaps = boatView.getCollisionMaps();
+        int plane = boatView.getPlane();
+        if (collisionMaps == null || plane < 0 || plane >= collisionMaps.length || collisionMaps[plane] == null) {
+            return;
+        }
+
+        Client client = Static.getClient();
+        int[][] flagArray = collisionMaps[plane].getFlags();
+
+        // Get boat view size (actual usable area, not including padding)
+        int sizeX = boatView.getSizeX();
+        int sizeY = boatView.getSizeY();
+
+        // Iterate through boat view area only
+        // The collision map has padding, but boat view tiles start at offset (1,1)
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                if (x + 1 >= flagArray.length || y + 1 >= flagArray[0].length) {
+                    continue;
+                }
+
+                int flag = flagArray[x + 1][y + 1]; // Offset by 1 to skip boundary
+
+                // Skip boundary markers (0x00FFFFFF) and check for actual collision
+                boolean blocked = objectOnly
+                        ? hasObjectCollision(collisionMaps, plane, x + 1, y + 1)
+                        : hasCollision(collisionMaps, plane, x + 1, y + 1);
+                if (flag == 0x00FFFFFF || !blocked) {
+                    continue;
+                }
+
+                addMainWorldTile(client, boat, boatView, x, y, out);
             }
+        }
+    }
 
-            CollisionData collision = collisionMaps[plane];
-            if (collision == null) {
-                return false;
+    /**
+     * Scans a boat's walkable deck and appends it in the main world, packed.
+     * Deck = tiles enclosed/surrounded by hull collision, not outside tiles
+     * @param boat the WorldEntity (boat)
+     * @param out list to append the packed tiles to
+     */
+    private static void scanDeck(WorldEntity boat, IntArrayList out)
+    {
+        if (boat == null) {
+            return;
+        }
+
+        WorldView boatView = boat.getWorldView();
+        if (boatView == null) {
+            return;
+        }
+
+        CollisionData[] collisionMaps = boatView.getCollisionMaps();
+        int plane = boatView.getPlane();
+        if (collisionMaps == null || plane < 0 || plane >= collisionMaps.length || collisionMaps[plane] == null) {
+            return;
+        }
+
+        Client client = Static.getClient();
+        int sizeX = boatView.getSizeX();
+        int sizeY = boatView.getSizeY();
+        int[][] flagArray = collisionMaps[plane].getFlags();
+
+        // Step 1: Tiles with ANY collision, hull/structure (these block flood-fill)
+        boolean[] collision = new boolean[sizeX * sizeY];
+        boolean[] barrier = new boolean[sizeX * sizeY];
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                if (x + 1 >= flagArray.length || y + 1 >= flagArray[0].length) {
+                    continue;
+                }
+                int i = x * sizeY + y;
+                collision[i] = hasCollision(collisionMaps, plane, x + 1, y + 1);
+                barrier[i] = collision[i] && flagArray[x + 1][y + 1] != 0x00FFFFFF;
+            }
+        }
+
+        // Step 2: Flood-fill from edges to find "outside" tiles
+        // Only spread through tiles with NO collision
+        boolean[] outside = new boolean[sizeX * sizeY];
+        int[] queue = new int[sizeX * sizeY];
+        int head = 0;
+        int tail = 0;
+
+        // Start flood-fill from all edge tiles that are NOT barriers
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                int i = x * sizeY + y;
+                if ((x == 0 || y == 0 || x == sizeX - 1 || y == sizeY - 1) && !barrier[i] && !outside[i]) {
+                    outside[i] = true;
+                    queue[tail++] = i;
+                }
             }
+        }
+
+        // Flood-fill to mark all outside tiles (spread only through non-barriers)
+        while (head < tail) {
+            int i = queue[head++];
+            int x = i / sizeY;
+            int y = i % sizeY;
+            if (x > 0) tail = visit(i - sizeY, barrier, outside, queue, tail);
+            if (x < sizeX - 1) tail = visit(i + sizeY, barrier, outside, queue, tail);
+            if (y > 0) tail = visit(i - 1, barrier, outside, queue, tail);
+            if (y < sizeY - 1) tail = visit(i + 1, barrier, outside, queue, tail);
+        }
+
+        // Step 3: Deck = tiles NOT outside AND NOT hull/structure
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                int i = x * sizeY + y;
+                if (outside[i] || collision[i]) {
+                    continue;
+                }
 
-            int[][] flags = collision.getFlags();
-            if (sceneX < 0 || sceneX >= flags.length || sceneY < 0 || sceneY >= flags[0].length) {
-                return false;
+                // This tile is empty and enclosed by hull = walkable deck
+                addMainWorldTile(client, boat, boatView, x, y, out);
             }
+        }
+    }
 
-            int flag = flags[sceneX][sceneY];
+    private static int visit(int i, boolean[] barrier, boolean[] outside, int[] queue, int tail)
+    {
+        if (!barrier[i] && !outside[i]) {
+            outside[i] = true;
+            queue[tail++] = i;
+        }
+        return tail;
+    }
+
+    /**
+     * Transforms a boat scene tile to the main world and appends it, packed
+     */
+    private static void addMainWorldTile(Client client, WorldEntity boat, WorldView boatView, int x, int y, IntArrayList out)
+    {
+        // Create LocalPoint in boat's worldview
+        LocalPoint boatLocal = LocalPoint.fromScene(x, y, boatView);
+
+        // Transform to main world
+        LocalPoint mainWorldLocal = boat.transformToMainWorld(boatLocal);
+        if (mainWorldLocal != null) {
+            out.add(WorldPointUtil.compress(WorldPoint.fromLocal(client, mainWorldLocal)));
+        }
+    }
 
-            // Deck = FULL or FLOOR collision (walkable boat deck)
-            boolean hasFull = (flag & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0;
-            boolean hasFloor = (flag & CollisionDataFlag.BLOCK_MOVEMENT_FLOOR) != 0;
+    private static List<WorldPoint> toWorldPoints(IntArrayList packed)
+    {
+        List<WorldPoint> points = new ArrayList<>(packed.size());
+        for (int i = 0; i < packed.size(); i++) {
+            points.add(WorldPointUtil.fromCompressed(packed.getInt(i)));
+        }
+        return points;
+    }
 
-            return hasFull || hasFloor;
-        });
+    private static int appendTo(IntArrayList tiles, IntArrayList out)
+    {
+        out.addAll(tiles);
+        return tiles.size();
+    }
+
+    private static int copyTo(IntArrayList tiles, int[] buffer)
+    {
+        tiles.getElements(0, buffer, 0, Math.min(tiles.size(), buffer.length));
+        return tiles.size();
+    }
+
+    /**
+     * One boat's packed tiles of each kind and the tick they were scanned on, plus the boat
+     * center read along with the collision tiles
+     */
+    private static final class PackedTiles
+    {
+        static final PackedTiles NONE = new PackedTiles();
+
+        final IntArrayList[] lists = {new IntArrayList(), new IntArrayList(), new IntArrayList()};
+        final int[] ticks = {-1, -1, -1};
+        int center = NO_CENTER;
     }
 
     /**
@@ -1125,5 +1297,6 @@ public class BoatCollisionAPI
         boatCollisionCache.clear();
         boatHullCache.clear();
         boatDeckCache.clear();
+        packedCache.clear();
     }
 }
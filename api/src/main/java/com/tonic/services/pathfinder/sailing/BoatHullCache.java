@@ -40,6 +40,10 @@ public class BoatHullCache
     final int[][] rotatedXOffsets;  // [direction][hullTile]
     final int[][] rotatedYOffsets;  // [direction][hullTile]
 
+    // Configuration space of each rotated hull, same indexing as the offsets
+    // One bit test per candidate tile instead of one collision check per hull tile
+    final HullFitField[] fitFields;
+
     BoatHullCache(int[] xOffsets, int[] yOffsets, int currentHeadingValue, CollisionMap collisionMap)
     {
         this.xOffsets = xOffsets;
@@ -85,5 +89,11 @@ public class BoatHullCache
             rotatedXOffsets[8][i] = xOffsets[i];
             rotatedYOffsets[8][i] = yOffsets[i];
         }
+
+        // Shared by footprint, so only headings the hull hasn't covered before start empty
+        this.fitFields = new HullFitField[9];
+        for (int dir = 0; dir < 9; dir++) {
+            fitFields[dir] = HullFitField.forFootprint(collisionMap, rotatedXOffsets[dir], rotatedYOffsets[dir]);
+        }
     }
 }
@@ -9,20 +9,23 @@ import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.collision.CollisionMap;
 import com.tonic.services.pathfinder.sailing.graph.GraphNode;
 import com.tonic.services.pathfinder.sailing.graph.NavGraph;
-import com.tonic.services.pathfinder.tiletype.TileType;
+import com.tonic.services.pathfinder.tiletype.TileTypeMap;
 import com.tonic.services.profiler.recording.MethodProfiler;
 import com.tonic.util.Distance;
 import com.tonic.util.Profiler;
 import com.tonic.util.WorldPointUtil;
 import com.tonic.util.handler.StepHandler;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
-import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import lombok.Getter;
 import net.runelite.api.WorldEntity;
 import net.runelite.api.coords.WorldPoint;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A* boat pathfinding with proximity-weighted costs and turn penalties.
@@ -44,6 +47,7 @@ import java.util.*;
  * - Primitive min-heap (no PriorityQueue boxing)
  * - Direction-to-heading lookup table (eliminates trig operations)
  * - Pre-computed hull offsets (eliminates API calls)
+ * - Hull configuration space bits (one bit test per fit check)
  * - Primitive int maps (eliminates boxing/unboxing)
  * - Direction indices (eliminates coordinate math)
  * - Proximity cache (avoids re-scanning same tiles)
@@ -70,7 +74,7 @@ public class BoatPathing
     };
 
     // Maximum radius to scan for proximity calculation (balanced: 5 for quality/speed tradeoff)
-    private static final int MAX_PROXIMITY_SCAN = 5;
+    static final int MAX_PROXIMITY_SCAN = 5;
 
     // Direction index to heading value mapping (matches BoatHullCache.DIRECTION_HEADINGS)
     // West=4, East=12, South=0, North=8, SW=2, SE=14, NW=6, NE=10
@@ -98,11 +102,10 @@ public class BoatPathing
 
     // Tile type cost penalties - high cost to strongly avoid hazardous water types
     private static final int BAD_WATER_COST = 10000;
-    private static byte[] BAD_TILE_TYPES;
     private static final int AVOID_COST = 100;
 
     // Bad water buffer zone - scan radius for nearby hazardous tiles
-    private static final int BAD_WATER_BUFFER_RADIUS = 4;
+    static final int BAD_WATER_BUFFER_RADIUS = 4;
 
     // Graph-based pathfinding: maximum deviation from node path corridor (tiles)
     private static final int CORRIDOR_DEVIATION = 25;
@@ -131,9 +134,13 @@ public class BoatPathing
             7   // (+1,+1) = NE
     };
 
-    // Fast bad tile type lookup - boolean array indexed by tile type byte
-    // Eliminates loop in isBadTileType() - O(1) instead of O(n)
-    private static final boolean[] IS_BAD_TILE = new boolean[256];
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    // Searches run here so that long ocean paths never hold up the client thread
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "BoatPathing-" + THREAD_ID.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
 
     public static StepHandler travelTo(WorldPoint worldPoint)
     {
@@ -260,21 +267,20 @@ public class BoatPathing
     {
         MethodProfiler.begin("BoatPathing.pathTo(target)");
         try {
-            return Static.invoke(() -> {
+            WorldPoint start = Static.invoke(() -> {
                 WorldEntity boat = BoatCollisionAPI.getPlayerBoat();
                 if (boat == null) {
                     System.out.println("SailPathing: No boat found");
                     return null;
                 }
-
-                WorldPoint start = BoatCollisionAPI.getPlayerBoatWorldPoint();
-                if (start == null) {
-                    System.out.println("SailPathing: No start position");
-                    return null;
-                }
-
-                return pathTo(start, target);
+                return BoatCollisionAPI.getPlayerBoatWorldPoint();
             });
+            if (start == null) {
+                System.out.println("SailPathing: No start position");
+                return null;
+            }
+
+            return pathTo(start, target);
         } finally {
             MethodProfiler.end("BoatPathing.pathTo(target)");
         }
@@ -287,101 +293,36 @@ public class BoatPathing
     {
         MethodProfiler.begin("BoatPathing.pathTo(start,target)");
         try {
-            return Static.invoke(() -> {
-                // Find full tile-by-tile path using BFS
-                List<WorldPoint> fullPath = findFullPath(start, target);
-
-                if (fullPath == null || fullPath.isEmpty()) {
-                    System.out.println("SailPathing: No path found from " + start + " to " + target);
-                    return null;
-                }
-
-                System.out.println("SailPathing: Found full path with " + fullPath.size() + " tiles");
-
-                // Convert to waypoints at turning points
-                List<Waypoint> waypoints = convertToWaypoints(fullPath);
-                System.out.println("SailPathing: Converted to " + waypoints.size() + " waypoints");
-
-                return waypoints;
-            });
-        } finally {
-            MethodProfiler.end("BoatPathing.pathTo(start,target)");
-        }
-    }
+            // Find full tile-by-tile path, only the snapshot is taken on the client thread
+            List<WorldPoint> fullPath = findFullPath(start, target);
 
-    /**
-     * Initializes boat hull cache from current boat state.
-     * Extracts hull as primitive offsets to avoid allocations in hot path.
-     * NOTE: Gets boat fresh from client since WorldEntity doesn't survive Static.invoke boundary
-     */
-    private static BoatHullCache initializeBoatCache(WorldPoint boatCenter, CollisionMap collisionMap)
-    {
-        MethodProfiler.begin("BoatPathing.initializeBoatCache");
-        try {
-            // Get player boat fresh (don't pass as parameter - doesn't survive Static.invoke)
-            WorldEntity boat = BoatCollisionAPI.getPlayerBoat();
-            if (boat == null) {
-                System.out.println("SailPathing: No player boat found");
+            if (fullPath == null || fullPath.isEmpty()) {
+                System.out.println("SailPathing: No path found from " + start + " to " + target);
                 return null;
             }
 
-            // Get current hull in world coordinates - use player boat method
-            Collection<WorldPoint> hull = BoatCollisionAPI.getPlayerBoatCollision();
+            System.out.println("SailPathing: Found full path with " + fullPath.size() + " tiles");
 
-            if (hull == null || hull.isEmpty()) {
-                System.out.println("SailPathing: Empty boat hull (" + (hull == null ? "null" : 0) + " tiles)");
-                return null;
-            }
-
-            // Get current heading
-            int currentHeading = SailingAPI.getHeadingValue();
-            if (currentHeading == -1) {
-                System.out.println("SailPathing: Not on boat (headingValue=-1)");
-                return null;
-            }
+            // Convert to waypoints at turning points
+            List<Waypoint> waypoints = convertToWaypoints(fullPath);
+            System.out.println("SailPathing: Converted to " + waypoints.size() + " waypoints");
 
-            // Convert hull to offsets from boat center
-            int[] xOffsets = new int[hull.size()];
-            int[] yOffsets = new int[hull.size()];
-            int i = 0;
-            for (WorldPoint hullTile : hull) {
-                xOffsets[i] = hullTile.getX() - boatCenter.getX();
-                yOffsets[i] = hullTile.getY() - boatCenter.getY();
-                i++;
-            }
-
-            return new BoatHullCache(xOffsets, yOffsets, currentHeading, collisionMap);
+            return waypoints;
         } finally {
-            MethodProfiler.end("BoatPathing.initializeBoatCache");
+            MethodProfiler.end("BoatPathing.pathTo(start,target)");
         }
     }
 
     /**
-     * Collision check using pre-computed rotated hull offsets.
-     * OPTIMIZED: No floating-point math or Math.round() in hot path.
-     * All rotations are pre-computed during BoatHullCache initialization.
+     * Collision check against the configuration space of the rotated hull.
+     * OPTIMIZED: One bit test per tile, the per-offset check only runs near the map edges.
+     * Bits are built per region from the rotated offsets in {@link HullFitField}.
      */
     private static boolean canBoatFitAtDirection(BoatHullCache cache, short targetX, short targetY, int directionIndex)
     {
         MethodProfiler.begin("BoatPathing.canBoatFitAtDirection");
         try {
-            // Use pre-computed rotated offsets - no floating-point math in hot path
-            int[] rotatedX = cache.rotatedXOffsets[directionIndex];
-            int[] rotatedY = cache.rotatedYOffsets[directionIndex];
-            int hullSize = rotatedX.length;
-
-            // Check each hull tile
-            for (int i = 0; i < hullSize; i++) {
-                short worldX = (short) (targetX + rotatedX[i]);
-                short worldY = (short) (targetY + rotatedY[i]);
-
-                // Check collision on plane 0
-                if (!cache.collisionMap.walkable(worldX, worldY, (byte) 0)) {
-                    return false;
-                }
-            }
-
-            return true;
+            return cache.fitFields[directionIndex].fits(targetX, targetY);
         } finally {
             MethodProfiler.end("BoatPathing.canBoatFitAtDirection");
         }
@@ -407,114 +348,131 @@ public class BoatPathing
      * 3. A* tile-by-tile within corridor of node path
      *
      * Falls back to original A* if graph not available or no valid path.
+     * Only the {@link SeaSnapshot} is taken on the client thread, the searches run on the
+     * calling thread; see {@link #findFullPathAsync} to run them on a pathing worker instead.
      */
     public static List<WorldPoint> findFullPath(WorldPoint start, WorldPoint target, IntOpenHashSet avoidTiles)
     {
         MethodProfiler.begin("BoatPathing.findFullPath");
         Profiler.Start("BoatPathing");
         try {
-            BAD_TILE_TYPES = TileType.getAvoidTileTypes();
-            // Populate fast lookup table for bad tile types
-            java.util.Arrays.fill(IS_BAD_TILE, false);
-            for (byte b : BAD_TILE_TYPES) {
-                IS_BAD_TILE[b & 0xFF] = true;
-            }
+            SeaSnapshot snapshot = Static.invoke(() -> SeaSnapshot.capture(start, target, avoidTiles));
+            List<WorldPoint> path = snapshot == null ? null : findFullPath(snapshot);
 
-            // Try graph-based pathfinding first
-            NavGraph graph = Walker.getNavGraph();
-            if (graph != null) {
-                List<WorldPoint> graphPath = findFullPathWithGraph(start, target, avoidTiles, graph);
-                if (graphPath != null) {
-                    Profiler.StopMS();
-                    return graphPath;
-                }
-                // Fallback to original A* if graph path failed
-                System.out.println("BoatPathing: Graph pathfinding failed, falling back to original A*");
+            Profiler.StopMS();
+            return path;
+        } finally {
+            MethodProfiler.end("BoatPathing.findFullPath");
+        }
+    }
+
+    /**
+     * Same search as {@link #findFullPath(WorldPoint, WorldPoint, IntOpenHashSet)}, but only the
+     * snapshot of the boat is taken on the client thread. The graph and tile searches run on a
+     * pathing worker with their own state, so a long ocean path doesn't stall rendering and
+     * concurrent searches can't interfere with each other.
+     *
+     * @return future path, completed with null if no path was found
+     */
+    public static CompletableFuture<List<WorldPoint>> findFullPathAsync(WorldPoint start, WorldPoint target, IntOpenHashSet avoidTiles)
+    {
+        SeaSnapshot snapshot = Static.invoke(() -> SeaSnapshot.capture(start, target, avoidTiles));
+        if (snapshot == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> findFullPath(snapshot), executor);
+    }
+
+    public static CompletableFuture<List<WorldPoint>> findFullPathAsync(WorldPoint start, WorldPoint target)
+    {
+        return findFullPathAsync(start, target, null);
+    }
+
+    /**
+     * Graph search with A* fallback against a snapshot. Safe to call from any thread.
+     */
+    private static List<WorldPoint> findFullPath(SeaSnapshot snapshot)
+    {
+        // Try graph-based pathfinding first
+        NavGraph graph = Walker.getNavGraph();
+        if (graph != null) {
+            List<WorldPoint> graphPath = findFullPathWithGraph(snapshot, graph);
+            if (graphPath != null) {
+                return graphPath;
             }
-            List<WorldPoint> path = Static.invoke(() -> {
-                CollisionMap collisionMap = Walker.getCollisionMap();
-                if (collisionMap == null) {
-                    return null;
-                }
+            // Fallback to original A* if graph path failed
+            System.out.println("BoatPathing: Graph pathfinding failed, falling back to original A*");
+        }
+        return findFullPathAStar(snapshot);
+    }
 
-                // Validate target - if boat can't fit, find nearest valid position
-                WorldPoint adjustedTarget = target;
-                WorldPoint validTarget = BoatCollisionAPI.findNearestValidPlayerBoatPosition(target, 10);
-                if (validTarget == null) {
-                    return null;
-                }
-                if (!validTarget.equals(target)) {
-                    adjustedTarget = validTarget;
-                }
-                // Initialize cache with hull offsets and pre-computed rotations
-                // Don't pass boat entity - it doesn't survive Static.invoke boundary
-                BoatHullCache cache = initializeBoatCache(start, collisionMap);
-                if (cache == null) {
-                    // System.out.println("  ERROR: Failed to initialize boat cache");
-                    return null;
-                }
+    /**
+     * Unconstrained A* over the snapshot, the fallback when the graph has no route.
+     */
+    private static List<WorldPoint> findFullPathAStar(SeaSnapshot snapshot)
+    {
+        MethodProfiler.begin("BoatPathing.findFullPathAStar");
+        try {
+            WorldPoint start = snapshot.start;
+            WorldPoint adjustedTarget = snapshot.adjustedTarget;
 
-                // A* data structures - primitive arrays for heap (stores f-scores)
-                int[] heapNodes = new int[100_000];
-                int[] heapCosts = new int[100_000];  // f-scores for A*
-                int heapSize = 0;
-
-                // Primitive maps for g-scores, parents, and caches
-                Int2IntOpenHashMap gScores = new Int2IntOpenHashMap();  // actual cost from start
-                Int2IntOpenHashMap parents = new Int2IntOpenHashMap();
-                Int2IntOpenHashMap proximityCache = new Int2IntOpenHashMap();
-                IntOpenHashSet closedSet = new IntOpenHashSet();  // prevents re-expansion
-                gScores.defaultReturnValue(Integer.MAX_VALUE);
-                parents.defaultReturnValue(-2);  // -2 = not visited
-                proximityCache.defaultReturnValue(-1);  // -1 = not cached
-
-                int startPacked = WorldPointUtil.compress(start);
-                int targetPacked = WorldPointUtil.compress(adjustedTarget);
-                int targetX = WorldPointUtil.getCompressedX(targetPacked);
-                int targetY = WorldPointUtil.getCompressedY(targetPacked);
-                int startX = WorldPointUtil.getCompressedX(startPacked);
-                int startY = WorldPointUtil.getCompressedY(startPacked);
-
-                // Initialize start node with f = g(0) + h
-                gScores.put(startPacked, 0);
-                parents.put(startPacked, -1);  // -1 = start node marker
-                int startH = heuristic(startX, startY, targetX, targetY);
-                heapSize = heapPush(heapNodes, heapCosts, heapSize, startPacked, startH);
-
-                int maxIterations = 1_000_000;
-                int iterations = 0;
-
-                // A* search
-                while (heapSize > 0 && iterations++ < maxIterations) {
-                    // Pop minimum f-score node
-                    heapSize = heapPop(heapNodes, heapCosts, heapSize);
-                    int current = heapNodes[heapSize];
-
-                    // Skip if already in closed set (already fully processed)
-                    if (closedSet.contains(current)) {
-                        continue;
-                    }
-                    closedSet.add(current);
+            // A* data structures - primitive arrays for heap (stores f-scores)
+            int[] heapNodes = new int[100_000];
+            int[] heapCosts = new int[100_000];  // f-scores for A*
+            int heapSize = 0;
 
-                    // Check if reached target
-                    if (current == targetPacked) {
-                        return reconstructFullPath(parents, targetPacked);
-                    }
+            // Primitive maps for g-scores, parents, and caches
+            Int2IntOpenHashMap gScores = new Int2IntOpenHashMap();  // actual cost from start
+            Int2IntOpenHashMap parents = new Int2IntOpenHashMap();
+            Int2IntOpenHashMap proximityCache = new Int2IntOpenHashMap();
+            IntOpenHashSet closedSet = new IntOpenHashSet();  // prevents re-expansion
+            gScores.defaultReturnValue(Integer.MAX_VALUE);
+            parents.defaultReturnValue(-2);  // -2 = not visited
+            proximityCache.defaultReturnValue(-1);  // -1 = not cached
 
-                    int currentG = gScores.get(current);
+            int startPacked = WorldPointUtil.compress(start);
+            int targetPacked = WorldPointUtil.compress(adjustedTarget);
+            int targetX = WorldPointUtil.getCompressedX(targetPacked);
+            int targetY = WorldPointUtil.getCompressedY(targetPacked);
+            int startX = WorldPointUtil.getCompressedX(startPacked);
+            int startY = WorldPointUtil.getCompressedY(startPacked);
 
-                    // Expand neighbors with A* scoring (f = g + h)
-                    heapSize = expandNeighborsAStar(cache, collisionMap, current, currentG,
-                            targetX, targetY, gScores, parents, proximityCache, closedSet,
-                            heapNodes, heapCosts, heapSize, avoidTiles, startPacked);
+            // Initialize start node with f = g(0) + h
+            gScores.put(startPacked, 0);
+            parents.put(startPacked, -1);  // -1 = start node marker
+            int startH = heuristic(startX, startY, targetX, targetY);
+            heapSize = heapPush(heapNodes, heapCosts, heapSize, startPacked, startH);
+
+            int maxIterations = 1_000_000;
+            int iterations = 0;
+
+            // A* search
+            while (heapSize > 0 && iterations++ < maxIterations) {
+                // Pop minimum f-score node
+                heapSize = heapPop(heapNodes, heapCosts, heapSize);
+                int current = heapNodes[heapSize];
+
+                // Skip if already in closed set (already fully processed)
+                if (closedSet.contains(current)) {
+                    continue;
                 }
-                return null;
-            });
+                closedSet.add(current);
 
-            Profiler.StopMS();
-            return path;
+                // Check if reached target
+                if (current == targetPacked) {
+                    return reconstructFullPath(parents, targetPacked);
+                }
+
+                int currentG = gScores.get(current);
+
+                // Expand neighbors with A* scoring (f = g + h)
+                heapSize = expandNeighborsAStar(snapshot, current, currentG,
+                        targetX, targetY, gScores, parents, proximityCache, closedSet,
+                        heapNodes, heapCosts, heapSize, startPacked);
+            }
+            return null;
         } finally {
-            MethodProfiler.end("BoatPathing.findFullPath");
+            MethodProfiler.end("BoatPathing.findFullPathAStar");
         }
     }
 
@@ -524,13 +482,13 @@ public class BoatPathing
      * Finds a path using the navigation graph for high-level routing,
      * then A* for tile-by-tile navigation within the corridor.
      */
-    private static List<WorldPoint> findFullPathWithGraph(
-            WorldPoint start, WorldPoint target, IntOpenHashSet avoidTiles, NavGraph graph)
+    private static List<WorldPoint> findFullPathWithGraph(SeaSnapshot snapshot, NavGraph graph)
     {
         MethodProfiler.begin("BoatPathing.findFullPathWithGraph");
         try {
-            return Static.invoke(() -> {
-                int plane = start.getPlane();
+            WorldPoint start = snapshot.start;
+            WorldPoint target = snapshot.target;
+            int plane = start.getPlane();
 
             // Debug: Print graph stats and search positions
             // Step 1: Find nearest graph nodes via BFS (use world coords, not packed - packing formats differ!)
@@ -555,7 +513,7 @@ public class BoatPathing
             }
 
             // Step 2: A* on graph to find node path
-            List<Integer> nodePath = findGraphPath(graph, startNode, endNode, BAD_TILE_TYPES);
+            List<Integer> nodePath = findGraphPath(graph, startNode, endNode, snapshot.avoidTypes);
 
             if (nodePath == null || nodePath.isEmpty()) {
                 System.out.println("BoatPathing: No valid graph path found");
@@ -563,8 +521,7 @@ public class BoatPathing
             }
 
             // Step 3: A* tile-by-tile with corridor constraint
-            return findFullPathWithCorridor(start, target, avoidTiles, nodePath);
-            });
+            return findFullPathWithCorridor(snapshot, nodePath);
         } finally {
             MethodProfiler.end("BoatPathing.findFullPathWithGraph");
         }
@@ -631,22 +588,32 @@ public class BoatPathing
                 return path;
             }
 
+            // Rows of the CSR graph index the search state directly, no hashing per edge
+            int startRow = graph.rowOf(startNode);
+            int endRow = graph.rowOf(endNode);
+            if (startRow < 0 || endRow < 0) {
+                return null;
+            }
+            int avoidMask = NavGraph.avoidMask(avoidTypes);
+
             // A* data structures
-            Int2IntOpenHashMap gScores = new Int2IntOpenHashMap();
-            Int2IntOpenHashMap parents = new Int2IntOpenHashMap();
-            IntOpenHashSet closedSet = new IntOpenHashSet();
-            gScores.defaultReturnValue(Integer.MAX_VALUE);
-            parents.defaultReturnValue(-1);
+            int[] gScores = new int[graph.getRowCount()];
+            int[] parents = new int[gScores.length];
+            boolean[] closedSet = new boolean[gScores.length];
+            Arrays.fill(gScores, Integer.MAX_VALUE);
+            Arrays.fill(parents, -1);
 
             // Priority queue (simple array-based for small graphs)
-            int[] heapNodes = new int[10000];
-            int[] heapCosts = new int[10000];
+            // Every push relaxes an edge, so the adjacency count bounds the heap
+            int heapCapacity = graph.firstEdge(graph.getRowCount()) + 1;
+            int[] heapNodes = new int[heapCapacity];
+            int[] heapCosts = new int[heapCapacity];
             int heapSize = 0;
 
             // Initialize
-            gScores.put(startNode, 0);
+            gScores[startRow] = 0;
             int h = GraphNode.chebyshevDistance(startNode, endNode);
-            heapSize = heapPush(heapNodes, heapCosts, heapSize, startNode, h);
+            heapSize = heapPush(heapNodes, heapCosts, heapSize, startRow, h);
 
             int iterations = 0;
             int maxIterations = 100000;
@@ -655,43 +622,43 @@ public class BoatPathing
                 heapSize = heapPop(heapNodes, heapCosts, heapSize);
                 int current = heapNodes[heapSize];
 
-                if (closedSet.contains(current)) continue;
-                closedSet.add(current);
+                if (closedSet[current]) continue;
+                closedSet[current] = true;
 
-                if (current == endNode) {
+                if (current == endRow) {
                     // Reconstruct path
                     List<Integer> path = new ArrayList<>();
-                    int node = endNode;
-                    while (node != -1) {
-                        path.add(node);
-                        node = parents.get(node);
+                    int row = endRow;
+                    while (row != -1) {
+                        path.add(graph.rowNode(row));
+                        row = parents[row];
                     }
                     Collections.reverse(path);
                     return path;
                 }
 
-                int currentG = gScores.get(current);
-                IntList neighbors = graph.getNeighbors(current);
-
-                for (int i = 0; i < neighbors.size(); i++) {
-                    int neighbor = neighbors.getInt(i);
-
-                    if (closedSet.contains(neighbor)) continue;
+                int currentG = gScores[current];
+                int currentNode = graph.rowNode(current);
 
+                for (int edge = graph.firstEdge(current), end = graph.firstEdge(current + 1); edge < end; edge++) {
                     // Check if edge is traversable (doesn't cross bad water types)
-                    if (!graph.isEdgeTraversable(current, neighbor, avoidTypes)) {
+                    if (!NavGraph.isTraversable(graph.edgeMask(edge), avoidMask)) {
                         continue;
                     }
 
+                    int neighbor = graph.edgeTargetRow(edge);
+                    if (closedSet[neighbor]) continue;
+                    int neighborNode = graph.rowNode(neighbor);
+
                     // Edge cost is Chebyshev distance between nodes
-                    int edgeCost = GraphNode.chebyshevDistance(current, neighbor);
+                    int edgeCost = GraphNode.chebyshevDistance(currentNode, neighborNode);
                     int tentativeG = currentG + edgeCost;
 
-                    if (tentativeG < gScores.get(neighbor)) {
-                        gScores.put(neighbor, tentativeG);
-                        parents.put(neighbor, current);
+                    if (tentativeG < gScores[neighbor]) {
+                        gScores[neighbor] = tentativeG;
+                        parents[neighbor] = current;
 
-                        int neighborH = GraphNode.chebyshevDistance(neighbor, endNode);
+                        int neighborH = GraphNode.chebyshevDistance(neighborNode, endNode);
                         int f = tentativeG + neighborH;
                         heapSize = heapPush(heapNodes, heapCosts, heapSize, neighbor, f);
                     }
@@ -707,37 +674,16 @@ public class BoatPathing
     /**
      * Finds a tile-by-tile path constrained to the corridor around the node path.
      *
-     * @param start Starting world point
-     * @param target Target world point
-     * @param avoidTiles Optional tiles to avoid
+     * @param snapshot Boat and map state to search against
      * @param nodePath List of packed node coordinates defining the corridor
      * @return Full tile path, or null if not found
      */
-    private static List<WorldPoint> findFullPathWithCorridor(
-            WorldPoint start, WorldPoint target, IntOpenHashSet avoidTiles, List<Integer> nodePath)
+    private static List<WorldPoint> findFullPathWithCorridor(SeaSnapshot snapshot, List<Integer> nodePath)
     {
         MethodProfiler.begin("BoatPathing.findFullPathWithCorridor");
         try {
-            CollisionMap collisionMap = Walker.getCollisionMap();
-            if (collisionMap == null) {
-                return null;
-            }
-
-            // Validate and adjust target
-            WorldPoint adjustedTarget = target;
-            WorldPoint validTarget = BoatCollisionAPI.findNearestValidPlayerBoatPosition(target, 10);
-            if (validTarget == null) {
-                return null;
-            }
-            if (!validTarget.equals(target)) {
-                adjustedTarget = validTarget;
-            }
-
-            // Initialize boat cache
-            BoatHullCache cache = initializeBoatCache(start, collisionMap);
-            if (cache == null) {
-                return null;
-            }
+            WorldPoint start = snapshot.start;
+            WorldPoint adjustedTarget = snapshot.adjustedTarget;
 
             // A* with corridor constraint
             int[] heapNodes = new int[100_000];
@@ -780,9 +726,9 @@ public class BoatPathing
                 }
 
                 int currentG = gScores.get(current);
-                heapSize = expandNeighborsAStarCorridor(cache, collisionMap, current, currentG,
+                heapSize = expandNeighborsAStarCorridor(snapshot, current, currentG,
                         targetX, targetY, gScores, parents, proximityCache, closedSet,
-                        heapNodes, heapCosts, heapSize, avoidTiles, startPacked, nodePath,
+                        heapNodes, heapCosts, heapSize, startPacked, nodePath,
                         start.getX(), start.getY(), adjustedTarget.getX(), adjustedTarget.getY(),
                         corridorDistance);
             }
@@ -799,13 +745,13 @@ public class BoatPathing
      * and adds a penalty for tiles far from the corridor centerline.
      */
     private static int expandNeighborsAStarCorridor(
-            BoatHullCache cache, CollisionMap collisionMap,
+            SeaSnapshot snapshot,
             int current, int currentG,
             int targetX, int targetY,
             Int2IntOpenHashMap gScores, Int2IntOpenHashMap parents,
             Int2IntOpenHashMap proximityCache, IntOpenHashSet closedSet,
             int[] heapNodes, int[] heapCosts, int heapSize,
-            IntOpenHashSet avoidTiles, int startPacked,
+            int startPacked,
             List<Integer> nodePath,
             int startWorldX, int startWorldY, int targetWorldX, int targetWorldY,
             Int2IntOpenHashMap corridorDistance)
@@ -819,8 +765,9 @@ public class BoatPathing
             int sY = WorldPointUtil.getCompressedY(startPacked);
             int targetPacked = WorldPointUtil.compress(targetX, targetY, plane);
 
-            // Cache TileTypeMap reference - avoid repeated getter calls in hot loop
-            var tileTypeMap = Walker.getTileTypeMap();
+            var tileTypeMap = snapshot.tileTypeMap;
+            BoatHullCache cache = snapshot.hull;
+            IntOpenHashSet avoidTiles = snapshot.avoidTiles;
 
             for (int dir = 0; dir < 8; dir++) {
                 int nx = x + DX[dir];
@@ -859,7 +806,7 @@ public class BoatPathing
 
                 // Cost calculation (same as original)
                 int baseCost = BASE_COSTS[dir];
-                int combined = getCombinedProximityCached(collisionMap, proximityCache, nx, ny, plane);
+                int combined = getCombinedProximityCached(snapshot, proximityCache, nx, ny, plane);
                 int collisionDist = combined >>> 16;
                 int badWaterDist = combined & 0xFFFF;
 
@@ -873,7 +820,7 @@ public class BoatPathing
 
                 int tileTypeCost = 0;
                 byte tileType = tileTypeMap.getTileType(nx, ny, plane);
-                if (isBadTileType(tileType)) {
+                if (snapshot.isBadTile(tileType)) {
                     tileTypeCost = BAD_WATER_COST;
                 } else if (badWaterDist > 0) {
                     tileTypeCost = BAD_WATER_COST >> badWaterDist;
@@ -1079,13 +1026,12 @@ public class BoatPathing
      * @return new heap size
      */
     private static int expandNeighborsAStar(
-            BoatHullCache cache, CollisionMap collisionMap,
+            SeaSnapshot snapshot,
             int current, int currentG,
             int targetX, int targetY,
             Int2IntOpenHashMap gScores, Int2IntOpenHashMap parents,
             Int2IntOpenHashMap proximityCache, IntOpenHashSet closedSet,
             int[] heapNodes, int[] heapCosts, int heapSize,
-            IntOpenHashSet avoidTiles,
             int startPacked)
     {
         MethodProfiler.begin("BoatPathing.expandNeighborsAStar");
@@ -1097,6 +1043,8 @@ public class BoatPathing
             int sX = WorldPointUtil.getCompressedX(startPacked);
             int sY = WorldPointUtil.getCompressedY(startPacked);
             int targetPacked = WorldPointUtil.compress(targetX, targetY, plane);
+            BoatHullCache cache = snapshot.hull;
+            IntOpenHashSet avoidTiles = snapshot.avoidTiles;
 
             // Expand in all 8 directions
             for (int dir = 0; dir < 8; dir++) {
@@ -1129,7 +1077,7 @@ public class BoatPathing
 
                 // Calculate edge cost with combined proximity data (collision + bad water)
                 int baseCost = BASE_COSTS[dir];
-                int combined = getCombinedProximityCached(collisionMap, proximityCache, nx, ny, plane);
+                int combined = getCombinedProximityCached(snapshot, proximityCache, nx, ny, plane);
                 int collisionDist = combined >>> 16;
                 int badWaterDist = combined & 0xFFFF;
 
@@ -1148,8 +1096,8 @@ public class BoatPathing
                 // Tile type penalty: bad water buffer zone from unified scan
                 // Also check if tile itself is bad water (not just buffer zone)
                 int tileTypeCost = 0;
-                byte tileType = Walker.getTileTypeMap().getTileType(nx, ny, plane);
-                if (isBadTileType(tileType)) {
+                byte tileType = snapshot.tileTypeMap.getTileType(nx, ny, plane);
+                if (snapshot.isBadTile(tileType)) {
                     tileTypeCost = BAD_WATER_COST;
                 } else if (badWaterDist > 0) {
                     // Buffer zone: graduated penalty based on distance
@@ -1299,19 +1247,25 @@ public class BoatPathing
     // ==================== Proximity Calculation ====================
 
     /**
-     * Gets cached combined proximity data (collision + bad water distances).
+     * Gets combined proximity data (collision + bad water distances).
      * Returns packed int: (collisionDist << 16) | badWaterDist
-     * OPTIMIZED: Single cache lookup for both values.
+     * OPTIMIZED: Single read from the clearance field, the per-search cache and spiral scan
+     * only handle the few tiles it doesn't cover (blocked tiles, map edges).
      */
-    private static int getCombinedProximityCached(CollisionMap collisionMap, Int2IntOpenHashMap cache, int x, int y, int plane)
+    private static int getCombinedProximityCached(SeaSnapshot snapshot, Int2IntOpenHashMap cache, int x, int y, int plane)
     {
+        int combined = snapshot.clearance.get(x, y, plane);
+        if (combined != ClearanceField.UNCOVERED) {
+            return combined;
+        }
+
         int packed = WorldPointUtil.compress(x, y, plane);
         int cached = cache.get(packed);
         if (cached != -1) {
             return cached;
         }
 
-        int combined = calculateCombinedProximity(collisionMap, x, y, plane);
+        combined = calculateCombinedProximity(snapshot.collisionMap, snapshot.tileTypeMap, snapshot.badTile, x, y, plane);
         cache.put(packed, combined);
         return combined;
     }
@@ -1322,16 +1276,14 @@ public class BoatPathing
      *
      * OPTIMIZED: Single spiral scan replaces two separate scans, ~50% fewer lookups.
      * Early termination when both collision and bad water are found.
+     * This is the reference {@link ClearanceField} is built to match.
      */
-    private static int calculateCombinedProximity(CollisionMap collisionMap, int x, int y, int plane)
+    static int calculateCombinedProximity(CollisionMap collisionMap, TileTypeMap tileTypeMap, boolean[] badTile, int x, int y, int plane)
     {
         byte p = (byte) plane;
         int collisionDist = MAX_PROXIMITY_SCAN + 1;  // Default: no collision found
         int badWaterDist = 0;  // Default: no bad water found (0 = none in range)
 
-        // Cache TileTypeMap reference - avoid repeated getter calls
-        var tileTypeMap = Walker.getTileTypeMap();
-
         // Spiral out from center
         for (int r = 1; r <= MAX_PROXIMITY_SCAN; r++) {
             // Check collision (until found)
@@ -1364,26 +1316,26 @@ public class BoatPathing
             // Check bad water (until found, only within buffer radius)
             if (badWaterDist == 0 && r <= BAD_WATER_BUFFER_RADIUS) {
                 // Cardinals
-                if (IS_BAD_TILE[tileTypeMap.getTileType(x, y + r, plane) & 0xFF]) badWaterDist = r;
-                else if (IS_BAD_TILE[tileTypeMap.getTileType(x, y - r, plane) & 0xFF]) badWaterDist = r;
-                else if (IS_BAD_TILE[tileTypeMap.getTileType(x + r, y, plane) & 0xFF]) badWaterDist = r;
-                else if (IS_BAD_TILE[tileTypeMap.getTileType(x - r, y, plane) & 0xFF]) badWaterDist = r;
+                if (badTile[tileTypeMap.getTileType(x, y + r, plane) & 0xFF]) badWaterDist = r;
+                else if (badTile[tileTypeMap.getTileType(x, y - r, plane) & 0xFF]) badWaterDist = r;
+                else if (badTile[tileTypeMap.getTileType(x + r, y, plane) & 0xFF]) badWaterDist = r;
+                else if (badTile[tileTypeMap.getTileType(x - r, y, plane) & 0xFF]) badWaterDist = r;
                     // Corners
-                else if (IS_BAD_TILE[tileTypeMap.getTileType(x + r, y + r, plane) & 0xFF]) badWaterDist = r;
-                else if (IS_BAD_TILE[tileTypeMap.getTileType(x + r, y - r, plane) & 0xFF]) badWaterDist = r;
-                else if (IS_BAD_TILE[tileTypeMap.getTileType(x - r, y + r, plane) & 0xFF]) badWaterDist = r;
-                else if (IS_BAD_TILE[tileTypeMap.getTileType(x - r, y - r, plane) & 0xFF]) badWaterDist = r;
+                else if (badTile[tileTypeMap.getTileType(x + r, y + r, plane) & 0xFF]) badWaterDist = r;
+                else if (badTile[tileTypeMap.getTileType(x + r, y - r, plane) & 0xFF]) badWaterDist = r;
+                else if (badTile[tileTypeMap.getTileType(x - r, y + r, plane) & 0xFF]) badWaterDist = r;
+                else if (badTile[tileTypeMap.getTileType(x - r, y - r, plane) & 0xFF]) badWaterDist = r;
                 else {
                     // Ring edges
                     for (int i = 1; i < r && badWaterDist == 0; i++) {
-                        if (IS_BAD_TILE[tileTypeMap.getTileType(x + i, y + r, plane) & 0xFF]) badWaterDist = r;
-                        else if (IS_BAD_TILE[tileTypeMap.getTileType(x - i, y + r, plane) & 0xFF]) badWaterDist = r;
-                        else if (IS_BAD_TILE[tileTypeMap.getTileType(x + i, y - r, plane) & 0xFF]) badWaterDist = r;
-                        else if (IS_BAD_TILE[tileTypeMap.getTileType(x - i, y - r, plane) & 0xFF]) badWaterDist = r;
-                        else if (IS_BAD_TILE[tileTypeMap.getTileType(x + r, y + i, plane) & 0xFF]) badWaterDist = r;
-                        else if (IS_BAD_TILE[tileTypeMap.getTileType(x + r, y - i, plane) & 0xFF]) badWaterDist = r;
-                        else if (IS_BAD_TILE[tileTypeMap.getTileType(x - r, y + i, plane) & 0xFF]) badWaterDist = r;
-                        else if (IS_BAD_TILE[tileTypeMap.getTileType(x - r, y - i, plane) & 0xFF]) badWaterDist = r;
+                        if (badTile[tileTypeMap.getTileType(x + i, y + r, plane) & 0xFF]) badWaterDist = r;
+                        else if (badTile[tileTypeMap.getTileType(x - i, y + r, plane) & 0xFF]) badWaterDist = r;
+                        else if (badTile[tileTypeMap.getTileType(x + i, y - r, plane) & 0xFF]) badWaterDist = r;
+                        else if (badTile[tileTypeMap.getTileType(x - i, y - r, plane) & 0xFF]) badWaterDist = r;
+                        else if (badTile[tileTypeMap.getTileType(x + r, y + i, plane) & 0xFF]) badWaterDist = r;
+                        else if (badTile[tileTypeMap.getTileType(x + r, y - i, plane) & 0xFF]) badWaterDist = r;
+                        else if (badTile[tileTypeMap.getTileType(x - r, y + i, plane) & 0xFF]) badWaterDist = r;
+                        else if (badTile[tileTypeMap.getTileType(x - r, y - i, plane) & 0xFF]) badWaterDist = r;
                     }
                 }
             }
@@ -1537,14 +1489,6 @@ public class BoatPathing
         return cross / lineLen;
     }
 
-    /**
-     * Checks if a tile type is a bad/hazardous water type.
-     * OPTIMIZED: O(1) array lookup instead of O(n) loop.
-     */
-    private static boolean isBadTileType(byte tileType) {
-        return IS_BAD_TILE[tileType & 0xFF];
-    }
-
     /**
      * Converts full tile path to waypoints using sliding window heading detection.
      *
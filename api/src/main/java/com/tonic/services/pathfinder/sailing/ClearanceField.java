@@ -0,0 +1,295 @@
+package com.tonic.services.pathfinder.sailing;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.tiletype.TileTypeMap;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distance from every tile to the nearest blocked tile and the nearest hazardous water tile,
+ * precomputed so the boat searches read their proximity costs instead of running
+ * {@link BoatPathing#calculateCombinedProximity} around every expanded tile.
+ *
+ * Each tile is one byte: the low nibble is the Chebyshev distance to the nearest tile that
+ * can't be walked on, capped at {@link BoatPathing#MAX_PROXIMITY_SCAN} + 1, the high nibble the
+ * distance to the nearest avoided tile type if within {@link BoatPathing#BAD_WATER_BUFFER_RADIUS},
+ * else 0. Both are computed per 64x64 region with a two pass chamfer transform over the region
+ * and a margin around it, which gives exactly the spiral scan's Chebyshev rings. A blocked tile
+ * stores 0, since the scan leaves its own tile out, and is answered by the scan instead.
+ *
+ * Which types are hazardous depends on the boat's resistances, so there is one field per set
+ * of avoided types. Regions are built on first use; {@link ClearanceFieldGenerator} can also
+ * write them ahead of time to clearance.dat, which is memory-mapped from the Vitalite directory
+ * and used whenever its avoided types and source maps match.
+ *
+ * File layout, big endian: a header ({@code magic, version, blockedEdges, typeFingerprint,
+ * avoidMask, regions}), a region index of {@link #REGION_KEYS} ints holding the record of each
+ * region or -1, then 4096 bytes per record in {@code x | y << 6} order.
+ */
+public final class ClearanceField
+{
+    public static final int UNCOVERED = -1;
+    static final int MAGIC = 0x434C5246;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int REGION_KEYS = 128 * 512 * 4;
+    static final int REGION_TILES = 64 * 64;
+    private static final int MARGIN = Math.max(BoatPathing.MAX_PROXIMITY_SCAN, BoatPathing.BAD_WATER_BUFFER_RADIUS);
+    private static final int WINDOW = 64 + 2 * MARGIN;
+    private static final int FAR = 127;
+    private static final String FILE = "clearance.dat";
+
+    private static final Map<Integer, ClearanceField> fields = new ConcurrentHashMap<>();
+
+    private final CollisionMap collisionMap;
+    private final TileTypeMap tileTypeMap;
+    private final int avoidMask;
+    private final boolean[] badTile = new boolean[256];
+    private final ByteBuffer mapped;
+    private final Map<Integer, byte[]> regions = new ConcurrentHashMap<>();
+
+    private ClearanceField(CollisionMap collisionMap, TileTypeMap tileTypeMap, int avoidMask)
+    {
+        this.collisionMap = collisionMap;
+        this.tileTypeMap = tileTypeMap;
+        this.avoidMask = avoidMask;
+        for (int type = 0; type < 16; type++) {
+            badTile[type] = (avoidMask & (1 << type)) != 0;
+        }
+        ByteBuffer buffer = Shipped.BUFFER;
+        this.mapped = buffer != null && matches(buffer, collisionMap, tileTypeMap, avoidMask) ? buffer : null;
+    }
+
+    /**
+     * Field for a set of avoided tile types, shared by every search avoiding the same set.
+     *
+     * @param collisionMap the global collision map
+     * @param tileTypeMap the global tile type map
+     * @param avoidTypes tile types to measure the distance to
+     */
+    public static ClearanceField forAvoidTypes(CollisionMap collisionMap, TileTypeMap tileTypeMap, byte[] avoidTypes)
+    {
+        return fields.computeIfAbsent(mask(avoidTypes), mask -> new ClearanceField(collisionMap, tileTypeMap, mask));
+    }
+
+    static int mask(byte[] avoidTypes)
+    {
+        int mask = 0;
+        for (byte type : avoidTypes) {
+            mask |= 1 << (type & 15);
+        }
+        return mask;
+    }
+
+    /**
+     * Same packing as {@link BoatPathing#calculateCombinedProximity}:
+     * {@code (collisionDist << 16) | badWaterDist}
+     *
+     * @return proximity of the tile, or {@link #UNCOVERED} if it must be scanned instead
+     */
+    public int get(int x, int y, int plane)
+    {
+        // keep the margin inside the map so the window never wraps
+        if (x < 64 || y < 64 || x >= 8192 - 64 || y >= 32768 - 64 || plane < 0 || plane > 3) {
+            return UNCOVERED;
+        }
+        int key = key(x, y, plane);
+        int tile = (x & 63) | (y & 63) << 6;
+        int value;
+        int record = mapped == null ? -1 : mapped.getInt(HEADER_BYTES + key * 4);
+        if (record >= 0) {
+            value = mapped.get(HEADER_BYTES + REGION_KEYS * 4 + record * REGION_TILES + tile) & 0xFF;
+        } else {
+            value = regions.computeIfAbsent(key, k -> build(collisionMap, tileTypeMap, badTile, x & ~63, y & ~63, plane))[tile] & 0xFF;
+        }
+        int collisionDist = value & 15;
+        if (collisionDist == 0) {
+            return UNCOVERED;
+        }
+        return collisionDist << 16 | value >>> 4;
+    }
+
+    int getAvoidMask()
+    {
+        return avoidMask;
+    }
+
+    static int key(int x, int y, int plane)
+    {
+        return (x >>> 6) | (y >>> 6) << 7 | plane << 16;
+    }
+
+    /**
+     * Computes one region of the field.
+     *
+     * @param regionX west edge of the region, a multiple of 64
+     * @param regionY south edge of the region, a multiple of 64
+     * @return 4096 tile bytes in {@code x | y << 6} order
+     */
+    static byte[] build(CollisionMap collisionMap, TileTypeMap tileTypeMap, boolean[] badTile, int regionX, int regionY, int plane)
+    {
+        int[] blocked = new int[WINDOW * WINDOW];
+        int[] bad = new int[WINDOW * WINDOW];
+        byte p = (byte) plane;
+        for (int wy = 0, i = 0; wy < WINDOW; wy++) {
+            int y = regionY - MARGIN + wy;
+            for (int wx = 0; wx < WINDOW; wx++, i++) {
+                int x = regionX - MARGIN + wx;
+                blocked[i] = collisionMap.walkable((short) x, (short) y, p) ? FAR : 0;
+                bad[i] = badTile[tileTypeMap.getTileType(x, y, plane) & 0xFF] ? 0 : FAR;
+            }
+        }
+        chebyshev(blocked);
+        chebyshev(bad);
+
+        byte[] region = new byte[REGION_TILES];
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                int i = (y + MARGIN) * WINDOW + x + MARGIN;
+                int collisionDist = Math.min(blocked[i], BoatPathing.MAX_PROXIMITY_SCAN + 1);
+                int badWaterDist = bad[i] <= BoatPathing.BAD_WATER_BUFFER_RADIUS ? bad[i] : 0;
+                region[x | y << 6] = (byte) (collisionDist | badWaterDist << 4);
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Two pass chamfer transform with unit weights for all 8 neighbours, which is exact for
+     * Chebyshev distance. Sources hold 0, everything else {@link #FAR}.
+     */
+    private static void chebyshev(int[] d)
+    {
+        for (int y = 0, i = 0; y < WINDOW; y++) {
+            for (int x = 0; x < WINDOW; x++, i++) {
+                int v = d[i];
+                if (x > 0) v = Math.min(v, d[i - 1] + 1);
+                if (y > 0) {
+                    v = Math.min(v, d[i - WINDOW] + 1);
+                    if (x > 0) v = Math.min(v, d[i - WINDOW - 1] + 1);
+                    if (x < WINDOW - 1) v = Math.min(v, d[i - WINDOW + 1] + 1);
+                }
+                d[i] = v;
+            }
+        }
+        for (int y = WINDOW - 1, i = WINDOW * WINDOW - 1; y >= 0; y--) {
+            for (int x = WINDOW - 1; x >= 0; x--, i--) {
+                int v = d[i];
+                if (x < WINDOW - 1) v = Math.min(v, d[i + 1] + 1);
+                if (y < WINDOW - 1) {
+                    v = Math.min(v, d[i + WINDOW] + 1);
+                    if (x < WINDOW - 1) v = Math.min(v, d[i + WINDOW + 1] + 1);
+                    if (x > 0) v = Math.min(v, d[i + WINDOW - 1] + 1);
+                }
+                d[i] = v;
+            }
+        }
+    }
+
+    private static boolean matches(ByteBuffer buffer, CollisionMap collisionMap, TileTypeMap tileTypeMap, int avoidMask)
+    {
+        return collisionMap instanceof GlobalCollisionMap
+                && buffer.getInt(8) == ((GlobalCollisionMap) collisionMap).blockedCount()
+                && buffer.getInt(12) == tileTypeMap.fingerprint()
+                && buffer.getInt(16) == avoidMask;
+    }
+
+    /**
+     * Maps clearance.dat from the Vitalite directory, extracting it from the pathfinder
+     * resources first if it is missing or differs from the bundled one
+     *
+     * @return the mapped file, or null if none was generated
+     * @throws IOException if the file can't be extracted or is corrupt
+     */
+    static ByteBuffer load() throws IOException
+    {
+        Path file = Static.VITA_DIR.resolve(FILE);
+        try (InputStream is = Walker.class.getResourceAsStream(FILE)) {
+            if (is == null) {
+                return null;
+            }
+            DataInputStream in = new DataInputStream(is);
+            byte[] header = new byte[HEADER_BYTES];
+            in.readFully(header);
+            if (!sameHeader(file, header)) {
+                Files.createDirectories(file.getParent());
+                Path temp = Files.createTempFile(file.getParent(), FILE, ".tmp");
+                try {
+                    Files.write(temp, header);
+                    try (var out = Files.newOutputStream(temp, StandardOpenOption.APPEND)) {
+                        in.transferTo(out);
+                    }
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                Logger.info("[Pathfinder] Extracted " + FILE);
+            }
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported clearance field format");
+        }
+        if (buffer.capacity() != HEADER_BYTES + REGION_KEYS * 4L + (long) buffer.getInt(20) * REGION_TILES) {
+            throw new IOException("Truncated clearance field");
+        }
+        return buffer;
+    }
+
+    private static boolean sameHeader(Path file, byte[] header) throws IOException
+    {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] existing = in.readNBytes(HEADER_BYTES);
+            if (existing.length != HEADER_BYTES) {
+                return false;
+            }
+            for (int i = 0; i < HEADER_BYTES; i++) {
+                if (existing[i] != header[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The shipped file, mapped the first time a field is created
+     */
+    private static final class Shipped
+    {
+        static final ByteBuffer BUFFER = loadQuietly();
+
+        private static ByteBuffer loadQuietly()
+        {
+            try {
+                return load();
+            } catch (IOException e) {
+                // regions are built on demand without it
+                Logger.warn("[Pathfinder] Failed to load clearance field: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.tonic.services.pathfinder.sailing;
+
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.tiletype.TileType;
+import com.tonic.services.pathfinder.tiletype.TileTypeMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+
+/**
+ * Offline tool that precomputes the {@link ClearanceField} of every region with typed (water)
+ * tiles and writes clearance.dat. Every tile written is checked against
+ * {@link BoatPathing#calculateCombinedProximity}, and the tool fails without writing if any
+ * differ. Rerun it whenever map.dat or tile_type.dat is regenerated; a stale file is detected
+ * at load time and ignored.
+ *
+ * The avoided types default to every hazardous type, what a boat without resistances avoids.
+ * A field for another set of types is built on demand at runtime instead.
+ *
+ * <pre>
+ * java ... ClearanceFieldGenerator path/to/map.dat path/to/tile_type.dat path/to/clearance.dat [type...]
+ * </pre>
+ */
+public class ClearanceFieldGenerator
+{
+    private static final byte[] DEFAULT_AVOID_TYPES = {
+            TileType.F_CRANDOR_SMEGMA_WATER, TileType.F_TEMPOR_STORM_WATER, TileType.F_DISEASE_WATER,
+            TileType.F_KELP_WATER, TileType.F_SUNBAKED_WATER, TileType.F_JAGGED_REEFS_WATER,
+            TileType.F_SHARP_CRYSTAL_WATER, TileType.F_ICE_WATER, TileType.F_NE_PURPLE_GRAY_WATER,
+            TileType.F_NW_GRAY_WATER, TileType.F_SE_PURPLE_WATER
+    };
+
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length < 3) {
+            System.err.println("Usage: ClearanceFieldGenerator <map.dat> <tile_type.dat> <clearance.dat> [type...]");
+            System.exit(1);
+        }
+
+        GlobalCollisionMap map = GlobalCollisionMap.load(args[0]);
+        TileTypeMap types = TileTypeMap.load(args[1]);
+        if (map == null || types == null) {
+            System.err.println("Could not load " + (map == null ? args[0] : args[1]));
+            System.exit(1);
+        }
+
+        byte[] avoidTypes = DEFAULT_AVOID_TYPES;
+        if (args.length > 3) {
+            avoidTypes = new byte[args.length - 3];
+            for (int i = 3; i < args.length; i++) {
+                avoidTypes[i - 3] = Byte.parseByte(args[i]);
+            }
+        }
+        int avoidMask = ClearanceField.mask(avoidTypes);
+        boolean[] badTile = new boolean[256];
+        for (byte type : avoidTypes) {
+            badTile[type & 0xFF] = true;
+        }
+
+        long start = System.currentTimeMillis();
+        IntOpenHashSet keys = new IntOpenHashSet();
+        for (int index = types.nextTyped(0); index >= 0; ) {
+            int x = index & 8191;
+            int y = (index >>> 13) & 32767;
+            int plane = index >>> 28;
+            if (x >= 64 && y >= 64 && x < 8192 - 64 && y < 32768 - 64) {
+                keys.add(ClearanceField.key(x, y, plane));
+            }
+            // skip the rest of this region's row, x is the low field so the carry moves to the next row
+            index = types.nextTyped((index | 63) + 1);
+        }
+        int[] sorted = keys.toIntArray();
+        Arrays.sort(sorted);
+        System.out.println("Found " + sorted.length + " regions with typed tiles");
+
+        int[] regionIndex = new int[ClearanceField.REGION_KEYS];
+        Arrays.fill(regionIndex, -1);
+        byte[][] records = new byte[sorted.length][];
+        int record = 0;
+        long checked = 0;
+        for (int key : sorted) {
+            int regionX = (key & 127) << 6;
+            int regionY = ((key >>> 7) & 511) << 6;
+            int plane = key >>> 16;
+            byte[] region = ClearanceField.build(map, types, badTile, regionX, regionY, plane);
+            checked += verify(map, types, badTile, region, regionX, regionY, plane);
+            regionIndex[key] = record;
+            records[record++] = region;
+        }
+        System.out.println("Built and verified " + checked + " tiles in " + (System.currentTimeMillis() - start) + "ms");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(args[2])))) {
+            out.writeInt(ClearanceField.MAGIC);
+            out.writeInt(ClearanceField.VERSION);
+            out.writeInt(map.blockedCount());
+            out.writeInt(types.fingerprint());
+            out.writeInt(avoidMask);
+            out.writeInt(records.length);
+            for (int i : regionIndex) {
+                out.writeInt(i);
+            }
+            for (byte[] region : records) {
+                out.write(region);
+            }
+        }
+        System.out.println("Wrote " + args[2]);
+    }
+
+    /**
+     * Compares a region against the spiral scan the boat searches used before
+     *
+     * @return number of tiles compared
+     */
+    private static int verify(GlobalCollisionMap map, TileTypeMap types, boolean[] badTile, byte[] region, int regionX, int regionY, int plane)
+    {
+        int checked = 0;
+        for (int y = regionY; y < regionY + 64; y++) {
+            for (int x = regionX; x < regionX + 64; x++) {
+                int value = region[(x & 63) | (y & 63) << 6] & 0xFF;
+                if ((value & 15) == 0) {
+                    // blocked, always scanned
+                    continue;
+                }
+                int expected = BoatPathing.calculateCombinedProximity(map, types, badTile, x, y, plane);
+                int actual = (value & 15) << 16 | value >>> 4;
+                // the bad water distance of a hazardous tile itself is never used
+                if (badTile[types.getTileType(x, y, plane) & 0xFF]) {
+                    expected &= ~0xFFFF;
+                    actual &= ~0xFFFF;
+                }
+                if (expected != actual) {
+                    throw new IllegalStateException("Clearance mismatch at " + x + "," + y + "," + plane
+                            + ": field " + Integer.toHexString(actual) + ", scan " + Integer.toHexString(expected));
+                }
+                checked++;
+            }
+        }
+        return checked;
+    }
+}
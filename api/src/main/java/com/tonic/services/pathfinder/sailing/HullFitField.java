@@ -0,0 +1,206 @@
+package com.tonic.services.pathfinder.sailing;
+
+import com.tonic.services.pathfinder.collision.CollisionMap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configuration space of one rotated hull footprint: one bit per tile saying whether the hull,
+ * centered on that tile, clears every blocked tile on plane 0. A boat search then checks fit
+ * with a single bit test instead of testing each hull offset against the collision map.
+ *
+ * Bits are kept per 64x64 region as one long per row and built on first use by eroding the
+ * walkable tiles with the footprint, which is the same as dilating the blocked tiles with it:
+ * each distinct offset ANDs a shifted window of walkable rows into the region, 64 tiles per
+ * operation.
+ *
+ * Fields are shared by footprint, not by boat or heading. A footprint is the set of offsets the
+ * hull covers in one heading, so a {@link BoatHullCache} built for another current heading, or
+ * for another boat of the same shape, reuses whatever regions were already built. When the hull
+ * changes only the headings whose footprint is new start from empty, and they too only build the
+ * regions a search reaches.
+ */
+final class HullFitField
+{
+    // furthest offset from the boat center the region windows allow for
+    private static final int MAX_EXTENT = 32;
+    // footprints kept before the cache is dropped, 8 headings of a few hulls
+    private static final int MAX_FIELDS = 64;
+
+    private static final Map<Footprint, HullFitField> fields = new ConcurrentHashMap<>();
+
+    private final CollisionMap collisionMap;
+    private final Footprint footprint;
+    private final boolean supported;
+    private final Map<Integer, long[]> regions = new ConcurrentHashMap<>();
+
+    private HullFitField(CollisionMap collisionMap, Footprint footprint)
+    {
+        this.collisionMap = collisionMap;
+        this.footprint = footprint;
+        this.supported = footprint.minX >= -MAX_EXTENT && footprint.maxX <= MAX_EXTENT
+                && footprint.minY >= -MAX_EXTENT && footprint.maxY <= MAX_EXTENT;
+    }
+
+    /**
+     * Field for a hull footprint, shared with every hull covering the same offsets
+     *
+     * @param collisionMap the global collision map
+     * @param xOffsets x offset of each hull tile from the boat center
+     * @param yOffsets y offset of each hull tile from the boat center
+     */
+    static HullFitField forFootprint(CollisionMap collisionMap, int[] xOffsets, int[] yOffsets)
+    {
+        Footprint footprint = new Footprint(xOffsets, yOffsets);
+        HullFitField field = fields.get(footprint);
+        if (field != null && field.collisionMap == collisionMap) {
+            return field;
+        }
+        if (fields.size() >= MAX_FIELDS) {
+            fields.clear();
+        }
+        field = new HullFitField(collisionMap, footprint);
+        fields.put(footprint, field);
+        return field;
+    }
+
+    /**
+     * @return true if the hull fits with its center on the tile
+     */
+    boolean fits(int x, int y)
+    {
+        // keep the region window inside the map so coordinates never wrap
+        if (!supported || x < 64 || y < 64 || x >= 8192 - 64 || y >= 32768 - 64) {
+            return fitsByOffsets(x, y);
+        }
+        int key = (x >>> 6) | (y >>> 6) << 7;
+        long[] rows = regions.computeIfAbsent(key, k -> build(x & ~63, y & ~63));
+        return (rows[y & 63] >>> (x & 63) & 1L) != 0;
+    }
+
+    /**
+     * Tests every hull offset against the collision map, what the bits are built to match
+     */
+    boolean fitsByOffsets(int x, int y)
+    {
+        int[] xs = footprint.xOffsets;
+        int[] ys = footprint.yOffsets;
+        for (int i = 0; i < xs.length; i++) {
+            if (!collisionMap.walkable((short) (x + xs[i]), (short) (y + ys[i]), (byte) 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the fit bits of one region
+     *
+     * @param regionX west edge of the region, a multiple of 64
+     * @param regionY south edge of the region, a multiple of 64
+     * @return 64 rows, bit x of row y set if the hull fits at {@code (regionX + x, regionY + y)}
+     */
+    private long[] build(int regionX, int regionY)
+    {
+        Footprint f = footprint;
+        // walkable bits of the window the footprint reaches, two longs per row
+        int windowX = regionX + f.minX;
+        int windowY = regionY + f.minY;
+        int width = 64 + f.maxX - f.minX;
+        int height = 64 + f.maxY - f.minY;
+        long[] low = new long[height];
+        long[] high = new long[height];
+        for (int wy = 0; wy < height; wy++) {
+            short y = (short) (windowY + wy);
+            long lo = 0;
+            long hi = 0;
+            for (int wx = 0; wx < width; wx++) {
+                if (collisionMap.walkable((short) (windowX + wx), y, (byte) 0)) {
+                    if (wx < 64) {
+                        lo |= 1L << wx;
+                    } else {
+                        hi |= 1L << (wx - 64);
+                    }
+                }
+            }
+            low[wy] = lo;
+            high[wy] = hi;
+        }
+
+        long[] rows = new long[64];
+        Arrays.fill(rows, -1L);
+        for (int i = 0; i < f.xOffsets.length; i++) {
+            int shift = f.xOffsets[i] - f.minX;
+            int rowOffset = f.yOffsets[i] - f.minY;
+            for (int y = 0; y < 64; y++) {
+                long lo = low[y + rowOffset];
+                long hi = high[y + rowOffset];
+                // bit x of the shifted row is tile regionX + x + xOffset
+                long walkable = shift == 0 ? lo : shift == 64 ? hi : lo >>> shift | hi << (64 - shift);
+                rows[y] &= walkable;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Distinct offsets of a hull in one heading, in a canonical order so equal footprints
+     * compare equal whatever order the hull tiles came in
+     */
+    private static final class Footprint
+    {
+        final int[] xOffsets;
+        final int[] yOffsets;
+        final int minX, maxX, minY, maxY;
+        private final long[] packed;
+        private final int hash;
+
+        Footprint(int[] xs, int[] ys)
+        {
+            long[] all = new long[xs.length];
+            for (int i = 0; i < xs.length; i++) {
+                all[i] = (long) ys[i] << 32 | (xs[i] & 0xFFFFFFFFL);
+            }
+            Arrays.sort(all);
+            int n = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (n == 0 || all[i] != all[n - 1]) {
+                    all[n++] = all[i];
+                }
+            }
+            this.packed = Arrays.copyOf(all, n);
+            this.hash = Arrays.hashCode(packed);
+            this.xOffsets = new int[n];
+            this.yOffsets = new int[n];
+            int minX = 0, maxX = 0, minY = 0, maxY = 0;
+            for (int i = 0; i < n; i++) {
+                int x = (int) packed[i];
+                int y = (int) (packed[i] >> 32);
+                xOffsets[i] = x;
+                yOffsets[i] = y;
+                minX = Math.min(minX, x);
+                maxX = Math.max(maxX, x);
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
+            }
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minY = minY;
+            this.maxY = maxY;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof Footprint && Arrays.equals(packed, ((Footprint) o).packed);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
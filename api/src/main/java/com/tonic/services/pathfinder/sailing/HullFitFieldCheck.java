@@ -0,0 +1,156 @@
+package com.tonic.services.pathfinder.sailing;
+
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+
+import java.util.Random;
+
+/**
+ * Offline equivalence check of {@link HullFitField#fits} against the per-offset check it
+ * replaces. Random hulls are tested on every tile of an area, either of a random map or of a
+ * map.dat, and the tool fails on the first tile where the two disagree.
+ *
+ * Every fifth hull reaches past the region window, which exercises the per-offset fallback.
+ *
+ * <pre>
+ * java ... HullFitFieldCheck [hulls] [seed] [map.dat x y]
+ * </pre>
+ */
+public final class HullFitFieldCheck
+{
+    private static final int AREA = 400;
+    // checked past the area edges, where the windows straddle blocked tiles outside it
+    private static final int MARGIN = 48;
+    private static final int RANDOM_ORIGIN = 3008;
+
+    private HullFitFieldCheck()
+    {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length != 0 && args.length != 2 && args.length != 5) {
+            System.err.println("Usage: HullFitFieldCheck [hulls] [seed] [map.dat x y]");
+            System.exit(1);
+        }
+        int hulls = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        Random random = new Random(seed);
+
+        CollisionMap map;
+        int originX;
+        int originY;
+        if (args.length == 5) {
+            map = GlobalCollisionMap.load(args[2]);
+            originX = Integer.parseInt(args[3]);
+            originY = Integer.parseInt(args[4]);
+        } else {
+            map = new RandomMap(random, RANDOM_ORIGIN, RANDOM_ORIGIN);
+            originX = RANDOM_ORIGIN;
+            originY = RANDOM_ORIGIN;
+        }
+
+        long checked = 0;
+        int fitting = 0;
+        for (int h = 0; h < hulls; h++) {
+            int[][] hull = randomHull(random, h % 5 == 4);
+            HullFitField field = HullFitField.forFootprint(map, hull[0], hull[1]);
+            for (int y = originY - MARGIN; y < originY + AREA + MARGIN; y++) {
+                for (int x = originX - MARGIN; x < originX + AREA + MARGIN; x++) {
+                    boolean expected = field.fitsByOffsets(x, y);
+                    if (field.fits(x, y) != expected) {
+                        throw new IllegalStateException("Hull " + h + " disagrees at " + x + ", " + y
+                                + ": per-offset check says " + expected);
+                    }
+                    if (expected) {
+                        fitting++;
+                    }
+                    checked++;
+                }
+            }
+        }
+        System.out.println("Checked " + checked + " tiles for " + hulls + " hulls, " + fitting + " fits, no mismatches");
+    }
+
+    /**
+     * @return x offsets and y offsets of a hull centered near the origin
+     */
+    private static int[][] randomHull(Random random, boolean oversized)
+    {
+        int radius = 1 + random.nextInt(8);
+        int size = 1 + random.nextInt(40);
+        int[] xs = new int[size];
+        int[] ys = new int[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = random.nextInt(radius * 2 + 1) - radius;
+            ys[i] = random.nextInt(radius * 2 + 1) - radius;
+        }
+        if (oversized) {
+            xs[0] = 40;
+        }
+        return new int[][]{xs, ys};
+    }
+
+    /**
+     * Plane 0 area with scattered blocked tiles and blocked rectangles, blocked everywhere else
+     */
+    private static final class RandomMap implements CollisionMap
+    {
+        private final int originX;
+        private final int originY;
+        private final boolean[] walkable = new boolean[AREA * AREA];
+
+        RandomMap(Random random, int originX, int originY)
+        {
+            this.originX = originX;
+            this.originY = originY;
+            for (int i = 0; i < walkable.length; i++) {
+                walkable[i] = random.nextInt(100) >= 3;
+            }
+            for (int r = 0; r < 60; r++) {
+                int x0 = random.nextInt(AREA);
+                int y0 = random.nextInt(AREA);
+                int width = 1 + random.nextInt(20);
+                int height = 1 + random.nextInt(20);
+                for (int y = y0; y < Math.min(AREA, y0 + height); y++) {
+                    for (int x = x0; x < Math.min(AREA, x0 + width); x++) {
+                        walkable[y * AREA + x] = false;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean walkable(int packed)
+        {
+            return walkable((short) (packed & 0x3FFF), (short) ((packed >>> 14) & 0x7FFF), (byte) (packed >>> 29));
+        }
+
+        @Override
+        public boolean walkable(short x, short y, byte z)
+        {
+            int ax = x - originX;
+            int ay = y - originY;
+            return z == 0 && ax >= 0 && ay >= 0 && ax < AREA && ay < AREA && walkable[ay * AREA + ax];
+        }
+
+        @Override
+        public byte all(short x, short y, byte z)
+        {
+            return walkable(x, y, z) ? (byte) -1 : 0;
+        }
+
+        @Override
+        public byte n(short x, short y, byte z)
+        {
+            return (byte) (walkable(x, y, z) && walkable(x, (short) (y + 1), z) ? 1 : 0);
+        }
+
+        @Override
+        public byte e(short x, short y, byte z)
+        {
+            return (byte) (walkable(x, y, z) && walkable((short) (x + 1), y, z) ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.tonic.services.pathfinder.sailing;
+
+import com.tonic.api.game.sailing.SailingAPI;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.tiletype.TileType;
+import com.tonic.services.pathfinder.tiletype.TileTypeMap;
+import com.tonic.util.WorldPointUtil;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import net.runelite.api.WorldEntity;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Everything a boat path search reads, captured once on the client thread so the search
+ * itself can run on any thread.
+ *
+ * The boat hull and heading, the validated target and the hazardous tile types depend on
+ * live client state and are copied here. The collision and tile type maps are the global
+ * ones loaded at startup and never written afterwards, so they are shared rather than copied.
+ * Nothing in a snapshot changes after capture; each search keeps its own scores and caches.
+ */
+final class SeaSnapshot
+{
+    final CollisionMap collisionMap;
+    final TileTypeMap tileTypeMap;
+    final BoatHullCache hull;
+    final WorldPoint start;
+    // target as requested, used to pick the nearest graph node
+    final WorldPoint target;
+    // nearest position the boat fits at, what the tile searches aim for
+    final WorldPoint adjustedTarget;
+    final byte[] avoidTypes;
+    final IntOpenHashSet avoidTiles;
+    // indexed by tile type & 0xFF
+    final boolean[] badTile = new boolean[256];
+    final ClearanceField clearance;
+
+    private SeaSnapshot(CollisionMap collisionMap, TileTypeMap tileTypeMap, BoatHullCache hull,
+                        WorldPoint start, WorldPoint target, WorldPoint adjustedTarget,
+                        byte[] avoidTypes, IntOpenHashSet avoidTiles)
+    {
+        this.collisionMap = collisionMap;
+        this.tileTypeMap = tileTypeMap;
+        this.hull = hull;
+        this.start = start;
+        this.target = target;
+        this.adjustedTarget = adjustedTarget;
+        this.avoidTypes = avoidTypes;
+        this.avoidTiles = avoidTiles;
+        for (byte b : avoidTypes) {
+            badTile[b & 0xFF] = true;
+        }
+        this.clearance = ClearanceField.forAvoidTypes(collisionMap, tileTypeMap, avoidTypes);
+    }
+
+    /**
+     * Captures the state for a search from the player's boat. Must run on the client thread.
+     *
+     * @param start boat position
+     * @param target destination
+     * @param avoidTiles tiles to steer clear of, copied, may be null
+     * @return snapshot, or null if there is no boat or it can't fit anywhere near the target
+     */
+    static SeaSnapshot capture(WorldPoint start, WorldPoint target, IntOpenHashSet avoidTiles)
+    {
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null || start == null) {
+            return null;
+        }
+
+        // If the boat can't fit at the target, aim for the nearest position it can
+        WorldPoint validTarget = BoatCollisionAPI.findNearestValidPlayerBoatPosition(target, 10);
+        if (validTarget == null) {
+            return null;
+        }
+
+        BoatHullCache hull = captureHull(start, collisionMap);
+        if (hull == null) {
+            return null;
+        }
+
+        return new SeaSnapshot(collisionMap, Walker.getTileTypeMap(), hull, start, target, validTarget,
+                TileType.getAvoidTileTypes(), avoidTiles == null ? null : new IntOpenHashSet(avoidTiles));
+    }
+
+    /**
+     * Extracts the hull as offsets from the boat center, with rotations pre-computed.
+     * NOTE: Gets boat fresh from client since WorldEntity doesn't survive Static.invoke boundary
+     */
+    private static BoatHullCache captureHull(WorldPoint boatCenter, CollisionMap collisionMap)
+    {
+        WorldEntity boat = BoatCollisionAPI.getPlayerBoat();
+        if (boat == null) {
+            System.out.println("SailPathing: No player boat found");
+            return null;
+        }
+
+        IntArrayList hull = new IntArrayList();
+        if (BoatCollisionAPI.getPlayerBoatCollisionPacked(hull) == 0) {
+            System.out.println("SailPathing: Empty boat hull (0 tiles)");
+            return null;
+        }
+
+        int currentHeading = SailingAPI.getHeadingValue();
+        if (currentHeading == -1) {
+            System.out.println("SailPathing: Not on boat (headingValue=-1)");
+            return null;
+        }
+
+        int[] xOffsets = new int[hull.size()];
+        int[] yOffsets = new int[hull.size()];
+        for (int i = 0; i < hull.size(); i++) {
+            int hullTile = hull.getInt(i);
+            xOffsets[i] = WorldPointUtil.getCompressedX(hullTile) - boatCenter.getX();
+            yOffsets[i] = WorldPointUtil.getCompressedY(hullTile) - boatCenter.getY();
+        }
+
+        return new BoatHullCache(xOffsets, yOffsets, currentHeading, collisionMap);
+    }
+
+    /**
+     * @return true if the tile type is one this boat should avoid
+     */
+    boolean isBadTile(byte tileType)
+    {
+        return badTile[tileType & 0xFF];
+    }
+}
@@ -1,12 +1,13 @@
 package com.tonic.services.pathfinder.sailing.graph;
 
-import com.tonic.services.pathfinder.collision.SparseBitSet;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.longs.Long2ShortOpenHashMap;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
 
 /**
  * Navigation graph for high-level boat pathfinding.
@@ -15,22 +16,44 @@ import java.io.InputStream;
  * The graph contains sparse nodes placed throughout navigable waters,
  * with edges connecting nearby nodes. Each edge stores a bitmask of
  * tile types it traverses, allowing water type avoidance.
+ *
+ * Stored in the compressed sparse row layout described in {@link NavGraphCsr},
+ * memory-mapped from graph.csr when it was converted from the current graph.dat,
+ * otherwise built on the heap from graph.dat. Nodes and rows are found by binary
+ * search over sorted coordinates; searches can walk rows by index instead
+ * (see {@link #rowOf}, {@link #firstEdge}) and keep their state in arrays.
  */
 public class NavGraph {
-    private final SparseBitSet nodeSet;
-    private final Int2ObjectOpenHashMap<IntList> adjacencyList;
-    private final Long2ShortOpenHashMap edgeMasks;
+    static final String GRAPH_RESOURCE = "/com/tonic/services/pathfinder/graph.dat";
+
+    private final ByteBuffer buffer;
+    private final int nodeCount;
+    private final int rowCount;
+    private final int edgeCount;
+    private final int nodesBase;
+    private final int rowsBase;
+    private final int offsetsBase;
+    private final int targetsBase;
+    private final int masksBase;
 
     /**
-     * Creates a NavGraph with the given data structures.
+     * Creates a NavGraph over a CSR buffer.
      * Use NavGraphLoader to construct instances.
+     *
+     * @throws IOException if the buffer is not a complete CSR graph
      */
-    NavGraph(SparseBitSet nodeSet,
-             Int2ObjectOpenHashMap<IntList> adjacencyList,
-             Long2ShortOpenHashMap edgeMasks) {
-        this.nodeSet = nodeSet;
-        this.adjacencyList = adjacencyList;
-        this.edgeMasks = edgeMasks;
+    NavGraph(ByteBuffer buffer) throws IOException {
+        NavGraphCsr.validate(buffer);
+        this.buffer = buffer;
+        this.nodeCount = buffer.getInt(12);
+        this.rowCount = buffer.getInt(16);
+        int adjacencyCount = buffer.getInt(20);
+        this.edgeCount = buffer.getInt(24);
+        this.nodesBase = NavGraphCsr.HEADER_BYTES;
+        this.rowsBase = nodesBase + nodeCount * 4;
+        this.offsetsBase = rowsBase + rowCount * 4;
+        this.targetsBase = offsetsBase + (rowCount + 1) * 4;
+        this.masksBase = targetsBase + adjacencyCount * 4;
     }
 
     /**
@@ -41,13 +64,22 @@ public class NavGraph {
      */
     public static NavGraph load() {
         try {
-            InputStream is = NavGraph.class.getResourceAsStream("/com/tonic/services/pathfinder/graph.dat");
-            if (is != null) {
-                return NavGraphLoader.load(is);
-            } else {
-                System.err.println("NavGraph: graph.dat not found in resources");
-                return null;
+            byte[] source;
+            try (InputStream is = NavGraph.class.getResourceAsStream(GRAPH_RESOURCE)) {
+                if (is == null) {
+                    System.err.println("NavGraph: graph.dat not found in resources");
+                    return null;
+                }
+                source = is.readAllBytes();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(source);
+
+            NavGraph mapped = NavGraphLoader.loadMapped((int) crc.getValue());
+            if (mapped != null) {
+                return mapped;
             }
+            return NavGraphLoader.load(new ByteArrayInputStream(source));
         } catch (Exception e) {
             System.err.println("NavGraph: Failed to load graph: " + e.getMessage());
             return null;
@@ -58,7 +90,7 @@ public class NavGraph {
      * Checks if a node exists at the given packed coordinates.
      */
     public boolean hasNode(int packed) {
-        return nodeSet.get(packed);
+        return search(nodesBase, nodeCount, packed) >= 0;
     }
 
     /**
@@ -68,8 +100,16 @@ public class NavGraph {
      * @return List of neighbor packed coordinates, or empty list if node doesn't exist
      */
     public IntList getNeighbors(int packed) {
-        IntList neighbors = adjacencyList.get(packed);
-        return neighbors != null ? neighbors : IntArrayList.of();
+        int row = rowOf(packed);
+        if (row < 0) {
+            return IntArrayList.of();
+        }
+        int end = firstEdge(row + 1);
+        IntArrayList neighbors = new IntArrayList(end - firstEdge(row));
+        for (int edge = firstEdge(row); edge < end; edge++) {
+            neighbors.add(edgeTarget(edge));
+        }
+        return neighbors;
     }
 
     /**
@@ -80,8 +120,16 @@ public class NavGraph {
      * @return Bitmask of tile types on this edge (0 if edge doesn't exist)
      */
     public short getEdgeMask(int fromPacked, int toPacked) {
-        long edgeKey = GraphNode.edgeKey(fromPacked, toPacked);
-        return edgeMasks.getOrDefault(edgeKey, (short) 0);
+        int row = rowOf(fromPacked);
+        if (row < 0) {
+            return 0;
+        }
+        for (int edge = firstEdge(row), end = firstEdge(row + 1); edge < end; edge++) {
+            if (edgeTarget(edge) == toPacked) {
+                return edgeMask(edge);
+            }
+        }
+        return 0;
     }
 
     /**
@@ -94,33 +142,43 @@ public class NavGraph {
      * @return true if the edge can be traversed, false otherwise
      */
     public boolean isEdgeTraversable(int fromPacked, int toPacked, byte[] avoidTypes) {
-        short mask = getEdgeMask(fromPacked, toPacked);
-        if (mask == 0) {
-            return true; // No tile types or edge doesn't exist
-        }
+        return isTraversable(getEdgeMask(fromPacked, toPacked), avoidMask(avoidTypes));
+    }
 
+    /**
+     * Converts avoid types to the edge mask bits they block, for {@link #isTraversable}.
+     */
+    public static int avoidMask(byte[] avoidTypes) {
+        int mask = 0;
         for (byte bad : avoidTypes) {
             if (bad >= 1 && bad <= 16) {
-                if ((mask & (1 << (bad - 1))) != 0) {
-                    return false; // Edge crosses a bad water type
-                }
+                mask |= 1 << (bad - 1);
             }
         }
-        return true;
+        return mask;
+    }
+
+    /**
+     * @param edgeMask Tile type mask of an edge
+     * @param avoidMask Blocked bits from {@link #avoidMask}
+     * @return true if the edge crosses none of the avoided tile types
+     */
+    public static boolean isTraversable(short edgeMask, int avoidMask) {
+        return (edgeMask & avoidMask) == 0;
     }
 
     /**
      * Gets the total number of nodes in the graph.
      */
     public int getNodeCount() {
-        return nodeSet.cardinality();
+        return nodeCount;
     }
 
     /**
      * Gets the total number of edges in the graph.
      */
     public int getEdgeCount() {
-        return edgeMasks.size();
+        return edgeCount;
     }
 
     /**
@@ -128,6 +186,86 @@ public class NavGraph {
      * Use: for (int node = getNextNode(0); node >= 0; node = getNextNode(node + 1))
      */
     public int getNextNode(int fromIndex) {
-        return nodeSet.nextSetBit(fromIndex);
+        int i = search(nodesBase, nodeCount, fromIndex);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return i < nodeCount ? buffer.getInt(nodesBase + i * 4) : -1;
+    }
+
+    /**
+     * Gets the number of adjacency rows, one per tile with at least one edge.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Finds the adjacency row of a tile.
+     *
+     * @param packed The packed coordinates of the tile
+     * @return Row index, or -1 if no edge touches the tile
+     */
+    public int rowOf(int packed) {
+        int row = search(rowsBase, rowCount, packed);
+        return row >= 0 ? row : -1;
+    }
+
+    /**
+     * @return Packed coordinates of the tile a row belongs to
+     */
+    public int rowNode(int row) {
+        return buffer.getInt(rowsBase + row * 4);
+    }
+
+    /**
+     * First adjacency entry of a row; the row ends where the next one starts,
+     * so {@code firstEdge(row + 1)} is its end.
+     */
+    public int firstEdge(int row) {
+        return buffer.getInt(offsetsBase + row * 4);
+    }
+
+    /**
+     * @return Row of the node an adjacency entry leads to
+     */
+    public int edgeTargetRow(int edge) {
+        return buffer.getInt(targetsBase + edge * 4);
+    }
+
+    /**
+     * @return Packed coordinates of the node an adjacency entry leads to
+     */
+    public int edgeTarget(int edge) {
+        return rowNode(edgeTargetRow(edge));
+    }
+
+    /**
+     * @return Tile type mask of an adjacency entry's edge
+     */
+    public short edgeMask(int edge) {
+        return buffer.getShort(masksBase + edge * 2);
+    }
+
+    /**
+     * Binary search over a sorted int section.
+     *
+     * @return Index of the key, or (-(insertion point) - 1)
+     */
+    private int search(int base, int count, int key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = buffer.getInt(base + mid * 4);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
     }
 }
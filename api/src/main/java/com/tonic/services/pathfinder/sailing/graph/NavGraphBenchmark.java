@@ -0,0 +1,237 @@
+package com.tonic.services.pathfinder.sailing.graph;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ShortOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Offline comparison of the hash map graph layout NavGraph used before against the CSR layout:
+ * load time, heap retained, and throughput of the node A* BoatPathing runs (Chebyshev edge
+ * costs, edges crossing avoided tile types skipped) between random node pairs. Both layouts
+ * must agree on every path cost.
+ *
+ * <pre>
+ * java ... NavGraphBenchmark path/to/graph.dat path/to/graph.csr [queries] [seed]
+ * </pre>
+ */
+public final class NavGraphBenchmark {
+    private static final int LOAD_ROUNDS = 20;
+    // every hazardous type, what a boat without resistances avoids
+    private static final int AVOID_MASK = NavGraph.avoidMask(new byte[]{2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+    private NavGraphBenchmark() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("Usage: NavGraphBenchmark <graph.dat> <graph.csr> [queries] [seed]");
+            System.exit(1);
+        }
+        byte[] file = Files.readAllBytes(Path.of(args[0]));
+        Path csrFile = Path.of(args[1]);
+        int queryCount = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        // load time, best of several rounds after the first warms up
+        long hashLoad = Long.MAX_VALUE;
+        long csrLoad = Long.MAX_VALUE;
+        long mappedLoad = Long.MAX_VALUE;
+        for (int i = 0; i < LOAD_ROUNDS; i++) {
+            long start = System.nanoTime();
+            HashGraph.build(NavGraphLoader.read(new ByteArrayInputStream(file)));
+            hashLoad = Math.min(hashLoad, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            buildCsr(file);
+            csrLoad = Math.min(csrLoad, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            new NavGraph(NavGraphLoader.map(csrFile));
+            mappedLoad = Math.min(mappedLoad, System.nanoTime() - start);
+        }
+
+        // heap retained by each layout
+        long before = usedHeap();
+        HashGraph hash = HashGraph.build(NavGraphLoader.read(new ByteArrayInputStream(file)));
+        long hashHeap = usedHeap() - before;
+        before = usedHeap();
+        NavGraph heapCsr = buildCsr(file);
+        long csrHeap = usedHeap() - before;
+        before = usedHeap();
+        NavGraph mapped = new NavGraph(NavGraphLoader.map(csrFile));
+        long mappedHeap = usedHeap() - before;
+
+        int[][] queries = queries(mapped, queryCount, new Random(seed));
+        // warmup
+        runHash(hash, queries);
+        runCsr(heapCsr, queries);
+        runCsr(mapped, queries);
+        long hashStart = System.nanoTime();
+        int[] hashCosts = runHash(hash, queries);
+        long hashNanos = System.nanoTime() - hashStart;
+        long csrStart = System.nanoTime();
+        int[] csrCosts = runCsr(heapCsr, queries);
+        long csrNanos = System.nanoTime() - csrStart;
+        long mappedStart = System.nanoTime();
+        int[] mappedCosts = runCsr(mapped, queries);
+        long mappedNanos = System.nanoTime() - mappedStart;
+        if (!Arrays.equals(hashCosts, csrCosts) || !Arrays.equals(csrCosts, mappedCosts)) {
+            throw new IllegalStateException("Layouts disagree on path costs");
+        }
+
+        System.out.printf("%-8s %12s %12s %14s%n", "layout", "load ms", "heap KB", "searches/s");
+        print("hash", hashLoad, hashHeap, queries.length, hashNanos);
+        print("csr", csrLoad, csrHeap, queries.length, csrNanos);
+        print("mapped", mappedLoad, mappedHeap, queries.length, mappedNanos);
+    }
+
+    private static NavGraph buildCsr(byte[] file) throws IOException {
+        NavGraphLoader.Source source = NavGraphLoader.read(new ByteArrayInputStream(file));
+        return new NavGraph(NavGraphCsr.build(source.crc, source.nodeSet, source.sources, source.targets, source.masks));
+    }
+
+    private static void print(String name, long loadNanos, long heapBytes, int searches, long searchNanos) {
+        System.out.printf("%-8s %12.3f %12d %14.0f%n", name, loadNanos / 1e6, heapBytes / 1024, searches / (searchNanos / 1e9));
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static int[][] queries(NavGraph graph, int count, Random random) {
+        int[] nodes = new int[graph.getRowCount()];
+        for (int row = 0; row < nodes.length; row++) {
+            nodes[row] = graph.rowNode(row);
+        }
+        int[][] queries = new int[count][];
+        for (int i = 0; i < count; i++) {
+            queries[i] = new int[]{nodes[random.nextInt(nodes.length)], nodes[random.nextInt(nodes.length)]};
+        }
+        return queries;
+    }
+
+    private static int[] runHash(HashGraph graph, int[][] queries) {
+        int[] costs = new int[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            costs[i] = graph.search(queries[i][0], queries[i][1]);
+        }
+        return costs;
+    }
+
+    private static int[] runCsr(NavGraph graph, int[][] queries) {
+        int[] costs = new int[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            costs[i] = searchCsr(graph, queries[i][0], queries[i][1]);
+        }
+        return costs;
+    }
+
+    /**
+     * Node A* over row indices with array state.
+     *
+     * @return Path cost, or -1 if the nodes are not connected
+     */
+    private static int searchCsr(NavGraph graph, int startNode, int endNode) {
+        int start = graph.rowOf(startNode);
+        int end = graph.rowOf(endNode);
+        if (start < 0 || end < 0) {
+            return startNode == endNode ? 0 : -1;
+        }
+        int[] g = new int[graph.getRowCount()];
+        boolean[] closed = new boolean[g.length];
+        Arrays.fill(g, Integer.MAX_VALUE);
+        LongHeapPriorityQueue open = new LongHeapPriorityQueue();
+        g[start] = 0;
+        open.enqueue((long) GraphNode.chebyshevDistance(startNode, endNode) << 32 | start);
+        while (!open.isEmpty()) {
+            int current = (int) open.dequeueLong();
+            if (closed[current]) continue;
+            closed[current] = true;
+            if (current == end) {
+                return g[current];
+            }
+            int currentNode = graph.rowNode(current);
+            for (int edge = graph.firstEdge(current), last = graph.firstEdge(current + 1); edge < last; edge++) {
+                if (!NavGraph.isTraversable(graph.edgeMask(edge), AVOID_MASK)) continue;
+                int neighbor = graph.edgeTargetRow(edge);
+                if (closed[neighbor]) continue;
+                int neighborNode = graph.rowNode(neighbor);
+                int tentative = g[current] + GraphNode.chebyshevDistance(currentNode, neighborNode);
+                if (tentative < g[neighbor]) {
+                    g[neighbor] = tentative;
+                    open.enqueue((long) (tentative + GraphNode.chebyshevDistance(neighborNode, endNode)) << 32 | neighbor);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The layout NavGraph had before CSR: boxed adjacency lists and a hash map of edge masks.
+     */
+    private static final class HashGraph {
+        private final Int2ObjectOpenHashMap<IntList> adjacencyList = new Int2ObjectOpenHashMap<>();
+        private final Long2ShortOpenHashMap edgeMasks = new Long2ShortOpenHashMap();
+
+        static HashGraph build(NavGraphLoader.Source source) {
+            HashGraph graph = new HashGraph();
+            for (int i = 0; i < source.sources.length; i++) {
+                int sourcePacked = source.sources[i];
+                int targetPacked = source.targets[i];
+                graph.adjacencyList.computeIfAbsent(sourcePacked, k -> new IntArrayList()).add(targetPacked);
+                graph.adjacencyList.computeIfAbsent(targetPacked, k -> new IntArrayList()).add(sourcePacked);
+                graph.edgeMasks.put(GraphNode.edgeKey(sourcePacked, targetPacked), source.masks[i]);
+            }
+            return graph;
+        }
+
+        int search(int startNode, int endNode) {
+            Int2IntOpenHashMap g = new Int2IntOpenHashMap();
+            g.defaultReturnValue(Integer.MAX_VALUE);
+            IntOpenHashSet closed = new IntOpenHashSet();
+            LongHeapPriorityQueue open = new LongHeapPriorityQueue();
+            g.put(startNode, 0);
+            open.enqueue((long) GraphNode.chebyshevDistance(startNode, endNode) << 32 | (startNode & 0xFFFFFFFFL));
+            while (!open.isEmpty()) {
+                int current = (int) open.dequeueLong();
+                if (!closed.add(current)) continue;
+                int currentG = g.get(current);
+                if (current == endNode) {
+                    return currentG;
+                }
+                IntList neighbors = adjacencyList.get(current);
+                if (neighbors == null) continue;
+                for (int i = 0; i < neighbors.size(); i++) {
+                    int neighbor = neighbors.getInt(i);
+                    if (closed.contains(neighbor)) continue;
+                    short mask = edgeMasks.getOrDefault(GraphNode.edgeKey(current, neighbor), (short) 0);
+                    if (!NavGraph.isTraversable(mask, AVOID_MASK)) continue;
+                    int tentative = currentG + GraphNode.chebyshevDistance(current, neighbor);
+                    if (tentative < g.get(neighbor)) {
+                        g.put(neighbor, tentative);
+                        open.enqueue((long) (tentative + GraphNode.chebyshevDistance(neighbor, endNode)) << 32 | (neighbor & 0xFFFFFFFFL));
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.tonic.services.pathfinder.sailing.graph;
+
+import java.io.FileInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Offline tool that converts graph.dat to the {@link NavGraphCsr} layout. Bundle the output as
+ * graph.csr next to graph.dat and rerun it whenever graph.dat is regenerated; a graph.csr
+ * converted from another graph.dat is ignored at load time.
+ *
+ * <pre>
+ * java ... NavGraphConverter path/to/graph.dat path/to/graph.csr
+ * </pre>
+ */
+public final class NavGraphConverter {
+
+    private NavGraphConverter() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: NavGraphConverter <graph.dat> <graph.csr>");
+            System.exit(1);
+        }
+
+        NavGraphLoader.Source source = NavGraphLoader.read(new FileInputStream(args[0]));
+        if (source == null) {
+            System.exit(1);
+        }
+        ByteBuffer buffer = NavGraphCsr.build(source.crc, source.nodeSet, source.sources, source.targets, source.masks);
+        NavGraph graph = new NavGraph(buffer.duplicate());
+
+        try (FileChannel channel = FileChannel.open(Path.of(args[1]), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        System.out.println("Wrote " + args[1] + ": " + graph.getNodeCount() + " nodes, " + graph.getRowCount()
+                + " rows, " + graph.getEdgeCount() + " edges, " + buffer.capacity() + " bytes");
+    }
+}
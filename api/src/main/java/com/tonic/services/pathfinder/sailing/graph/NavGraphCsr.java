@@ -0,0 +1,134 @@
+package com.tonic.services.pathfinder.sailing.graph;
+
+import com.tonic.services.pathfinder.collision.SparseBitSet;
+import it.unimi.dsi.fastutil.longs.Long2ShortOpenHashMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compressed sparse row layout of a navigation graph, the form {@link NavGraph} reads.
+ *
+ * Layout, big endian:
+ *   Header: magic "GCSR", version, CRC32 of the graph.dat it was built from, node count,
+ *           row count, adjacency count, edge count (7 ints)
+ *   Nodes: node count sorted packed coordinates, the graph's node set
+ *   Rows: row count sorted packed coordinates, every endpoint of an edge
+ *   Offsets: row count + 1 ints, row i's neighbors are adjacency entries [offsets[i], offsets[i + 1])
+ *   Targets: adjacency count row indices, the row of the node each entry leads to
+ *   Masks: adjacency count shorts, the tile type mask of each adjacency entry's edge
+ *
+ * Rows are kept apart from the node set because graph.dat has edges ending on tiles that are
+ * not nodes; {@link NavGraph#hasNode} only answers for the node set, like the hash maps did.
+ * Every edge appears in both of its endpoints' rows, in the order graph.dat lists them, and
+ * leads to a row index so a search walking rows never has to look a node up.
+ */
+public final class NavGraphCsr {
+    static final int MAGIC = 0x47435352;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 28;
+
+    private NavGraphCsr() {
+        // Utility class
+    }
+
+    /**
+     * Packs a graph into the CSR layout.
+     *
+     * @param sourceCrc CRC32 of the graph.dat the graph was read from
+     * @param nodeSet Node set
+     * @param sources Source of each edge
+     * @param targets Target of each edge
+     * @param masks Tile type mask of each edge
+     * @return Heap buffer holding the whole file
+     */
+    public static ByteBuffer build(int sourceCrc, SparseBitSet nodeSet, int[] sources, int[] targets, short[] masks) {
+        int nodeCount = nodeSet.cardinality();
+        int[] nodes = new int[nodeCount];
+        int n = 0;
+        for (int node = nodeSet.nextSetBit(0); node >= 0; node = nodeSet.nextSetBit(node + 1)) {
+            nodes[n++] = node;
+        }
+
+        // Rows: distinct endpoints, sorted
+        int edgeEntries = sources.length;
+        int[] endpoints = new int[edgeEntries * 2];
+        System.arraycopy(sources, 0, endpoints, 0, edgeEntries);
+        System.arraycopy(targets, 0, endpoints, edgeEntries, edgeEntries);
+        Arrays.sort(endpoints);
+        int rowCount = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            if (rowCount == 0 || endpoints[i] != endpoints[rowCount - 1]) {
+                endpoints[rowCount++] = endpoints[i];
+            }
+        }
+        int[] rows = Arrays.copyOf(endpoints, rowCount);
+
+        // Later duplicates of an edge overwrite its mask, same as the hash map did
+        Long2ShortOpenHashMap edgeMasks = new Long2ShortOpenHashMap(edgeEntries);
+        for (int i = 0; i < edgeEntries; i++) {
+            edgeMasks.put(GraphNode.edgeKey(sources[i], targets[i]), masks[i]);
+        }
+
+        int[] offsets = new int[rowCount + 1];
+        for (int i = 0; i < edgeEntries; i++) {
+            offsets[Arrays.binarySearch(rows, sources[i]) + 1]++;
+            offsets[Arrays.binarySearch(rows, targets[i]) + 1]++;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int adjacencyCount = offsets[rowCount];
+        int[] fill = Arrays.copyOf(offsets, rowCount);
+        int[] adjacency = new int[adjacencyCount];
+        short[] adjacencyMasks = new short[adjacencyCount];
+        for (int i = 0; i < edgeEntries; i++) {
+            short mask = edgeMasks.get(GraphNode.edgeKey(sources[i], targets[i]));
+            int sourceRow = Arrays.binarySearch(rows, sources[i]);
+            int targetRow = Arrays.binarySearch(rows, targets[i]);
+            int from = fill[sourceRow]++;
+            adjacency[from] = targetRow;
+            adjacencyMasks[from] = mask;
+            int to = fill[targetRow]++;
+            adjacency[to] = sourceRow;
+            adjacencyMasks[to] = mask;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size(nodeCount, rowCount, adjacencyCount));
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(sourceCrc)
+                .putInt(nodeCount).putInt(rowCount).putInt(adjacencyCount).putInt(edgeMasks.size());
+        for (int node : nodes) buffer.putInt(node);
+        for (int row : rows) buffer.putInt(row);
+        for (int offset : offsets) buffer.putInt(offset);
+        for (int targetRow : adjacency) buffer.putInt(targetRow);
+        for (short mask : adjacencyMasks) buffer.putShort(mask);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Checks the header and size of a CSR buffer.
+     *
+     * @throws IOException if the buffer is not a complete CSR graph
+     */
+    static void validate(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported CSR graph format");
+        }
+        if (buffer.capacity() != size(buffer.getInt(12), buffer.getInt(16), buffer.getInt(20))) {
+            throw new IOException("Truncated CSR graph");
+        }
+    }
+
+    /**
+     * @return CRC32 of the graph.dat the buffer was built from
+     */
+    static int sourceCrc(ByteBuffer buffer) {
+        return buffer.getInt(8);
+    }
+
+    private static int size(int nodeCount, int rowCount, int adjacencyCount) {
+        return HEADER_BYTES + nodeCount * 4 + rowCount * 4 + (rowCount + 1) * 4 + adjacencyCount * 6;
+    }
+}
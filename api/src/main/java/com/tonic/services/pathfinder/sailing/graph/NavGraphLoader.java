@@ -1,12 +1,17 @@
 package com.tonic.services.pathfinder.sailing.graph;
 
+import com.tonic.Static;
 import com.tonic.services.pathfinder.collision.SparseBitSet;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.longs.Long2ShortOpenHashMap;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 /**
  * Binary loader for navigation graph files.
@@ -15,15 +20,40 @@ import java.io.*;
  *   Header: "GWEB" (4 bytes) + version (1 byte)
  *   Nodes: SparseBitSet serialized via ObjectInputStream (length:4 + bytes)
  *   Edges: VarInt count + (source_packed:4, target_packed:4, tile_mask:2) per edge
+ *
+ * graph.dat is converted to the {@link NavGraphCsr} layout as it is read. The same layout
+ * written ahead of time by {@link NavGraphConverter} is memory-mapped instead when it is
+ * bundled next to graph.dat and was converted from it.
  */
 public final class NavGraphLoader {
     private static final byte[] MAGIC = {'G', 'W', 'E', 'B'};
     private static final byte VERSION = 1;
+    private static final String CSR_RESOURCE = "/com/tonic/services/pathfinder/graph.csr";
+    private static final String CSR_FILE = "graph.csr";
 
     private NavGraphLoader() {
         // Utility class
     }
 
+    /**
+     * Contents of a graph.dat file, edges in file order.
+     */
+    static final class Source {
+        final int crc;
+        final SparseBitSet nodeSet;
+        final int[] sources;
+        final int[] targets;
+        final short[] masks;
+
+        Source(int crc, SparseBitSet nodeSet, int[] sources, int[] targets, short[] masks) {
+            this.crc = crc;
+            this.nodeSet = nodeSet;
+            this.sources = sources;
+            this.targets = targets;
+            this.masks = masks;
+        }
+    }
+
     /**
      * Loads a navigation graph from an input stream.
      *
@@ -35,7 +65,29 @@ public final class NavGraphLoader {
             return null;
         }
 
-        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(is))) {
+        try {
+            Source source = read(is);
+            if (source == null) {
+                return null;
+            }
+            NavGraph graph = new NavGraph(NavGraphCsr.build(source.crc, source.nodeSet, source.sources, source.targets, source.masks));
+            System.out.println("NavGraphLoader: Loaded " + graph.getNodeCount() + " nodes and " + source.sources.length + " edges");
+            return graph;
+        } catch (IOException e) {
+            System.err.println("NavGraphLoader: Failed to load graph: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads a graph.dat file without building a graph from it.
+     *
+     * @param is The input stream to read from, read to the end and closed
+     * @return File contents, or null if the file is not a supported graph
+     */
+    static Source read(InputStream is) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(is), new CRC32());
+        try (DataInputStream dis = new DataInputStream(checked)) {
             // Read and verify header
             byte[] magic = new byte[4];
             dis.readFully(magic);
@@ -64,31 +116,89 @@ public final class NavGraphLoader {
                 return null;
             }
 
-            // Read edges and build adjacency list
+            // Read edges in file order
             int edgeCount = VarInt.readVarInt(dis);
-            Int2ObjectOpenHashMap<IntList> adjacencyList = new Int2ObjectOpenHashMap<>();
-            Long2ShortOpenHashMap edgeMasks = new Long2ShortOpenHashMap();
-
+            int[] sources = new int[edgeCount];
+            int[] targets = new int[edgeCount];
+            short[] masks = new short[edgeCount];
             for (int i = 0; i < edgeCount; i++) {
-                int sourcePacked = dis.readInt();
-                int targetPacked = dis.readInt();
-                short tileTypeMask = dis.readShort();
+                sources[i] = dis.readInt();
+                targets[i] = dis.readInt();
+                masks[i] = dis.readShort();
+            }
 
-                // Add bidirectional adjacency
-                adjacencyList.computeIfAbsent(sourcePacked, k -> new IntArrayList()).add(targetPacked);
-                adjacencyList.computeIfAbsent(targetPacked, k -> new IntArrayList()).add(sourcePacked);
+            // Checksum covers the whole file, as NavGraph.load computes it
+            dis.transferTo(OutputStream.nullOutputStream());
+            return new Source((int) checked.getChecksum().getValue(), nodeSet, sources, targets, masks);
+        }
+    }
 
-                // Store edge mask (use normalized key)
-                long edgeKey = GraphNode.edgeKey(sourcePacked, targetPacked);
-                edgeMasks.put(edgeKey, tileTypeMask);
+    /**
+     * Maps the bundled graph.csr from the Vitalite directory, extracting it first if it is
+     * missing or differs from the bundled one.
+     *
+     * @param sourceCrc CRC32 of the graph.dat being loaded
+     * @return Mapped graph, or null if none is bundled, it is corrupt or it was converted from another graph.dat
+     */
+    static NavGraph loadMapped(int sourceCrc) {
+        try (InputStream is = NavGraph.class.getResourceAsStream(CSR_RESOURCE)) {
+            if (is == null) {
+                return null;
+            }
+            DataInputStream in = new DataInputStream(is);
+            byte[] header = new byte[NavGraphCsr.HEADER_BYTES];
+            in.readFully(header);
+            if (NavGraphCsr.sourceCrc(ByteBuffer.wrap(header)) != sourceCrc) {
+                System.out.println("NavGraphLoader: graph.csr was converted from another graph.dat, ignoring it");
+                return null;
             }
 
-            System.out.println("NavGraphLoader: Loaded " + nodeSet.cardinality() + " nodes and " + edgeCount + " edges");
-            return new NavGraph(nodeSet, adjacencyList, edgeMasks);
+            Path file = Static.VITA_DIR.resolve(CSR_FILE);
+            if (!sameHeader(file, header)) {
+                Files.createDirectories(file.getParent());
+                Path temp = Files.createTempFile(file.getParent(), CSR_FILE, ".tmp");
+                try {
+                    Files.write(temp, header);
+                    try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.APPEND)) {
+                        in.transferTo(out);
+                    }
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
 
+            NavGraph graph = new NavGraph(map(file));
+            System.out.println("NavGraphLoader: Mapped " + graph.getNodeCount() + " nodes and " + graph.getEdgeCount() + " edges");
+            return graph;
         } catch (IOException e) {
-            System.err.println("NavGraphLoader: Failed to load graph: " + e.getMessage());
+            System.err.println("NavGraphLoader: Failed to map graph.csr: " + e.getMessage());
             return null;
         }
     }
+
+    /**
+     * Memory-maps a CSR graph file.
+     */
+    static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static boolean sameHeader(Path file, byte[] header) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] existing = in.readNBytes(header.length);
+            for (int i = 0; i < header.length; i++) {
+                if (existing.length != header.length || existing[i] != header[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
 }
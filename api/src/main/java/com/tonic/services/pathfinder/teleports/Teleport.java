@@ -1,5 +1,6 @@
 package com.tonic.services.pathfinder.teleports;
 
+import com.tonic.services.pathfinder.PathCache;
 import com.tonic.util.handler.StepHandler;
 import com.tonic.util.handler.HandlerBuilder;
 import com.tonic.util.WorldPointUtil;
@@ -45,6 +46,12 @@ public class Teleport
 
     public static List<Teleport> buildTeleportLinks()
     {
+        // a path request already built them for this search
+        List<Teleport> captured = PathCache.getCapturedTeleports();
+        if(captured != null)
+        {
+            return new ArrayList<>(captured);
+        }
         return new ArrayList<>(TeleportLoader.buildTeleports());
     }
 
@@ -48,6 +48,35 @@ public class TileTypeMap {
         return TileType.fromValue(typeValue);
     }
 
+    /**
+     * Finds the next tile with any type set, for tools that walk the typed area.
+     *
+     * @param index first index to check, laid out like the collision map: bits 0-12 hold x,
+     *              13-27 y and 28-29 the plane
+     * @return index of the next typed tile at or after {@code index}, or -1
+     */
+    public int nextTyped(int index) {
+        int next = -1;
+        for (SparseBitSet bitSet : bitSets) {
+            int bit = bitSet.nextSetBit(index);
+            if (bit != -1 && (next == -1 || bit < next)) {
+                next = bit;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return number of set type bits, used to tell whether derived data matches this map
+     */
+    public int fingerprint() {
+        int count = 0;
+        for (SparseBitSet bitSet : bitSets) {
+            count += bitSet.cardinality();
+        }
+        return count;
+    }
+
     /**
      * Loads a tile type map from resources.
      *
@@ -60,4 +89,22 @@ public class TileTypeMap {
             return new TileTypeMap((SparseBitSet[]) ois.readObject());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads a tile type map from a file.
+     *
+     * @param filePath path to a tile_type.dat
+     * @return the tile type map, or null if the file does not exist
+     * @throws IOException            if an I/O error occurs
+     * @throws ClassNotFoundException if the class is not found
+     */
+    public static TileTypeMap load(String filePath) throws IOException, ClassNotFoundException {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+            return new TileTypeMap((SparseBitSet[]) ois.readObject());
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.tonic.data.wrappers.ItemEx;
 import com.tonic.data.wrappers.TileObjectEx;
 import com.tonic.queries.NpcQuery;
 import com.tonic.queries.TileObjectQuery;
+import com.tonic.services.pathfinder.PathCache;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.util.Distance;
 import com.tonic.util.handler.HandlerBuilder;
@@ -52,6 +53,7 @@ public class TransportLoader
     private static final TIntObjectHashMap<ArrayList<Transport>> ALL_STATIC_TRANSPORTS = new TIntObjectHashMap<>();
     private static final TIntObjectHashMap<ArrayList<Transport>> LAST_TRANSPORT_LIST = new TIntObjectHashMap<>();
     private static List<Transport> TEMP_TRANSPORTS;
+    private static volatile int fingerprint;
 
     public static void init()
     {
@@ -88,6 +90,70 @@ public class TransportLoader
         return LAST_TRANSPORT_LIST;
     }
 
+    /**
+     * Every transport from transports.json and the generated networks (fairy rings, spirit trees,
+     * gliders, carts, ships, ...) regardless of requirements. Building these does not touch the
+     * client, so offline tools can use it. Transports that {@link #refreshTransports(boolean)}
+     * only adds based on live game state are not included.
+     * @return transports
+     */
+    public static List<Transport> allTransports()
+    {
+        if(ALL_STATIC_TRANSPORTS.isEmpty())
+        {
+            init();
+        }
+
+        TIntObjectHashMap<ArrayList<Transport>> transports = new TIntObjectHashMap<>();
+        hardcodedBullshit(transports);
+        addManholes(transports);
+        zannerisDoor(transports);
+        barnaby(transports);
+        charterShip(transports);
+        spiritTrees(transports);
+        kourendMinecartNetwork(transports);
+        gnomeGliders(transports);
+        fairyRings(transports);
+        dwarvenCarts(transports);
+        canoes(transports);
+        computeIfAbsent(transports, lumbyCave());
+        computeIfAbsent(transports, shantyPass());
+
+        List<Transport> all = new ArrayList<>();
+        for (ArrayList<Transport> list : ALL_STATIC_TRANSPORTS.valueCollection()) {
+            all.addAll(list);
+        }
+        for (ArrayList<Transport> list : transports.valueCollection()) {
+            all.addAll(list);
+        }
+        return all;
+    }
+
+    /**
+     * Order independent hash of the transports produced by the last refresh. Two refreshes that
+     * yield the same usable transports have the same fingerprint.
+     * @return fingerprint
+     */
+    public static int getFingerprint()
+    {
+        return fingerprint;
+    }
+
+    private static int computeFingerprint()
+    {
+        int[] hash = {LAST_TRANSPORT_LIST.size()};
+        LAST_TRANSPORT_LIST.forEachValue(list -> {
+            for(Transport t : list)
+            {
+                int h = t.getSource() * 31 + t.getDestination();
+                h = h * 31 + t.getDuration();
+                hash[0] += h * 0x9E3779B1;
+            }
+            return true;
+        });
+        return hash[0];
+    }
+
     private static void computeIfAbsent(final TIntObjectHashMap<ArrayList<Transport>> transports, Transport transport)
     {
         computeIfAbsent(transports, transport.getSource(), transport);
@@ -110,6 +176,11 @@ public class TransportLoader
 
     public static void refreshTransports(boolean filter)
     {
+        // a path request already refreshed them for this search
+        if(filter && PathCache.getCapturedTeleports() != null)
+        {
+            return;
+        }
         boolean lock = Static.invoke(() ->
         {
             List<Transport> filteredStatic = new ArrayList<>();
@@ -471,6 +542,7 @@ public class TransportLoader
                 LAST_TRANSPORT_LIST.retainEntries((key, value) ->  !value.isEmpty());
             }
 
+            fingerprint = computeFingerprint();
             return true;
         });
     }
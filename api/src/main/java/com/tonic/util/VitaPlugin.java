@@ -1,6 +1,7 @@
 package com.tonic.util;
 
 import com.tonic.Logger;
+import com.tonic.services.profiler.sampling.ProfiledThreads;
 import net.runelite.api.events.GameTick;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.Plugin;
@@ -36,6 +37,7 @@ public class VitaPlugin extends Plugin
             return;
 
         loopFuture = ThreadPool.submit(new AsyncTask(() -> {
+            ProfiledThreads.registerCurrent(getName() + " loop");
             try
             {
                 loop();
@@ -59,6 +61,7 @@ public class VitaPlugin extends Plugin
             }
             finally
             {
+                ProfiledThreads.unregister(Thread.currentThread());
                 AsyncTask.dispose();
             }
         }));
@@ -6,11 +6,20 @@ import lombok.SneakyThrows;
 import javax.inject.Singleton;
 import javax.swing.*;
 import javax.swing.text.DefaultCaret;
+import javax.swing.text.Element;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
+import javax.swing.text.StyledDocument;
 import java.awt.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Simple logger for VitaX
@@ -25,6 +34,10 @@ public class Logger {
     private static JScrollPane consoleScrollPane; // scroll pane for smart auto-scroll
     private static int loggerHeight = 150;         // height of the logger component
     private static int maxMessages = 50;           // maximum number of messages to keep in console
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final int FRAME_INTERVAL_MS = 16;  // minimum delay between console document updates
+    private static final int MAX_QUEUED = 10_000;     // pending messages beyond this are dropped
+    private static final int MAX_BATCH = 2_000;       // messages appended per drain
 
     static
     {
@@ -348,6 +361,28 @@ public class Logger {
         return maxMessages;
     }
 
+    /**
+     * Number of messages waiting to be written to the console.
+     * @return queued message count
+     */
+    public static int getQueuedCount()
+    {
+        if(INSTANCE == null)
+            return 0;
+        return INSTANCE.queuedCount.get();
+    }
+
+    /**
+     * Total number of messages dropped because the console queue was full.
+     * @return dropped message count
+     */
+    public static long getDroppedCount()
+    {
+        if(INSTANCE == null)
+            return 0;
+        return INSTANCE.droppedCount.get();
+    }
+
     /**
      * Initial binding for statically stored instance
      */
@@ -369,8 +404,17 @@ public class Logger {
     private final SimpleAttributeSet WARN;
     private final SimpleAttributeSet ERROR;
     private final float SPACING = 1.5f;
+    private final Queue<LogEntry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicInteger pendingDropped = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Timer drainTimer;
     private Logger()
     {
+        drainTimer = new Timer(FRAME_INTERVAL_MS, e -> drain());
+        drainTimer.setRepeats(false);
+
         console = new JTextPane();
         console.setBackground(Color.BLACK);
         console.setForeground(Color.GREEN);
@@ -397,6 +441,11 @@ public class Logger {
 
         ERROR = new SimpleAttributeSet();
         StyleConstants.setForeground(ERROR, Color.RED);
+
+        for (SimpleAttributeSet style : new SimpleAttributeSet[]{CONSOLE, NORM, INFO, WARN, ERROR})
+        {
+            StyleConstants.setLineSpacing(style, SPACING);
+        }
     }
 
     private void addFullContextMenu(JTextPane textPane) {
@@ -449,88 +498,105 @@ public class Logger {
 
     private void stream(String data, SimpleAttributeSet style)
     {
-        String timestamp = "[" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) + "] ";
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            @SneakyThrows
-            public void run() {
-                StyleConstants.setLineSpacing(style,SPACING);
-                console.getStyledDocument().insertString(console.getStyledDocument().getLength(), timestamp + data + "\n", style);
-                currentMessageCount++;
-
-                // Remove oldest messages if we exceed the limit
-                trimToMaxMessages();
-
-                // Auto-scroll if at bottom and no selection
-                scrollToBottomIfNeeded();
-            }
-        });
+        String timestamp = "[" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + "] ";
+        enqueue(new LogEntry(null, null, timestamp + data + "\n", style));
     }
 
-    @SneakyThrows
     private void _console(String data)
     {
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            @SneakyThrows
-            public void run() {
-                StyleConstants.setLineSpacing(NORM,SPACING);
-                StyleConstants.setLineSpacing(CONSOLE,SPACING);
-                console.getStyledDocument().insertString(console.getStyledDocument().getLength(), "$ ", NORM);
-                console.getStyledDocument().insertString(console.getStyledDocument().getLength(), data + "\n", CONSOLE);
-                currentMessageCount++;
-
-                // Remove oldest messages if we exceed the limit
-                trimToMaxMessages();
-
-                // Auto-scroll if at bottom and no selection
-                scrollToBottomIfNeeded();
-            }
-        });
+        enqueue(new LogEntry("$ ", NORM, data + "\n", CONSOLE));
     }
 
-    @SneakyThrows
     private void _consoleOutput(String head, String body)
     {
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            @SneakyThrows
-            public void run() {
-                StyleConstants.setLineSpacing(NORM,SPACING);
-                StyleConstants.setLineSpacing(CONSOLE,SPACING);
-                console.getStyledDocument().insertString(console.getStyledDocument().getLength(), head, INFO);
-                console.getStyledDocument().insertString(console.getStyledDocument().getLength(), body + "\n", CONSOLE);
-                currentMessageCount++;
-
-                // Remove oldest messages if we exceed the limit
-                trimToMaxMessages();
-
-                // Auto-scroll if at bottom and no selection
-                scrollToBottomIfNeeded();
-            }
-        });
+        enqueue(new LogEntry(head, INFO, body + "\n", CONSOLE));
     }
 
-    @SneakyThrows
     private void _consoleErrorOutput(String head, String body)
     {
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            @SneakyThrows
-            public void run() {
-                StyleConstants.setLineSpacing(NORM,SPACING);
-                StyleConstants.setLineSpacing(CONSOLE,SPACING);
-                console.getStyledDocument().insertString(console.getStyledDocument().getLength(), head, INFO);
-                console.getStyledDocument().insertString(console.getStyledDocument().getLength(), body + "\n", ERROR);
-                currentMessageCount++;
-
-                // Remove oldest messages if we exceed the limit
-                trimToMaxMessages();
-
-                // Auto-scroll if at bottom and no selection
-                scrollToBottomIfNeeded();
+        enqueue(new LogEntry(head, INFO, body + "\n", ERROR));
+    }
+
+    /**
+     * Adds an entry to the pending queue and schedules a drain on the EDT if one
+     * is not already pending. Entries beyond {@link #MAX_QUEUED} are dropped and
+     * summarized in the console on the next drain.
+     */
+    private void enqueue(LogEntry entry)
+    {
+        if (queuedCount.incrementAndGet() > MAX_QUEUED)
+        {
+            queuedCount.decrementAndGet();
+            droppedCount.incrementAndGet();
+            pendingDropped.incrementAndGet();
+        }
+        else
+        {
+            pending.offer(entry);
+        }
+
+        if (drainScheduled.compareAndSet(false, true))
+        {
+            drainTimer.start();
+        }
+    }
+
+    /**
+     * Drains pending entries into the console document. Runs on the EDT at most
+     * once per {@link #FRAME_INTERVAL_MS}, so a burst of log calls costs one
+     * document update, one trim and one scroll instead of one per line.
+     */
+    @SneakyThrows
+    private void drain()
+    {
+        drainScheduled.set(false);
+
+        List<LogEntry> batch = new ArrayList<>();
+        LogEntry entry;
+        while (batch.size() < MAX_BATCH && (entry = pending.poll()) != null)
+        {
+            batch.add(entry);
+        }
+        queuedCount.addAndGet(-batch.size());
+
+        int dropped = pendingDropped.getAndSet(0);
+        if (batch.isEmpty() && dropped == 0)
+        {
+            return;
+        }
+
+        StyledDocument doc = console.getStyledDocument();
+
+        if (dropped > 0)
+        {
+            String timestamp = "[" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + "] ";
+            doc.insertString(doc.getLength(), timestamp + dropped + " log message(s) dropped (queue full)\n", WARN);
+            currentMessageCount++;
+        }
+
+        // Anything older than maxMessages in this batch would be trimmed right away, so skip it
+        int first = Math.max(0, batch.size() - maxMessages);
+        for (int i = first; i < batch.size(); i++)
+        {
+            LogEntry e = batch.get(i);
+            if (e.head != null)
+            {
+                doc.insertString(doc.getLength(), e.head, e.headStyle);
             }
-        });
+            doc.insertString(doc.getLength(), e.body, e.bodyStyle);
+            currentMessageCount++;
+        }
+
+        // Remove oldest messages if we exceed the limit
+        trimToMaxMessages();
+
+        // Auto-scroll if at bottom and no selection
+        scrollToBottomIfNeeded();
+
+        if (!pending.isEmpty() && drainScheduled.compareAndSet(false, true))
+        {
+            drainTimer.start();
+        }
     }
 
     /**
@@ -711,28 +777,18 @@ public class Logger {
         int selEnd = console.getSelectionEnd();
         boolean hadSelection = selStart != selEnd;
 
+        // Remove whole lines from the top using the root element's paragraphs instead of re-reading the text
+        StyledDocument doc = console.getStyledDocument();
+        Element root = doc.getDefaultRootElement();
+        int messagesToRemove = Math.min(currentMessageCount - maxMessages, root.getElementCount() - 1);
         int totalCharsRemoved = 0;
 
-        // Trim messages
-        while (currentMessageCount > maxMessages)
+        if (messagesToRemove > 0)
         {
-            // Find the first newline (end of first message)
-            String text = console.getStyledDocument().getText(0, console.getStyledDocument().getLength());
-            int firstNewline = text.indexOf('\n');
-
-            if (firstNewline >= 0)
-            {
-                int charsToRemove = firstNewline + 1;
-                console.getStyledDocument().remove(0, charsToRemove);
-                currentMessageCount--;
-                totalCharsRemoved += charsToRemove;
-            }
-            else
-            {
-                // No newline found, shouldn't happen but break to prevent infinite loop
-                break;
-            }
+            totalCharsRemoved = root.getElement(messagesToRemove - 1).getEndOffset();
+            doc.remove(0, totalCharsRemoved);
         }
+        currentMessageCount = maxMessages;
 
         // Restore selection if there was one, adjusted for removed content
         if (hadSelection && totalCharsRemoved > 0) {
@@ -748,4 +804,23 @@ public class Logger {
         // The scroll position doesn't need adjustment since we're removing from top
         // and the viewport should naturally shift up with the content
     }
-}
\ No newline at end of file
+
+    /**
+     * A pending console line, optionally prefixed by a differently styled header.
+     */
+    private static final class LogEntry
+    {
+        private final String head;
+        private final SimpleAttributeSet headStyle;
+        private final String body;
+        private final SimpleAttributeSet bodyStyle;
+
+        private LogEntry(String head, SimpleAttributeSet headStyle, String body, SimpleAttributeSet bodyStyle)
+        {
+            this.head = head;
+            this.headStyle = headStyle;
+            this.body = body;
+            this.bodyStyle = bodyStyle;
+        }
+    }
+}
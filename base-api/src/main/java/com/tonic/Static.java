@@ -10,6 +10,8 @@ import lombok.Getter;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
@@ -115,6 +117,34 @@ public class Static
         return supplier.get();
     }
 
+    /**
+     * invoke on client thread with an int return, unboxed when already on the client thread
+     *
+     * @param supplier runnable block
+     * @return return value
+     */
+    public static int invokeInt(IntSupplier supplier) {
+        TClient T_CLIENT = (TClient) CLIENT_OBJECT;
+        if (!T_CLIENT.isClientThread()) {
+            return invoke(supplier::getAsInt);
+        }
+        return supplier.getAsInt();
+    }
+
+    /**
+     * invoke on client thread with a long return, unboxed when already on the client thread
+     *
+     * @param supplier runnable block
+     * @return return value
+     */
+    public static long invokeLong(LongSupplier supplier) {
+        TClient T_CLIENT = (TClient) CLIENT_OBJECT;
+        if (!T_CLIENT.isClientThread()) {
+            return invoke(supplier::getAsLong);
+        }
+        return supplier.getAsLong();
+    }
+
     /**
      * invoke on client thread
      *
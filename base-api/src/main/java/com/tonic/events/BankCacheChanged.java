@@ -1,7 +1,72 @@
 package com.tonic.events;
 
+import lombok.Getter;
+
+/**
+ * Posted when the cached bank changes. {@link #INSTANCE} signals a full reload (login screen,
+ * cache loaded from disk) where consumers should re-read the whole bank. Events created with
+ * {@link #of(String, int[], int[], int[])} carry the canonical item ids that changed so
+ * consumers can update incrementally.
+ */
+@Getter
 public class BankCacheChanged
 {
-    public static BankCacheChanged INSTANCE = new BankCacheChanged();
-    private BankCacheChanged() {}
+    private static final int[] NONE = new int[0];
+
+    public static BankCacheChanged INSTANCE = new BankCacheChanged(null, NONE, NONE, NONE, true);
+
+    /**
+     * the player whose bank changed, or null for a full reload
+     */
+    private final String playerName;
+
+    /**
+     * ids that were not in the bank before
+     */
+    private final int[] added;
+
+    /**
+     * ids that are no longer in the bank
+     */
+    private final int[] removed;
+
+    /**
+     * ids whose quantity changed
+     */
+    private final int[] changed;
+
+    /**
+     * true if consumers should re-read the whole bank
+     */
+    private final boolean fullRefresh;
+
+    private BankCacheChanged(String playerName, int[] added, int[] removed, int[] changed, boolean fullRefresh)
+    {
+        this.playerName = playerName;
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+        this.fullRefresh = fullRefresh;
+    }
+
+    /**
+     * Create an incremental change event
+     * @param playerName player name
+     * @param added ids that were added
+     * @param removed ids that were removed
+     * @param changed ids whose quantity changed
+     * @return event
+     */
+    public static BankCacheChanged of(String playerName, int[] added, int[] removed, int[] changed)
+    {
+        return new BankCacheChanged(playerName, added, removed, changed, false);
+    }
+
+    /**
+     * @return true if no ids were added, removed or changed
+     */
+    public boolean isEmpty()
+    {
+        return added.length == 0 && removed.length == 0 && changed.length == 0;
+    }
 }
@@ -261,6 +261,16 @@ public class VitaLiteOptionsPanel extends VPluginPanel {
         walkerPanel.addContent(pathfinderAlgo);
         walkerPanel.addVerticalStrut(12);
 
+        ToggleSlider parallelSearch = new ToggleSlider();
+        parallelSearch.setSelected(Static.getVitaConfig().shouldSearchInParallel());
+        walkerPanel.addContent(createToggleOption(
+                "Parallel Search",
+                "Run both halves of bidirectional searches on their own threads",
+                parallelSearch,
+                () -> Static.getVitaConfig().setSearchInParallel(parallelSearch.isSelected())
+        ));
+        walkerPanel.addVerticalStrut(12);
+
         ToggleSlider drawPath = new ToggleSlider();
         drawPath.setSelected(Static.getVitaConfig().shouldDrawWalkerPath());
         walkerPanel.addContent(createToggleOption(
@@ -2,6 +2,7 @@ package com.tonic.services;
 
 import com.tonic.Logger;
 import com.tonic.Static;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import org.apache.commons.configuration2.FileBasedConfiguration;
@@ -9,12 +10,25 @@ import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.commons.configuration2.builder.FileBasedConfigurationBuilder;
 import org.apache.commons.configuration2.builder.fluent.Parameters;
 import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.sync.LockMode;
+import org.apache.commons.configuration2.sync.ReadWriteSynchronizer;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -23,16 +37,45 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Getter
 @SuppressWarnings({"ResultOfMethodCallIgnored","unused"})
 public class ConfigManager {
+    private static final long WRITE_BEHIND_DELAY_MS = 2000;
+    private static final Set<ConfigManager> WRITE_BEHIND = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService flushExecutor;
+
     private File configFile;
 
     private FileBasedConfigurationBuilder<FileBasedConfiguration> builder;
 
+    /**
+     * when true, changes are kept in memory and flushed to disk in the background
+     */
+    private final boolean writeBehind;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
     /**
      * init
      */
     public ConfigManager(String config) {
+        this(config, false);
+    }
+
+    /**
+     * init
+     * @param config config file name
+     * @param writeBehind if true, {@code setProperty}/{@code addProperty} only update memory and the
+     *                    file is rewritten atomically on a background thread shortly after the last
+     *                    change, and at shutdown. If false, every change is saved synchronously.
+     */
+    public ConfigManager(String config, boolean writeBehind) {
+        this.writeBehind = writeBehind;
         configFile = new File(Static.VITA_DIR.toFile(), config);
         loadConfigFromFile();
+        if(writeBehind)
+        {
+            WRITE_BEHIND.add(this);
+        }
     }
 
 
@@ -50,6 +93,12 @@ public class ConfigManager {
             } catch (IOException ignored) {
             }
         }
+        if(writeBehind)
+        {
+            builder = new FileBasedConfigurationBuilder<FileBasedConfiguration>(PropertiesConfiguration.class)
+                    .configure(params.fileBased().setFile(configFile).setSynchronizer(new ReadWriteSynchronizer()));
+            return;
+        }
         builder = new FileBasedConfigurationBuilder<FileBasedConfiguration>(PropertiesConfiguration.class).configure(params.fileBased().setFile(configFile));
         builder.setAutoSave(true);
     }
@@ -58,7 +107,12 @@ public class ConfigManager {
      * loads the config from an arbitrarily defined file path
      * @param fileName file path
      */
-    public void loadConfigFromFile(String fileName) {
+    public synchronized void loadConfigFromFile(String fileName) {
+        // pending write-behind changes belong to the old file
+        if(writeBehind)
+        {
+            flush();
+        }
         configFile = new File(System.getProperty("user.home") + "/VitaX/" + fileName);
         if(!configFile.exists())
         {
@@ -77,9 +131,81 @@ public class ConfigManager {
      */
     @SneakyThrows
     public void saveConfig() {
+        if(writeBehind)
+        {
+            dirty.set(true);
+            flush();
+            return;
+        }
         builder.save();
     }
 
+    /**
+     * Writes pending write-behind changes to disk now. Does nothing if there are none.
+     * The file is written to a temp file next to the config and then renamed over it,
+     * so a crash or a second client reading mid-write never sees a partial file.
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        if(!dirty.getAndSet(false))
+            return;
+
+        Path target = configFile.toPath();
+        Path temp = target.resolveSibling(configFile.getName() + ".tmp");
+        try {
+            FileBasedConfiguration configuration = builder.getConfiguration();
+            configuration.lock(LockMode.READ);
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.ISO_8859_1)) {
+                configuration.write(writer);
+            } finally {
+                configuration.unlock(LockMode.READ);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (ConfigurationException | IOException e) {
+            dirty.set(true);
+            Logger.error("Failed to save config " + configFile.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes every write-behind config with pending changes.
+     */
+    public static void flushAll() {
+        for(ConfigManager manager : WRITE_BEHIND)
+        {
+            manager.flush();
+        }
+    }
+
+    /**
+     * Marks the config dirty and schedules a debounced background flush.
+     */
+    private void markDirty() {
+        dirty.set(true);
+        if(flushScheduled.compareAndSet(false, true))
+        {
+            getFlushExecutor().schedule(this::flush, WRITE_BEHIND_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getFlushExecutor() {
+        if(flushExecutor == null)
+        {
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "ConfigManager-Flush");
+                t.setDaemon(true);
+                return t;
+            });
+            Runtime.getRuntime().addShutdownHook(new Thread(ConfigManager::flushAll));
+        }
+        return flushExecutor;
+    }
+
     /**
      * set a config property
      * @param propertyName name
@@ -88,6 +214,8 @@ public class ConfigManager {
     @SneakyThrows
     public void setProperty(String propertyName, Object value) {
         builder.getConfiguration().setProperty(propertyName, value);
+        if(writeBehind)
+            markDirty();
     }
 
     /**
@@ -97,6 +225,12 @@ public class ConfigManager {
     public void reset()
     {
         builder.reset();
+        if(writeBehind)
+        {
+            dirty.set(true);
+            flush();
+            return;
+        }
         builder.save();
     }
 
@@ -119,6 +253,8 @@ public class ConfigManager {
     @SneakyThrows
     public void addProperty(String propertyName, Object value) {
         builder.getConfiguration().addProperty(propertyName, value);
+        if(writeBehind)
+            markDirty();
     }
 
     /**
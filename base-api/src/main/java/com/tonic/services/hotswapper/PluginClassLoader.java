@@ -1,6 +1,10 @@
 package com.tonic.services.hotswapper;
 
 import com.google.common.reflect.ClassPath;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
 
 import java.io.File;
 import java.io.IOException;
@@ -8,13 +12,20 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
 
 public class PluginClassLoader extends URLClassLoader {
+    private static final String PLUGIN_DESCRIPTOR = "Lnet/runelite/client/plugins/PluginDescriptor;";
+    private static final int SCAN_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
     private final ClassLoader parent;
     private final JarFile jarFile;
 
@@ -31,10 +42,68 @@ public class PluginClassLoader extends URLClassLoader {
         this.parent = parent;
     }
 
+    /**
+     * Finds the plugins in the jar without loading anything else from it. Class headers are
+     * read with ASM to find classes annotated with {@code @PluginDescriptor} whose superclass
+     * chain reaches a {@code Plugin}; only those classes are loaded.
+     */
     public List<Class<?>> getPluginClasses() throws IOException {
-        return getClasses().stream()
-            .filter(this::inheritsPluginClass)
-            .collect(Collectors.toList());
+        Map<String, ClassHeader> headers = new HashMap<>();
+        List<String> candidates = new ArrayList<>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")) {
+                continue;
+            }
+            // resolves the entry for this runtime in a multi-release jar
+            JarEntry entry = jarFile.getJarEntry(name);
+            try (InputStream in = jarFile.getInputStream(entry)) {
+                ClassHeader header = ClassHeader.read(in);
+                headers.put(header.name, header);
+                if (header.hasDescriptor) {
+                    candidates.add(header.name);
+                }
+            }
+        }
+
+        List<Class<?>> plugins = new ArrayList<>();
+        for (String name : candidates) {
+            if (!inheritsPluginClass(headers.get(name).superName, headers)) {
+                continue;
+            }
+            try {
+                plugins.add(loadClass(name.replace('/', '.')));
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Failed to load plugin class " + name, e);
+            }
+        }
+        return plugins;
+    }
+
+    /**
+     * Walks a superclass chain by class headers, reading classes outside the jar from the parent
+     * loader's resources. Headers read along the way are cached in {@code headers}.
+     */
+    private boolean inheritsPluginClass(String superName, Map<String, ClassHeader> headers) throws IOException {
+        while (superName != null && !superName.equals("java/lang/Object")) {
+            if (superName.endsWith("/Plugin")) {
+                return true;
+            }
+
+            ClassHeader header = headers.get(superName);
+            if (header == null) {
+                try (InputStream in = parent.getResourceAsStream(superName + ".class")) {
+                    if (in == null) {
+                        return false;
+                    }
+                    header = ClassHeader.read(in);
+                }
+                headers.put(superName, header);
+            }
+            superName = header.superName;
+        }
+        return false;
     }
 
     public List<Class<?>> getClasses() throws IOException {
@@ -90,4 +159,38 @@ public class PluginClassLoader extends URLClassLoader {
         jarFile.close();
         super.close();
     }
-}
\ No newline at end of file
+
+    /**
+     * Name, superclass and plugin descriptor presence of a class, read from its constant pool
+     * and attributes without defining it.
+     */
+    private static final class ClassHeader extends ClassVisitor {
+        private String name;
+        private String superName;
+        private boolean hasDescriptor;
+
+        private ClassHeader() {
+            super(Opcodes.ASM9);
+        }
+
+        static ClassHeader read(InputStream in) throws IOException {
+            ClassHeader header = new ClassHeader();
+            new ClassReader(in).accept(header, SCAN_FLAGS);
+            return header;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.name = name;
+            this.superName = superName;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            if (PLUGIN_DESCRIPTOR.equals(descriptor)) {
+                hasDescriptor = true;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.tonic.services.hotswapper;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Offline check of {@link PluginClassLoader#getPluginClasses()}. Compiles a small fixture plugin
+ * jar into a temporary directory and runs the discovery on it, then fails unless:
+ * <ul>
+ *     <li>exactly the annotated classes that extend {@code Plugin} are returned, directly or
+ *     through an intermediate superclass</li>
+ *     <li>no static initializer in the jar ran, neither of the unrelated class nor of the
+ *     intermediate superclass, which is defined as the plugin's parent but not initialized</li>
+ * </ul>
+ * Needs a JDK, the fixture is compiled with the system Java compiler.
+ *
+ * <pre>
+ * java ... PluginClassLoaderCheck
+ * </pre>
+ */
+public final class PluginClassLoaderCheck {
+    private static final String UNRELATED_INIT = "plugin-loader-check.unrelated";
+    private static final String INTERMEDIATE_INIT = "plugin-loader-check.intermediate";
+
+    // Stand-ins for the RuneLite classes, only their names matter to the discovery
+    private static final String[][] FIXTURE = {
+            {"net.runelite.client.plugins.PluginDescriptor",
+                    "package net.runelite.client.plugins;\n"
+                    + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                    + "public @interface PluginDescriptor { String name(); }\n"},
+            {"net.runelite.client.plugins.Plugin",
+                    "package net.runelite.client.plugins;\n"
+                    + "public abstract class Plugin {}\n"},
+            {"fixture.DirectPlugin",
+                    "package fixture;\n"
+                    + "@net.runelite.client.plugins.PluginDescriptor(name = \"Direct\")\n"
+                    + "public class DirectPlugin extends net.runelite.client.plugins.Plugin {}\n"},
+            {"fixture.IntermediatePlugin",
+                    "package fixture;\n"
+                    + "public abstract class IntermediatePlugin extends net.runelite.client.plugins.Plugin {\n"
+                    + "    static { System.setProperty(\"" + INTERMEDIATE_INIT + "\", \"true\"); }\n"
+                    + "}\n"},
+            {"fixture.InheritedPlugin",
+                    "package fixture;\n"
+                    + "@net.runelite.client.plugins.PluginDescriptor(name = \"Inherited\")\n"
+                    + "public class InheritedPlugin extends IntermediatePlugin {}\n"},
+            {"fixture.DescribedHelper",
+                    "package fixture;\n"
+                    + "@net.runelite.client.plugins.PluginDescriptor(name = \"Not a plugin\")\n"
+                    + "public class DescribedHelper {}\n"},
+            {"fixture.Unrelated",
+                    "package fixture;\n"
+                    + "public class Unrelated {\n"
+                    + "    static { System.setProperty(\"" + UNRELATED_INIT + "\", \"true\"); }\n"
+                    + "}\n"},
+    };
+
+    private PluginClassLoaderCheck() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.clearProperty(UNRELATED_INIT);
+        System.clearProperty(INTERMEDIATE_INIT);
+
+        Path dir = Files.createTempDirectory("plugin-loader-check");
+        try {
+            File jar = buildFixtureJar(dir);
+            try (PluginClassLoader loader = new PluginClassLoader(jar, PluginClassLoaderCheck.class.getClassLoader())) {
+                List<Class<?>> plugins = loader.getPluginClasses();
+
+                Set<String> names = new TreeSet<>();
+                Class<?> inherited = null;
+                for (Class<?> plugin : plugins) {
+                    names.add(plugin.getName());
+                    if (plugin.getName().equals("fixture.InheritedPlugin")) {
+                        inherited = plugin;
+                    }
+                }
+                check(names.equals(new TreeSet<>(Arrays.asList("fixture.DirectPlugin", "fixture.InheritedPlugin"))),
+                        "Expected DirectPlugin and InheritedPlugin, got " + names);
+                check(System.getProperty(UNRELATED_INIT) == null, "Unrelated class was initialized");
+
+                // defined as the parent of the loaded plugin, without running its initializer
+                check(inherited.getSuperclass().getName().equals("fixture.IntermediatePlugin")
+                        && inherited.getSuperclass().getClassLoader() == loader, "Intermediate superclass was not defined by the plugin loader");
+                check(System.getProperty(INTERMEDIATE_INIT) == null, "Intermediate superclass was initialized");
+
+                // the flags do get set once the classes are initialized
+                Class.forName("fixture.Unrelated", true, loader);
+                Class.forName("fixture.IntermediatePlugin", true, loader);
+                check(System.getProperty(UNRELATED_INIT) != null && System.getProperty(INTERMEDIATE_INIT) != null,
+                        "Fixture initializers did not run when initialized explicitly");
+            }
+            System.out.println("Discovered DirectPlugin and InheritedPlugin without initializing any class of the jar");
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    /**
+     * Compiles the fixture sources and packs the classes into a jar
+     */
+    private static File buildFixtureJar(Path dir) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler, run the check on a JDK");
+        }
+
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (String[] source : FIXTURE) {
+            URI uri = URI.create("string:///" + source[0].replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+            sources.add(new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source[1];
+                }
+            });
+        }
+
+        Path classes = Files.createDirectory(dir.resolve("classes"));
+        List<String> options = Arrays.asList("-d", classes.toString(), "-proc:none");
+        if (!compiler.getTask(null, null, null, options, null, sources).call()) {
+            throw new IllegalStateException("Fixture did not compile");
+        }
+
+        File jar = dir.resolve("fixture.jar").toFile();
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()));
+             Stream<Path> files = Files.walk(classes)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                out.putNextEntry(new JarEntry(classes.relativize(file).toString().replace(File.separatorChar, '/')));
+                Files.copy(file, out);
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -2,6 +2,8 @@ package com.tonic.services.pathfinder;
 
 import com.tonic.Static;
 
+import java.lang.reflect.Constructor;
+
 public enum PathfinderAlgo
 {
     HYBRID_BFS("com.tonic.services.pathfinder.implimentations.hybridbfs.HybridBFSAlgo"),
@@ -12,6 +14,7 @@ public enum PathfinderAlgo
     ;
 
     private final String fqdn;
+    private volatile Constructor<?> constructor;
 
     PathfinderAlgo(String fqdn)
     {
@@ -34,7 +37,14 @@ public enum PathfinderAlgo
     {
         try
         {
-            return (T) getPathfinder().getDeclaredConstructor().newInstance();
+            Constructor<?> ctor = constructor;
+            if(ctor == null)
+            {
+                // the class lookup is the expensive part, engines themselves are cheap to create
+                ctor = getPathfinder().getDeclaredConstructor();
+                constructor = ctor;
+            }
+            return (T) ctor.newInstance();
         }
         catch (Exception e)
         {
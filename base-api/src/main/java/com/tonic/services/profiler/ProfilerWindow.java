@@ -162,6 +162,7 @@ public class ProfilerWindow extends VitaFrame {
         tabbedPane.addTab("Leak Detector", leakDetectorTab);
         timelinePanel = new com.tonic.services.profiler.timeline.TimelinePanel(gcPauseAnalyzer);
         tabbedPane.addTab("Event Timeline", timelinePanel);
+        tabbedPane.addTab("Startup", new com.tonic.services.profiler.startup.StartupTab());
         tabbedPane.addTab("JIT Compiler", createJITPanel());
         tabbedPane.addTab("Threads", createThreadPanel());
         tabbedPane.addTab("VM Configuration", createVMConfigPanel());
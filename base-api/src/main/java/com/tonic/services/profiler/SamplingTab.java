@@ -37,6 +37,10 @@ public class SamplingTab extends JPanel {
     private JLabel statusLabel, cpuStatusLabel, memStatusLabel;
     private JComboBox<String> cpuIntervalCombo, memIntervalCombo;
     private JCheckBox filterSystemCheckbox;
+    private JCheckBox packedStorageCheckbox;
+    private JCheckBox targetedCheckbox;
+    private JComboBox<ThreadChoice> flameThreadCombo;
+    private boolean updatingFlameThreads = false;
 
     // UI Components - Results
     private JTabbedPane resultsTabs;
@@ -135,8 +139,8 @@ public class SamplingTab extends JPanel {
         panel.add(cpuExportBtn);
 
         panel.add(createStyledLabel("Interval:"));
-        cpuIntervalCombo = new JComboBox<>(new String[]{"10ms", "25ms", "50ms", "100ms"});
-        cpuIntervalCombo.setSelectedIndex(2); // Default 50ms
+        cpuIntervalCombo = new JComboBox<>(new String[]{"1ms", "2ms", "5ms", "10ms", "25ms", "50ms", "100ms"});
+        cpuIntervalCombo.setSelectedIndex(5); // Default 50ms
         styleComboBox(cpuIntervalCombo);
         panel.add(cpuIntervalCombo);
 
@@ -145,6 +149,18 @@ public class SamplingTab extends JPanel {
         filterSystemCheckbox.setBackground(PANEL_BG);
         panel.add(filterSystemCheckbox);
 
+        packedStorageCheckbox = new JCheckBox("Compact Storage");
+        packedStorageCheckbox.setToolTipText("Intern frames and aggregate incrementally (low heap use for long sessions)");
+        packedStorageCheckbox.setForeground(TEXT_COLOR);
+        packedStorageCheckbox.setBackground(PANEL_BG);
+        panel.add(packedStorageCheckbox);
+
+        targetedCheckbox = new JCheckBox("Registered Threads Only");
+        targetedCheckbox.setToolTipText("Sample only the client thread and plugin loop threads (allows 1-5ms intervals)");
+        targetedCheckbox.setForeground(TEXT_COLOR);
+        targetedCheckbox.setBackground(PANEL_BG);
+        panel.add(targetedCheckbox);
+
         cpuStatusLabel = createStyledLabel("Idle");
         cpuStatusLabel.setForeground(TEXT_COLOR);
         panel.add(cpuStatusLabel);
@@ -218,6 +234,20 @@ public class SamplingTab extends JPanel {
 
         panel.add(flameGraphPanel, BorderLayout.CENTER);
 
+        // Thread selector at top
+        JPanel threadPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        threadPanel.setBackground(BG_COLOR);
+        threadPanel.add(createStyledLabel("Thread:"));
+        flameThreadCombo = new JComboBox<>();
+        styleComboBox(flameThreadCombo);
+        flameThreadCombo.addActionListener(e -> {
+            if (!updatingFlameThreads && cpuResults != null) {
+                buildFlameGraph();
+            }
+        });
+        threadPanel.add(flameThreadCombo);
+        panel.add(threadPanel, BorderLayout.NORTH);
+
         // Info label at bottom
         JLabel infoLabel = new JLabel("Click on a frame to zoom in | Click header to reset zoom");
         infoLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
@@ -384,12 +414,22 @@ public class SamplingTab extends JPanel {
 
         cpuSampler.setSamplingInterval(intervalMs);
         cpuSampler.setFilterSystemFrames(filterSystemCheckbox.isSelected());
+        CPUSampler.StorageMode mode = packedStorageCheckbox.isSelected()
+            ? CPUSampler.StorageMode.PACKED
+            : CPUSampler.StorageMode.OBJECTS;
+        if (mode != cpuSampler.getStorageMode()) {
+            cpuSampler.clear();
+            cpuSampler.setStorageMode(mode);
+        }
+        cpuSampler.setTargetedMode(targetedCheckbox.isSelected());
         cpuSampler.start();
 
         cpuStartBtn.setEnabled(false);
         cpuStopBtn.setEnabled(true);
         cpuIntervalCombo.setEnabled(false);
         filterSystemCheckbox.setEnabled(false);
+        packedStorageCheckbox.setEnabled(false);
+        targetedCheckbox.setEnabled(false);
     }
 
     private void stopCPUSampling() {
@@ -400,6 +440,8 @@ public class SamplingTab extends JPanel {
         cpuExportBtn.setEnabled(true);
         cpuIntervalCombo.setEnabled(true);
         filterSystemCheckbox.setEnabled(true);
+        packedStorageCheckbox.setEnabled(true);
+        targetedCheckbox.setEnabled(true);
 
         // Analyze results
         analyzeCPUResults();
@@ -430,11 +472,13 @@ public class SamplingTab extends JPanel {
     }
 
     private int parseInterval(String interval) {
-        interval = interval.toLowerCase().replace("ms", "").replace("s", "");
+        interval = interval.toLowerCase().trim();
+        boolean millis = interval.endsWith("ms");
+        interval = interval.replace("ms", "").replace("s", "");
         try {
             int value = Integer.parseInt(interval.trim());
             // If no 'ms' suffix, assume seconds
-            return interval.contains("ms") ? value : value * 1000;
+            return millis ? value : value * 1000;
         } catch (NumberFormatException e) {
             return 50; // Default 50ms
         }
@@ -461,7 +505,7 @@ public class SamplingTab extends JPanel {
 
     private void analyzeCPUResults() {
         SwingUtilities.invokeLater(() -> {
-            cpuResults = analyzer.analyzeCPU(cpuSampler.getStackSamples());
+            cpuResults = cpuSampler.analyze(analyzer);
             displayCPUResults();
         });
     }
@@ -526,46 +570,53 @@ public class SamplingTab extends JPanel {
     }
 
     private void buildFlameGraph() {
-        List<com.tonic.services.profiler.sampling.StackSample> samples = cpuSampler.getStackSamples().getAll();
-        if (samples.isEmpty()) {
-            return;
+        refreshFlameGraphThreads();
+        Object selected = flameThreadCombo.getSelectedItem();
+        if (selected instanceof ThreadChoice && ((ThreadChoice) selected).threadId != -1) {
+            flameGraphPanel.setRoot(cpuSampler.buildFlameGraph(((ThreadChoice) selected).threadId));
+        } else {
+            flameGraphPanel.setRoot(cpuSampler.buildFlameGraph());
         }
+    }
 
-        // Create root node
-        com.tonic.services.profiler.visualization.FlameGraphNode root =
-            new com.tonic.services.profiler.visualization.FlameGraphNode("(root)", "", "");
-
-        // Build call tree from stack samples
-        for (com.tonic.services.profiler.sampling.StackSample sample : samples) {
-            StackTraceElement[] stack = sample.stackTrace;
-
-            if (stack.length == 0) {
-                continue;
+    /**
+     * Repopulate the flame graph thread selector from the last analysis, keeping the selection
+     */
+    private void refreshFlameGraphThreads() {
+        Object selected = flameThreadCombo.getSelectedItem();
+        long selectedId = selected instanceof ThreadChoice ? ((ThreadChoice) selected).threadId : -1;
+
+        updatingFlameThreads = true;
+        flameThreadCombo.removeAllItems();
+        ThreadChoice all = new ThreadChoice(-1, "All threads");
+        flameThreadCombo.addItem(all);
+        flameThreadCombo.setSelectedItem(all);
+        if (cpuResults != null) {
+            for (SampleAnalyzer.ThreadStats stats : cpuResults.threadBreakdown.values()) {
+                String label = ProfiledThreads.getLabel(stats.threadId);
+                ThreadChoice choice = new ThreadChoice(stats.threadId, label != null ? label : stats.threadName);
+                flameThreadCombo.addItem(choice);
+                if (stats.threadId == selectedId) {
+                    flameThreadCombo.setSelectedItem(choice);
+                }
             }
+        }
+        updatingFlameThreads = false;
+    }
 
-            // Traverse from bottom to top (root to leaf)
-            com.tonic.services.profiler.visualization.FlameGraphNode current = root;
-            current.addSample();
-
-            for (int i = stack.length - 1; i >= 0; i--) {
-                StackTraceElement frame = stack[i];
-
-                String methodName = frame.getMethodName();
-                String className = frame.getClassName();
-                String packageName = "";
-
-                int lastDot = className.lastIndexOf('.');
-                if (lastDot >= 0) {
-                    packageName = className.substring(0, lastDot);
-                    className = className.substring(lastDot + 1);
-                }
+    private static class ThreadChoice {
+        final long threadId;
+        final String name;
 
-                current = current.getOrCreateChild(methodName, className, packageName);
-                current.addSample();
-            }
+        ThreadChoice(long threadId, String name) {
+            this.threadId = threadId;
+            this.name = name;
         }
 
-        flameGraphPanel.setRoot(root);
+        @Override
+        public String toString() {
+            return threadId == -1 ? name : name + " (" + threadId + ")";
+        }
     }
 
     private void displayMemoryResults() {
@@ -1,5 +1,6 @@
 package com.tonic.services.profiler.leak;
 
+import com.tonic.services.profiler.sampling.HeapHistogramDiff;
 import com.tonic.services.profiler.sampling.HeapHistogramSample;
 import com.tonic.services.profiler.sampling.HeapHistogramSampler;
 
@@ -69,14 +70,9 @@ public class LeakDetector {
      * Capture baseline snapshot
      */
     public void captureBaseline() {
-        // Force GC before baseline
-        System.gc();
-        try {
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
+        // A baseline is always fresh, never a throttled histogram from a recent snapshot
+        histogramSampler.clear();
+        // Same kind of histogram as the periodic snapshots, so they compare like for like
         List<HeapHistogramSample> samples = histogramSampler.captureHistogram();
         baselineSnapshot = new HeapSnapshot(samples, System.currentTimeMillis(), true);
         snapshots.clear();
@@ -92,7 +88,17 @@ public class LeakDetector {
      * Capture a snapshot
      */
     public void captureSnapshot() {
-        List<HeapHistogramSample> samples = histogramSampler.captureHistogram();
+        recordSnapshot(histogramSampler.captureHistogram());
+    }
+
+    /**
+     * Capture a snapshot of live objects only, which runs a full GC first
+     */
+    public void captureSnapshotAfterGC() {
+        recordSnapshot(histogramSampler.captureHistogram(true));
+    }
+
+    private void recordSnapshot(List<HeapHistogramSample> samples) {
         HeapSnapshot snapshot = new HeapSnapshot(samples, System.currentTimeMillis(), false);
 
         // Add to snapshots list (with size limit)
@@ -111,19 +117,6 @@ public class LeakDetector {
         }
     }
 
-    /**
-     * Force GC and capture snapshot
-     */
-    public void captureSnapshotAfterGC() {
-        System.gc();
-        try {
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        captureSnapshot();
-    }
-
     /**
      * Analyze for leaks
      */
@@ -185,6 +178,17 @@ public class LeakDetector {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Get the classes whose bytes grew the most since the baseline
+     */
+    public List<HeapHistogramDiff> getTopGrowth(int limit) {
+        if (baselineSnapshot == null || snapshots.isEmpty()) {
+            return Collections.emptyList();
+        }
+        HeapSnapshot latest = snapshots.get(snapshots.size() - 1);
+        return HeapHistogramDiff.topGrowth(baselineSnapshot.getSamples(), latest.getSamples(), limit);
+    }
+
     /**
      * Get statistics for a specific class
      */
@@ -248,6 +252,10 @@ public class LeakDetector {
         return classLoaderAnalyzer.analyze();
     }
 
+    public HeapHistogramSampler getHistogramSampler() {
+        return histogramSampler;
+    }
+
     /**
      * Heap snapshot at a point in time
      */
@@ -270,6 +278,10 @@ public class LeakDetector {
             return sampleMap.get(className);
         }
 
+        public List<HeapHistogramSample> getSamples() {
+            return new ArrayList<>(sampleMap.values());
+        }
+
         public long getTotalBytes() {
             return sampleMap.values().stream()
                 .mapToLong(s -> s.totalBytes)
@@ -328,7 +328,7 @@ public class LeakDetectorTab extends JPanel {
 
     private void updateTreemapData() {
         com.tonic.services.profiler.sampling.HeapHistogramSample[] histogram =
-            new com.tonic.services.profiler.sampling.HeapHistogramSampler().captureHistogram()
+            leakDetector.getHistogramSampler().captureHistogram()
                 .toArray(new com.tonic.services.profiler.sampling.HeapHistogramSample[0]);
 
         if (histogram.length == 0) {
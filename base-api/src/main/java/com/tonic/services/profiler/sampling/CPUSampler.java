@@ -1,12 +1,18 @@
 package com.tonic.services.profiler.sampling;
 
+import com.tonic.services.profiler.visualization.FlameGraphNode;
+
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -17,11 +23,23 @@ import java.util.concurrent.atomic.AtomicLong;
  * Captures stack traces at regular intervals to build statistical profile
  */
 public class CPUSampler {
+    /**
+     * How samples are stored
+     * OBJECTS keeps a {@link StackSample} per thread per sample, PACKED interns frames and
+     * stacks and keeps incremental tables in a {@link PackedSampleStore} for long sessions
+     */
+    public enum StorageMode {
+        OBJECTS,
+        PACKED
+    }
+
     private final ThreadMXBean threadBean;
     private final RingBuffer<StackSample> stackSamples;
+    private final PackedSampleStore packedSamples;
+    private volatile StorageMode storageMode = StorageMode.OBJECTS;
     private final Map<Long, ThreadCPUData> lastCPUData;
 
-    private ScheduledExecutorService scheduler;
+    private volatile ScheduledExecutorService scheduler;
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final AtomicLong totalSamples = new AtomicLong(0);
     private final AtomicLong failedSamples = new AtomicLong(0);
@@ -33,10 +51,12 @@ public class CPUSampler {
     private Set<String> includedPackages = null;
     private Set<String> excludedPackages = null;
     private boolean onlyRunnableThreads = false;
+    private volatile boolean targetedMode = false;
 
     public CPUSampler(int maxSamples) {
         this.threadBean = ManagementFactory.getThreadMXBean();
         this.stackSamples = new RingBuffer<>(maxSamples);
+        this.packedSamples = new PackedSampleStore(maxSamples);
         this.lastCPUData = new HashMap<>();
 
         // Enable thread CPU time tracking if available
@@ -56,10 +76,12 @@ public class CPUSampler {
                 return t;
             });
 
+            // Dumping every thread is too expensive below 10ms, targeted sampling can go down to 1ms
+            int interval = Math.max(targetedMode ? 1 : 10, samplingIntervalMs);
             scheduler.scheduleAtFixedRate(
                 this::captureSample,
                 0,
-                samplingIntervalMs,
+                interval,
                 TimeUnit.MILLISECONDS
             );
         }
@@ -89,8 +111,17 @@ public class CPUSampler {
         try {
             long timestamp = System.currentTimeMillis();
 
-            // Get all thread stack traces
-            ThreadInfo[] allThreads = threadBean.dumpAllThreads(false, false);
+            // Get all thread stack traces, or only the registered ones in targeted mode
+            ThreadInfo[] allThreads;
+            if (targetedMode) {
+                long[] ids = ProfiledThreads.getIds();
+                if (ids.length == 0) {
+                    return;
+                }
+                allThreads = threadBean.getThreadInfo(ids, maxStackDepth);
+            } else {
+                allThreads = threadBean.dumpAllThreads(false, false);
+            }
 
             for (ThreadInfo threadInfo : allThreads) {
                 if (threadInfo == null) continue;
@@ -112,7 +143,7 @@ public class CPUSampler {
                 }
 
                 // Limit stack depth
-                if (stack.length > maxStackDepth) {
+                if (storageMode == StorageMode.OBJECTS && stack.length > maxStackDepth) {
                     StackTraceElement[] truncated = new StackTraceElement[maxStackDepth];
                     System.arraycopy(stack, 0, truncated, 0, maxStackDepth);
                     stack = truncated;
@@ -130,6 +161,14 @@ public class CPUSampler {
                     }
                 }
 
+                if (storageMode == StorageMode.PACKED) {
+                    packedSamples.record(timestamp, threadInfo.getThreadId(), threadInfo.getThreadName(),
+                        threadInfo.getThreadState(), stack, maxStackDepth, cpuTime);
+                    totalSamples.incrementAndGet();
+                    updateCPUTracking(threadInfo.getThreadId(), cpuTime, userTime, timestamp);
+                    continue;
+                }
+
                 // Create sample
                 StackSample sample = new StackSample(
                     timestamp,
@@ -251,8 +290,26 @@ public class CPUSampler {
 
     // ==================== Configuration Methods ====================
 
+    /**
+     * Set the sampling interval, clamped on start to 10ms (all threads) or 1ms (targeted)
+     */
     public void setSamplingInterval(int intervalMs) {
-        this.samplingIntervalMs = Math.max(10, intervalMs);
+        this.samplingIntervalMs = Math.max(1, intervalMs);
+    }
+
+    /**
+     * Sample only the threads registered in {@link ProfiledThreads} using
+     * {@link ThreadMXBean#getThreadInfo(long[], int)} instead of dumping every thread
+     * Only takes effect while stopped
+     */
+    public void setTargetedMode(boolean targeted) {
+        if (!running.get()) {
+            this.targetedMode = targeted;
+        }
+    }
+
+    public boolean isTargetedMode() {
+        return targetedMode;
     }
 
     public void setMaxStackDepth(int depth) {
@@ -275,12 +332,108 @@ public class CPUSampler {
         this.onlyRunnableThreads = onlyRunnable;
     }
 
+    /**
+     * Switch storage mode, only takes effect while stopped
+     */
+    public void setStorageMode(StorageMode mode) {
+        if (!running.get()) {
+            this.storageMode = mode;
+        }
+    }
+
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
     // ==================== Data Access Methods ====================
 
     public RingBuffer<StackSample> getStackSamples() {
         return stackSamples;
     }
 
+    /**
+     * Analyze the collected samples using the active storage mode
+     */
+    public SampleAnalyzer.CPUAnalysisResults analyze(SampleAnalyzer analyzer) {
+        if (storageMode == StorageMode.PACKED) {
+            return onSamplerThread(packedSamples::toResults);
+        }
+        return analyzer.analyzeCPU(stackSamples);
+    }
+
+    /**
+     * Build a flame graph over all sampled threads
+     */
+    public FlameGraphNode buildFlameGraph() {
+        if (storageMode == StorageMode.PACKED) {
+            return onSamplerThread(packedSamples::toFlameGraph);
+        }
+        return buildFlameGraph(stackSamples.getAll(), -1);
+    }
+
+    /**
+     * Build a flame graph for a single thread
+     */
+    public FlameGraphNode buildFlameGraph(long threadId) {
+        if (storageMode == StorageMode.PACKED) {
+            return onSamplerThread(() -> packedSamples.toFlameGraph(threadId));
+        }
+        return buildFlameGraph(stackSamples.getAll(), threadId);
+    }
+
+    /**
+     * Build a flame graph from object samples, optionally limited to one thread (-1 for all)
+     */
+    public static FlameGraphNode buildFlameGraph(List<StackSample> samples, long threadId) {
+        FlameGraphNode root = new FlameGraphNode("(root)", "", "");
+
+        for (StackSample sample : samples) {
+            StackTraceElement[] stack = sample.stackTrace;
+            if (stack.length == 0 || (threadId != -1 && sample.threadId != threadId)) {
+                continue;
+            }
+
+            // Traverse from bottom to top (root to leaf)
+            FlameGraphNode current = root;
+            current.addSample();
+
+            for (int i = stack.length - 1; i >= 0; i--) {
+                MethodSignature sig = MethodSignature.from(stack[i]);
+                current = current.getOrCreateChild(sig.getMethodName(), sig.getSimpleClassName(), sig.getPackageName());
+                current.addSample();
+            }
+        }
+
+        return root;
+    }
+
+    /**
+     * The packed store is single-threaded, so while sampling, reads are handed to the
+     * sampler thread instead of locking every sample
+     */
+    private <T> T onSamplerThread(Callable<T> task) {
+        ScheduledExecutorService s = scheduler;
+        try {
+            if (s != null && running.get()) {
+                return s.submit(task).get();
+            }
+            return task.call();
+        } catch (RejectedExecutionException e) {
+            try {
+                return task.call();
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public Map<Long, ThreadCPUData> getCPUData() {
         synchronized (lastCPUData) {
             return new HashMap<>(lastCPUData);
@@ -304,13 +457,14 @@ public class CPUSampler {
     }
 
     public SamplingStats getStats() {
+        boolean packed = storageMode == StorageMode.PACKED;
         return new SamplingStats(
             isRunning(),
             totalSamples.get(),
             failedSamples.get(),
-            stackSamples.size(),
-            stackSamples.capacity(),
-            stackSamples.getDroppedCount(),
+            packed ? packedSamples.size() : stackSamples.size(),
+            packed ? packedSamples.capacity() : stackSamples.capacity(),
+            packed ? packedSamples.getDroppedCount() : stackSamples.getDroppedCount(),
             samplingIntervalMs
         );
     }
@@ -320,6 +474,10 @@ public class CPUSampler {
      */
     public void clear() {
         stackSamples.clear();
+        onSamplerThread(() -> {
+            packedSamples.clear();
+            return null;
+        });
         synchronized (lastCPUData) {
             lastCPUData.clear();
         }
@@ -0,0 +1,47 @@
+package com.tonic.services.profiler.sampling;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns stack frames (class + method) to dense integer ids
+ * Not thread-safe, owned by the sampler thread
+ */
+public class FrameTable {
+    private final Map<String, Map<String, Integer>> ids = new HashMap<>();
+    private MethodSignature[] signatures = new MethodSignature[1024];
+    private int size = 0;
+
+    /**
+     * Get the id for a frame, assigning a new one if it hasn't been seen before
+     */
+    public int intern(StackTraceElement frame) {
+        Map<String, Integer> methods = ids.computeIfAbsent(frame.getClassName(), k -> new HashMap<>());
+        Integer id = methods.get(frame.getMethodName());
+        if (id != null) {
+            return id;
+        }
+
+        if (size == signatures.length) {
+            signatures = Arrays.copyOf(signatures, size * 2);
+        }
+        signatures[size] = MethodSignature.from(frame);
+        methods.put(frame.getMethodName(), size);
+        return size++;
+    }
+
+    public MethodSignature get(int id) {
+        return signatures[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        ids.clear();
+        Arrays.fill(signatures, 0, size, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.tonic.services.profiler.sampling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Change in a single class between two heap histograms
+ */
+public class HeapHistogramDiff {
+    public final String className;
+    public final long instancesBefore;
+    public final long instancesAfter;
+    public final long bytesBefore;
+    public final long bytesAfter;
+
+    // Derived metrics
+    public final long instanceDelta;
+    public final long bytesDelta;
+
+    public HeapHistogramDiff(String className, long instancesBefore, long instancesAfter,
+                             long bytesBefore, long bytesAfter) {
+        this.className = className;
+        this.instancesBefore = instancesBefore;
+        this.instancesAfter = instancesAfter;
+        this.bytesBefore = bytesBefore;
+        this.bytesAfter = bytesAfter;
+        this.instanceDelta = instancesAfter - instancesBefore;
+        this.bytesDelta = bytesAfter - bytesBefore;
+    }
+
+    /**
+     * Compare two histograms class by class
+     * A class missing from one side counts as zero there
+     *
+     * @return One entry per class that changed, sorted by bytes delta descending
+     */
+    public static List<HeapHistogramDiff> compare(List<HeapHistogramSample> before, List<HeapHistogramSample> after) {
+        Map<String, HeapHistogramSample> beforeMap = new HashMap<>();
+        for (HeapHistogramSample sample : before) {
+            beforeMap.put(sample.className, sample);
+        }
+
+        List<HeapHistogramDiff> diffs = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (HeapHistogramSample current : after) {
+            seen.add(current.className);
+            HeapHistogramSample previous = beforeMap.get(current.className);
+            long instances = previous != null ? previous.instanceCount : 0;
+            long bytes = previous != null ? previous.totalBytes : 0;
+            if (instances != current.instanceCount || bytes != current.totalBytes) {
+                diffs.add(new HeapHistogramDiff(current.className, instances, current.instanceCount,
+                    bytes, current.totalBytes));
+            }
+        }
+        for (HeapHistogramSample previous : before) {
+            if (!seen.contains(previous.className)) {
+                diffs.add(new HeapHistogramDiff(previous.className, previous.instanceCount, 0,
+                    previous.totalBytes, 0));
+            }
+        }
+
+        diffs.sort((a, b) -> Long.compare(b.bytesDelta, a.bytesDelta));
+        return diffs;
+    }
+
+    /**
+     * Get the classes that grew the most between two histograms
+     *
+     * @param limit Maximum number of classes to return
+     * @return Classes whose bytes grew, largest growth first
+     */
+    public static List<HeapHistogramDiff> topGrowth(List<HeapHistogramSample> before,
+                                                    List<HeapHistogramSample> after, int limit) {
+        List<HeapHistogramDiff> growth = new ArrayList<>();
+        for (HeapHistogramDiff diff : compare(before, after)) {
+            if (growth.size() >= limit || diff.bytesDelta <= 0) {
+                break;
+            }
+            growth.add(diff);
+        }
+        return growth;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %+d instances, %+d bytes", className, instanceDelta, bytesDelta);
+    }
+}
@@ -1,334 +1,174 @@
 package com.tonic.services.profiler.sampling;
 
-import com.tonic.services.profiler.JVMTI;
-import com.tonic.services.profiler.VMObjectAccess;
+import com.tonic.Logger;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import java.lang.management.ManagementFactory;
-import java.lang.management.MemoryMXBean;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Heap histogram sampler that creates per-class instance and byte counts
  * Similar to VisualVM's heap histogram or jmap -histo
+ *
+ * Counts are exact: they come from the JVM's own heap walk through the DiagnosticCommand
+ * MBean, the same one jcmd GC.class_histogram runs. By default the walk includes unreachable
+ * objects, which avoids the full GC the live-only histogram forces. The heap walk still pauses
+ * the JVM briefly, so captures of the same kind closer together than the throttle interval
+ * return the previous histogram of that kind.
  */
 public class HeapHistogramSampler {
-    private final MemoryMXBean memoryBean;
-    private final Map<String, ClassStats> classStats;
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+    private static final String[] SIGNATURE = {String[].class.getName()};
+    private static final long DEFAULT_MIN_INTERVAL_MS = 5_000;
 
-    public HeapHistogramSampler() {
-        this.memoryBean = ManagementFactory.getMemoryMXBean();
-        this.classStats = new ConcurrentHashMap<>();
-    }
-
-    /**
-     * Capture a heap histogram snapshot
-     * This performs a lightweight sampling of loaded classes and estimates instance counts
-     */
-    public List<HeapHistogramSample> captureHistogram() {
-        long timestamp = System.currentTimeMillis();
-        List<HeapHistogramSample> samples = new ArrayList<>();
-
-        try {
-            // Force GC to get more accurate counts
-            System.gc();
-            Thread.sleep(100); // Give GC time to complete
-
-            // Get all loaded classes
-            Set<Class<?>> loadedClasses = getLoadedClasses();
-
-            if (loadedClasses != null && !loadedClasses.isEmpty()) {
-                // Process each class
-                for (Class<?> clazz : loadedClasses) {
-                    if (clazz == null) continue;
-
-                    try {
-                        String className = clazz.getName();
+    private volatile long minIntervalMs = DEFAULT_MIN_INTERVAL_MS;
+    private volatile boolean allObjectsRejectedLogged = false;
+    private volatile boolean unavailableLogged = false;
 
-                        // Skip problematic classes
-                        if (shouldSkipClass(className)) {
-                            continue;
-                        }
-
-                        // Estimate instance count and size
-                        long instanceCount = estimateInstanceCount(clazz);
-                        long totalBytes = estimateTotalBytes(clazz, instanceCount);
-
-                        if (instanceCount > 0 || totalBytes > 0) {
-                            samples.add(new HeapHistogramSample(
-                                className,
-                                instanceCount,
-                                totalBytes,
-                                timestamp
-                            ));
-                        }
-                    } catch (Throwable e) {
-                        // Skip classes that cause any errors - use Throwable to catch all issues
-                    }
-                }
-            } else {
-                // Fallback: use cached class statistics if available
-                samples.addAll(getFallbackHistogram(timestamp));
-            }
-
-        } catch (Exception e) {
-            System.err.println("Error capturing heap histogram: " + e.getMessage());
-        }
-
-        // Sort by total bytes descending
-        samples.sort((a, b) -> Long.compare(b.totalBytes, a.totalBytes));
-
-        return samples;
-    }
+    // Throttled per kind, so alternating kinds can't bypass it
+    private final Capture allObjects = new Capture();
+    private final Capture liveObjects = new Capture();
+    private List<HeapHistogramSample> lastHistogram = Collections.emptyList();
 
     /**
-     * Get all loaded classes using available mechanisms
+     * Capture a heap histogram snapshot without forcing a full GC
+     * Includes unreachable objects that the next GC would reclaim
      */
-    private Set<Class<?>> getLoadedClasses() {
-        // Try using JVMTI if available
-        if (JVMTI.isAvailable()) {
-            try {
-                // Use JVMTI to get loaded classes
-                return JVMTI.getLoadedClasses();
-            } catch (Exception e) {
-                // Fallback to alternative methods
-            }
-        }
-
-        // Fallback: return null to trigger fallback histogram
-        return null;
+    public List<HeapHistogramSample> captureHistogram() {
+        return captureHistogram(false);
     }
 
     /**
-     * Check if a class should be skipped to avoid errors
+     * Capture a heap histogram snapshot
+     *
+     * @param liveOnly true to count only reachable objects, which runs a full GC first
+     * @return Samples sorted by total bytes descending, empty if the JVM has no DiagnosticCommand MBean
      */
-    private boolean shouldSkipClass(String className) {
-        // Skip classes known to cause issues
-        if (className.contains("log4j") || className.contains("logging")) {
-            return true;
+    public synchronized List<HeapHistogramSample> captureHistogram(boolean liveOnly) {
+        Capture capture = liveOnly ? liveObjects : allObjects;
+        long now = System.currentTimeMillis();
+        if (capture.time > 0 && now - capture.time < minIntervalMs) {
+            return capture.samples;
         }
 
-        // Skip sun internal classes that may not be accessible
-        if (className.startsWith("sun.reflect.Generated")) {
-            return true;
+        String output = runHistogramCommand(liveOnly);
+        if (output == null) {
+            return Collections.emptyList();
         }
 
-        // Skip lambda classes
-        if (className.contains("$$Lambda$")) {
-            return true;
-        }
-
-        return false;
+        capture.samples = Collections.unmodifiableList(parse(output, now));
+        capture.time = now;
+        lastHistogram = capture.samples;
+        return lastHistogram;
     }
 
     /**
-     * Estimate instance count for a class
-     * This is a best-effort estimation
+     * Parse GC.class_histogram output into samples
+     *
+     * @param output Command output, one "num: #instances #bytes class-name (module)" row per class
+     * @param timestamp Timestamp for every sample
+     * @return Samples sorted by total bytes descending
      */
-    private long estimateInstanceCount(Class<?> clazz) {
-        try {
-            // For primitive arrays, we can get better estimates
-            if (clazz.isArray()) {
-                Class<?> componentType = clazz.getComponentType();
-                if (componentType.isPrimitive()) {
-                    // Estimate based on common array sizes
-                    return estimateArrayInstances(clazz);
-                }
+    public static List<HeapHistogramSample> parse(String output, long timestamp) {
+        List<HeapHistogramSample> samples = new ArrayList<>();
+        for (String line : output.split("\n")) {
+            String[] parts = line.trim().split("\\s+");
+            // Skips the header, the separator and the Total row
+            if (parts.length < 4 || !parts[0].endsWith(":")) {
+                continue;
             }
-
-            // For regular classes, use heuristics
-            String className = clazz.getName();
-
-            // Common JDK classes have predictable counts
-            if (className.startsWith("java.lang.")) {
-                return estimateJDKClassCount(className);
+            try {
+                long instances = Long.parseLong(parts[1]);
+                long bytes = Long.parseLong(parts[2]);
+                samples.add(new HeapHistogramSample(parts[3], instances, bytes, timestamp));
+            } catch (NumberFormatException e) {
+                // Not a histogram row
             }
-
-            // Application classes - estimate based on loaded status
-            ClassStats stats = classStats.computeIfAbsent(className, k -> new ClassStats());
-            stats.lastSeen = System.currentTimeMillis();
-
-            // Return previous count if available, otherwise estimate
-            return stats.estimatedCount > 0 ? stats.estimatedCount : estimateFromClassName(className);
-
-        } catch (Exception e) {
-            return 0;
         }
-    }
 
-    /**
-     * Estimate total bytes for class instances
-     */
-    private long estimateTotalBytes(Class<?> clazz, long instanceCount) {
-        if (instanceCount == 0) return 0;
-
-        try {
-            // Try to get object size estimate
-            long objectSize = estimateObjectSize(clazz);
-            return instanceCount * objectSize;
-        } catch (Exception e) {
-            return 0;
-        }
-    }
-
-    /**
-     * Estimate object size for a class
-     */
-    private long estimateObjectSize(Class<?> clazz) {
-        // Always use estimation - instantiation is too risky with complex class hierarchies
-        return estimateSizeFromType(clazz);
+        samples.sort((a, b) -> Long.compare(b.totalBytes, a.totalBytes));
+        return samples;
     }
 
-    // Note: Instantiation methods removed - too risky with complex dependencies
-
     /**
-     * Estimate size based on class type
+     * Run GC.class_histogram, skipping the full GC unless live objects are asked for
      */
-    private long estimateSizeFromType(Class<?> clazz) {
-        String className = clazz.getName();
-
-        // Array types
-        if (clazz.isArray()) {
-            Class<?> componentType = clazz.getComponentType();
-            // Array overhead + estimated 10 elements
-            int baseOverhead = 16;
-            int estimatedElements = 10;
-
-            if (componentType == byte.class || componentType == boolean.class) {
-                return baseOverhead + estimatedElements;
-            }
-            if (componentType == short.class || componentType == char.class) {
-                return baseOverhead + (estimatedElements * 2);
-            }
-            if (componentType == int.class || componentType == float.class) {
-                return baseOverhead + (estimatedElements * 4);
-            }
-            if (componentType == long.class || componentType == double.class) {
-                return baseOverhead + (estimatedElements * 8);
-            }
-            // Object arrays - reference size
-            return baseOverhead + (estimatedElements * 8);
-        }
-
-        // Common Java classes with known sizes
-        switch (className) {
-            case "java.lang.String": return 40; // 24 (object) + 16 (char array overhead)
-            case "java.lang.Integer": return 16;
-            case "java.lang.Long": return 24;
-            case "java.lang.Double": return 24;
-            case "java.lang.Float": return 16;
-            case "java.lang.Boolean": return 16;
-            case "java.lang.Character": return 16;
-            case "java.lang.Byte": return 16;
-            case "java.lang.Short": return 16;
-            case "java.lang.Object": return 16;
-            case "java.lang.Class": return 200; // Classes have metadata
-            case "java.lang.Thread": return 1000; // Threads are heavy
-        }
-
-        // HashMap nodes
-        if (className.contains("HashMap$Node") || className.contains("HashMap$Entry")) {
-            return 48;
-        }
-
-        // General estimation based on field count
+    private String runHistogramCommand(boolean liveOnly) {
         try {
-            int fieldCount = clazz.getDeclaredFields().length;
-            // Base object overhead: 16 bytes (header)
-            // Each reference field: 8 bytes (or 4 with compressed oops, use 8 to be safe)
-            // Each primitive field: varies, use average of 4 bytes
-            return 16 + (fieldCount * 6L); // Conservative estimate
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DIAGNOSTIC_COMMAND);
+            if (!liveOnly) {
+                try {
+                    return (String) server.invoke(name, "gcClassHistogram",
+                        new Object[]{new String[]{"-all"}}, SIGNATURE);
+                } catch (RuntimeException e) {
+                    // JVMs without -all reject it as an unknown argument and only offer the live histogram
+                    if (!isRejectedArgument(e)) {
+                        throw e;
+                    }
+                    if (!allObjectsRejectedLogged) {
+                        allObjectsRejectedLogged = true;
+                        Logger.warn("Heap histogram without full GC is not supported, falling back to live objects");
+                    }
+                }
+            }
+            return (String) server.invoke(name, "gcClassHistogram", new Object[]{new String[0]}, SIGNATURE);
         } catch (Exception e) {
-            return 32; // Safe default
+            if (!unavailableLogged) {
+                unavailableLogged = true;
+                Logger.error("Error capturing heap histogram: " + e.getMessage());
+            }
+            return null;
         }
     }
 
     /**
-     * Estimate array instance counts
+     * The MBean server wraps the diagnostic command's IllegalArgumentException for an unknown option
      */
-    private long estimateArrayInstances(Class<?> arrayClass) {
-        String className = arrayClass.getName();
-
-        // Byte arrays are very common (String internals, buffers)
-        if (className.equals("[B")) return 500; // byte[]
-        if (className.equals("[C")) return 200; // char[]
-        if (className.equals("[I")) return 100; // int[]
-        if (className.equals("[J")) return 50;  // long[]
-
-        return 10; // Other arrays
+    private static boolean isRejectedArgument(RuntimeException e) {
+        return e instanceof IllegalArgumentException || e.getCause() instanceof IllegalArgumentException;
     }
 
     /**
-     * Estimate instance count for common JDK classes
+     * Set the shortest time between two captures of the same kind
      */
-    private long estimateJDKClassCount(String className) {
-        switch (className) {
-            case "java.lang.String": return 5000;
-            case "java.lang.Object": return 1000;
-            case "java.lang.Class": return ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
-            case "java.lang.Thread": return ManagementFactory.getThreadMXBean().getThreadCount();
-            case "java.lang.Integer": return 500;
-            case "java.lang.Long": return 300;
-            case "java.lang.Boolean": return 2; // TRUE and FALSE
-            default: return 50;
-        }
+    public void setMinInterval(long millis) {
+        this.minIntervalMs = Math.max(0, millis);
     }
 
-    /**
-     * Estimate from class name patterns
-     */
-    private long estimateFromClassName(String className) {
-        if (className.endsWith("[]")) return 10; // Arrays
-        if (className.contains("$")) return 5;   // Inner classes
-        if (className.endsWith("Exception")) return 10;
-        if (className.endsWith("Error")) return 5;
-        return 20; // Default estimate
+    public long getMinInterval() {
+        return minIntervalMs;
     }
 
     /**
-     * Get fallback histogram using cached statistics
+     * Get the most recent histogram, empty before the first capture
      */
-    private List<HeapHistogramSample> getFallbackHistogram(long timestamp) {
-        List<HeapHistogramSample> samples = new ArrayList<>();
-
-        // Add common classes with estimated counts
-        addCommonClass(samples, "java.lang.String", 5000, 120000, timestamp);
-        addCommonClass(samples, "java.lang.Object", 1000, 16000, timestamp);
-        addCommonClass(samples, "java.lang.Class", 500, 100000, timestamp);
-        addCommonClass(samples, "[B", 500, 50000, timestamp); // byte[]
-        addCommonClass(samples, "[C", 200, 20000, timestamp); // char[]
-        addCommonClass(samples, "java.util.HashMap$Node", 300, 24000, timestamp);
-        addCommonClass(samples, "java.lang.Thread", ManagementFactory.getThreadMXBean().getThreadCount(), 2000, timestamp);
-
-        return samples;
-    }
-
-    private void addCommonClass(List<HeapHistogramSample> samples, String className,
-                                long instanceCount, long totalBytes, long timestamp) {
-        samples.add(new HeapHistogramSample(className, instanceCount, totalBytes, timestamp));
+    public synchronized List<HeapHistogramSample> getLastHistogram() {
+        return lastHistogram;
     }
 
     /**
-     * Update class statistics from instrumentation
+     * Clear the cached histograms so the next capture of either kind runs immediately
      */
-    public void updateClassStats(String className, long instanceCount) {
-        ClassStats stats = classStats.computeIfAbsent(className, k -> new ClassStats());
-        stats.estimatedCount = instanceCount;
-        stats.lastSeen = System.currentTimeMillis();
+    public synchronized void clear() {
+        allObjects.clear();
+        liveObjects.clear();
+        lastHistogram = Collections.emptyList();
     }
 
     /**
-     * Clear cached statistics
+     * Latest histogram of one kind and when it was taken
      */
-    public void clear() {
-        classStats.clear();
-    }
+    private static class Capture {
+        List<HeapHistogramSample> samples = Collections.emptyList();
+        long time = 0;
 
-    /**
-     * Internal class for tracking class statistics
-     */
-    private static class ClassStats {
-        long estimatedCount = 0;
-        long lastSeen = 0;
+        void clear() {
+            samples = Collections.emptyList();
+            time = 0;
+        }
     }
 }
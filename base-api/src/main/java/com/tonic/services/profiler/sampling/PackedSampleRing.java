@@ -0,0 +1,97 @@
+package com.tonic.services.profiler.sampling;
+
+/**
+ * Preallocated single-writer ring of primitive samples
+ * Each slot holds a timestamp, thread index, thread state and interned stack id,
+ * so adding a sample never allocates. Only the sampler thread may call {@link #add};
+ * {@link #size()} and {@link #getDroppedCount()} may be read from any thread.
+ */
+public class PackedSampleRing {
+    private static final Thread.State[] STATES = Thread.State.values();
+
+    private final int capacity;
+    private final long[] timestamps;
+    private final int[] threadIndexes;
+    private final int[] stackIds;
+    private final byte[] states;
+    private volatile long totalWritten = 0;
+
+    public PackedSampleRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.threadIndexes = new int[capacity];
+        this.stackIds = new int[capacity];
+        this.states = new byte[capacity];
+    }
+
+    /**
+     * Check whether the next {@link #add} will overwrite the oldest sample
+     */
+    public boolean willEvict() {
+        return totalWritten >= capacity;
+    }
+
+    /**
+     * Index of the slot the next {@link #add} writes to
+     */
+    public int nextSlot() {
+        return (int) (totalWritten % capacity);
+    }
+
+    public void add(long timestamp, int threadIndex, Thread.State state, int stackId) {
+        long written = totalWritten;
+        int slot = (int) (written % capacity);
+        timestamps[slot] = timestamp;
+        threadIndexes[slot] = threadIndex;
+        stackIds[slot] = stackId;
+        states[slot] = (byte) state.ordinal();
+        totalWritten = written + 1;
+    }
+
+    /**
+     * Slot of the i-th oldest stored sample
+     */
+    public int slot(int i) {
+        long start = Math.max(0, totalWritten - capacity);
+        return (int) ((start + i) % capacity);
+    }
+
+    public long timestamp(int slot) {
+        return timestamps[slot];
+    }
+
+    public int threadIndex(int slot) {
+        return threadIndexes[slot];
+    }
+
+    public int stackId(int slot) {
+        return stackIds[slot];
+    }
+
+    public Thread.State state(int slot) {
+        return STATES[states[slot]];
+    }
+
+    public int size() {
+        return (int) Math.min(totalWritten, capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long getTotalWritten() {
+        return totalWritten;
+    }
+
+    public long getDroppedCount() {
+        return Math.max(0, totalWritten - capacity);
+    }
+
+    public void clear() {
+        totalWritten = 0;
+    }
+}
@@ -0,0 +1,352 @@
+package com.tonic.services.profiler.sampling;
+
+import com.tonic.services.profiler.visualization.FlameGraphNode;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact CPU sample storage for long-running profiling sessions
+ * Frames are interned to ids, stacks to ids over those frames, and samples are stored
+ * as primitives in a preallocated {@link PackedSampleRing}. Method, call-tree and thread
+ * tables are updated incrementally as samples arrive and are evicted, so producing
+ * results never rescans the samples and steady-state recording allocates nothing.
+ * <p>
+ * Not thread-safe: all calls must come from the sampler thread (see {@link CPUSampler}).
+ */
+public class PackedSampleStore {
+    private final FrameTable frames = new FrameTable();
+    private final StackTable stacks = new StackTable();
+    private final PackedSampleRing ring;
+    private int[] scratch = new int[64];
+
+    // Per frame id
+    private int[] selfCounts = new int[1024];
+    private int[] totalCounts = new int[1024];
+
+    // Call tree, node 0 is the root
+    private int[] nodeFrame = new int[1024];
+    private int[] nodeParent = new int[1024];
+    private int[] nodeCounts = new int[1024];
+    private int nodeCount = 1;
+    private final Map<Long, Integer> nodeChildren = new HashMap<>();
+    private int[][] stackPaths = new int[1024][]; // stack id -> node ids, root side first
+
+    // Threads, indexed by registration order
+    private long[] threadKeys = new long[64];  // open addressing: thread id + 1
+    private int[] threadSlots = new int[64];   // thread index
+    private ThreadAggregate[] threads = new ThreadAggregate[16];
+    private int threadCount = 0;
+
+    public PackedSampleStore(int capacity) {
+        this.ring = new PackedSampleRing(capacity);
+    }
+
+    /**
+     * Record one sample
+     * @param stack full stack trace, top frame first
+     * @param depth number of frames to keep from the top
+     */
+    public void record(long timestamp, long threadId, String threadName, Thread.State state,
+                       StackTraceElement[] stack, int depth, long cpuTime) {
+        depth = Math.min(depth, stack.length);
+        if (scratch.length < depth) {
+            scratch = new int[depth];
+        }
+        for (int i = 0; i < depth; i++) {
+            scratch[i] = frames.intern(stack[i]);
+        }
+        int stackId = stacks.intern(scratch, depth);
+        int threadIndex = threadIndex(threadId, threadName);
+
+        if (ring.willEvict()) {
+            int slot = ring.nextSlot();
+            apply(ring.stackId(slot), ring.threadIndex(slot), ring.state(slot), -1);
+        }
+        ring.add(timestamp, threadIndex, state, stackId);
+        apply(stackId, threadIndex, state, 1);
+
+        ThreadAggregate thread = threads[threadIndex];
+        thread.maxCpuTime = Math.max(thread.maxCpuTime, cpuTime);
+    }
+
+    /**
+     * Add (delta = 1) or remove (delta = -1) a sample from the aggregate tables
+     */
+    private void apply(int stackId, int threadIndex, Thread.State state, int delta) {
+        int[] stack = stacks.get(stackId);
+        ensureFrameCapacity(frames.size());
+        if (stack.length > 0) {
+            selfCounts[stack[0]] += delta;
+        }
+        for (int frame : stack) {
+            totalCounts[frame] += delta;
+        }
+
+        nodeCounts[0] += delta;
+        for (int node : stackPath(stackId)) {
+            nodeCounts[node] += delta;
+        }
+
+        ThreadAggregate thread = threads[threadIndex];
+        thread.samples += delta;
+        thread.stateCounts[state.ordinal()] += delta;
+        thread.addStack(stackId, delta);
+    }
+
+    /**
+     * Call-tree nodes for a stack, created the first time the stack is seen
+     */
+    private int[] stackPath(int stackId) {
+        if (stackId >= stackPaths.length) {
+            stackPaths = Arrays.copyOf(stackPaths, Math.max(stackPaths.length * 2, stackId + 1));
+        }
+        int[] path = stackPaths[stackId];
+        if (path != null) {
+            return path;
+        }
+
+        int[] stack = stacks.get(stackId);
+        path = new int[stack.length];
+        int parent = 0;
+        for (int i = stack.length - 1, p = 0; i >= 0; i--, p++) {
+            long key = ((long) parent << 32) | (stack[i] & 0xFFFFFFFFL);
+            Integer node = nodeChildren.get(key);
+            if (node == null) {
+                node = newNode(parent, stack[i]);
+                nodeChildren.put(key, node);
+            }
+            path[p] = node;
+            parent = node;
+        }
+        stackPaths[stackId] = path;
+        return path;
+    }
+
+    private int newNode(int parent, int frame) {
+        if (nodeCount == nodeFrame.length) {
+            int newLength = nodeCount * 2;
+            nodeFrame = Arrays.copyOf(nodeFrame, newLength);
+            nodeParent = Arrays.copyOf(nodeParent, newLength);
+            nodeCounts = Arrays.copyOf(nodeCounts, newLength);
+        }
+        nodeFrame[nodeCount] = frame;
+        nodeParent[nodeCount] = parent;
+        nodeCounts[nodeCount] = 0;
+        return nodeCount++;
+    }
+
+    private void ensureFrameCapacity(int size) {
+        if (selfCounts.length < size) {
+            int newLength = Math.max(selfCounts.length * 2, size);
+            selfCounts = Arrays.copyOf(selfCounts, newLength);
+            totalCounts = Arrays.copyOf(totalCounts, newLength);
+        }
+    }
+
+    private int threadIndex(long threadId, String threadName) {
+        int mask = threadKeys.length - 1;
+        int slot = Long.hashCode(threadId * 0x9E3779B97F4A7C15L) & mask;
+        while (threadKeys[slot] != 0) {
+            if (threadKeys[slot] == threadId + 1) {
+                return threadSlots[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (threadCount == threads.length) {
+            threads = Arrays.copyOf(threads, threadCount * 2);
+        }
+        int index = threadCount++;
+        threads[index] = new ThreadAggregate(threadId, threadName);
+        threadKeys[slot] = threadId + 1;
+        threadSlots[slot] = index;
+
+        if (threadCount * 2 > threadKeys.length) {
+            long[] oldKeys = threadKeys;
+            int[] oldSlots = threadSlots;
+            threadKeys = new long[oldKeys.length * 2];
+            threadSlots = new int[oldKeys.length * 2];
+            int newMask = threadKeys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0) continue;
+                int s = Long.hashCode((oldKeys[i] - 1) * 0x9E3779B97F4A7C15L) & newMask;
+                while (threadKeys[s] != 0) {
+                    s = (s + 1) & newMask;
+                }
+                threadKeys[s] = oldKeys[i];
+                threadSlots[s] = oldSlots[i];
+            }
+        }
+        return index;
+    }
+
+    // ==================== Results ====================
+
+    /**
+     * Build analysis results from the incremental tables
+     */
+    public SampleAnalyzer.CPUAnalysisResults toResults() {
+        SampleAnalyzer.CPUAnalysisResults results = new SampleAnalyzer.CPUAnalysisResults();
+        int size = ring.size();
+        if (size == 0) {
+            return results;
+        }
+
+        results.totalSamples = size;
+        results.timeRange = new SampleAnalyzer.TimeRange(
+            ring.timestamp(ring.slot(0)),
+            ring.timestamp(ring.slot(size - 1))
+        );
+
+        SampleAnalyzer.MethodStats[] byFrame = new SampleAnalyzer.MethodStats[frames.size()];
+        for (int frame = 0; frame < frames.size(); frame++) {
+            if (totalCounts[frame] <= 0) continue;
+            SampleAnalyzer.MethodStats stats = new SampleAnalyzer.MethodStats(frames.get(frame));
+            stats.totalSamples = totalCounts[frame];
+            stats.selfSamples = selfCounts[frame];
+            stats.selfTimePercent = (stats.selfSamples * 100.0) / size;
+            stats.totalTimePercent = (stats.totalSamples * 100.0) / size;
+            byFrame[frame] = stats;
+            results.methodHotspots.put(stats.method, stats);
+        }
+
+        for (int t = 0; t < threadCount; t++) {
+            ThreadAggregate thread = threads[t];
+            if (thread.samples <= 0) continue;
+
+            SampleAnalyzer.ThreadStats stats = new SampleAnalyzer.ThreadStats(thread.threadId, thread.threadName);
+            stats.sampleCount = thread.samples;
+            stats.totalCpuTime = thread.maxCpuTime;
+            for (Thread.State state : Thread.State.values()) {
+                int count = thread.stateCounts[state.ordinal()];
+                if (count > 0) {
+                    stats.states.put(state, count);
+                }
+            }
+            results.threadBreakdown.put(thread.threadId, stats);
+
+            for (int stackId = 0; stackId < thread.stackCounts.length; stackId++) {
+                int count = thread.stackCounts[stackId];
+                if (count <= 0) continue;
+                for (int frame : stacks.get(stackId)) {
+                    byFrame[frame].threadSamples.merge(thread.threadId, count, Integer::sum);
+                }
+            }
+        }
+
+        for (SampleAnalyzer.MethodStats stats : results.methodHotspots.values()) {
+            String packageName = stats.method.getPackageName();
+            if (packageName.isEmpty()) packageName = "<default>";
+            SampleAnalyzer.PackageStats pkg = results.packageAggregation.computeIfAbsent(packageName, SampleAnalyzer.PackageStats::new);
+            pkg.totalSamples += stats.totalSamples;
+            pkg.selfSamples += stats.selfSamples;
+            pkg.methodCount++;
+        }
+
+        return results;
+    }
+
+    /**
+     * Build a flame graph from the incremental call tree
+     */
+    public FlameGraphNode toFlameGraph() {
+        FlameGraphNode[] nodes = new FlameGraphNode[nodeCount];
+        nodes[0] = new FlameGraphNode("(root)", "", "");
+        nodes[0].addSamples(nodeCounts[0]);
+
+        // Parents are always created before their children
+        for (int node = 1; node < nodeCount; node++) {
+            FlameGraphNode parent = nodes[nodeParent[node]];
+            if (parent == null || nodeCounts[node] <= 0) continue;
+            MethodSignature sig = frames.get(nodeFrame[node]);
+            nodes[node] = parent.getOrCreateChild(sig.getMethodName(), sig.getSimpleClassName(), sig.getPackageName());
+            nodes[node].addSamples(nodeCounts[node]);
+        }
+        return nodes[0];
+    }
+
+    /**
+     * Build a flame graph for one thread from its per-stack counts
+     */
+    public FlameGraphNode toFlameGraph(long threadId) {
+        FlameGraphNode root = new FlameGraphNode("(root)", "", "");
+        ThreadAggregate thread = null;
+        for (int t = 0; t < threadCount; t++) {
+            if (threads[t].threadId == threadId) {
+                thread = threads[t];
+                break;
+            }
+        }
+        if (thread == null) {
+            return root;
+        }
+
+        for (int stackId = 0; stackId < thread.stackCounts.length; stackId++) {
+            int count = thread.stackCounts[stackId];
+            if (count <= 0) continue;
+
+            int[] stack = stacks.get(stackId);
+            FlameGraphNode current = root;
+            current.addSamples(count);
+            for (int i = stack.length - 1; i >= 0; i--) {
+                MethodSignature sig = frames.get(stack[i]);
+                current = current.getOrCreateChild(sig.getMethodName(), sig.getSimpleClassName(), sig.getPackageName());
+                current.addSamples(count);
+            }
+        }
+        return root;
+    }
+
+    public int size() {
+        return ring.size();
+    }
+
+    public int capacity() {
+        return ring.capacity();
+    }
+
+    public long getDroppedCount() {
+        return ring.getDroppedCount();
+    }
+
+    public void clear() {
+        ring.clear();
+        frames.clear();
+        stacks.clear();
+        Arrays.fill(selfCounts, 0);
+        Arrays.fill(totalCounts, 0);
+        Arrays.fill(nodeCounts, 0);
+        nodeCount = 1;
+        nodeChildren.clear();
+        Arrays.fill(stackPaths, null);
+        Arrays.fill(threadKeys, 0);
+        Arrays.fill(threads, 0, threadCount, null);
+        threadCount = 0;
+    }
+
+    /**
+     * Incremental per-thread counters
+     */
+    private static class ThreadAggregate {
+        final long threadId;
+        final String threadName;
+        int samples;
+        long maxCpuTime;
+        final int[] stateCounts = new int[Thread.State.values().length];
+        int[] stackCounts = new int[64];
+
+        ThreadAggregate(long threadId, String threadName) {
+            this.threadId = threadId;
+            this.threadName = threadName;
+        }
+
+        void addStack(int stackId, int delta) {
+            if (stackId >= stackCounts.length) {
+                stackCounts = Arrays.copyOf(stackCounts, Math.max(stackCounts.length * 2, stackId + 1));
+            }
+            stackCounts[stackId] += delta;
+        }
+    }
+}
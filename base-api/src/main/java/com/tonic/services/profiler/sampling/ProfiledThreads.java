@@ -0,0 +1,79 @@
+package com.tonic.services.profiler.sampling;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of threads worth profiling (client thread, plugin loop threads)
+ * Used by {@link CPUSampler} in targeted mode to sample only these threads
+ */
+public class ProfiledThreads {
+    private static final Map<Long, String> THREADS = new ConcurrentHashMap<>();
+    private static volatile long[] ids = new long[0];
+
+    /**
+     * Register a thread under a label, replacing any previous label
+     */
+    public static void register(Thread thread, String label) {
+        register(thread.getId(), label);
+    }
+
+    public static void register(long threadId, String label) {
+        if (!label.equals(THREADS.put(threadId, label))) {
+            refresh();
+        }
+    }
+
+    /**
+     * Register the calling thread
+     */
+    public static void registerCurrent(String label) {
+        register(Thread.currentThread(), label);
+    }
+
+    public static void unregister(Thread thread) {
+        unregister(thread.getId());
+    }
+
+    public static void unregister(long threadId) {
+        if (THREADS.remove(threadId) != null) {
+            refresh();
+        }
+    }
+
+    public static boolean isRegistered(long threadId) {
+        return THREADS.containsKey(threadId);
+    }
+
+    /**
+     * Label for a registered thread, or null
+     */
+    public static String getLabel(long threadId) {
+        return THREADS.get(threadId);
+    }
+
+    /**
+     * Snapshot of registered thread ids, cached between registry changes
+     */
+    public static long[] getIds() {
+        return ids;
+    }
+
+    /**
+     * Snapshot of registered threads (id -> label)
+     */
+    public static Map<Long, String> getAll() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(THREADS));
+    }
+
+    public static void clear() {
+        THREADS.clear();
+        refresh();
+    }
+
+    private static synchronized void refresh() {
+        ids = THREADS.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.tonic.services.profiler.sampling;
+
+import java.util.Arrays;
+
+/**
+ * Interns stacks (sequences of frame ids, top frame first) to dense integer ids
+ * using open addressing, so recording a stack that was seen before allocates nothing
+ * Not thread-safe, owned by the sampler thread
+ */
+public class StackTable {
+    private int[][] stacks = new int[1024][];
+    private int size = 0;
+    private int[] slots = new int[2048]; // stack id + 1, 0 = empty
+
+    /**
+     * Get the id for the first {@code length} frames of {@code frames}, copying them if new
+     */
+    public int intern(int[] frames, int length) {
+        int hash = hash(frames, length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (matches(stacks[id], frames, length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == stacks.length) {
+            stacks = Arrays.copyOf(stacks, size * 2);
+        }
+        int id = size++;
+        stacks[id] = Arrays.copyOf(frames, length);
+        slots[slot] = id + 1;
+
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    public int[] get(int id) {
+        return stacks[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(stacks, 0, size, null);
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(stacks[id], stacks[id].length) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    private static boolean matches(int[] stack, int[] frames, int length) {
+        if (stack.length != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (stack[i] != frames[i]) return false;
+        }
+        return true;
+    }
+
+    private static int hash(int[] frames, int length) {
+        int h = length;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + frames[i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
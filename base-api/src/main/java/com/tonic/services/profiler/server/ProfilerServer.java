@@ -13,7 +13,9 @@ import com.tonic.services.profiler.sampling.CPUSampler;
 import com.tonic.services.profiler.sampling.MemorySampler;
 import com.tonic.services.profiler.sampling.StackSample;
 import com.tonic.services.profiler.sampling.HeapHistogramSample;
+import com.tonic.services.profiler.sampling.ProfiledThreads;
 import com.tonic.services.profiler.sampling.SampleAnalyzer;
+import com.tonic.services.profiler.visualization.FlameGraphNode;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -67,6 +69,7 @@ public class ProfilerServer {
     private ProfilerServer() {
         jfrRecorder = new JFRMethodRecorder();
         cpuSampler = new CPUSampler(10000);
+        cpuSampler.setStorageMode(CPUSampler.StorageMode.PACKED);
         memorySampler = new MemorySampler(1000);
         metricsCollector = new ResourceMetricsCollector();
     }
@@ -118,6 +121,8 @@ public class ProfilerServer {
         server.createContext("/profiler/cpu/start", this::handleCPUStart);
         server.createContext("/profiler/cpu/stop", this::handleCPUStop);
         server.createContext("/profiler/cpu/clear", this::handleCPUClear);
+        server.createContext("/profiler/cpu/flame", this::handleCPUFlame);
+        server.createContext("/profiler/cpu/threads", this::handleCPUThreads);
         server.createContext("/profiler/cpu", this::handleCPU);
 
         // Memory sampling endpoints
@@ -204,9 +209,11 @@ public class ProfilerServer {
             json.append("    \"cpu_sampling\": {\n");
             json.append("      \"description\": \"Stack trace sampling for CPU profiling\",\n");
             json.append("      \"GET /profiler/cpu\": \"CPU sampling results with top methods and packages\",\n");
-            json.append("      \"POST /profiler/cpu/start\": \"Start CPU sampling. Optional: ?interval=N (ms, default 50)\",\n");
+            json.append("      \"POST /profiler/cpu/start\": \"Start CPU sampling. Optional: ?interval=N (ms, default 50), ?targeted=true (registered threads only, interval down to 1ms)\",\n");
             json.append("      \"POST /profiler/cpu/stop\": \"Stop CPU sampling\",\n");
-            json.append("      \"POST /profiler/cpu/clear\": \"Clear CPU sampling data\"\n");
+            json.append("      \"POST /profiler/cpu/clear\": \"Clear CPU sampling data\",\n");
+            json.append("      \"GET /profiler/cpu/flame\": \"Flame graph as nested {name,value,children}. Optional: ?thread=ID (single thread), ?minSamples=N (prune small frames, default 1)\",\n");
+            json.append("      \"GET /profiler/cpu/threads\": \"Threads registered for targeted sampling (client thread, plugin loops)\"\n");
             json.append("    },\n");
 
             // Memory sampling
@@ -541,7 +548,7 @@ public class ProfilerServer {
         if (!checkGet(exchange)) return;
 
         CPUSampler.SamplingStats stats = cpuSampler.getStats();
-        SampleAnalyzer.CPUAnalysisResults analysis = sampleAnalyzer.analyzeCPU(cpuSampler.getStackSamples());
+        SampleAnalyzer.CPUAnalysisResults analysis = cpuSampler.analyze(sampleAnalyzer);
 
         StringBuilder json = new StringBuilder();
         json.append("{");
@@ -602,9 +609,78 @@ public class ProfilerServer {
             // Use default
         }
 
+        boolean targeted = "true".equalsIgnoreCase(params.get("targeted"));
+
         cpuSampler.setSamplingInterval(interval);
+        cpuSampler.setTargetedMode(targeted);
         cpuSampler.start();
-        sendJson(exchange, 200, "{\"success\":true,\"running\":true,\"intervalMs\":" + interval + "}");
+        sendJson(exchange, 200, "{\"success\":true,\"running\":true,\"intervalMs\":" + interval + ",\"targeted\":" + targeted + "}");
+    }
+
+    private void handleCPUFlame(HttpExchange exchange) throws IOException {
+        if (!checkGet(exchange)) return;
+
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getQuery());
+        long threadId = -1;
+        long minSamples = 1;
+        try {
+            if (params.containsKey("thread")) {
+                threadId = Long.parseLong(params.get("thread"));
+            }
+            if (params.containsKey("minSamples")) {
+                minSamples = Long.parseLong(params.get("minSamples"));
+            }
+        } catch (NumberFormatException e) {
+            // Use defaults
+        }
+
+        FlameGraphNode root = threadId == -1
+            ? cpuSampler.buildFlameGraph()
+            : cpuSampler.buildFlameGraph(threadId);
+
+        StringBuilder json = new StringBuilder();
+        json.append("{");
+        json.append("\"thread\":").append(threadId).append(",");
+        json.append("\"root\":");
+        appendFlameNode(json, root, minSamples);
+        json.append("}");
+        sendJson(exchange, 200, json.toString());
+    }
+
+    private void appendFlameNode(StringBuilder json, FlameGraphNode node, long minSamples) {
+        String name = node.getClassName().isEmpty()
+            ? node.getMethodName()
+            : node.getClassName() + "." + node.getMethodName();
+        json.append("{\"name\":\"").append(escapeJson(name)).append("\",");
+        json.append("\"package\":\"").append(escapeJson(node.getPackageName())).append("\",");
+        json.append("\"value\":").append(node.getSamples()).append(",");
+        json.append("\"children\":[");
+        boolean first = true;
+        for (FlameGraphNode child : node.getChildren()) {
+            if (child.getSamples() < minSamples) continue;
+            if (!first) json.append(",");
+            first = false;
+            appendFlameNode(json, child, minSamples);
+        }
+        json.append("]}");
+    }
+
+    private void handleCPUThreads(HttpExchange exchange) throws IOException {
+        if (!checkGet(exchange)) return;
+
+        StringBuilder json = new StringBuilder();
+        json.append("{");
+        json.append("\"targeted\":").append(cpuSampler.isTargetedMode()).append(",");
+        json.append("\"threads\":[");
+        boolean first = true;
+        for (Map.Entry<Long, String> entry : ProfiledThreads.getAll().entrySet()) {
+            if (!first) json.append(",");
+            first = false;
+            json.append("{\"id\":").append(entry.getKey()).append(",");
+            json.append("\"label\":\"").append(escapeJson(entry.getValue())).append("\"}");
+        }
+        json.append("]}");
+        sendJson(exchange, 200, json.toString());
     }
 
     private void handleCPUStop(HttpExchange exchange) throws IOException {
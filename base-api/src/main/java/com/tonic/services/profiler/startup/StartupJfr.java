@@ -0,0 +1,119 @@
+package com.tonic.services.profiler.startup;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * JFR side of {@link StartupTrace}. Every use is guarded so a runtime without the jdk.jfr
+ * module, or with JFR disabled, only loses the JFR output.
+ */
+final class StartupJfr {
+    private static final boolean AVAILABLE = available();
+    private static Recording recording;
+
+    private StartupJfr() {
+        // Utility class
+    }
+
+    @Name("com.tonic.StartupPhase")
+    @Label("Startup Phase")
+    @Category({"VitaLite", "Startup"})
+    @Description("A phase of the VitaLite launch")
+    @StackTrace(false)
+    static final class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("CPU Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long cpuTime;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+    }
+
+    /**
+     * Starts a recording of the startup phases, dumped by {@link #dumpRecording}.
+     */
+    static synchronized void startRecording() {
+        if (!AVAILABLE || recording != null) {
+            return;
+        }
+        try {
+            recording = new Recording();
+            recording.setName("VitaLite startup");
+            recording.enable(PhaseEvent.class);
+            recording.enable("jdk.GarbageCollection");
+            recording.enable("jdk.ClassLoadingStatistics");
+            recording.start();
+        } catch (Throwable t) {
+            recording = null;
+        }
+    }
+
+    /**
+     * @return true if the recording was written to the file
+     */
+    static synchronized boolean dumpRecording(Path file) {
+        if (recording == null) {
+            return false;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            recording.dump(file);
+            return true;
+        } catch (Throwable t) {
+            System.err.println("[StartupTrace] Failed to write " + file + ": " + t.getMessage());
+            return false;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * @return Started event, or null without JFR
+     */
+    static Object begin() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        PhaseEvent event = new PhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commit(Object event, String phase, long cpuTime, long allocated) {
+        if (event == null) {
+            return;
+        }
+        PhaseEvent phaseEvent = (PhaseEvent) event;
+        phaseEvent.end();
+        if (phaseEvent.shouldCommit()) {
+            phaseEvent.phase = phase;
+            phaseEvent.cpuTime = cpuTime;
+            phaseEvent.allocated = allocated;
+            phaseEvent.commit();
+        }
+    }
+
+    private static boolean available() {
+        try {
+            return FlightRecorder.isAvailable();
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tonic.services.profiler.startup;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.util.List;
+
+/**
+ * Profiler tab showing the phases of the last startup recorded by {@link StartupTrace}
+ */
+public class StartupTab extends JPanel {
+    private static final Color BG_COLOR = new Color(30, 31, 34);
+    private static final Color PANEL_BG = new Color(40, 42, 46);
+    private static final Color TEXT_COLOR = new Color(200, 200, 200);
+
+    private DefaultTableModel tableModel;
+    private JLabel summaryLabel;
+
+    public StartupTab() {
+        setLayout(new BorderLayout(10, 10));
+        setBackground(BG_COLOR);
+        setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        initializeComponents();
+        refresh();
+    }
+
+    private void initializeComponents() {
+        // Top - summary and actions
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(BG_COLOR);
+
+        summaryLabel = new JLabel();
+        summaryLabel.setForeground(TEXT_COLOR);
+        summaryLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        topPanel.add(summaryLabel, BorderLayout.CENTER);
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        buttons.setBackground(BG_COLOR);
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> refresh());
+        buttons.add(refreshButton);
+        JButton copyJsonButton = new JButton("Copy JSON");
+        copyJsonButton.setToolTipText("Copy the trace in Chrome trace event format (Perfetto, chrome://tracing)");
+        copyJsonButton.addActionListener(e -> Toolkit.getDefaultToolkit().getSystemClipboard()
+                .setContents(new StringSelection(StartupTrace.toJson()), null));
+        buttons.add(copyJsonButton);
+        topPanel.add(buttons, BorderLayout.EAST);
+
+        add(topPanel, BorderLayout.NORTH);
+
+        // Center - phase table, indented by nesting
+        String[] columns = {"Phase", "Start (ms)", "Wall (ms)", "CPU (ms)", "Allocated (MB)", "Thread"};
+        tableModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+
+        JTable table = new JTable(tableModel);
+        table.setBackground(PANEL_BG);
+        table.setForeground(TEXT_COLOR);
+        table.setFont(new Font("Consolas", Font.PLAIN, 11));
+        table.setGridColor(new Color(50, 52, 56));
+        table.setRowHeight(22);
+        table.getTableHeader().setBackground(new Color(50, 52, 56));
+        table.getTableHeader().setForeground(TEXT_COLOR);
+        table.getColumnModel().getColumn(0).setPreferredWidth(320);
+
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setBorder(BorderFactory.createLineBorder(new Color(50, 52, 56)));
+        scroll.getViewport().setBackground(PANEL_BG);
+        add(scroll, BorderLayout.CENTER);
+    }
+
+    private void refresh() {
+        tableModel.setRowCount(0);
+        List<StartupTrace.Span> roots = StartupTrace.getRoots();
+        for (StartupTrace.Span root : roots) {
+            addRows(root, 0);
+        }
+
+        long startup = StartupTrace.getStartupNanos();
+        if (roots.isEmpty()) {
+            summaryLabel.setText("No startup phases recorded");
+        } else if (startup < 0) {
+            summaryLabel.setText("Startup in progress");
+        } else {
+            summaryLabel.setText(String.format("Startup took %.1f ms%s", startup / 1_000_000.0,
+                    StartupTrace.isEnabled() ? "" : "  |  start with -D" + StartupTrace.PROPERTY + " to write trace files"));
+        }
+    }
+
+    private void addRows(StartupTrace.Span span, int depth) {
+        long wall = span.getWallNanos();
+        long cpu = span.getCpuNanos();
+        long allocated = span.getAllocatedBytes();
+        tableModel.addRow(new Object[]{
+                "    ".repeat(depth) + span.getName() + (span.isLate() ? " (after startup)" : ""),
+                millis(span.getStartNanos()),
+                wall < 0 ? "open" : millis(wall),
+                cpu < 0 ? "-" : millis(cpu),
+                allocated < 0 ? "-" : String.format("%.1f", allocated / (1024.0 * 1024.0)),
+                span.getThread()
+        });
+        for (StartupTrace.Span child : span.getChildren()) {
+            addRows(child, depth + 1);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}
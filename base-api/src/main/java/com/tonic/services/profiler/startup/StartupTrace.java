@@ -0,0 +1,391 @@
+package com.tonic.services.profiler.startup;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.tonic.Static;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Records the phases of a launch as nested spans with wall time, CPU time and allocated bytes.
+ *
+ * <pre>
+ * try (StartupTrace.Span span = StartupTrace.begin("Artifacts")) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * Spans nest per thread: a span begun while another is open on the same thread becomes its
+ * child. CPU time and allocations are those of the thread that opened the span, so work handed
+ * to other threads shows only in wall time. Spans are always recorded, a launch has a few dozen,
+ * and the profiler's Startup tab shows them. With {@code -Dvitalite.startupTrace} the launcher's
+ * {@link #finish()} also prints the tree and writes startup-trace.json (Chrome trace event format,
+ * opens in Perfetto or chrome://tracing) and startup-trace.jfr to the Vitalite directory. Spans
+ * are emitted as JFR events too, so any recording that is running picks them up. Starting that
+ * JFR recording costs time of its own, so compare traced launches with traced launches.
+ */
+public final class StartupTrace {
+    public static final String PROPERTY = "vitalite.startupTrace";
+    private static final String JSON_FILE = "startup-trace.json";
+    private static final String JFR_FILE = "startup-trace.jfr";
+
+    private static final boolean ENABLED = System.getProperty(PROPERTY) != null
+            && !"false".equalsIgnoreCase(System.getProperty(PROPERTY));
+    // JVM start on the System.nanoTime() clock, so times include the JVM's own startup
+    private static final long ORIGIN = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+    private static final boolean ALLOCATIONS = allocationsSupported();
+    // StartupJfr is only touched when the jdk.jfr module is present
+    private static final boolean JFR = jfrPresent();
+    private static final ThreadLocal<Deque<Span>> OPEN = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final List<Span> roots = new ArrayList<>();
+    private static volatile long finishedAt = -1;
+
+    static {
+        if (ENABLED && JFR) {
+            StartupJfr.startRecording();
+        }
+    }
+
+    private StartupTrace() {
+        // Utility class
+    }
+
+    /**
+     * A timed phase. Close it on the thread that began it.
+     */
+    public static final class Span implements AutoCloseable {
+        private final String name;
+        private final String thread;
+        private final Span parent;
+        private final List<Span> children = new ArrayList<>();
+        private final long start;
+        private final long cpuStart;
+        private final long allocatedStart;
+        private final Object jfrEvent;
+        private long wallNanos = -1;
+        private long cpuNanos = -1;
+        private long allocatedBytes = -1;
+        private boolean late;
+
+        private Span(String name, Span parent) {
+            this.name = name;
+            this.thread = Thread.currentThread().getName();
+            this.parent = parent;
+            this.jfrEvent = JFR ? StartupJfr.begin() : null;
+            this.cpuStart = CPU_TIME ? THREADS.getCurrentThreadCpuTime() : -1;
+            this.allocatedStart = currentThreadAllocatedBytes();
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long end = System.nanoTime();
+            Deque<Span> open = OPEN.get();
+            if (open.peek() != this || wallNanos >= 0) {
+                return;
+            }
+            open.pop();
+
+            synchronized (roots) {
+                wallNanos = end - start;
+                if (cpuStart >= 0) {
+                    cpuNanos = THREADS.getCurrentThreadCpuTime() - cpuStart;
+                }
+                if (allocatedStart >= 0) {
+                    allocatedBytes = currentThreadAllocatedBytes() - allocatedStart;
+                }
+                late = finishedAt >= 0;
+            }
+            if (jfrEvent != null) {
+                StartupJfr.commit(jfrEvent, path(), cpuNanos, allocatedBytes);
+            }
+
+            // phases that end after startup, like the pathfinder's maps, still reach the file
+            if (parent == null && late && ENABLED) {
+                writeJson();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * @return Nanoseconds from JVM start to the start of this span
+         */
+        public long getStartNanos() {
+            return start - ORIGIN;
+        }
+
+        /**
+         * @return Wall time in nanoseconds, -1 while open
+         */
+        public long getWallNanos() {
+            synchronized (roots) {
+                return wallNanos;
+            }
+        }
+
+        /**
+         * @return CPU time of the opening thread in nanoseconds, -1 while open or unsupported
+         */
+        public long getCpuNanos() {
+            synchronized (roots) {
+                return cpuNanos;
+            }
+        }
+
+        /**
+         * @return Bytes allocated by the opening thread, -1 while open or unsupported
+         */
+        public long getAllocatedBytes() {
+            synchronized (roots) {
+                return allocatedBytes;
+            }
+        }
+
+        /**
+         * @return true if the span ended after {@link #finish()}
+         */
+        public boolean isLate() {
+            synchronized (roots) {
+                return late;
+            }
+        }
+
+        public List<Span> getChildren() {
+            synchronized (roots) {
+                return new ArrayList<>(children);
+            }
+        }
+
+        private String path() {
+            return parent == null ? name : parent.path() + "/" + name;
+        }
+    }
+
+    /**
+     * A phase body that returns a value.
+     */
+    @FunctionalInterface
+    public interface Phase<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * A phase body without a result.
+     */
+    @FunctionalInterface
+    public interface Step<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * @return true if the launch was started with {@code -Dvitalite.startupTrace}
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Opens a span, nested under the span open on this thread if there is one.
+     */
+    public static Span begin(String name) {
+        Deque<Span> open = OPEN.get();
+        Span span = new Span(name, open.peek());
+        synchronized (roots) {
+            if (span.parent == null) {
+                roots.add(span);
+            } else {
+                span.parent.children.add(span);
+            }
+        }
+        open.push(span);
+        return span;
+    }
+
+    /**
+     * Runs a phase inside a span.
+     *
+     * @return What the phase returned
+     */
+    public static <T, E extends Exception> T trace(String name, Phase<T, E> phase) throws E {
+        try (Span ignored = begin(name)) {
+            return phase.run();
+        }
+    }
+
+    /**
+     * Runs a phase inside a span.
+     */
+    public static <E extends Exception> void run(String name, Step<E> step) throws E {
+        try (Span ignored = begin(name)) {
+            step.run();
+        }
+    }
+
+    /**
+     * Marks the end of startup. With tracing enabled, prints the span tree and writes the trace files.
+     */
+    public static void finish() {
+        synchronized (roots) {
+            if (finishedAt >= 0) {
+                return;
+            }
+            finishedAt = System.nanoTime();
+        }
+        if (!ENABLED) {
+            return;
+        }
+
+        System.out.print(formatTree());
+        writeJson();
+        Path jfr = Static.VITA_DIR.resolve(JFR_FILE);
+        if (JFR && StartupJfr.dumpRecording(jfr)) {
+            System.out.println("[StartupTrace] Wrote " + jfr);
+        }
+    }
+
+    /**
+     * @return Nanoseconds from JVM start to {@link #finish()}, -1 before it
+     */
+    public static long getStartupNanos() {
+        long finished = finishedAt;
+        return finished < 0 ? -1 : finished - ORIGIN;
+    }
+
+    /**
+     * @return Top level spans of this launch, in the order they began
+     */
+    public static List<Span> getRoots() {
+        synchronized (roots) {
+            return new ArrayList<>(roots);
+        }
+    }
+
+    /**
+     * Formats the spans as an indented tree, one line per span.
+     */
+    public static String formatTree() {
+        StringBuilder sb = new StringBuilder();
+        long startup = getStartupNanos();
+        sb.append(String.format("[StartupTrace] Startup %s%n", startup < 0 ? "in progress" : formatMillis(startup) + " ms"));
+        sb.append(String.format("%-52s %10s %10s %10s %10s%n", "phase", "start ms", "wall ms", "cpu ms", "alloc MB"));
+        for (Span root : getRoots()) {
+            appendTree(sb, root, 0);
+        }
+        return sb.toString();
+    }
+
+    private static void appendTree(StringBuilder sb, Span span, int depth) {
+        String label = "  ".repeat(depth) + span.getName() + (span.isLate() ? " (after startup)" : "");
+        long wall = span.getWallNanos();
+        long cpu = span.getCpuNanos();
+        long allocated = span.getAllocatedBytes();
+        sb.append(String.format("%-52s %10s %10s %10s %10s%n", label,
+                formatMillis(span.getStartNanos()),
+                wall < 0 ? "open" : formatMillis(wall),
+                cpu < 0 ? "-" : formatMillis(cpu),
+                allocated < 0 ? "-" : String.format("%.1f", allocated / (1024.0 * 1024.0))));
+        for (Span child : span.getChildren()) {
+            appendTree(sb, child, depth + 1);
+        }
+    }
+
+    /**
+     * Formats the closed spans as Chrome trace events.
+     */
+    public static String toJson() {
+        JsonArray events = new JsonArray();
+        for (Span root : getRoots()) {
+            appendEvents(events, root);
+        }
+        JsonObject trace = new JsonObject();
+        trace.add("traceEvents", events);
+        trace.addProperty("displayTimeUnit", "ms");
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("startupNanos", getStartupNanos());
+        trace.add("otherData", metadata);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(trace);
+    }
+
+    private static void appendEvents(JsonArray events, Span span) {
+        long wall = span.getWallNanos();
+        if (wall < 0) {
+            return;
+        }
+        JsonObject event = new JsonObject();
+        event.addProperty("name", span.getName());
+        event.addProperty("cat", span.isLate() ? "after-startup" : "startup");
+        event.addProperty("ph", "X");
+        event.addProperty("ts", span.getStartNanos() / 1000.0);
+        event.addProperty("dur", wall / 1000.0);
+        event.addProperty("pid", 1);
+        event.addProperty("tid", span.getThread());
+        JsonObject args = new JsonObject();
+        args.addProperty("cpuNanos", span.getCpuNanos());
+        args.addProperty("allocatedBytes", span.getAllocatedBytes());
+        event.add("args", args);
+        events.add(event);
+        for (Span child : span.getChildren()) {
+            appendEvents(events, child);
+        }
+    }
+
+    private static void writeJson() {
+        Path file = Static.VITA_DIR.resolve(JSON_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+            System.out.println("[StartupTrace] Wrote " + file);
+        } catch (IOException e) {
+            System.err.println("[StartupTrace] Failed to write " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    private static boolean jfrPresent() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, StartupTrace.class.getClassLoader());
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private static boolean allocationsSupported() {
+        try {
+            return THREADS instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+                    && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (!ALLOCATIONS) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -47,6 +47,11 @@ public interface ClientConfig extends VitaConfig {
     @ConfigKey(value = "pathfinderImpl")
     void setPathfinderImpl(PathfinderAlgo impl);
 
+    @ConfigKey(value = "parallelSearch", defaultValue = "false")
+    boolean shouldSearchInParallel();
+    @ConfigKey(value = "parallelSearch")
+    void setSearchInParallel(boolean parallel);
+
     @ConfigKey(value = "drawWalkerPath", defaultValue = "true")
     boolean shouldDrawWalkerPath();
     @ConfigKey(value = "drawWalkerPath")
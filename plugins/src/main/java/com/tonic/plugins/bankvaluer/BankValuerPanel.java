@@ -1,5 +1,6 @@
 package com.tonic.plugins.bankvaluer;
 
+import com.tonic.events.BankCacheChanged;
 import com.tonic.model.ui.components.FancyCard;
 import com.tonic.services.BankCache;
 import net.runelite.client.ui.ColorScheme;
@@ -13,6 +14,7 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
 
 public class BankValuerPanel extends PluginPanel
@@ -25,6 +27,8 @@ public class BankValuerPanel extends PluginPanel
         private final JSpinner itemLimitSpinner;
         private final JCheckBox hideUntradeablesCheckBox;
         private final JButton refreshButton;
+        private final Map<Integer, Long> itemValues = new HashMap<>();
+        private boolean valuesHideUntradeables;
 
         @Inject
         public BankValuerPanel()
@@ -126,42 +130,79 @@ public class BankValuerPanel extends PluginPanel
         public void refresh()
         {
                 SwingUtilities.invokeLater(() -> {
-                        itemContainer.removeAll();
-
-                        card.setTaglineText(buildSubtitle());
-
-                        int limit = getSelectedLimit();
                         boolean hideUntradeables = hideUntradeablesCheckBox.isSelected();
-                        Map<Integer, Long> topItems = BankValuerUtils.getTopItems(limit, hideUntradeables);
+                        int[] ids = BankCache.getCachedBank().keySet().stream().mapToInt(Integer::intValue).toArray();
+                        itemValues.clear();
+                        itemValues.putAll(BankValuerUtils.getItemValues(ids, hideUntradeables));
+                        valuesHideUntradeables = hideUntradeables;
+                        render();
+                });
+        }
 
-                        if (topItems.isEmpty())
+        /**
+         * Revalues only the items in the change event instead of the whole bank.
+         */
+        public void update(BankCacheChanged event)
+        {
+                SwingUtilities.invokeLater(() -> {
+                        if (valuesHideUntradeables != hideUntradeablesCheckBox.isSelected())
                         {
-                                JLabel emptyLabel = new JLabel("No bank items to display");
-                                emptyLabel.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
-                                emptyLabel.setFont(FontManager.getRunescapeSmallFont());
-                                emptyLabel.setHorizontalAlignment(SwingConstants.CENTER);
-                                emptyLabel.setBorder(new EmptyBorder(20, 0, 0, 0));
-                                itemContainer.add(emptyLabel);
+                                refresh();
+                                return;
                         }
-                        else
+
+                        for (int id : event.getRemoved())
                         {
-                                final int[] rank = {1};
-                                topItems.entrySet().stream()
-                                        .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
-                                        .forEach(entry -> {
-                                                int quantity = BankCache.cachedBankCount(entry.getKey());
-                                                JPanel itemRow = createItemRow(rank[0], entry.getKey(), quantity, entry.getValue());
-                                                itemContainer.add(itemRow);
-                                                itemContainer.add(Box.createRigidArea(new Dimension(0, 5)));
-                                                rank[0]++;
-                                        });
+                                itemValues.remove(id);
                         }
 
-                        itemContainer.revalidate();
-                        itemContainer.repaint();
+                        int[] revalue = new int[event.getAdded().length + event.getChanged().length];
+                        System.arraycopy(event.getAdded(), 0, revalue, 0, event.getAdded().length);
+                        System.arraycopy(event.getChanged(), 0, revalue, event.getAdded().length, event.getChanged().length);
+                        for (int id : revalue)
+                        {
+                                itemValues.remove(id);
+                        }
+                        itemValues.putAll(BankValuerUtils.getItemValues(revalue, valuesHideUntradeables));
+                        render();
                 });
         }
 
+        private void render()
+        {
+                itemContainer.removeAll();
+
+                card.setTaglineText(buildSubtitle());
+
+                Map<Integer, Long> topItems = BankValuerUtils.getTopItems(itemValues, getSelectedLimit());
+
+                if (topItems.isEmpty())
+                {
+                        JLabel emptyLabel = new JLabel("No bank items to display");
+                        emptyLabel.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+                        emptyLabel.setFont(FontManager.getRunescapeSmallFont());
+                        emptyLabel.setHorizontalAlignment(SwingConstants.CENTER);
+                        emptyLabel.setBorder(new EmptyBorder(20, 0, 0, 0));
+                        itemContainer.add(emptyLabel);
+                }
+                else
+                {
+                        final int[] rank = {1};
+                        topItems.entrySet().stream()
+                                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
+                                .forEach(entry -> {
+                                        int quantity = BankCache.cachedBankCount(entry.getKey());
+                                        JPanel itemRow = createItemRow(rank[0], entry.getKey(), quantity, entry.getValue());
+                                        itemContainer.add(itemRow);
+                                        itemContainer.add(Box.createRigidArea(new Dimension(0, 5)));
+                                        rank[0]++;
+                                });
+                }
+
+                itemContainer.revalidate();
+                itemContainer.repaint();
+        }
+
         private String buildSubtitle()
         {
                 return buildSubtitleText(getSelectedLimit());
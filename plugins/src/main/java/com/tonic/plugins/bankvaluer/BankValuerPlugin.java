@@ -61,6 +61,13 @@ public class BankValuerPlugin extends Plugin
     @Subscribe
     public void onBankCacheChanged(BankCacheChanged event)
     {
-        ThreadPool.submit(panel::refresh);
+        if (event.isFullRefresh())
+        {
+            ThreadPool.submit(panel::refresh);
+        }
+        else
+        {
+            ThreadPool.submit(() -> panel.update(event));
+        }
     }
 }
@@ -12,6 +12,7 @@ import net.runelite.client.util.ImageUtil;
 
 import javax.swing.*;
 import java.awt.image.BufferedImage;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -42,19 +43,34 @@ public class BankValuerUtils
     {
         if (Static.getClient() == null || limit <= 0)
             return new HashMap<>();
-        return Static.invoke(() -> {
-            Map<Integer, Long> topItems = new HashMap<>();
-            Map<Integer,Integer> cache = BankCache.getCachedBank();
-            if(cache == null || cache.isEmpty())
-                return topItems;
+        Map<Integer,Integer> cache = BankCache.getCachedBank();
+        if(cache == null || cache.isEmpty())
+            return new HashMap<>();
+        int[] ids = cache.keySet().stream().mapToInt(Integer::intValue).toArray();
+        return getTopItems(getItemValues(ids, hideUntradeables), limit);
+    }
 
+    /**
+     * Values the given cached bank items. Items that are filtered out or have no value
+     * are omitted from the result.
+     *
+     * @param ids the item ids to value
+     * @param hideUntradeables skip untradeable items
+     * @return Map<ItemId, ItemValue>
+     */
+    public static Map<Integer, Long> getItemValues(int[] ids, boolean hideUntradeables)
+    {
+        if (Static.getClient() == null || ids.length == 0)
+            return new HashMap<>();
+        return Static.invoke(() -> {
+            Map<Integer, Long> values = new HashMap<>();
             ItemManager itemManager = Static.getInjector().getInstance(ItemManager.class);
 
-
-            for(Map.Entry<Integer,Integer> entry : cache.entrySet())
+            for(int id : ids)
             {
-                int id = entry.getKey();
-                int quantity = entry.getValue();
+                int quantity = BankCache.cachedBankCount(id);
+                if(quantity <= 0)
+                    continue;
                 ItemComposition itemDef = itemManager.getItemComposition(id);
 
                 if (hideUntradeables && !itemDef.isTradeable())
@@ -65,27 +81,31 @@ public class BankValuerUtils
                 long itemPrice = getGePrice(itemManager, itemDef, id, quantity);
                 if(itemPrice <= 0)
                     continue;
-                topItems.put(id,itemPrice);
-                if(topItems.size() > limit)
-                {
-                    int lowestId = -1;
-                    long lowestValue = Long.MAX_VALUE;
-                    for(Map.Entry<Integer,Long> e : topItems.entrySet())
-                    {
-                        if(e.getValue() < lowestValue)
-                        {
-                            lowestValue = e.getValue();
-                            lowestId = e.getKey();
-                        }
-                    }
-                    if(lowestId != -1)
-                        topItems.remove(lowestId);
-                }
+                values.put(id, itemPrice);
             }
-            return topItems;
+            return values;
         });
     }
 
+    /**
+     * Picks the highest valued entries from an item value map.
+     *
+     * @param values Map<ItemId, ItemValue>
+     * @param limit the maximum number of items to return
+     * @return Map<ItemId, ItemValue>
+     */
+    public static Map<Integer, Long> getTopItems(Map<Integer, Long> values, int limit)
+    {
+        Map<Integer, Long> topItems = new HashMap<>();
+        if (limit <= 0)
+            return topItems;
+        values.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(e -> topItems.put(e.getKey(), e.getValue()));
+        return topItems;
+    }
+
     public static long getGePrice(int id, int quantity)
     {
         ItemManager itemManager = Static.getInjector().getInstance(ItemManager.class);
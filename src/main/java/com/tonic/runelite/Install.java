@@ -2,6 +2,7 @@ package com.tonic.runelite;
 
 import com.tonic.VitaLite;
 import com.tonic.services.hotswapper.PluginClassLoader;
+import com.tonic.services.profiler.startup.StartupTrace;
 import com.tonic.vitalite.Main;
 import com.tonic.Static;
 import com.tonic.model.Guice;
@@ -18,7 +19,7 @@ public class Install {
      * @param original list of plugin classes to load
      */
     public void injectBuiltInPlugins(List<Class<?>> original) {
-        try
+        try (StartupTrace.Span ignored = StartupTrace.begin("Built-in plugin discovery"))
         {
             File builtIns = loadBuildIns().toFile();
             PluginClassLoader classLoader = new PluginClassLoader(builtIns, Main.CLASSLOADER);
@@ -7,31 +7,111 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.security.cert.Certificate;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
 
+/**
+ * Reads the RuneLite jars and the gamepack into {@link Libs}.
+ *
+ * Jars are read concurrently, one task per jar, with the gamepack download running alongside
+ * them. Each task collects its jar's classes in entry order and the results are added to
+ * {@link Libs} in URL order, so the maps end up exactly as a serial read leaves them. Entries
+ * of one jar are read by one thread, as a JarFile verifying signatures is not meant to be
+ * shared between threads.
+ */
 public class ArtifactReader {
+    // -Dvitalite.serialArtifacts=true reads the jars one at a time, for comparing startup time
+    private static final boolean SERIAL = Boolean.getBoolean("vitalite.serialArtifacts");
+    private static final int THREADS = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+
     public static void read(Libs libs, URL[] urls) throws Exception {
         if (urls == null) {
             return;
         }
 
+        long start = System.nanoTime();
+        if (SERIAL) {
+            readSerial(libs, urls);
+        } else {
+            readParallel(libs, urls);
+        }
+        System.out.println("[ArtifactReader] Read " + urls.length + " jars and the gamepack in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms (" + (SERIAL ? "serial" : THREADS + " threads") + ")");
+    }
+
+    private static void readSerial(Libs libs, URL[] urls) throws Exception {
         for (URL url : urls) {
             if (url == null) continue;
 
             try {
-                readJarFromUrl(libs, url);
+                addJar(libs, url, readJarFromUrl(url));
             } catch (IOException e) {
                 System.err.println("Error reading JAR from URL: " + url + " - " + e.getMessage());
             }
         }
-        readGamepack(libs);
+        addGamepack(libs, readGamepack());
+    }
+
+    private static void readParallel(Libs libs, URL[] urls) throws Exception {
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, r -> {
+            Thread thread = new Thread(r, "ArtifactReader-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Submitted first so the download overlaps the local jars
+            Future<List<JarClass>> gamepack = executor.submit(ArtifactReader::readGamepack);
+            List<Future<List<JarClass>>> jars = new ArrayList<>(urls.length);
+            for (URL url : urls) {
+                jars.add(url == null ? null : executor.submit(() -> readJarFromUrl(url)));
+            }
+
+            for (int i = 0; i < urls.length; i++) {
+                if (jars.get(i) == null) continue;
+
+                try {
+                    addJar(libs, urls[i], await(jars.get(i)));
+                } catch (IOException e) {
+                    System.err.println("Error reading JAR from URL: " + urls[i] + " - " + e.getMessage());
+                }
+            }
+            addGamepack(libs, await(gamepack));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for a read, rethrowing what it failed with.
+     */
+    private static List<JarClass> await(Future<List<JarClass>> read) throws Exception {
+        try {
+            return read.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
     }
 
-    private static void readJarFromUrl(Libs libs, URL url) throws Exception {
+    private static List<JarClass> readJarFromUrl(URL url) throws Exception {
         File file = new File(url.toURI());
+        List<JarClass> classes = new ArrayList<>();
         try (JarFile jarFile = new JarFile(file, true)) {
             Enumeration<JarEntry> entries = jarFile.entries();
             while (entries.hasMoreElements()) {
@@ -49,22 +129,25 @@ public class ArtifactReader {
                     String className = entryName.replace('/', '.')
                             .substring(0, entryName.length() - 6);
                     Certificate[] certs = entry.getCertificates(); // might be null for unsigned
-                    if (className.startsWith("net.runelite")) {
-                        libs.getRunelite().classes.put(className, entryBytes);
-                        if (certs != null) {
-                            libs.getClassCerts().put(className, certs);
-                            libs.getUrls().put(className, url);
-                        }
-                    } else {
-                        libs.getOther().classes.put(className, entryBytes);
-                        if (certs != null) {
-                            libs.getClassCerts().put(className, certs);
-                            libs.getUrls().put(className, url);
-                        }
-                    }
+                    classes.add(new JarClass(className, entryBytes, certs));
                 }
             }
         }
+        return classes;
+    }
+
+    private static void addJar(Libs libs, URL url, List<JarClass> classes) {
+        for (JarClass jarClass : classes) {
+            if (jarClass.name.startsWith("net.runelite")) {
+                libs.getRunelite().classes.put(jarClass.name, jarClass.bytes);
+            } else {
+                libs.getOther().classes.put(jarClass.name, jarClass.bytes);
+            }
+            if (jarClass.certs != null) {
+                libs.getClassCerts().put(jarClass.name, jarClass.certs);
+                libs.getUrls().put(jarClass.name, url);
+            }
+        }
     }
 
     private static void readJarFromUrl2(Libs libs, URL url) throws IOException {
@@ -94,8 +177,9 @@ public class ArtifactReader {
         }
     }
 
-    private static void readGamepack(Libs libs) throws Exception
+    private static List<JarClass> readGamepack() throws Exception
     {
+        List<JarClass> classes = new ArrayList<>();
         try (JarFile jarFile = RuneliteConfigUtil.fetchGamePack())
         {
             Enumeration<JarEntry> entries = jarFile.entries();
@@ -110,11 +194,20 @@ public class ArtifactReader {
                         String className = entry.getName()
                                 .replace('/', '.')
                                 .substring(0, entry.getName().length() - 6);
-                        libs.getGamepack().classes.put(className, entryBytes);
+                        classes.add(new JarClass(className, entryBytes, null));
                     }
                 }
             }
         }
+        return classes;
+    }
+
+    private static void addGamepack(Libs libs, List<JarClass> classes)
+    {
+        for (JarClass jarClass : classes)
+        {
+            libs.getGamepack().classes.put(jarClass.name, jarClass.bytes);
+        }
     }
 
     private static byte[] readAllBytes(InputStream input) throws IOException {
@@ -128,4 +221,16 @@ public class ArtifactReader {
 
         return baos.toByteArray();
     }
-}
\ No newline at end of file
+
+    private static final class JarClass {
+        final String name;
+        final byte[] bytes;
+        final Certificate[] certs;
+
+        JarClass(String name, byte[] bytes, Certificate[] certs) {
+            this.name = name;
+            this.bytes = bytes;
+            this.certs = certs;
+        }
+    }
+}
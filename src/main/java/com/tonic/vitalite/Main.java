@@ -18,6 +18,7 @@ import com.tonic.model.Libs;
 import com.tonic.services.AutoLogin;
 import com.tonic.services.CatFacts;
 import com.tonic.services.WorldSetter;
+import com.tonic.services.profiler.startup.StartupTrace;
 import com.tonic.services.proxy.ProxyManager;
 import com.tonic.util.LauncherCom;
 
@@ -69,17 +70,17 @@ public class Main {
         }
         Files.createDirectories(REPOSITORY_DIR);
         JvmParams.set();
-        RLUpdater.run();
-        loadArtifacts();
-        SignerMapper.map();
-        loadClassLoader();
+        StartupTrace.run("RuneLite update", RLUpdater::run);
+        StartupTrace.run("Artifacts", Main::loadArtifacts);
+        StartupTrace.run("Signer mapping", SignerMapper::map);
+        StartupTrace.run("Class loaders", Main::loadClassLoader);
 
         if(optionsParser.isRunInjector())
         {
             // IDE/Dev mode: Run full ASM injection pipeline and generate patches
             PatchGenerator.enableCapture();
-            Injector.patch();
-            RLInjector.patch();
+            StartupTrace.run("Injector", Injector::patch);
+            StartupTrace.run("RuneLite injector", RLInjector::patch);
             try {
                 String resourcesPath = "src/main/resources";
                 PatchGenerator.writePatchesZip(resourcesPath);
@@ -91,7 +92,7 @@ public class Main {
         }
         else
         {
-            PatchApplier.applyPatches();
+            StartupTrace.run("Patches", PatchApplier::applyPatches);
         }
 
         MappingProvider.getMappings().clear();
@@ -99,8 +100,12 @@ public class Main {
         {
             LauncherCom.sendReadySignal(Integer.parseInt(optionsParser.getPort()), "Done");
         }
-        CLASSLOADER.launch(args);
-        Install.install();
+        try (StartupTrace.Span ignored = StartupTrace.begin("RuneLite launch"))
+        {
+            CLASSLOADER.launch(args);
+        }
+        StartupTrace.run("Install", Install::install);
+        StartupTrace.finish();
         Logger.norm("VitaLite started. - Did you know... " + CatFacts.get(-1));
     }
 